@@ -4,6 +4,7 @@ import at.ac.tuwien.model.change.management.core.model.dsl.KeyValueDSL;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,11 +13,17 @@ import java.util.stream.Collectors;
 @Component
 @AllArgsConstructor
 public class KeyValuesDSLMapperImpl implements KeyValuesDSLMapper {
+
+    // entries are serialized sorted by key, so equal maps are serialized the same way regardless of their insertion order
+    private static final Comparator<Map.Entry<String, ?>> KEY_ORDER =
+            Comparator.comparing(Map.Entry::getKey, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     @Override
     public List<KeyValueDSL> toObjectDSL(Map<String, Object> keyValues) {
         if (keyValues == null || keyValues.isEmpty()) return null;
 
         return keyValues.entrySet().stream()
+                .sorted(KEY_ORDER)
                 .map(entry -> new KeyValueDSL(entry.getKey(), entry.getValue().toString()))
                 .collect(Collectors.toList());
 
@@ -40,6 +47,7 @@ public class KeyValuesDSLMapperImpl implements KeyValuesDSLMapper {
         if (keyValues == null || keyValues.isEmpty()) return null;
 
         return keyValues.entrySet().stream()
+                .sorted(KEY_ORDER)
                 .map(entry -> new KeyValueDSL(entry.getKey(), entry.getValue()))
                 .collect(Collectors.toList());
     }
@@ -3,9 +3,11 @@ package at.ac.tuwien.model.change.management.core.mapper.dsl;
 import at.ac.tuwien.model.change.management.core.model.Model;
 import at.ac.tuwien.model.change.management.core.model.dsl.MetadataDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.ModelDSL;
+import at.ac.tuwien.model.change.management.core.utils.CollectionUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
 
 @Component
@@ -21,9 +23,7 @@ public class ModelDSLMapperImpl implements ModelDSLMapper {
         modelDSL.setTitle(model.getTitle());
         modelDSL.setDescription(model.getDescription());
 
-        if (model.getTags() != null && !model.getTags().isEmpty()) {
-            modelDSL.setTags(model.getTags());
-        }
+        modelDSL.setTags(CollectionUtils.sortedOrNull(model.getTags()));
         modelDSL.setProperties(keyValuesDSLMapper.toObjectDSL(model.getMcmAttributes()));
         modelDSL.setPropertiesInlineComments(keyValuesDSLMapper.toStringDSL(model.getMcmAttributesInlineComments()));
         modelDSL.setZoomLevel(model.getZoomLevel());
@@ -41,7 +41,7 @@ public class ModelDSLMapperImpl implements ModelDSLMapper {
         model.setId(modelDSL.getId());
         model.setDescription(modelDSL.getDescription());
         model.setTitle(modelDSL.getTitle());
-        model.setTags(modelDSL.getTags() == null ? Collections.emptyList() : modelDSL.getTags());
+        model.setTags(modelDSL.getTags() == null ? Collections.emptyList() : new ArrayList<>(modelDSL.getTags()));
         model.setMcmAttributes(keyValuesDSLMapper.fromObjectDSL(modelDSL.getProperties()));
         model.setMcmAttributesInlineComments(keyValuesDSLMapper.fromStringDSL(modelDSL.getPropertiesInlineComments()));
         model.setZoomLevel(modelDSL.getZoomLevel());
@@ -3,9 +3,11 @@ package at.ac.tuwien.model.change.management.core.mapper.dsl;
 import at.ac.tuwien.model.change.management.core.model.Node;
 import at.ac.tuwien.model.change.management.core.model.dsl.MetadataDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.NodeDSL;
+import at.ac.tuwien.model.change.management.core.utils.CollectionUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
 
 @Component
@@ -35,9 +37,7 @@ public class NodeDSLMapperImpl implements NodeDSLMapper {
         nodeDSL.setPprType(node.getPprType());
         nodeDSL.setProperties(keyValuesDSLMapper.toObjectDSL(node.getMcmAttributes()));
         nodeDSL.setPropertiesInlineComments(keyValuesDSLMapper.toStringDSL(node.getMcmAttributesInlineComments()));
-        if (node.getTags() != null && !node.getTags().isEmpty()) {
-            nodeDSL.setTags(node.getTags());
-        }
+        nodeDSL.setTags(CollectionUtils.sortedOrNull(node.getTags()));
         nodeDSL.setMetadata(metadataDSL);
 
         return nodeDSL;
@@ -61,12 +61,12 @@ public class NodeDSLMapperImpl implements NodeDSLMapper {
         if (nodeDSL.getMetadata() != null) {
             node.setUmletPosition(coordinatesDSLMapper.fromDSL(nodeDSL.getMetadata().getCoordinates()));
             node.setUmletAttributes(keyValuesDSLMapper.fromStringDSL(nodeDSL.getMetadata().getPanelAttributes()));
-            node.setGeneratedAttributes(nodeDSL.getMetadata().getAdditionalAttributes());
+            node.setGeneratedAttributes(nodeDSL.getMetadata().getAdditionalAttributes() == null ? null : new ArrayList<>(nodeDSL.getMetadata().getAdditionalAttributes()));
         }
 
         node.setMcmAttributes(keyValuesDSLMapper.fromObjectDSL(nodeDSL.getProperties()));
         node.setMcmAttributesInlineComments(keyValuesDSLMapper.fromStringDSL(nodeDSL.getPropertiesInlineComments()));
-        node.setTags(nodeDSL.getTags() == null ? Collections.emptyList() : nodeDSL.getTags());
+        node.setTags(nodeDSL.getTags() == null ? Collections.emptyList() : new ArrayList<>(nodeDSL.getTags()));
 
 
         return node;
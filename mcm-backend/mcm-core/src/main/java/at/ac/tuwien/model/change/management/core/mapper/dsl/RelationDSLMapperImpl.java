@@ -7,9 +7,11 @@ import at.ac.tuwien.model.change.management.core.model.dsl.MetadataDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.PositionsDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.RelationDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.RelationEndpointDSL;
+import at.ac.tuwien.model.change.management.core.utils.CollectionUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -44,9 +46,7 @@ public class RelationDSLMapperImpl implements RelationDSLMapper {
         relationDSL.setProperties(keyValuesDSLMapper.toObjectDSL(relation.getMcmAttributes()));
         relationDSL.setPropertiesInlineComments(keyValuesDSLMapper.toStringDSL(relation.getMcmAttributesInlineComments()));
 
-        if (relation.getTags() != null && !relation.getTags().isEmpty()) {
-            relationDSL.setTags(relation.getTags());
-        }
+        relationDSL.setTags(CollectionUtils.sortedOrNull(relation.getTags()));
 
         PositionsDSL positionsDSL = new PositionsDSL();
         positionsDSL.setRelativeStartPoint(relativePositionDSLMapper.toDSL(relation.getRelativeStartPoint()));
@@ -85,7 +85,7 @@ public class RelationDSLMapperImpl implements RelationDSLMapper {
         relation.setPprType(relationDSL.getPprType());
         relation.setMcmAttributes(keyValuesDSLMapper.fromObjectDSL(relationDSL.getProperties()));
         relation.setMcmAttributesInlineComments(keyValuesDSLMapper.fromStringDSL(relationDSL.getPropertiesInlineComments()));
-        relation.setTags(relationDSL.getTags() == null ? Collections.emptyList() : relationDSL.getTags());
+        relation.setTags(relationDSL.getTags() == null ? Collections.emptyList() : new ArrayList<>(relationDSL.getTags()));
 
         Optional.ofNullable(relationDSL.getMetadata()).ifPresent(metadata -> {
             relation.setUmletPosition(coordinatesDSLMapper.fromDSL(metadata.getCoordinates()));
@@ -0,0 +1,29 @@
+package at.ac.tuwien.model.change.management.core.model;
+
+import lombok.NonNull;
+
+/**
+ * The number of models, nodes and relations a version of a configuration added, modified and deleted
+ * compared to the version before it. Recorded when the version is created, so it can be listed without
+ * comparing the versions of the configuration.
+ *
+ * @param models    the changes to models
+ * @param nodes     the changes to nodes
+ * @param relations the changes to relations
+ */
+public record ConfigurationChangeSummary(
+        @NonNull ChangeCounts models,
+        @NonNull ChangeCounts nodes,
+        @NonNull ChangeCounts relations
+) {
+
+    /**
+     * The number of elements of one type changed by a version.
+     *
+     * @param added    the number of added elements
+     * @param modified the number of modified elements
+     * @param deleted  the number of deleted elements
+     */
+    public record ChangeCounts(int added, int modified, int deleted) {
+    }
+}
@@ -0,0 +1,31 @@
+package at.ac.tuwien.model.change.management.core.model;
+
+import lombok.NonNull;
+
+/**
+ * Overview of the current version of a configuration, which can be listed without reading the configuration itself.
+ *
+ * @param name          the name of the configuration
+ * @param version       the current version of the configuration
+ * @param modelCount    the number of models in the configuration
+ * @param nodeCount     the number of nodes across all models
+ * @param relationCount the number of relations across all nodes
+ * @param size          the size of all stored element files of the configuration, in bytes
+ */
+public record ConfigurationSummary(
+        @NonNull String name,
+        @NonNull ConfigurationVersion version,
+        int modelCount,
+        int nodeCount,
+        int relationCount,
+        long size
+) {
+
+    public ConfigurationSummary withName(@NonNull String name) {
+        return new ConfigurationSummary(name, version, modelCount, nodeCount, relationCount, size);
+    }
+
+    public ConfigurationSummary withVersion(@NonNull ConfigurationVersion version) {
+        return new ConfigurationSummary(name, version, modelCount, nodeCount, relationCount, size);
+    }
+}
@@ -3,19 +3,33 @@ package at.ac.tuwien.model.change.management.core.model;
 import org.springframework.lang.Nullable;
 
 
-public record ConfigurationVersion(@Nullable String hash, @Nullable String name, @Nullable String customName) {
+public record ConfigurationVersion(
+        @Nullable String hash,
+        @Nullable String name,
+        @Nullable String customName,
+        // null if not recorded, e.g., for versions created before change summaries were introduced
+        @Nullable ConfigurationChangeSummary changeSummary
+) {
+
+    public ConfigurationVersion(@Nullable String hash, @Nullable String name, @Nullable String customName) {
+        this(hash, name, customName, null);
+    }
 
     @SuppressWarnings("unused")
     public ConfigurationVersion withHash(@Nullable String hash) {
-        return new ConfigurationVersion(hash, name, customName);
+        return new ConfigurationVersion(hash, name, customName, changeSummary);
     }
 
     @SuppressWarnings("unused")
     public ConfigurationVersion withName(@Nullable String name) {
-        return new ConfigurationVersion(hash, name, customName);
+        return new ConfigurationVersion(hash, name, customName, changeSummary);
     }
 
     public ConfigurationVersion withCustomName(@Nullable String customName) {
-        return new ConfigurationVersion(hash, name, customName);
+        return new ConfigurationVersion(hash, name, customName, changeSummary);
+    }
+
+    public ConfigurationVersion withChangeSummary(@Nullable ConfigurationChangeSummary changeSummary) {
+        return new ConfigurationVersion(hash, name, customName, changeSummary);
     }
 }
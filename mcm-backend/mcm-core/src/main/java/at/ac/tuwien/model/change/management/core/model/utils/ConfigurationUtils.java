@@ -4,13 +4,20 @@ import at.ac.tuwien.model.change.management.core.mapper.uxf.McmAttributesMapper;
 import at.ac.tuwien.model.change.management.core.model.Configuration;
 import at.ac.tuwien.model.change.management.core.model.Model;
 import at.ac.tuwien.model.change.management.core.model.Node;
+import at.ac.tuwien.model.change.management.core.model.Relation;
+import at.ac.tuwien.model.change.management.core.model.UMLetPosition;
 import at.ac.tuwien.model.change.management.core.model.attributes.AttributeKeys;
+import at.ac.tuwien.model.change.management.core.model.attributes.BaseAttributes;
+import at.ac.tuwien.model.change.management.core.model.attributes.ElementAttributes;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -117,4 +124,120 @@ public class ConfigurationUtils {
 
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a deep copy of a configuration, so that changes to the copy do not affect the original and vice versa.
+     * Relation targets are remapped to the copied nodes. Immutable values (records, relative positions, strings)
+     * are shared between the original and the copy.
+     *
+     * @param configuration the configuration to copy
+     * @return the copied configuration
+     */
+    public static Configuration deepCopy(Configuration configuration) {
+        // nodes are copied without their relations first, so that relation targets can be resolved
+        // nodes are only added to sets once complete, since their hash code depends on their relations
+        Map<Node, Node> copiedNodes = new IdentityHashMap<>();
+        if (configuration.getModels() != null) {
+            for (Model m : configuration.getModels()) {
+                if (m.getNodes() != null) {
+                    m.getNodes().forEach(n -> copiedNodes.put(n, copyNodeWithoutRelations(n)));
+                }
+            }
+        }
+
+        for (var kv : new ArrayList<>(copiedNodes.entrySet())) {
+            if (kv.getKey().getRelations() == null) {
+                kv.getValue().setRelations(null);
+                continue;
+            }
+            var relations = new HashSet<Relation>();
+            for (Relation r : kv.getKey().getRelations()) {
+                relations.add(copyRelation(r, copiedNodes));
+            }
+            kv.getValue().setRelations(relations);
+        }
+
+        Configuration result = new Configuration();
+        result.setName(configuration.getName());
+        result.setVersion(configuration.getVersion());
+        if (configuration.getModels() == null) {
+            result.setModels(null);
+            return result;
+        }
+        for (Model m : configuration.getModels()) {
+            Model model = new Model();
+            copyBaseAttributes(m, model);
+            model.setZoomLevel(m.getZoomLevel());
+            if (m.getNodes() != null) {
+                var nodes = new HashSet<Node>();
+                m.getNodes().forEach(n -> nodes.add(copiedNodes.get(n)));
+                model.setNodes(nodes);
+            }
+            result.getModels().add(model);
+        }
+        return result;
+    }
+
+    private static Node copyNodeWithoutRelations(Node source) {
+        Node node = new Node();
+        copyElementAttributes(source, node);
+        node.setElementType(source.getElementType());
+        node.setGeneratedAttributes(source.getGeneratedAttributes() != null ? new ArrayList<>(source.getGeneratedAttributes()) : null);
+        node.setUmletPosition(copyPosition(source.getUmletPosition()));
+        return node;
+    }
+
+    private static Relation copyRelation(Relation source, Map<Node, Node> copiedNodes) {
+        Relation relation = new Relation();
+        copyElementAttributes(source, relation);
+        relation.setType(source.getType());
+        if (source.getTarget() != null) {
+            // targets outside the configuration are copied without their relations to avoid following cycles
+            relation.setTarget(copiedNodes.computeIfAbsent(source.getTarget(), ConfigurationUtils::copyNodeWithoutRelations));
+        }
+        relation.setUmletPosition(copyPosition(source.getUmletPosition()));
+        // the custom setters would recompute the absolute points, so the relative positions are set first
+        if (source.getRelativeStartPoint() != null) {
+            relation.setRelativeStartPoint(source.getRelativeStartPoint());
+        }
+        if (source.getRelativeEndPoint() != null) {
+            relation.setRelativeEndPoint(source.getRelativeEndPoint());
+        }
+        relation.setRelativeMidPoints(source.getRelativeMidPoints() != null ? new ArrayList<>(source.getRelativeMidPoints()) : null);
+        relation.setStartPoint(source.getStartPoint());
+        relation.setEndPoint(source.getEndPoint());
+        return relation;
+    }
+
+    private static void copyElementAttributes(ElementAttributes source, ElementAttributes target) {
+        copyBaseAttributes(source, target);
+        target.setMcmModel(source.getMcmModel());
+        target.setMcmModelId(source.getMcmModelId());
+        target.setUmletAttributes(source.getUmletAttributes() != null ? new LinkedHashMap<>(source.getUmletAttributes()) : null);
+        target.setPprType(source.getPprType());
+    }
+
+    private static void copyBaseAttributes(BaseAttributes source, BaseAttributes target) {
+        target.setId(source.getId());
+        target.setTags(source.getTags() != null ? new ArrayList<>(source.getTags()) : null);
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        if (source.getMcmAttributes() != null) {
+            LinkedHashMap<String, Object> attributes = new LinkedHashMap<>();
+            // listable attributes are parsed into lists, every other value is immutable
+            source.getMcmAttributes().forEach((k, v) -> attributes.put(k, v instanceof List<?> list ? new ArrayList<>(list) : v));
+            target.setMcmAttributes(attributes);
+        } else {
+            target.setMcmAttributes(null);
+        }
+        target.setMcmAttributesInlineComments(source.getMcmAttributesInlineComments() != null
+                ? new LinkedHashMap<>(source.getMcmAttributesInlineComments()) : null);
+    }
+
+    private static UMLetPosition copyPosition(UMLetPosition position) {
+        if (position == null) {
+            return null;
+        }
+        return new UMLetPosition(position.getX(), position.getY(), position.getWidth(), position.getHeight());
+    }
+}
@@ -0,0 +1,16 @@
+package at.ac.tuwien.model.change.management.core.model.versioning;
+
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * The value an MCM attribute of a model, node or relation took in a version of a configuration.
+ * A series of values only lists the versions in which the value changed, the value holds until the next entry of the same element.
+ *
+ * @param version   the version hash in which the element took the value
+ * @param elementId the ID of the model, node or relation
+ * @param value     the value of the attribute, converted as in the attributes of the element - null if the element
+ *                  no longer has the attribute, e.g., because it was deleted
+ */
+public record AttributeValue(@NonNull String version, @NonNull String elementId, @Nullable Object value) {
+}
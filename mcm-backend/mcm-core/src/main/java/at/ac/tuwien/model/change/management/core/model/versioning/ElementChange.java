@@ -0,0 +1,17 @@
+package at.ac.tuwien.model.change.management.core.model.versioning;
+
+import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import lombok.NonNull;
+
+/**
+ * A version of a configuration in which a model, node or relation was added, modified or deleted.
+ *
+ * @param version    the version of the configuration
+ * @param changeType how the element changed in the version - ADD, MODIFY or DELETE, like the diff type of a {@link BaseAttributesDiff}
+ */
+public record ElementChange(@NonNull ConfigurationVersion version, @NonNull String changeType) {
+
+    public ElementChange withVersion(@NonNull ConfigurationVersion version) {
+        return new ElementChange(version, changeType);
+    }
+}
@@ -1,8 +1,12 @@
 package at.ac.tuwien.model.change.management.core.service;
 
 import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.core.model.Model;
 import at.ac.tuwien.model.change.management.core.model.versioning.BaseAttributesDiff;
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
 import lombok.NonNull;
 import org.springframework.lang.Nullable;
 
@@ -51,6 +55,17 @@ public interface ConfigurationService {
      */
     Configuration getConfigurationByName(@NonNull String name, boolean loadIntoGraphDB);
 
+    /**
+     * Get a single model of the most recent version of a configuration
+     * Only the model is read, not the rest of the configuration, so relations pointing to nodes of other models have no target
+     *
+     * @param name    the name of the configuration
+     * @param modelId the ID of the model
+     * @return the model with its nodes and the relations starting at them
+     * @throws at.ac.tuwien.model.change.management.core.exception.ModelNotFoundException if the configuration does not contain the model
+     */
+    Model getModelOfConfiguration(@NonNull String name, @NonNull String modelId);
+
     /**
      * Get a specific version of a configuration by its name and version
      *
@@ -68,6 +83,23 @@ public interface ConfigurationService {
      */
     List<Configuration> getAllConfigurations();
 
+    /**
+     * Get the most recent version of the configuration that contains the model with the given ID
+     * Configurations are searched concurrently and the search stops once the model was found
+     *
+     * @param modelId the ID of the model
+     * @return the most recent version of the configuration containing the model
+     * @throws at.ac.tuwien.model.change.management.core.exception.ModelNotFoundException if no configuration contains the model
+     */
+    Configuration getConfigurationContainingModel(@NonNull String modelId);
+
+    /**
+     * Get summaries of the most recent versions of all configurations, without reading the configurations themselves
+     *
+     * @return a list of the summaries of all configurations, ordered by name
+     */
+    List<ConfigurationSummary> getAllConfigurationSummaries();
+
     /**
      * List all versions of a configuration by its name
      * Includes the commit hash, the auto-generated version name and the user-supplied version name if there is one
@@ -77,6 +109,41 @@ public interface ConfigurationService {
      */
     List<ConfigurationVersion> listConfigurationVersions(@NonNull String name);
 
+    /**
+     * List a page of versions of a configuration by its name, most recent version first
+     * The hash of the last version of a page is the cursor of the next page, a page with less than limit versions is the last one
+     *
+     * @param name   the name of the configuration
+     * @param cursor the hash of the last version of the previous page, or null to start at the most recent version
+     * @param limit  the maximum number of versions to list, must be positive
+     * @return a list of at most limit saved versions of the configuration with the given name
+     * @throws at.ac.tuwien.model.change.management.core.exception.ConfigurationVersionDoesNotExistException if the cursor is not a version of the configuration
+     */
+    List<ConfigurationVersion> listConfigurationVersions(@NonNull String name, @Nullable String cursor, int limit);
+
+    /**
+     * List the versions of a configuration in which a model, node or relation was added, modified or deleted
+     * The change type is ADD, MODIFY or DELETE, versions in which the element was only moved to another file are not listed
+     *
+     * @param name      the name of the configuration
+     * @param elementId the ID of the model, node or relation
+     * @return a list of the changes of the element, most recent version first
+     */
+    List<ElementChange> getElementHistory(@NonNull String name, @NonNull String elementId);
+
+    /**
+     * List the values an MCM attribute of the models, nodes and relations of a configuration took across a range of versions
+     * The first version of the range lists the value of every element that has the attribute, later versions only list changed values
+     * A null value means that the element no longer has the attribute, e.g., because it was deleted
+     *
+     * @param name        the name of the configuration
+     * @param key         the key of the MCM attribute
+     * @param fromVersion the first version of the range, or null to start at the first version
+     * @param toVersion   the last version of the range, or null to end at the most recent version
+     * @return a list of the values of the attribute, oldest version first
+     */
+    List<AttributeValue> getAttributeSeries(@NonNull String name, @NonNull String key, @Nullable String fromVersion, @Nullable String toVersion);
+
     /**
      * Compare two versions of a configuration by their identifiers
      *
@@ -2,12 +2,17 @@ package at.ac.tuwien.model.change.management.core.service;
 
 import at.ac.tuwien.model.change.management.core.exception.*;
 import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.core.model.Model;
 import at.ac.tuwien.model.change.management.core.model.versioning.BaseAttributesDiff;
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationProcessor;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersionDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.repository.ConfigurationRepository;
 import at.ac.tuwien.model.change.management.git.repository.VersionControlRepository;
 import lombok.NonNull;
@@ -142,6 +147,24 @@ public class ConfigurationServiceImpl implements ConfigurationService {
         }
     }
 
+    @Override
+    public Model getModelOfConfiguration(@NonNull String name, @NonNull String modelId) {
+        log.debug("Finding model '{}' of current version of configuration '{}'.", modelId, name);
+
+        try {
+            validateConfigurationName(name);
+            var foundConfiguration = configurationRepository.findModelsOfCurrentVersionOfConfiguration(name, List.of(modelId))
+                    .orElseThrow(() -> new ConfigurationNotFoundException("Current version of configuration '" + name + "' could not be found."));
+            var model = foundConfiguration.getModels().stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ModelNotFoundException("Model with id '" + modelId + "' not found in configuration '" + name + "'"));
+            log.info("Found model '{}' of current version of configuration '{}'.", modelId, name);
+            return model;
+        } catch (RepositoryAccessException e) {
+            throw new ConfigurationGetException("Failed to access model '" + modelId + "' of configuration '" + name + "'.", e);
+        }
+    }
+
     @Override
     public Configuration getConfigurationVersion(@NonNull String name, @NonNull String version, boolean loadIntoGraphDB) {
         log.debug("Finding configuration '{}' with version '{}'.", name, version);
@@ -176,6 +199,33 @@ public class ConfigurationServiceImpl implements ConfigurationService {
         }
     }
 
+    @Override
+    public Configuration getConfigurationContainingModel(@NonNull String modelId) {
+        try {
+            log.debug("Finding configuration containing model '{}'.", modelId);
+            var configuration = configurationRepository.findConfigurationContainingModel(modelId)
+                    .orElseThrow(() -> new ModelNotFoundException("Model with id '" + modelId + "' not found"));
+            log.info("Found model '{}' in configuration '{}'.", modelId, configuration.getName());
+            return decodeVersionName(configuration);
+        } catch (RepositoryAccessException e) {
+            throw new ConfigurationGetException("Failed to search stored configurations for model '" + modelId + "'.", e);
+        }
+    }
+
+    @Override
+    public List<ConfigurationSummary> getAllConfigurationSummaries() {
+        try {
+            log.debug("Listing summaries of all configurations.");
+            var summaries = configurationRepository.findAllConfigurationSummaries().stream()
+                    .map(summary -> summary.withVersion(decodeVersionName(summary.version())))
+                    .toList();
+            log.info("Listed summaries of {} configurations.", summaries.size());
+            return summaries;
+        } catch (RepositoryAccessException e) {
+            throw new ConfigurationGetException("Failed to list summaries of all stored configurations.", e);
+        }
+    }
+
     @Override
     public List<ConfigurationVersion> listConfigurationVersions(@NonNull String configurationName) {
         try {
@@ -193,6 +243,63 @@ public class ConfigurationServiceImpl implements ConfigurationService {
         }
     }
 
+    @Override
+    public List<ConfigurationVersion> listConfigurationVersions(@NonNull String configurationName, @Nullable String cursor, int limit) {
+        try {
+            log.debug("Listing up to {} versions of configuration '{}' after '{}'.", limit, configurationName, cursor);
+            validateConfigurationName(configurationName);
+            if (limit <= 0) {
+                throw new ConfigurationValidationException("Version page limit must be positive, but was " + limit + ".");
+            }
+            var versions = configurationRepository.listConfigurationVersions(configurationName, cursor, limit).stream()
+                    .map(this::decodeVersionName)
+                    .toList();
+            log.info("Listed {} versions of configuration '{}' after '{}'.", versions.size(), configurationName, cursor);
+            return versions;
+        } catch (RepositoryDoesNotExistException e) {
+            throw new ConfigurationDoesNotExistException("Could not list versions because configuration '" + configurationName + "' was not found.", e);
+        } catch (RepositoryVersionDoesNotExistException e) {
+            throw new ConfigurationVersionDoesNotExistException("Could not list versions because version '" + cursor + "' of configuration '" + configurationName + "' was not found.", e);
+        } catch (RepositoryAccessException e) {
+            throw new ConfigurationGetException("Failed to list versions of configuration '" + configurationName + "' after '" + cursor + "'.", e);
+        }
+    }
+
+    @Override
+    public List<ElementChange> getElementHistory(@NonNull String name, @NonNull String elementId) {
+        try {
+            log.debug("Listing history of element '{}' in configuration '{}'.", elementId, name);
+            validateConfigurationName(name);
+            var history = configurationRepository.listElementHistory(name, elementId).stream()
+                    .map(change -> change.withVersion(decodeVersionName(change.version())))
+                    .toList();
+            log.info("Listed {} changes of element '{}' in configuration '{}'.", history.size(), elementId, name);
+            return history;
+        } catch (RepositoryDoesNotExistException e) {
+            throw new ConfigurationDoesNotExistException("Could not list element history because configuration '" + name + "' was not found.", e);
+        } catch (RepositoryAccessException e) {
+            throw new ConfigurationGetException("Failed to list history of element '" + elementId + "' in configuration '" + name + "'.", e);
+        }
+    }
+
+    @Override
+    public List<AttributeValue> getAttributeSeries(@NonNull String name, @NonNull String key, @Nullable String fromVersion, @Nullable String toVersion) {
+        try {
+            log.debug("Listing values of attribute '{}' from '{}' to '{}' in configuration '{}'.", key, fromVersion, toVersion, name);
+            validateConfigurationName(name);
+            if (key.isBlank()) {
+                throw new ConfigurationValidationException("Attribute key must not be blank.");
+            }
+            var series = configurationRepository.listAttributeSeries(name, key, fromVersion, toVersion);
+            log.info("Listed {} values of attribute '{}' in configuration '{}'.", series.size(), key, name);
+            return series;
+        } catch (RepositoryDoesNotExistException e) {
+            throw new ConfigurationDoesNotExistException("Could not list attribute values because configuration '" + name + "' was not found.", e);
+        } catch (RepositoryAccessException e) {
+            throw new ConfigurationGetException("Failed to list values of attribute '" + key + "' in configuration '" + name + "'.", e);
+        }
+    }
+
     @Override
     public List<BaseAttributesDiff> compareConfigurationVersions(@NonNull String name, @NonNull String oldVersion, @NonNull String newVersion, boolean includeUnchanged) {
         log.debug("Comparing versions '{}' and '{}' of configuration '{}'.", oldVersion, newVersion, name);
@@ -1,6 +1,5 @@
 package at.ac.tuwien.model.change.management.core.service;
 
-import at.ac.tuwien.model.change.management.core.exception.ModelNotFoundException;
 import at.ac.tuwien.model.change.management.core.mapper.uxf.ModelUxfMapper;
 import at.ac.tuwien.model.change.management.core.model.Configuration;
 import at.ac.tuwien.model.change.management.core.model.Model;
@@ -12,7 +11,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.factory.Mappers;
 import org.springframework.stereotype.Service;
 
-import java.util.Iterator;
 import java.util.List;
 
 @Service
@@ -23,20 +21,10 @@ public class ModelServiceImpl implements ModelService {
 
     @Override
     public Configuration deleteModel(String modelId) {
-        List<Configuration> configurations = configurationService.getAllConfigurations();
-        for (Configuration configuration : configurations) {
-            Iterator<Model> iterator = configuration.getModels().iterator();
-            while (iterator.hasNext()) {
-                Model model = iterator.next();
-                if (model.getId().equals(modelId)) {
-                    iterator.remove();
-                    log.info("Model with id {} deleted from configuration {}", modelId, configuration.getName());
-                    return configurationService.updateConfiguration(configuration);
-                }
-            }
-        }
-
-        throw new ModelNotFoundException("Model with id '" + modelId + "' not found");
+        Configuration configuration = configurationService.getConfigurationContainingModel(modelId);
+        configuration.getModels().removeIf(model -> model.getId().equals(modelId));
+        log.info("Model with id {} deleted from configuration {}", modelId, configuration.getName());
+        return configurationService.updateConfiguration(configuration);
     }
 
     @Override
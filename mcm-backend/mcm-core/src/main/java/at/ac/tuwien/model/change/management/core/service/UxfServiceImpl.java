@@ -112,19 +112,8 @@ public class UxfServiceImpl implements UxfService {
 
     @Override
     public String exportModel(String configurationName, String modelUuid) throws ModelNotFoundException, UxfException {
-        Model target = null;
-        Configuration targetConf = configurationService.getConfigurationByName(configurationName);
-
-        for (Model model : targetConf.getModels()) {
-            if (Objects.equals(model.getId(), modelUuid)) {
-                target = model;
-                break;
-            }
-        }
-
-        if (target == null) {
-            throw new ModelNotFoundException("Model with id '" + modelUuid + "' not found in configuration '" + configurationName + "'");
-        }
+        // only the exported model is read, not the whole configuration
+        Model target = configurationService.getModelOfConfiguration(configurationName, modelUuid);
 
         ModelUxfMapper modelUxfMapper = Mappers.getMapper(ModelUxfMapper.class);
         ModelUxf modelUxf = modelUxfMapper.fromModel(target);
@@ -231,18 +220,12 @@ public class UxfServiceImpl implements UxfService {
         if (parsedModel.getId() == null) {
             throw new UxfException("Model id is missing");
         }
-        var configs = configurationService.getAllConfigurations();
-        for (var conf : configs) {
-            var models = conf.getModels();
-            boolean found = models.removeIf(existingModel -> Objects.equals(existingModel.getId(), parsedModel.getId()));
-            if (found) {
-                models.add(parsedModel);
-                configurationService.updateConfiguration(conf);
-                return parsedModel;
-            }
-
-        }
-        throw new ModelNotFoundException("Model with id '" + parsedModel.getId() + "' not found");
+        var conf = configurationService.getConfigurationContainingModel(parsedModel.getId());
+        var models = conf.getModels();
+        models.removeIf(existingModel -> Objects.equals(existingModel.getId(), parsedModel.getId()));
+        models.add(parsedModel);
+        configurationService.updateConfiguration(conf);
+        return parsedModel;
     }
 
     private boolean isFullConfiguration(Model parsedModel) {
@@ -0,0 +1,62 @@
+package at.ac.tuwien.model.change.management.core.transformer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of unmarshalled DSL objects, keyed by the content ID of their {@link DSLSource}, bounded by their estimated memory.
+ * Since content IDs identify immutable content, entries never become stale.
+ * Cached DSL objects are shared between all readers and must therefore never be modified.
+ */
+@Slf4j
+class DSLParseCache {
+
+    private final Supplier<DataSize> maxWeight;
+
+    // access-ordered, so iteration starts with the least recently used entry
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalWeight = 0;
+
+    DSLParseCache(Supplier<DataSize> maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    synchronized Object get(String contentId) {
+        var entry = entries.get(contentId);
+        return entry != null ? entry.parsed() : null;
+    }
+
+    synchronized boolean contains(String contentId) {
+        return entries.containsKey(contentId);
+    }
+
+    synchronized void put(String contentId, Object parsed, long weight) {
+        var maxWeight = this.maxWeight.get().toBytes();
+        if (weight > maxWeight) {
+            log.debug("Parsed DSL with content ID '{}' is too large to be cached", contentId);
+            return;
+        }
+
+        var entry = new CacheEntry(parsed, Math.max(weight, 0));
+        var previous = entries.put(contentId, entry);
+        if (previous != null) {
+            totalWeight -= previous.weight();
+        }
+        totalWeight += entry.weight();
+        evictLeastRecentlyUsed(maxWeight);
+    }
+
+    private void evictLeastRecentlyUsed(long maxWeight) {
+        var iterator = entries.values().iterator();
+        while (iterator.hasNext() && totalWeight > maxWeight) {
+            totalWeight -= iterator.next().weight();
+            iterator.remove();
+        }
+    }
+
+    private record CacheEntry(Object parsed, long weight) {
+    }
+}
@@ -0,0 +1,21 @@
+package at.ac.tuwien.model.change.management.core.transformer;
+
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * The textual DSL of a single element, as read from storage.
+ * The content ID uniquely identifies the DSL text (e.g., the ID of the git blob it is stored in), so parse results
+ * can be reused for every source with the same content ID. The DSL text is only loaded if it actually has to be parsed.
+ *
+ * @param contentId the ID of the DSL content, or null if the content is not addressable
+ * @param dsl       supplies the DSL text
+ */
+public record DSLSource(@Nullable String contentId, @NonNull Supplier<String> dsl) {
+
+    public static DSLSource of(@NonNull String dsl) {
+        return new DSLSource(null, () -> dsl);
+    }
+}
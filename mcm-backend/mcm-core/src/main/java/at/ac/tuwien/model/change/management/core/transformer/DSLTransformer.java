@@ -5,6 +5,8 @@ import at.ac.tuwien.model.change.management.core.model.Model;
 import at.ac.tuwien.model.change.management.core.model.Node;
 import at.ac.tuwien.model.change.management.core.model.Relation;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 public interface DSLTransformer {
@@ -17,5 +19,45 @@ public interface DSLTransformer {
 
     Model parseToModel(String metadata) throws DSLException;
 
+    /**
+     * Parse nodes and their relations from DSL sources.
+     * Sources with a content ID are only parsed once; later calls reuse the parse result and do not load the DSL text.
+     *
+     * @param nodes     the sources of the node DSL
+     * @param relations the sources of the relation DSL
+     * @return the parsed nodes, with relations attached to their source nodes
+     * @throws DSLException if a source cannot be parsed
+     */
+    Set<Node> parseSourcesToNodes(Collection<DSLSource> nodes, Collection<DSLSource> relations) throws DSLException;
+
+    /**
+     * Parse a model from a DSL source.
+     * Sources with a content ID are only parsed once; later calls reuse the parse result and do not load the DSL text.
+     *
+     * @param model the source of the model DSL
+     * @return the parsed model
+     * @throws DSLException if the source cannot be parsed
+     */
+    Model parseSourceToModel(DSLSource model) throws DSLException;
+
+    /**
+     * Parse only the MCM attributes of a model, node or relation from a DSL source.
+     * A parse result cached for the source is reused, but a new parse result is not cached, so reading attributes of
+     * many old versions does not evict the elements of the versions in use.
+     *
+     * @param element the source of the model, node or relation DSL
+     * @return the MCM attributes of the element, values converted as when parsing the whole element
+     * @throws DSLException if the source cannot be parsed
+     */
+    Map<String, Object> parseSourceToAttributes(DSLSource element) throws DSLException;
+
+    /**
+     * Check whether the parse result of a source is reused when parsing it, i.e., whether its DSL text is not loaded.
+     *
+     * @param source the source to check
+     * @return true if the source has a content ID that was already parsed, false otherwise
+     */
+    boolean isParsed(DSLSource source);
+
     String parseToModelDSL(Model model) throws DSLException;
 }
@@ -1,16 +1,19 @@
 package at.ac.tuwien.model.change.management.core.transformer;
 
 import at.ac.tuwien.model.change.management.core.exception.DSLException;
+import at.ac.tuwien.model.change.management.core.mapper.dsl.KeyValuesDSLMapper;
 import at.ac.tuwien.model.change.management.core.mapper.dsl.ModelDSLMapper;
 import at.ac.tuwien.model.change.management.core.mapper.dsl.NodeDSLMapper;
 import at.ac.tuwien.model.change.management.core.mapper.dsl.RelationDSLMapper;
 import at.ac.tuwien.model.change.management.core.model.Model;
 import at.ac.tuwien.model.change.management.core.model.Node;
 import at.ac.tuwien.model.change.management.core.model.Relation;
+import at.ac.tuwien.model.change.management.core.model.dsl.KeyValueDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.ModelDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.NodeDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.RelationDSL;
 import at.ac.tuwien.model.change.management.core.model.dsl.RelationEndpointDSL;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import jakarta.xml.bind.JAXBException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -21,47 +24,55 @@ import java.util.*;
 @RequiredArgsConstructor
 public class DSLTransformerImpl implements DSLTransformer {
 
+    // rough estimate of the memory used by a parsed DSL object per character of its textual DSL, used to weigh cached objects
+    private static final long ESTIMATED_WEIGHT_PER_CHARACTER = 4;
+
     private final NodeDSLMapper nodeDSLMapper;
     private final RelationDSLMapper relationDSLMapper;
     private final ModelDSLMapper modelDSLMapper;
     private final XMLTransformer xmlTransformer;
+    private final KeyValuesDSLMapper keyValuesDSLMapper;
+    private final GitProperties properties;
+
+    // parsed DSL objects, keyed by the content ID of their source
+    private final DSLParseCache parseCache = new DSLParseCache(() -> properties.getParseCache().getMaxWeight());
 
     @Override
     public Set<Node> parseToNodes(Set<String> nodesDSL, Set<String> relationsDSL) throws DSLException {
+        return parseSourcesToNodes(
+                nodesDSL.stream().map(DSLSource::of).toList(),
+                relationsDSL.stream().map(DSLSource::of).toList()
+        );
+    }
+
+    @Override
+    public Set<Node> parseSourcesToNodes(Collection<DSLSource> nodeSources, Collection<DSLSource> relationSources) throws DSLException {
         Map<String, Node> nodes = new HashMap<>();
 
         // Parse nodes
-        for (String textualNodeDSL : nodesDSL) {
-            try {
-                NodeDSL nodeDSL = (NodeDSL) xmlTransformer.unmarshal(textualNodeDSL);
-                Node node = nodeDSLMapper.fromDSL(nodeDSL);
-                nodes.put(node.getId(), node);
-            } catch (JAXBException e) {
-                throw new DSLException("Failed to parse node DSL: " + textualNodeDSL, e);
-            }
+        for (DSLSource nodeSource : nodeSources) {
+            NodeDSL nodeDSL = unmarshal(nodeSource, NodeDSL.class, "node");
+            Node node = nodeDSLMapper.fromDSL(nodeDSL);
+            nodes.put(node.getId(), node);
         }
 
         // Parse relation & attach to source node
-        for (String textualRelationDSL : relationsDSL) {
-            try {
-                RelationDSL relationDSL = (RelationDSL) xmlTransformer.unmarshal(textualRelationDSL);
+        for (DSLSource relationSource : relationSources) {
+            RelationDSL relationDSL = unmarshal(relationSource, RelationDSL.class, "relation");
 
-                if (relationDSL.getSource() == null || nodes.get(relationDSL.getSource().getId()) == null) {
-                    throw new DSLException("Source node is null for relation : " + relationDSL.getId());
-                }
+            if (relationDSL.getSource() == null || nodes.get(relationDSL.getSource().getId()) == null) {
+                throw new DSLException("Source node is null for relation : " + relationDSL.getId());
+            }
 
-                Node sourceNode = nodes.get(relationDSL.getSource().getId());
+            Node sourceNode = nodes.get(relationDSL.getSource().getId());
 
-                Node targetNode = Optional.ofNullable(relationDSL.getTarget())
-                        .map(RelationEndpointDSL::getId)
-                        .map(nodes::get)
-                        .orElse(null);
+            Node targetNode = Optional.ofNullable(relationDSL.getTarget())
+                    .map(RelationEndpointDSL::getId)
+                    .map(nodes::get)
+                    .orElse(null);
 
-                Relation relation = relationDSLMapper.fromDSL(relationDSL, targetNode);
-                sourceNode.getRelations().add(relation);
-            } catch (JAXBException e) {
-                throw new DSLException("Failed to parse relation DSL: " + textualRelationDSL, e);
-            }
+            Relation relation = relationDSLMapper.fromDSL(relationDSL, targetNode);
+            sourceNode.getRelations().add(relation);
         }
 
         return new HashSet<>(nodes.values());
@@ -89,12 +100,13 @@ public class DSLTransformerImpl implements DSLTransformer {
 
     @Override
     public Model parseToModel(String modelDSLText) throws DSLException {
-        try {
-            ModelDSL modelDSL = (ModelDSL) xmlTransformer.unmarshal(modelDSLText);
-            return modelDSLMapper.fromDSL(modelDSL);
-        } catch (JAXBException e) {
-            throw new DSLException("Failed to parse model DSL: " + modelDSLText, e);
-        }
+        return parseSourceToModel(DSLSource.of(modelDSLText));
+    }
+
+    @Override
+    public Model parseSourceToModel(DSLSource modelSource) throws DSLException {
+        ModelDSL modelDSL = unmarshal(modelSource, ModelDSL.class, "model");
+        return modelDSLMapper.fromDSL(modelDSL);
     }
 
     @Override
@@ -106,4 +118,55 @@ public class DSLTransformerImpl implements DSLTransformer {
             throw new DSLException("Failed to parse model to DSL: " + model, e);
         }
     }
+
+    @Override
+    public Map<String, Object> parseSourceToAttributes(DSLSource elementSource) throws DSLException {
+        var parsed = elementSource.contentId() != null ? parseCache.get(elementSource.contentId()) : null;
+        if (parsed == null) {
+            String textualDSL = elementSource.dsl().get();
+            try {
+                parsed = xmlTransformer.unmarshal(textualDSL);
+            } catch (JAXBException e) {
+                throw new DSLException("Failed to parse element DSL: " + textualDSL, e);
+            }
+        }
+
+        List<KeyValueDSL> properties;
+        if (parsed instanceof ModelDSL modelDSL) {
+            properties = modelDSL.getProperties();
+        } else if (parsed instanceof NodeDSL nodeDSL) {
+            properties = nodeDSL.getProperties();
+        } else if (parsed instanceof RelationDSL relationDSL) {
+            properties = relationDSL.getProperties();
+        } else {
+            throw new DSLException("Failed to parse element DSL, unknown element type: " + parsed.getClass().getSimpleName());
+        }
+        return keyValuesDSLMapper.fromObjectDSL(properties);
+    }
+
+    @Override
+    public boolean isParsed(DSLSource source) {
+        return source.contentId() != null && parseCache.contains(source.contentId());
+    }
+
+    private <T> T unmarshal(DSLSource source, Class<T> type, String elementName) throws DSLException {
+        var cached = source.contentId() != null ? parseCache.get(source.contentId()) : null;
+        if (type.isInstance(cached)) {
+            return type.cast(cached);
+        }
+
+        String textualDSL = source.dsl().get();
+        try {
+            var parsed = xmlTransformer.unmarshal(textualDSL);
+            if (!type.isInstance(parsed)) {
+                throw new DSLException("Failed to parse " + elementName + " DSL: " + textualDSL);
+            }
+            if (source.contentId() != null) {
+                parseCache.put(source.contentId(), parsed, textualDSL.length() * ESTIMATED_WEIGHT_PER_CHARACTER);
+            }
+            return type.cast(parsed);
+        } catch (JAXBException e) {
+            throw new DSLException("Failed to parse " + elementName + " DSL: " + textualDSL, e);
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package at.ac.tuwien.model.change.management.core.utils;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 
 public final class CollectionUtils {
@@ -14,4 +17,20 @@ public final class CollectionUtils {
         }
         return set;
     }
+
+    /**
+     * Get a sorted copy of the given collection, e.g., to serialize collections whose order carries no meaning canonically.
+     *
+     * @param collection the collection to sort
+     * @return the sorted copy, or null if the collection is null or empty
+     */
+    @Nullable
+    public static <T extends Comparable<? super T>> List<T> sortedOrNull(@Nullable Collection<T> collection) {
+        if (collection == null || collection.isEmpty()) {
+            return null;
+        }
+        return collection.stream()
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .toList();
+    }
 }
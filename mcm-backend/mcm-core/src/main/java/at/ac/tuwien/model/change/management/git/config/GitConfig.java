@@ -2,8 +2,10 @@ package at.ac.tuwien.model.change.management.git.config;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableConfigurationProperties(GitProperties.class)
+@EnableScheduling
 public class GitConfig {
 }
@@ -6,6 +6,7 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
@@ -13,12 +14,26 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Configuration properties for the Git repository.
  * Currently configurable properties;
  * - repositories: the path where the repositories are stored, /tmp/mcm/git by default
  * - encoding: the encoding used for reading and writing files in the repository, UTF-8 by default
+ * - pool: settings for the pool of open JGit repository handles, see {@link Pool}
+ * - version-cache: settings for the cache of parsed configuration versions, see {@link VersionCache}
+ * - parse-cache: settings for the cache of parsed element DSL, see {@link ParseCache}
+ * - element-history: settings for the index of the versions in which each element changed, see {@link ElementHistory}
+ * - catalog: settings for the catalog of the summaries of all configurations, see {@link Catalog}
+ * - storage: settings for how repositories are stored on disk, see {@link Storage}
+ * - storage-cache: settings for the caches JGit keeps of the pack files of all repositories, see {@link StorageCache}
+ * - maintenance: settings for the background maintenance of all repositories, see {@link Maintenance}
+ * - shared-objects: settings for the object store shared by all repositories, see {@link SharedObjects}
+ * - retention: settings for the background compaction of the history of all configurations, see {@link Retention}
+ * - fan-out: settings for operations that process all repositories at once, see {@link FanOut}
+ * - locking: settings for the read/write locks guarding concurrent access to a repository, see {@link Locking}
+ * - commit: settings for how saved configurations are committed and made durable, see {@link Commit}
  */
 @Slf4j
 @Getter
@@ -28,6 +43,19 @@ public class GitProperties {
 
     @NonNull private Path repositories = Path.of("/tmp/mcm/git");
     @NonNull private Charset encoding = StandardCharsets.UTF_8;
+    @NonNull private Pool pool = new Pool();
+    @NonNull private VersionCache versionCache = new VersionCache();
+    @NonNull private ParseCache parseCache = new ParseCache();
+    @NonNull private ElementHistory elementHistory = new ElementHistory();
+    @NonNull private Catalog catalog = new Catalog();
+    @NonNull private Storage storage = new Storage();
+    @NonNull private StorageCache storageCache = new StorageCache();
+    @NonNull private Maintenance maintenance = new Maintenance();
+    @NonNull private SharedObjects sharedObjects = new SharedObjects();
+    @NonNull private Retention retention = new Retention();
+    @NonNull private FanOut fanOut = new FanOut();
+    @NonNull private Locking locking = new Locking();
+    @NonNull private Commit commit = new Commit();
 
     @PostConstruct
     public void init() {
@@ -50,4 +78,260 @@ public class GitProperties {
             throw new RepositoryAccessException("Could not create repository directory '" + repositories + "'", e);
         }
     }
+
+    /**
+     * Settings for the pool of open repository handles kept by the repository factory.
+     * - enabled: whether opened repositories are kept open and reused between requests, true by default
+     * - max-size: the maximum number of repositories kept open at once, further repositories are opened without being kept, 32 by default
+     * - idle-timeout: how long an unused repository is kept open before it is closed, also the interval of the check for idle repositories, 5 minutes by default
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+        private boolean enabled = true;
+        private int maxSize = 32;
+        @NonNull private Duration idleTimeout = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Settings for the cache of parsed configuration versions, keyed by repository and commit.
+     * - enabled: whether parsed configuration versions are cached, true by default
+     * - max-weight: the maximum estimated memory used by all cached versions, 64MB by default
+     */
+    @Getter
+    @Setter
+    public static class VersionCache {
+        private boolean enabled = true;
+        @NonNull private DataSize maxWeight = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * Settings for the cache of parsed element DSL, keyed by the content ID (blob) of the element file.
+     * - max-weight: the maximum estimated memory used by all parsed elements, 64MB by default
+     */
+    @Getter
+    @Setter
+    public static class ParseCache {
+        @NonNull private DataSize maxWeight = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * Settings for the index of the versions in which each element of a configuration changed.
+     * - max-repositories: the maximum number of repositories whose index is kept in memory, 32 by default.
+     *   The index of any other repository is loaded from its git directory again when it is used
+     */
+    @Getter
+    @Setter
+    public static class ElementHistory {
+        private int maxRepositories = 32;
+    }
+
+    /**
+     * Settings for the catalog of the summaries of all configurations, which lets configurations be listed without
+     * opening every repository.
+     * - flush-interval: the time between two writes of the changed catalog to disk, 5 seconds by default.
+     *   Changes made since the last write are lost in a crash, the affected entries are replaced once they are found stale.
+     *   An interval of 0 writes the catalog on every change
+     */
+    @Getter
+    @Setter
+    public static class Catalog {
+        @NonNull private Duration flushInterval = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Settings for how repositories are stored on disk.
+     * - bare: whether new repositories are created as bare repositories without a working tree, false by default.
+     *   Checking out or resetting a bare repository only moves refs. Existing repositories keep their layout
+     * - migrate-to-bare: whether existing repositories with a working tree are converted to bare repositories
+     *   on startup, false by default
+     * - reftable: whether new repositories store their refs in a reftable instead of one loose file per ref, true by default.
+     *   Every version adds one or two tags, so this keeps ref lookups fast and the number of files bounded
+     * - migrate-to-reftable: whether existing repositories with loose refs are converted to reftable on startup, false by default
+     * - layout: the layout of the files of new configurations, see {@link Layout}, PER_MODEL by default.
+     *   The layout is recorded per repository when its first version is committed, existing configurations keep the
+     *   layout of their current version until they are migrated. Versions in either layout can be read
+     * - migrate-layout: whether the current version of every configuration that is stored in another layout
+     *   is converted on startup, false by default. The conversion is committed as a new version
+     * - codec: the codec the element files of new repositories are encoded with, see {@link Codec}, XML by default.
+     *   The codec is recorded per repository when its first version is committed, existing repositories keep XML.
+     *   Files of either codec can be read, so the codec of a repository can be changed in its git config (mcm.codec)
+     */
+    @Getter
+    @Setter
+    public static class Storage {
+        private boolean bare = false;
+        private boolean migrateToBare = false;
+        private boolean reftable = true;
+        private boolean migrateToReftable = false;
+        @NonNull private Layout layout = Layout.PER_MODEL;
+        private boolean migrateLayout = false;
+        @NonNull private Codec codec = Codec.XML;
+    }
+
+    /**
+     * Layout of the files of a configuration version.
+     * - FLAT: one directory per element type, i.e., models/&lt;model&gt;.xml, nodes/&lt;node&gt;.xml and relations/&lt;relation&gt;.xml
+     * - PER_MODEL: one directory per model, i.e., models/&lt;model&gt;/model.xml, models/&lt;model&gt;/nodes/&lt;node&gt;.xml
+     *   and models/&lt;model&gt;/relations/&lt;relation&gt;.xml, where a relation is stored with the model of its source node.
+     *   A single model can be read without reading the rest of the configuration
+     */
+    public enum Layout {
+        FLAT,
+        PER_MODEL
+    }
+
+    /**
+     * Encoding of the element files of a configuration version.
+     * - XML: the formatted DSL text, readable and diffable with any git tooling
+     * - BINARY: a compact length-prefixed tagged encoding of the DSL, which drops indentation and closing tags and
+     *   stores every element and attribute name only once per file. Smaller to store and cheaper to read, but only
+     *   readable through the application; diffs show the formatted DSL text
+     */
+    public enum Codec {
+        XML,
+        BINARY
+    }
+
+    /**
+     * Settings for the caches JGit keeps of the pack files of all repositories, applied on startup.
+     * The caches are shared by all repositories of the JVM, so they are sized for all repositories together.
+     * JGit's defaults are meant for a single desktop repository, these defaults are larger.
+     * - packed-git-limit: the maximum size of all pack file windows kept in memory, 128MB by default
+     * - window-size: the size of a single window read from a pack file, 64KB by default. Must be a power of 2 of at least 4KB
+     * - open-files: the maximum number of pack files kept open at once, 256 by default
+     * - delta-base-cache-limit: the maximum size of inflated delta bases kept to resolve further deltas, 32MB by default
+     * - stream-file-threshold: the size above which objects are streamed rather than inflated into memory, 50MB by default
+     * - mmap: whether pack files are memory-mapped instead of read into the heap, false by default.
+     *   Mapped windows do not count towards the heap, so a larger packed-git-limit can be used for large packs.
+     *   The mapped memory is only released when the window is garbage collected
+     */
+    @Getter
+    @Setter
+    public static class StorageCache {
+        @NonNull private DataSize packedGitLimit = DataSize.ofMegabytes(128);
+        @NonNull private DataSize windowSize = DataSize.ofKilobytes(64);
+        private int openFiles = 256;
+        @NonNull private DataSize deltaBaseCacheLimit = DataSize.ofMegabytes(32);
+        @NonNull private DataSize streamFileThreshold = DataSize.ofMegabytes(50);
+        private boolean mmap = false;
+    }
+
+    /**
+     * Settings for the background maintenance of all repositories, which repacks objects and compacts refs.
+     * - enabled: whether repositories are maintained in the background, true by default
+     * - interval: the time between two maintenance runs, 1 hour by default
+     * - loose-object-threshold: the number of loose objects above which a repository is repacked, 256 by default
+     * - pack-threshold: the number of pack files above which a repository is repacked, 8 by default
+     * - delta-window: the number of objects compared with each other when searching for deltas, 50 by default.
+     *   Element files are small and mostly similar to other versions of themselves, so a wider window than git's default
+     *   of 10 finds deltas for most of them
+     * - delta-depth: the maximum length of a delta chain, 50 by default
+     */
+    @Getter
+    @Setter
+    public static class Maintenance {
+        private boolean enabled = true;
+        @NonNull private Duration interval = Duration.ofHours(1);
+        private int looseObjectThreshold = 256;
+        private int packThreshold = 8;
+        private int deltaWindow = 50;
+        private int deltaDepth = 50;
+    }
+
+    /**
+     * Settings for the object store shared by all repositories, which stores objects contained in several repositories
+     * only once - e.g., the element files of configurations built from the same models.
+     * The store is a bare repository in the repositories directory, which every repository reads as its git alternate.
+     * New objects are still written to the repository itself. The background maintenance moves them to the store,
+     * which keeps a copy of every ref of every repository, so objects referenced by any repository are never pruned from it.
+     * Objects no repository references anymore are pruned after git's prune expiry of two weeks.
+     * - enabled: whether the objects of repositories are moved to the shared store by the background maintenance,
+     *   false by default. Repositories whose objects were moved keep reading the store after it is disabled
+     */
+    @Getter
+    @Setter
+    public static class SharedObjects {
+        private boolean enabled = false;
+    }
+
+    /**
+     * Settings for the background compaction of the history of all configurations, which squashes old versions.
+     * Versions with a custom name and the most recent versions are kept, every run of other versions between them is
+     * squashed into a single version with the content of the last version of the run. The tags of squashed versions
+     * point to that version, so they can still be resolved.
+     * Compaction rewrites the history, so every version after the first squashed version gets a new hash.
+     * - enabled: whether the history of configurations is compacted in the background, false by default
+     * - interval: the time between two compaction runs, 1 day by default
+     * - keep-versions: the number of most recent versions that are kept, 1000 by default.
+     *   Can be overridden per configuration in its git config (mcm.keepVersions)
+     * - min-squashed-versions: the number of versions that must be squashable before the history of a configuration
+     *   is compacted, 100 by default. Avoids rewriting the history of a configuration on every run
+     */
+    @Getter
+    @Setter
+    public static class Retention {
+        private boolean enabled = false;
+        @NonNull private Duration interval = Duration.ofDays(1);
+        private int keepVersions = 1000;
+        private int minSquashedVersions = 100;
+    }
+
+    /**
+     * Settings for operations that process every repository, e.g., reading the current version of all configurations.
+     * - enabled: whether repositories are processed concurrently on virtual threads, true by default.
+     *   Otherwise, they are processed one after another on the calling thread
+     * - max-concurrency: the maximum number of repositories processed at once, twice the number of processors by default.
+     *   Processing a repository mostly waits for disk reads, so more repositories than processors are processed at once
+     */
+    @Getter
+    @Setter
+    public static class FanOut {
+        private boolean enabled = true;
+        private int maxConcurrency = 2 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Settings for the read/write locks guarding concurrent access to a repository.
+     * - stripes: the number of locks repository names are distributed over, 64 by default.
+     *   Repositories sharing a lock cannot be written concurrently, so this should be well above the number of
+     *   configurations that are usually written at the same time
+     */
+    @Getter
+    @Setter
+    public static class Locking {
+        private int stripes = 64;
+    }
+
+    /**
+     * Settings for how saved configurations are committed and made durable.
+     * - coalescing-window: how long saves of the same configuration are collected before they are committed together, 0 by default.
+     *   Only the most recent of the collected configurations is committed and all callers receive the resulting version.
+     *   A save with a custom version name ends the collection early, so that no custom version name is lost.
+     *   A window of 0 commits every save on its own
+     * - durability: when a commit is forced to disk before the save is acknowledged, see {@link Durability}, BUFFERED by default
+     * - sync-interval: the time between two syncs of all commits that have not been forced to disk yet, 1 second by default.
+     *   This bounds the commits lost in a crash for BUFFERED, and the time callers wait for GROUP.
+     *   An interval of 0 disables the periodic sync, then BUFFERED commits are left to the operating system
+     *   and GROUP commits are forced to disk one by one
+     */
+    @Getter
+    @Setter
+    public static class Commit {
+        @NonNull private Duration coalescingWindow = Duration.ZERO;
+        @NonNull private Durability durability = Durability.BUFFERED;
+        @NonNull private Duration syncInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * When a commit is forced to disk.
+     * - PER_COMMIT: every commit is forced to disk before it is acknowledged
+     * - GROUP: commits are acknowledged after the next periodic sync, which forces all commits since the previous one at once
+     * - BUFFERED: commits are acknowledged immediately and forced to disk by the next periodic sync
+     */
+    public enum Durability {
+        PER_COMMIT,
+        GROUP,
+        BUFFERED
+    }
 }
@@ -1,6 +1,10 @@
 package at.ac.tuwien.model.change.management.git.exception;
 
 public class RepositoryDeleteException extends RepositoryAccessException {
+    public RepositoryDeleteException(String msg) {
+        super(msg);
+    }
+
     public RepositoryDeleteException(String msg, Throwable cause) {
         super(msg, cause);
     }
@@ -0,0 +1,8 @@
+package at.ac.tuwien.model.change.management.git.exception;
+
+public class RepositoryVersionDoesNotExistException extends RepositoryVersioningException {
+
+    public RepositoryVersionDoesNotExistException(String message) {
+        super(message);
+    }
+}
@@ -68,8 +68,32 @@ public class ManagedDiffFormatter implements AutoCloseable {
             @NonNull RevCommit newCommit,
             boolean includeUnchanged,
             @Nullable Function<ManagedRepositoryObject, byte[]> objectPreprocessor
+    ) {
+        return createUnifiedDiff(oldCommit, newCommit, includeUnchanged, objectPreprocessor, null);
+    }
+
+    /**
+     * Create the diff entries between two commits.
+     * If a file identity is given, a file deleted at one path and added at another path with the same identity
+     * is compared as a single modified file, or as an unchanged file if its content did not change.
+     *
+     * @param fileIdentity maps the path of a file to the identity of its content, e.g., the ID of the element it stores,
+     *                     or to an empty Optional if the file has no identity
+     */
+    List<ManagedDiffEntry> createUnifiedDiff(
+            @NonNull RevCommit oldCommit,
+            @NonNull RevCommit newCommit,
+            boolean includeUnchanged,
+            @Nullable Function<ManagedRepositoryObject, byte[]> objectPreprocessor,
+            @Nullable Function<String, Optional<String>> fileIdentity
     ) {
         List<DiffEntry> diffEntries = createDiffEntries(oldCommit, newCommit);
+        List<MovedFile> movedFiles = fileIdentity != null ? findMovedFiles(diffEntries, fileIdentity) : Collections.emptyList();
+        Set<DiffEntry> movedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        movedFiles.forEach(movedFile -> {
+            movedEntries.add(movedFile.deleted());
+            movedEntries.add(movedFile.added());
+        });
         List<ManagedRepositoryObject> unchangedObjects = includeUnchanged
                 ? getUnchangedObjects(
                 oldCommit,
@@ -79,7 +103,10 @@ public class ManagedDiffFormatter implements AutoCloseable {
                         .collect(Collectors.toSet()))
                 : Collections.emptyList();
         return Streams.concat(
-                diffEntries.stream().map(diffEntry -> createManagedDiffEntry(diffEntry, objectPreprocessor))
+                diffEntries.stream().filter(diffEntry -> !movedEntries.contains(diffEntry))
+                        .map(diffEntry -> createManagedDiffEntry(diffEntry, objectPreprocessor))
+                        .flatMap(Optional::stream),
+                movedFiles.stream().map(movedFile -> createMovedDiffEntry(movedFile, includeUnchanged, objectPreprocessor))
                         .flatMap(Optional::stream),
                 unchangedObjects.stream().map(object -> createUnchangedDiffEntry(object, objectPreprocessor))
                         .flatMap(Optional::stream)
@@ -129,6 +156,48 @@ public class ManagedDiffFormatter implements AutoCloseable {
         };
     }
 
+    private List<MovedFile> findMovedFiles(List<DiffEntry> diffEntries, Function<String, Optional<String>> fileIdentity) {
+        var deletedFiles = new HashMap<String, List<DiffEntry>>();
+        var addedFiles = new HashMap<String, List<DiffEntry>>();
+        for (var diffEntry : diffEntries) {
+            switch (diffEntry.getChangeType()) {
+                case DELETE -> fileIdentity.apply(diffEntry.getOldPath())
+                        .ifPresent(identity -> deletedFiles.computeIfAbsent(identity, k -> new ArrayList<>()).add(diffEntry));
+                case ADD -> fileIdentity.apply(diffEntry.getNewPath())
+                        .ifPresent(identity -> addedFiles.computeIfAbsent(identity, k -> new ArrayList<>()).add(diffEntry));
+                default -> {
+                }
+            }
+        }
+
+        // only unambiguous moves are paired, anything else is left as separate deletions and additions
+        var movedFiles = new ArrayList<MovedFile>();
+        deletedFiles.forEach((identity, deleted) -> {
+            var added = addedFiles.get(identity);
+            if (deleted.size() == 1 && added != null && added.size() == 1) {
+                movedFiles.add(new MovedFile(deleted.getFirst(), added.getFirst()));
+            }
+        });
+        return movedFiles;
+    }
+
+    private Optional<ManagedDiffEntry> createMovedDiffEntry(
+            MovedFile movedFile,
+            boolean includeUnchanged,
+            @Nullable Function<ManagedRepositoryObject, byte[]> objectPreprocessor
+    ) {
+        var deleted = movedFile.deleted();
+        var added = movedFile.added();
+        var oldObject = new ManagedRepositoryObject(deleted.getOldId().toObjectId(), deleted.getOldPath(), repository, encoding, true);
+        var newObject = new ManagedRepositoryObject(added.getNewId().toObjectId(), added.getNewPath(), repository, encoding, true);
+        if (oldObject.getObjectId().equals(newObject.getObjectId())) {
+            return includeUnchanged ? createUnchangedDiffEntry(newObject, objectPreprocessor) : Optional.empty();
+        }
+        return getUnifiedDiffOutput(new UnifiedDiffHeaderBuilder(deleted, added),
+                getObjectText(oldObject, objectPreprocessor), getObjectText(newObject, objectPreprocessor))
+                .map(diffOutput -> new ManagedDiffEntry.Modify(oldObject, newObject, diffOutput));
+    }
+
     private List<ManagedRepositoryObject> getUnchangedObjects(
             RevCommit commit,
             Set<ObjectId> changedObjects
@@ -184,15 +253,19 @@ public class ManagedDiffFormatter implements AutoCloseable {
 
 
     private Optional<String> getUnifiedDiffOutput(DiffEntry diff, RawText oldContent, RawText newContent) {
-        return getUnifiedDiffOutput(diff, oldContent, newContent, Math.max(oldContent.size(), newContent.size()));
+        return getUnifiedDiffOutput(new UnifiedDiffHeaderBuilder(diff), oldContent, newContent);
+    }
+
+    private Optional<String> getUnifiedDiffOutput(UnifiedDiffHeaderBuilder headerBuilder, RawText oldContent, RawText newContent) {
+        return getUnifiedDiffOutput(headerBuilder, oldContent, newContent, Math.max(oldContent.size(), newContent.size()));
     }
 
-    private Optional<String> getUnifiedDiffOutput(DiffEntry diff, RawText oldContent, RawText newContent, int context) {
+    private Optional<String> getUnifiedDiffOutput(UnifiedDiffHeaderBuilder headerBuilder, RawText oldContent, RawText newContent, int context) {
         try {
             var edits = diffAlgorithm.diff(diffComparator, oldContent, newContent);
             if (edits.isEmpty()) return Optional.empty();
 
-            var header = getUnifiedDiffHeader(diff);
+            var header = headerBuilder.build();
             diffFormatter.setContext(context);
             diffFormatter.format(edits, oldContent, newContent);
             return Optional.of(header + getDiffFormatterOutput());
@@ -201,10 +274,6 @@ public class ManagedDiffFormatter implements AutoCloseable {
         }
     }
 
-    private String getUnifiedDiffHeader(DiffEntry diff) {
-        return new UnifiedDiffHeaderBuilder(diff).build();
-    }
-
 
     private String getDiffFormatterOutput() {
         try {
@@ -217,6 +286,9 @@ public class ManagedDiffFormatter implements AutoCloseable {
         }
     }
 
+    private record MovedFile(DiffEntry deleted, DiffEntry added) {
+    }
+
     // While JGIT does include a `formatHeader` method, it's private
     // And  we can't use their public `format` method while allowing for a preprocessor function
     // so we have to build the header ourselves
@@ -251,6 +323,18 @@ public class ManagedDiffFormatter implements AutoCloseable {
             this.similarityScore = diff.getScore();
         }
 
+        // a file deleted at one path and added at another, formatted as a modification of the file
+        UnifiedDiffHeaderBuilder(DiffEntry deleted, DiffEntry added) {
+            this.oldPath = deleted.getOldPath();
+            this.newPath = added.getNewPath();
+            this.changeType = DiffEntry.ChangeType.MODIFY;
+            this.oldMode = deleted.getOldMode();
+            this.newMode = added.getNewMode();
+            this.oldId = deleted.getOldId();
+            this.newId = added.getNewId();
+            this.similarityScore = 0;
+        }
+
 
         String build() {
             headerBuilder.setLength(0);
@@ -0,0 +1,14 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A file added, modified or deleted by a version, relative to the version before it.
+ *
+ * @param path        the path of the file, relative to the repository root and separated by '/'
+ * @param oldObjectId the ID of the blob before the version, or null if the version added the file
+ * @param newObjectId the ID of the blob after the version, or null if the version deleted the file
+ */
+public record ManagedFileChange(@NonNull String path, @Nullable String oldObjectId, @Nullable String newObjectId) {
+}
@@ -1,5 +1,6 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import at.ac.tuwien.model.change.management.git.exception.*;
 import at.ac.tuwien.model.change.management.git.util.PathUtils;
 import lombok.AllArgsConstructor;
@@ -8,22 +9,40 @@ import lombok.NonNull;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 @Slf4j
 @AllArgsConstructor
 public class ManagedRepository implements AutoCloseable {
+    private static final String MCM_CONFIG_SECTION = "mcm";
+    private static final String CODEC_CONFIG_KEY = "codec";
+    private static final String LAYOUT_CONFIG_KEY = "layout";
+    private static final String KEEP_VERSIONS_CONFIG_KEY = "keepVersions";
+    // below the git directory, so the files move and disappear together with the repository
+    private static final String METADATA_DIRECTORY = "mcm";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
     private final Repository repository;
     @Getter
     private String name;
@@ -33,8 +52,20 @@ public class ManagedRepository implements AutoCloseable {
     @Accessors(fluent = true)
     private final ManagedRepositoryVersioning versioning;
     private final Path workDir;
+    @Nullable
+    private final RepositoryHandlePool handlePool;
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
+    public ManagedRepository(
+            Repository repository,
+            String name,
+            Charset encoding,
+            ManagedRepositoryVersioning versioning,
+            Path workDir
+    ) {
+        this(repository, name, encoding, versioning, workDir, null);
+    }
+
     /**
      * Check if the repository exists.
      *
@@ -44,14 +75,180 @@ public class ManagedRepository implements AutoCloseable {
         return versioning.isInitialized();
     }
 
+    /**
+     * Check if the repository is stored as a bare repository, i.e., without a working directory.
+     *
+     * @return true if the repository is bare, false otherwise
+     */
+    public boolean isBare() {
+        return repository.isBare();
+    }
+
+    /**
+     * Get the codec recorded in the config of the repository, see {@link #setCodec(GitProperties.Codec)}.
+     *
+     * @return the codec of the repository, or an empty Optional if none was recorded
+     */
+    public Optional<GitProperties.Codec> getCodec() {
+        var codec = repository.getConfig().getString(MCM_CONFIG_SECTION, null, CODEC_CONFIG_KEY);
+        if (codec == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(GitProperties.Codec.valueOf(codec.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new RepositoryReadException("Unknown codec '" + codec + "' recorded in repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Record the codec the element files of the repository are encoded with in the config of the repository.
+     *
+     * @param codec the codec of the repository
+     */
+    public void setCodec(@NonNull GitProperties.Codec codec) {
+        var config = repository.getConfig();
+        config.setString(MCM_CONFIG_SECTION, null, CODEC_CONFIG_KEY, codec.name().toLowerCase(Locale.ROOT));
+        try {
+            config.save();
+        } catch (IOException e) {
+            throw new RepositoryWriteException("Failed to record codec '" + codec + "' in repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Get the layout recorded in the config of the repository, see {@link #setLayout(GitProperties.Layout)}.
+     *
+     * @return the layout of the repository, or an empty Optional if none was recorded
+     */
+    public Optional<GitProperties.Layout> getLayout() {
+        var layout = repository.getConfig().getString(MCM_CONFIG_SECTION, null, LAYOUT_CONFIG_KEY);
+        if (layout == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(GitProperties.Layout.valueOf(layout.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new RepositoryReadException("Unknown layout '" + layout + "' recorded in repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Record the layout the configuration versions of the repository are committed in, in the config of the repository.
+     *
+     * @param layout the layout of the repository
+     */
+    public void setLayout(@NonNull GitProperties.Layout layout) {
+        var config = repository.getConfig();
+        config.setString(MCM_CONFIG_SECTION, null, LAYOUT_CONFIG_KEY, layout.name().toLowerCase(Locale.ROOT));
+        try {
+            config.save();
+        } catch (IOException e) {
+            throw new RepositoryWriteException("Failed to record layout '" + layout + "' in repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Get the number of most recent versions to keep when compacting the history of the repository,
+     * if it is overridden in the config of the repository (mcm.keepVersions).
+     *
+     * @return the number of versions to keep, or an empty Optional if the configured default applies
+     */
+    public Optional<Integer> getKeepVersions() {
+        var config = repository.getConfig();
+        if (config.getString(MCM_CONFIG_SECTION, null, KEEP_VERSIONS_CONFIG_KEY) == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(config.getInt(MCM_CONFIG_SECTION, KEEP_VERSIONS_CONFIG_KEY, 0));
+        } catch (IllegalArgumentException e) {
+            throw new RepositoryReadException("Invalid number of versions to keep recorded in repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Override the number of most recent versions to keep when compacting the history of the repository
+     * in the config of the repository.
+     *
+     * @param keepVersions the number of versions to keep
+     */
+    public void setKeepVersions(int keepVersions) {
+        var config = repository.getConfig();
+        config.setInt(MCM_CONFIG_SECTION, null, KEEP_VERSIONS_CONFIG_KEY, keepVersions);
+        try {
+            config.save();
+        } catch (IOException e) {
+            throw new RepositoryWriteException("Failed to record number of versions to keep in repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Read a file the application keeps in the git directory of the repository, e.g., an index derived from its history.
+     * Such files are not versioned, but they are renamed and deleted together with the repository.
+     *
+     * @param fileName the name of the file
+     * @return the content of the file, or an empty Optional if it does not exist
+     */
+    public Optional<byte[]> readMetadataFile(@NonNull String fileName) {
+        var file = resolveMetadataFile(fileName);
+        try {
+            return Files.exists(file) ? Optional.of(Files.readAllBytes(file)) : Optional.empty();
+        } catch (IOException e) {
+            throw new RepositoryReadException("Failed to read metadata file '" + fileName + "' of repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Write a file the application keeps in the git directory of the repository, see {@link #readMetadataFile(String)}.
+     * The file is replaced atomically, so readers only ever see the old or the new content.
+     *
+     * @param fileName the name of the file
+     * @param content  the content of the file
+     */
+    public void writeMetadataFile(@NonNull String fileName, byte @NonNull [] content) {
+        var file = resolveMetadataFile(fileName);
+        var temporaryFile = file.resolveSibling(fileName + TEMPORARY_FILE_SUFFIX);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(temporaryFile, content);
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Wrote metadata file '{}' of repository: {}", fileName, getName());
+        } catch (IOException e) {
+            throw new RepositoryWriteException("Failed to write metadata file '" + fileName + "' of repository: " + getName(), e);
+        }
+    }
+
+    /**
+     * Append to a file the application keeps in the git directory of the repository, see {@link #readMetadataFile(String)}.
+     * The file is created if it does not exist. Unlike {@link #writeMetadataFile(String, byte[])}, appending is not atomic,
+     * so readers have to tolerate a partially appended content, e.g., if the application stopped while appending.
+     *
+     * @param fileName the name of the file
+     * @param content  the content to append to the file
+     */
+    public void appendMetadataFile(@NonNull String fileName, byte @NonNull [] content) {
+        var file = resolveMetadataFile(fileName);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.debug("Appended to metadata file '{}' of repository: {}", fileName, getName());
+        } catch (IOException e) {
+            throw new RepositoryWriteException("Failed to append to metadata file '" + fileName + "' of repository: " + getName(), e);
+        }
+    }
+
     /**
      * Write files to the repository.
      * The file path is concatenated to the working directory of the repository.
+     * Bare repositories have no working directory, use {@link ManagedRepositoryVersioning#commitFiles} for them instead.
      *
-     * @param files the files to write, including both their path and String content
+     * @param files the files to write, including both their path and content
      * @return a list of the written files as Path objects
      */
     public List<Path> writeRepositoryFiles(@NonNull Collection<ManagedRepositoryFile> files) {
+        if (isBare()) {
+            throw new RepositoryWriteException("Cannot write files to working directory of bare repository: " + getName());
+        }
         log.debug("Writing {} files to repository: {}", files.size(), getName());
         return files.stream().map(this::writeToWorkingDirectory).toList();
     }
@@ -63,6 +260,9 @@ public class ManagedRepository implements AutoCloseable {
      * @param files the files or directories to delete
      */
     public void deleteRepositoryFiles(@NonNull Path... files) {
+        if (isBare()) {
+            throw new RepositoryDeleteException("Cannot delete files from working directory of bare repository: " + getName());
+        }
         log.debug("Deleting files from repository '{}': {}", getName(), files);
         for (Path file : files) {
             try {
@@ -81,12 +281,22 @@ public class ManagedRepository implements AutoCloseable {
      * @return the current version of the repository, or an empty Optional if the repository does not exist
      */
     public Optional<ManagedRepositoryVersion> getCurrentRepositoryVersion() {
+        return getCurrentRepositoryVersion(List.of());
+    }
+
+    /**
+     * Get the current version of the repository, including only the objects below the given paths.
+     *
+     * @param paths the files or directories to include, relative to the repository root; all objects if empty
+     * @return the current version of the repository, or an empty Optional if the repository does not exist
+     */
+    public Optional<ManagedRepositoryVersion> getCurrentRepositoryVersion(@NonNull Collection<Path> paths) {
         if (!exists()) {
             log.debug("Cannot get current version of repository '{}', because it does not exist", getName());
             return Optional.empty();
         }
 
-        return getRepositoryVersion(Constants.HEAD);
+        return getRepositoryVersion(Constants.HEAD, paths);
     }
 
     /**
@@ -96,6 +306,19 @@ public class ManagedRepository implements AutoCloseable {
      * @return the version of the repository, or an empty Optional if the repository does not exist
      */
     public Optional<ManagedRepositoryVersion> getRepositoryVersion(@NonNull String version) {
+        return getRepositoryVersion(version, List.of());
+    }
+
+    /**
+     * Get a specific version of the repository, including only the objects below the given paths.
+     * Only the trees on the way to the given paths are read, so the cost depends on the size of the included
+     * objects rather than on the size of the whole version.
+     *
+     * @param version the version to get
+     * @param paths   the files or directories to include, relative to the repository root; all objects if empty
+     * @return the version of the repository, or an empty Optional if the repository does not exist
+     */
+    public Optional<ManagedRepositoryVersion> getRepositoryVersion(@NonNull String version, @NonNull Collection<Path> paths) {
         if (!exists()) {
             log.debug("Cannot get version '{}' of repository '{}', because it does not exist", version, getName());
             return Optional.empty();
@@ -115,6 +338,11 @@ public class ManagedRepository implements AutoCloseable {
             try (var treeWalk = new TreeWalk(repository)) {
                 treeWalk.addTree(commit.getTree());
                 treeWalk.setRecursive(true);
+                if (!paths.isEmpty()) {
+                    treeWalk.setFilter(PathFilterGroup.createFromStrings(paths.stream()
+                            .map(path -> PathUtils.normalizePath(path.toString()))
+                            .toList()));
+                }
                 var objects = new ArrayList<ManagedRepositoryObject>();
 
                 while (treeWalk.next()) {
@@ -129,11 +357,58 @@ public class ManagedRepository implements AutoCloseable {
         }
     }
 
+    /**
+     * Read the contents of the given objects in one batch, so later reads of their content do not access the repository.
+     * All objects are read through a single object reader, which may reorder them to match their location in the
+     * object store; objects sharing the same content are only read once.
+     *
+     * @param objects the objects to read, objects whose content is already loaded are skipped
+     */
+    public void loadObjectContents(@NonNull Collection<ManagedRepositoryObject> objects) {
+        var objectsById = new HashMap<ObjectId, List<ManagedRepositoryObject>>();
+        for (var object : objects) {
+            if (!object.isContentLoaded()) {
+                objectsById.computeIfAbsent(object.getObjectId(), id -> new ArrayList<>()).add(object);
+            }
+        }
+        if (objectsById.isEmpty()) {
+            return;
+        }
+
+        log.debug("Loading contents of {} objects from repository: {}", objectsById.size(), getName());
+        readObjects(objectsById.keySet(), (id, content) -> objectsById.get(id).forEach(object -> object.loadContent(content)));
+    }
+
+    /**
+     * Read the contents of the given objects in one batch, see {@link #loadObjectContents(Collection)}.
+     * Suited for objects that are not part of a {@link ManagedRepositoryVersion}, e.g., the objects changed by a version.
+     *
+     * @param objectIds the IDs of the objects to read
+     * @return the contents of the objects, keyed by object ID
+     */
+    public Map<String, byte[]> readObjectContents(@NonNull Collection<String> objectIds) {
+        var ids = new HashSet<ObjectId>();
+        for (var objectId : objectIds) {
+            try {
+                ids.add(ObjectId.fromString(objectId));
+            } catch (IllegalArgumentException e) {
+                throw new RepositoryReadException("Invalid object ID '" + objectId + "' in repository: " + getName(), e);
+            }
+        }
+        var contents = new HashMap<String, byte[]>(ids.size());
+        if (!ids.isEmpty()) {
+            log.debug("Reading contents of {} objects from repository: {}", ids.size(), getName());
+            readObjects(ids, (id, content) -> contents.put(id.getName(), content));
+        }
+        return contents;
+    }
+
     /**
      * Delete the repository.
      */
     public void deleteRepository() {
         try {
+            invalidatePooledHandle(workDir);
             PathUtils.deleteFilesRecursively(workDir);
         } catch (IOException e) {
             throw new RepositoryDeleteException("Failed to delete repository: " + name, e);
@@ -145,7 +420,10 @@ public class ManagedRepository implements AutoCloseable {
      */
     public void renameRepository(String newName) {
         try {
-            PathUtils.renameFile(workDir, workDir.resolveSibling(newName));
+            var newWorkDir = workDir.resolveSibling(newName);
+            invalidatePooledHandle(workDir);
+            invalidatePooledHandle(newWorkDir);
+            PathUtils.renameFile(workDir, newWorkDir);
             name = newName;
             log.debug("Renamed repository: {} to: {}", name, newName);
         } catch (IOException e) {
@@ -157,21 +435,33 @@ public class ManagedRepository implements AutoCloseable {
      * Close the repository.
      * This method should be called when the repository is no longer needed.
      * Underlying resources such as the JGit repository SHOULD be closed, so don't forget to call this method.
+     * If the JGit repository is pooled, this only releases the lease on it - it stays open for later requests.
      */
     @Override
     public void close() {
         log.debug("Attempting to close repository: {}", getName());
         if (closed.compareAndSet(false, true)) {
             repository.close();
+            if (handlePool != null) {
+                handlePool.release(workDir, repository);
+            }
             log.debug("Closed repository: {}", getName());
         }
     }
 
+    private void invalidatePooledHandle(Path repositoryPath) {
+        if (handlePool != null) {
+            handlePool.invalidate(repositoryPath);
+        }
+    }
+
     private Path writeToWorkingDirectory(@NonNull ManagedRepositoryFile file) {
         try {
             var finalPath = resolvePath(file.path());
             Files.createDirectories(finalPath.getParent());
-            var writtenFile = Files.writeString(finalPath, file.content(), encoding);
+            var writtenFile = file.rawContent() != null
+                    ? Files.write(finalPath, file.rawContent())
+                    : Files.writeString(finalPath, file.content(), encoding);
             log.debug("Wrote file '{}' to repository '{}'", writtenFile, getName());
             return writtenFile;
         } catch (IOException e) {
@@ -179,6 +469,33 @@ public class ManagedRepository implements AutoCloseable {
         }
     }
 
+    private void readObjects(Collection<ObjectId> ids, BiConsumer<ObjectId, byte[]> consumer) {
+        try (var reader = repository.newObjectReader()) {
+            var queue = reader.open(ids, true);
+            try {
+                while (queue.next()) {
+                    consumer.accept(queue.getCurrent().copy(), queue.open().getCachedBytes());
+                }
+            } finally {
+                queue.release();
+            }
+        } catch (IOException e) {
+            throw new RepositoryReadException("Failed to load object contents from repository: " + getName(), e);
+        }
+    }
+
+    private Path resolveMetadataFile(String fileName) {
+        if (repository.getDirectory() == null) {
+            throw new RepositoryAccessException("Repository '" + name + "' has no git directory to keep metadata files in");
+        }
+        var metadataDirectory = repository.getDirectory().toPath().resolve(METADATA_DIRECTORY);
+        var file = metadataDirectory.resolve(fileName).normalize();
+        if (!metadataDirectory.equals(file.getParent())) {
+            throw new RepositoryAccessException("Tried to access metadata file '" + fileName + "' outside repository: " + name);
+        }
+        return file;
+    }
+
     private Path resolvePath(Path path) {
         Path resolved = workDir.resolve(path).normalize();
         if (!resolved.startsWith(workDir)) {
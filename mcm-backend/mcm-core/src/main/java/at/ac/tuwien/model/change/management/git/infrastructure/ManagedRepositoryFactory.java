@@ -1,6 +1,7 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Factory creating managed repositories (wrappers around JGit repositories) and corresponding objects.
@@ -19,11 +20,28 @@ public interface ManagedRepositoryFactory {
 
     /**
      * Get all managed repositories stored at the path defined in
-     * Only retrieves repositories that have been initialized and have a working directory.
+     * Only retrieves repositories that have been initialized, either with a working directory or as bare repositories.
      * (Implementing this otherwise would be quite difficult without immediately initializing all repositories)
      * {@link at.ac.tuwien.model.change.management.git.config.GitProperties}
      *
      * @return a list of all managed repositories
      */
     List<ManagedRepository> getAllRepositories();
+
+    /**
+     * Get the hit, miss and eviction counters of the pool of open repositories.
+     * Repositories are kept open between calls to {@link #getRepositoryByName(String)} as configured in
+     * {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Pool}
+     *
+     * @return a snapshot of the pool statistics
+     */
+    RepositoryPoolStatistics getPoolStatistics();
+
+    /**
+     * Get the object store shared by all repositories, creating it on first use.
+     * See {@link at.ac.tuwien.model.change.management.git.config.GitProperties.SharedObjects}
+     *
+     * @return the shared object store, or an empty Optional if sharing objects is disabled
+     */
+    Optional<SharedObjectStore> getSharedObjectStore();
 }
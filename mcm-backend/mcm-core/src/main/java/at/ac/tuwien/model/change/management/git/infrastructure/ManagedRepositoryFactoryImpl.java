@@ -4,25 +4,40 @@ import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
 import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.lib.RepositoryBuilder;
 import org.eclipse.jgit.lib.RepositoryCache;
 import org.eclipse.jgit.util.FS;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 @GitComponent
 @Slf4j
-@RequiredArgsConstructor
-public class ManagedRepositoryFactoryImpl implements ManagedRepositoryFactory {
+public class ManagedRepositoryFactoryImpl implements ManagedRepositoryFactory, SchedulingConfigurer {
     private static final String GIT_DIRECTORY = ".git";
+    // a bare repository next to the repositories, which is never listed or accessed as a repository itself
+    private static final String SHARED_OBJECTS_DIRECTORY = ".shared-objects";
 
     private final GitProperties properties;
+    private final RepositoryHandlePool handlePool;
+    // opened on first use, only if sharing objects is enabled
+    @Nullable
+    private SharedObjectStore sharedObjectStore;
+
+    public ManagedRepositoryFactoryImpl(GitProperties properties) {
+        this.properties = properties;
+        this.handlePool = new RepositoryHandlePool(properties);
+    }
 
     @Override
     public ManagedRepository getRepositoryByName(@NonNull String name) {
@@ -38,6 +53,7 @@ public class ManagedRepositoryFactoryImpl implements ManagedRepositoryFactory {
                     .filter(Files::isDirectory)
                     .map(Path::getFileName)
                     .map(Path::toString)
+                    .filter(name -> !SHARED_OBJECTS_DIRECTORY.equals(name))
                     .map(this::getManagedRepositoryByName)
                     .filter(ManagedRepository::exists)
                     .toList();
@@ -48,28 +64,96 @@ public class ManagedRepositoryFactoryImpl implements ManagedRepositoryFactory {
         }
     }
 
+    @Override
+    public RepositoryPoolStatistics getPoolStatistics() {
+        return handlePool.getStatistics();
+    }
+
+    @Override
+    public synchronized Optional<SharedObjectStore> getSharedObjectStore() {
+        var sharedObjects = properties.getSharedObjects();
+        if (sharedObjects == null || !sharedObjects.isEnabled()) {
+            return Optional.empty();
+        }
+        if (sharedObjectStore == null) {
+            var storePath = getRepositoriesDir().resolve(SHARED_OBJECTS_DIRECTORY);
+            try {
+                var jGitRepository = new RepositoryBuilder()
+                        .setFS(FS.DETECTED)
+                        .setGitDir(storePath.toFile())
+                        .setBare()
+                        .setMustExist(false)
+                        .build();
+                var store = new SharedObjectStore(jGitRepository, properties.getEncoding(), useReftable());
+                try {
+                    store.init();
+                } catch (RuntimeException e) {
+                    store.close();
+                    throw e;
+                }
+                sharedObjectStore = store;
+                log.debug("Opened shared object store in '{}'", storePath);
+            } catch (IOException e) {
+                throw new RepositoryAccessException("Failed to open shared object store in: " + storePath, e);
+            }
+        }
+        return Optional.of(sharedObjectStore);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        var pool = properties.getPool();
+        if (pool != null && pool.isEnabled() && pool.getIdleTimeout().isPositive()) {
+            var idleTimeout = pool.getIdleTimeout();
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(handlePool::evictIdleHandles, idleTimeout, idleTimeout));
+            log.info("Scheduled eviction of idle pooled repositories every {}", idleTimeout);
+        }
+    }
+
+    @PreDestroy
+    public void closePooledRepositories() {
+        handlePool.close();
+        synchronized (this) {
+            if (sharedObjectStore != null) {
+                sharedObjectStore.close();
+                sharedObjectStore = null;
+            }
+        }
+    }
+
     private ManagedRepository getManagedRepositoryByName(String name) {
         try {
-            var jGitRepository = getJGitRepositoryByPath(resolveRepositoryPath(name));
-            if (jGitRepository.getWorkTree() == null) {
-                throw new RepositoryAccessException("No working directory found for repository of name: " + name);
+            var repositoryPath = resolveRepositoryPath(name);
+            var lease = handlePool.acquire(repositoryPath, () -> getJGitRepositoryByPath(repositoryPath));
+            var jGitRepository = lease.repository();
+            try {
+                // bare repositories are stored directly in the repository directory, without a working tree
+                var workDir = jGitRepository.isBare() ? repositoryPath : jGitRepository.getWorkTree().toPath();
+                var tagIndex = lease.pooled()
+                        ? handlePool.getTagIndex(repositoryPath, jGitRepository)
+                        : new TagIndex();
+                var managedRepository = initializeManagedRepository(jGitRepository, name, workDir, tagIndex);
+                log.debug("Built repository: {}", managedRepository.getName());
+                return managedRepository;
+            } catch (RuntimeException e) {
+                // the managed repository would have released the lease when closed, so it has to be released here
+                jGitRepository.close();
+                handlePool.release(repositoryPath, jGitRepository);
+                throw e;
             }
-            var workDir = jGitRepository.getWorkTree().toPath();
-            var managedRepository = initializeManagedRepository(jGitRepository, name, workDir);
-            log.debug("Built repository: {}", managedRepository.getName());
-            return managedRepository;
         } catch (IOException e) {
             throw new RepositoryAccessException("Failed to access repository: " + name, e);
         }
     }
 
-    private ManagedRepository initializeManagedRepository(Repository jGitRepository, String name, Path workDir) {
+    private ManagedRepository initializeManagedRepository(Repository jGitRepository, String name, Path workDir, TagIndex tagIndex) {
         return new ManagedRepository(
                 jGitRepository,
                 name,
                 properties.getEncoding(),
-                new ManagedRepositoryVersioning(jGitRepository, name, properties.getEncoding(), workDir),
-                workDir
+                new ManagedRepositoryVersioning(jGitRepository, name, properties.getEncoding(), workDir, useReftable(), tagIndex),
+                workDir,
+                handlePool
         );
     }
 
@@ -79,6 +163,9 @@ public class ManagedRepositoryFactoryImpl implements ManagedRepositoryFactory {
         if (!repositoryPath.startsWith(repositoriesDir)) {
             throw new RepositoryAccessException("Attempted to access repository outside of: " + repositoriesDir);
         }
+        if (repositoryPath.equals(repositoriesDir.resolve(SHARED_OBJECTS_DIRECTORY))) {
+            throw new RepositoryAccessException("Attempted to access shared object store as repository: " + name);
+        }
         return repositoryPath;
     }
 
@@ -91,7 +178,16 @@ public class ManagedRepositoryFactoryImpl implements ManagedRepositoryFactory {
     }
 
 
-    private static Repository getJGitRepositoryByPath(Path repositoryPath) throws IOException {
+    private Repository getJGitRepositoryByPath(Path repositoryPath) throws IOException {
+        if (isBareRepository(repositoryPath)) {
+            return new RepositoryBuilder()
+                    .setFS(FS.DETECTED)
+                    .setGitDir(repositoryPath.toFile())
+                    .setBare()
+                    .setMustExist(false)
+                    .build();
+        }
+
         var gitPath = repositoryPath.endsWith(GIT_DIRECTORY)
                 ? repositoryPath
                 : repositoryPath.resolve(GIT_DIRECTORY);
@@ -102,4 +198,22 @@ public class ManagedRepositoryFactoryImpl implements ManagedRepositoryFactory {
                 .setMustExist(false)
                 .build();
     }
+
+    private boolean useReftable() {
+        var storage = properties.getStorage();
+        return storage != null && storage.isReftable();
+    }
+
+    // existing repositories keep their layout regardless of the configured storage mode,
+    // so repositories can be migrated one at a time
+    private boolean isBareRepository(Path repositoryPath) {
+        if (repositoryPath.endsWith(GIT_DIRECTORY) || Files.isDirectory(repositoryPath.resolve(GIT_DIRECTORY))) {
+            return false;
+        }
+        if (RepositoryCache.FileKey.isGitRepository(repositoryPath.toFile(), FS.DETECTED)) {
+            return true;
+        }
+        var storage = properties.getStorage();
+        return storage != null && storage.isBare();
+    }
 }
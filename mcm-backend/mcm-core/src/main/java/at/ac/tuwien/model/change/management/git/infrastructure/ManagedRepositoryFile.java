@@ -1,7 +1,42 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 
-public record ManagedRepositoryFile(Path path, String content)
+/**
+ * A file to write to a repository.
+ * Its content is either text, which is encoded with the encoding of the repository, or raw bytes that are written as they are.
+ *
+ * @param path       the path of the file, relative to the repository root
+ * @param content    the text content of the file, or null if the file has raw content
+ * @param rawContent the raw content of the file, or null if the file has text content
+ */
+public record ManagedRepositoryFile(Path path, @Nullable String content, byte @Nullable [] rawContent)
 {
-}
\ No newline at end of file
+    public ManagedRepositoryFile {
+        if ((content == null) == (rawContent == null)) {
+            throw new IllegalArgumentException("Exactly one of text and raw content has to be set for file: " + path);
+        }
+    }
+
+    public ManagedRepositoryFile(Path path, @NonNull String content) {
+        this(path, content, null);
+    }
+
+    public static ManagedRepositoryFile ofRawContent(Path path, byte @NonNull [] rawContent) {
+        return new ManagedRepositoryFile(path, null, rawContent);
+    }
+
+    /**
+     * Get the content of the file as it is written to the repository.
+     *
+     * @param encoding the encoding of the repository, used for text content
+     * @return the content of the file
+     */
+    public byte[] getBytes(@NonNull Charset encoding) {
+        return rawContent != null ? rawContent : content.getBytes(encoding);
+    }
+}
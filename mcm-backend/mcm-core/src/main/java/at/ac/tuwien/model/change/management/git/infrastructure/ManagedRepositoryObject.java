@@ -3,6 +3,7 @@ package at.ac.tuwien.model.change.management.git.infrastructure;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryReadException;
 import lombok.Getter;
 import lombok.NonNull;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.treewalk.TreeWalk;
@@ -13,6 +14,7 @@ import java.nio.charset.Charset;
 
 public class ManagedRepositoryObject {
 
+    @Getter
     private final ObjectId objectId;
 
     private final Repository repository;
@@ -40,6 +42,10 @@ public class ManagedRepositoryObject {
     }
 
 
+    /**
+     * Create an object for the current entry of a tree walk.
+     * Its content is cached once read, so it is only inflated once while the version it belongs to is in use.
+     */
     ManagedRepositoryObject(@NonNull TreeWalk treeWalk, @NonNull Repository repository, @NonNull Charset encoding) {
         this.rawFilePath = treeWalk.getRawPath();
         this.repository = repository;
@@ -50,7 +56,7 @@ public class ManagedRepositoryObject {
             throw new RepositoryReadException("Cannot read object ID for repository file: " + treeWalk.getPathString());
         }
         this.objectId = id;
-        this.cacheFileContent = false;
+        this.cacheFileContent = true;
     }
 
     public byte[] getRawFilePath() {
@@ -89,6 +95,37 @@ public class ManagedRepositoryObject {
         return fileContent;
     }
 
+    /**
+     * Get the size of the file content in bytes, without reading the content itself.
+     *
+     * @return the size of the file content in bytes
+     */
+    public long getSize() {
+        if (rawFileContent != null) return rawFileContent.length;
+        try (var reader = repository.newObjectReader()) {
+            return reader.getObjectSize(objectId, Constants.OBJ_BLOB);
+        } catch (IOException e) {
+            throw new RepositoryReadException("Failed to read size of object with ID: " + objectId, e);
+        }
+    }
+
+    /**
+     * Check whether the content of this object is already held in memory, i.e., reading it does not access the repository.
+     */
+    boolean isContentLoaded() {
+        return rawFileContent != null;
+    }
+
+    /**
+     * Provide the content of this object, if it was read by someone else, e.g., together with other objects.
+     * Has no effect if the object does not cache its content.
+     */
+    void loadContent(byte @NonNull [] content) {
+        if (cacheFileContent && rawFileContent == null) {
+            rawFileContent = content;
+        }
+    }
+
     public boolean rawFilePathMatches(byte @NonNull [] otherPath) {
         return RawParseUtils.match(getRawFilePath(), 0, otherPath) != -1;
     }
@@ -1,32 +1,52 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersionDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryVersioningException;
 import at.ac.tuwien.model.change.management.git.util.PathUtils;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.errors.*;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.hooks.Hooks;
 import org.eclipse.jgit.internal.JGitText;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.internal.storage.file.GC;
+import org.eclipse.jgit.internal.storage.file.LockFile;
+import org.eclipse.jgit.internal.storage.file.Pack;
+import org.eclipse.jgit.internal.storage.pack.PackExt;
 import org.eclipse.jgit.lib.*;
+import org.eclipse.jgit.notes.NoteMap;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.springframework.lang.Nullable;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 
 @Slf4j
-@RequiredArgsConstructor
 public class ManagedRepositoryVersioning {
     private static final String ALL_FILES_PATTERN = ".";
     private static final String BRANCH_NAMESPACE = "refs/heads/";
@@ -38,20 +58,57 @@ public class ManagedRepositoryVersioning {
     private final String name;
     private final Charset encoding;
     private final Path workDir;
+    // whether refs of newly initialized repositories are stored in a reftable rather than as loose ref files
+    private final boolean useReftable;
+
+    // shared with every other versioning of the same pooled repository and kept up to date by tagCommit
+    private final TagIndex tagIndex;
+
+    public ManagedRepositoryVersioning(Repository repository, String name, Charset encoding, Path workDir) {
+        this(repository, name, encoding, workDir, false);
+    }
+
+    public ManagedRepositoryVersioning(Repository repository, String name, Charset encoding, Path workDir, boolean useReftable) {
+        this(repository, name, encoding, workDir, useReftable, new TagIndex());
+    }
+
+    ManagedRepositoryVersioning(Repository repository, String name, Charset encoding, Path workDir, boolean useReftable, TagIndex tagIndex) {
+        this.repository = repository;
+        this.name = name;
+        this.encoding = encoding;
+        this.workDir = workDir;
+        this.useReftable = useReftable;
+        this.tagIndex = tagIndex;
+    }
 
     /**
      * Initialize the repository.
+     * If the JGit repository is bare, the repository is initialized without a working tree directly in the working directory path.
+     * Initializing a repository that is already initialized does nothing.
+     * <p>
+     * The repository is created through the JGit repository of this object rather than through a separate instance,
+     * so that the ref database of the JGit repository matches the created repository - e.g., after switching to reftable.
      */
     public void init() {
+        if (isInitialized()) {
+            log.debug("Repository is already initialized: {}", name);
+            return;
+        }
+
         try {
             log.debug("Initializing repository: {}", name);
-            try (var ignored = Git.init()
-                    .setDirectory(workDir.toFile())
-                    .setInitialBranch(DEFAULT_BRANCH_NAME)
-                    .call()) {
-                log.debug("Successfully initialized repository: {}", name);
+            repository.create(repository.isBare());
+            if (!DEFAULT_BRANCH_NAME.equals(repository.getBranch())) {
+                var headUpdate = repository.updateRef(Constants.HEAD);
+                headUpdate.disableRefLog();
+                ensureRefUpdated(Constants.HEAD, headUpdate.link(DEFAULT_BRANCH_REF));
             }
-        } catch (GitAPIException e) {
+            if (useReftable && repository instanceof FileRepository fileRepository) {
+                fileRepository.convertRefStorage(ConfigConstants.CONFIG_REF_STORAGE_REFTABLE, true, false);
+            }
+            enableHistoryIndexes();
+            log.debug("Successfully initialized repository: {}", name);
+        } catch (IOException | IllegalStateException e) {
             throw new RepositoryVersioningException("Failed to initialize repository: " + name, e);
         }
     }
@@ -76,6 +133,9 @@ public class ManagedRepositoryVersioning {
         if (!isInitialized()) {
             throw new RepositoryVersioningException("Cannot stage files in uninitialized repository: " + name);
         }
+        if (repository.isBare()) {
+            throw new RepositoryVersioningException("Cannot stage files in bare repository: " + name);
+        }
 
         log.debug("Staging {} files in repository: {}", files.size(), name);
         if (files.isEmpty()) {
@@ -105,6 +165,9 @@ public class ManagedRepositoryVersioning {
         if (!isInitialized()) {
             throw new RepositoryVersioningException("Cannot stage all files in uninitialized repository: " + name);
         }
+        if (repository.isBare()) {
+            throw new RepositoryVersioningException("Cannot stage all files in bare repository: " + name);
+        }
 
         log.debug("Staging all files in working directory of repository: {}", name);
         var dirCache = stageAll(false);
@@ -170,6 +233,131 @@ public class ManagedRepositoryVersioning {
         return commitHash;
     }
 
+    /**
+     * Commit files ON THE MAIN BRANCH of the repository without going through the working tree or the index.
+     * The tree of the new commit is built in memory: it contains the tree of the parent commit, except for
+     * everything below the replaced directories, plus the given files. The git blob hash of every file is compared
+     * with the parent tree first, so only added or modified files are written to the object database.
+     * If no file was added, modified or deleted, no commit is created at all.
+     * <p>
+     * Neither the working tree nor the index are updated, i.e., HEAD moves as with a soft reset.
+     * Use {@link #checkout(String)} or {@link #reset(String)} to bring the working tree up to date if it is needed.
+     * Commit hooks are not run, since they would operate on the working tree.
+     *
+     * @param files                the files to commit, with paths relative to the repository root
+     * @param replacedDirectories  directories whose content in the parent commit is replaced by the given files
+     * @param message              the commit message
+     * @return the hash of the created commit, or an empty Optional if nothing changed relative to the parent commit
+     */
+    public Optional<String> commitFiles(
+            @NonNull Collection<ManagedRepositoryFile> files,
+            @NonNull Collection<Path> replacedDirectories,
+            @NonNull String message
+    ) {
+        if (message.isBlank()) {
+            throw new IllegalArgumentException("Commit message cannot be empty");
+        }
+        return commitFiles(files, replacedDirectories, changes -> message);
+    }
+
+    /**
+     * Commit files ON THE MAIN BRANCH of the repository without going through the working tree or the index,
+     * see {@link #commitFiles(Collection, Collection, String)}.
+     *
+     * @param files                the files to commit, with paths relative to the repository root
+     * @param replacedDirectories  directories whose content in the parent commit is replaced by the given files
+     * @param message              creates the commit message from the number of added, modified and deleted files
+     * @return the hash of the created commit, or an empty Optional if nothing changed relative to the parent commit
+     */
+    public Optional<String> commitFiles(
+            @NonNull Collection<ManagedRepositoryFile> files,
+            @NonNull Collection<Path> replacedDirectories,
+            @NonNull IntFunction<String> message
+    ) {
+        if (!isInitialized()) {
+            throw new RepositoryVersioningException("Cannot commit files in uninitialized repository: " + name);
+        }
+
+        String updateReference;
+        ObjectId parentCommit;
+        if (headIsAttachedToRef(DEFAULT_BRANCH_REF)) {
+            updateReference = Constants.HEAD;
+            parentCommit = resolveHead().orElse(null);
+        } else {
+            updateReference = DEFAULT_BRANCH_REF;
+            parentCommit = resolveCommit(DEFAULT_BRANCH_REF).orElse(null);
+        }
+
+        log.debug("Committing {} files in repository: {}", files.size(), name);
+        var replacedPrefixes = replacedDirectories.stream()
+                .map(directory -> toRepositoryPath(directory) + "/")
+                .toList();
+
+        try (RevWalk rw = new RevWalk(repository); ObjectInserter odi = repository.newObjectInserter()) {
+            var index = DirCache.newInCore();
+            var builder = index.builder();
+
+            // entries of the parent commit that may be replaced, by path
+            Map<String, ObjectId> replaceableEntries = new HashMap<>();
+            if (parentCommit != null) {
+                try (var treeWalk = new TreeWalk(repository)) {
+                    treeWalk.addTree(rw.parseCommit(parentCommit).getTree());
+                    treeWalk.setRecursive(true);
+                    while (treeWalk.next()) {
+                        var path = treeWalk.getPathString();
+                        if (replacedPrefixes.stream().anyMatch(path::startsWith)) {
+                            replaceableEntries.put(path, treeWalk.getObjectId(0));
+                        } else {
+                            builder.add(createDirCacheEntry(path, treeWalk.getFileMode(0), treeWalk.getObjectId(0)));
+                        }
+                    }
+                }
+            }
+
+            int added = 0;
+            int modified = 0;
+            for (var file : files) {
+                var path = toRepositoryPath(file.path());
+                var content = file.getBytes(encoding);
+                var blobId = odi.idFor(Constants.OBJ_BLOB, content);
+                var previousId = replaceableEntries.remove(path);
+                if (previousId == null) {
+                    odi.insert(Constants.OBJ_BLOB, content);
+                    added++;
+                } else if (!previousId.equals(blobId)) {
+                    odi.insert(Constants.OBJ_BLOB, content);
+                    modified++;
+                }
+                builder.add(createDirCacheEntry(path, FileMode.REGULAR_FILE, blobId));
+            }
+            var deleted = replaceableEntries.size();
+
+            if (parentCommit != null && added + modified + deleted == 0) {
+                log.debug("No files changed relative to commit '{}', skipping commit in repository: {}", parentCommit.getName(), name);
+                return Optional.empty();
+            }
+            builder.finish();
+
+            var commitMessage = message.apply(added + modified + deleted);
+            if (commitMessage == null || commitMessage.isBlank()) {
+                throw new IllegalArgumentException("Commit message cannot be empty");
+            }
+            var cleanMessage = CommitConfig.cleanText(commitMessage, CommitConfig.CleanupMode.WHITESPACE, DEFAULT_GIT_COMMENT_CHAR);
+            var commitBuilder = configureCommitBuilder(cleanMessage, index.writeTree(odi), parentCommit);
+            var commitId = odi.insert(commitBuilder);
+            odi.flush();
+            var revCommit = rw.parseCommit(commitId);
+            updateRef(updateReference, revCommit, commitId, parentCommit);
+
+            log.debug("Created commit '{}' with {} added, {} modified and {} deleted files in repository: {}",
+                    revCommit.getName(), added, modified, deleted, name);
+            return Optional.of(revCommit.getName());
+        } catch (IOException | IllegalStateException e) {
+            // the DirCacheBuilder throws an IllegalStateException if the same path is added twice
+            throw new RepositoryVersioningException("Failed to commit files in repository: " + name, e);
+        }
+    }
+
     /**
      * Get the current version ID (commit hash) associated with the repository HEAD.
      *
@@ -222,21 +410,181 @@ public class ManagedRepositoryVersioning {
         }
 
         log.debug("Listing versions in repository: {}", name);
-        try (var git = Git.wrap(repository)) {
-            return resolve(start).map(headCommit -> {
-                try {
-                    List<String> versions = new ArrayList<>();
-                    for (var ref : git.log().add(headCommit).call()) {
-                        versions.add(ref.getName());
-                    }
-                    return ascending ? versions.reversed() : versions;
-                } catch (IOException | GitAPIException e) {
-                    throw new RepositoryVersioningException("Failed to list versions in repository: " + name, e);
+        return resolve(start).map(headCommit -> {
+            // only commit IDs are needed, so commit bodies are not retained
+            // parents are read from the commit-graph where available instead of inflating every commit
+            try (var revWalk = new RevWalk(repository)) {
+                revWalk.setRetainBody(false);
+                revWalk.markStart(revWalk.parseCommit(headCommit));
+                List<String> versions = new ArrayList<>();
+                for (var commit : revWalk) {
+                    versions.add(commit.getName());
+                }
+                return ascending ? versions.reversed() : versions;
+            } catch (IOException e) {
+                throw new RepositoryVersioningException("Failed to list versions in repository: " + name, e);
+            }
+        }).orElseGet(() -> {
+            log.debug("No commits found in repository '{}' while listing versions", name);
+            return Collections.emptyList();
+        });
+    }
+
+    /**
+     * List a page of versions on the main branch of the repository in descending order.
+     * The history walk stops as soon as the page is full, so only the requested versions are visited.
+     *
+     * @param cursor the version ID (commit hash) after which the page starts, i.e., the last version of the previous page
+     *               - the page starts at the most recent version if null
+     * @param limit  the maximum number of versions to list
+     * @return a list of at most {@code limit} version IDs (commit hashes), or an empty list if no such versions exist
+     * @throws RepositoryVersionDoesNotExistException if the cursor does not exist in the repository
+     */
+    public List<String> listVersions(@Nullable String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive, but was: " + limit);
+        }
+        if (!isInitialized()) {
+            log.debug("Cannot list versions in uninitialized repository: {}", name);
+            return Collections.emptyList();
+        }
+
+        log.debug("Listing up to {} versions after '{}' in repository: {}", limit, cursor, name);
+        Optional<ObjectId> start = cursor == null
+                ? resolve(DEFAULT_BRANCH_REF)
+                : Optional.of(resolveCommit(cursor).orElseThrow(() -> new RepositoryVersionDoesNotExistException(
+                "Version '" + cursor + "' not found in repository when trying to list versions: " + name)));
+        return start.map(startCommit -> {
+            try (var revWalk = new RevWalk(repository)) {
+                revWalk.setRetainBody(false);
+                var commit = revWalk.parseCommit(startCommit);
+                if (cursor == null) {
+                    revWalk.markStart(commit);
+                } else {
+                    // the cursor itself was part of the previous page
+                    revWalk.markStart(List.of(commit.getParents()));
+                }
+                List<String> versions = new ArrayList<>(Math.min(limit, 64));
+                RevCommit next;
+                while (versions.size() < limit && (next = revWalk.next()) != null) {
+                    versions.add(next.getName());
+                }
+                return versions;
+            } catch (IOException e) {
+                throw new RepositoryVersioningException("Failed to list versions in repository: " + name, e);
+            }
+        }).orElseGet(() -> {
+            log.debug("No commits found in repository '{}' while listing versions", name);
+            return Collections.emptyList();
+        });
+    }
+
+    /**
+     * Check whether a version is part of the history of the main branch, i.e., whether it is the tip of the main
+     * branch or one of its ancestors.
+     *
+     * @param version the version ID (commit hash) to check
+     * @return true if the version is part of the main branch, false if it is not or does not exist
+     */
+    public boolean isOnMainBranch(@NonNull String version) {
+        if (!isInitialized()) {
+            return false;
+        }
+        var mainCommit = resolve(DEFAULT_BRANCH_REF);
+        var versionId = resolve(version);
+        if (mainCommit.isEmpty() || versionId.isEmpty()) {
+            return false;
+        }
+
+        try (var revWalk = new RevWalk(repository)) {
+            revWalk.setRetainBody(false);
+            return revWalk.isMergedInto(revWalk.parseCommit(versionId.get()), revWalk.parseCommit(mainCommit.get()));
+        } catch (MissingObjectException | IncorrectObjectTypeException e) {
+            // e.g., a version that was reset away and pruned since
+            return false;
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to check whether version '" + version +
+                    "' is on the main branch of repository: " + name, e);
+        }
+    }
+
+    /**
+     * Get the version ID (commit hash) at the tip of the main branch.
+     * Differs from {@link #getCurrentVersionId()} while an older version is checked out.
+     *
+     * @return the version ID at the tip of the main branch, or an empty Optional if the repository is not initialized
+     * or has no versions yet
+     */
+    public Optional<String> getMainBranchVersionId() {
+        if (!isInitialized()) {
+            log.debug("Cannot get main branch version ID of uninitialized repository: {}", name);
+            return Optional.empty();
+        }
+        return resolve(DEFAULT_BRANCH_REF).map(ObjectId::getName);
+    }
+
+    /**
+     * List the files below the given paths changed by each version in a range of versions, oldest version first.
+     * Every version is compared with its first parent, the first version with an empty tree.
+     * Only the trees on the way to the given paths are compared, so unchanged directories are skipped without reading them.
+     *
+     * @param since the version after which to start, i.e., only versions that are not reachable from it are listed
+     *              - all versions are listed if null
+     * @param until the last version to list, e.g., the tip of the main branch
+     * @param paths the files or directories to compare, relative to the repository root; all files if empty
+     * @return the changes of every version that changed at least one of the given paths, oldest version first
+     */
+    public List<ManagedVersionChanges> listFileChanges(@Nullable String since, @NonNull String until, @NonNull Collection<Path> paths) {
+        if (!isInitialized()) {
+            log.debug("Cannot list file changes in uninitialized repository: {}", name);
+            return Collections.emptyList();
+        }
+
+        log.debug("Listing file changes after '{}' up to '{}' in repository: {}", since, until, name);
+        try (var revWalk = new RevWalk(repository); var treeWalk = new TreeWalk(repository)) {
+            revWalk.setRetainBody(false);
+            revWalk.sort(RevSort.TOPO);
+            revWalk.sort(RevSort.REVERSE, true);
+            revWalk.markStart(revWalk.parseCommit(resolve(until).orElseThrow(() -> new RepositoryVersioningException(
+                    "Version '" + until + "' not found in repository when trying to list file changes: " + name))));
+            if (since != null) {
+                revWalk.markUninteresting(revWalk.parseCommit(resolve(since).orElseThrow(() -> new RepositoryVersioningException(
+                        "Version '" + since + "' not found in repository when trying to list file changes: " + name))));
+            }
+
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(paths.isEmpty()
+                    ? TreeFilter.ANY_DIFF
+                    : AndTreeFilter.create(
+                    PathFilterGroup.createFromStrings(paths.stream().map(this::toRepositoryPath).toList()),
+                    TreeFilter.ANY_DIFF));
+
+            var versionChanges = new ArrayList<ManagedVersionChanges>();
+            for (var commit : revWalk) {
+                treeWalk.reset();
+                if (commit.getParentCount() > 0) {
+                    treeWalk.addTree(revWalk.parseCommit(commit.getParent(0)).getTree());
+                } else {
+                    treeWalk.addTree(new EmptyTreeIterator());
+                }
+                treeWalk.addTree(commit.getTree());
+
+                var changes = new ArrayList<ManagedFileChange>();
+                while (treeWalk.next()) {
+                    changes.add(new ManagedFileChange(
+                            treeWalk.getPathString(),
+                            treeWalk.getFileMode(0) == FileMode.MISSING ? null : treeWalk.getObjectId(0).getName(),
+                            treeWalk.getFileMode(1) == FileMode.MISSING ? null : treeWalk.getObjectId(1).getName()
+                    ));
+                }
+                if (!changes.isEmpty()) {
+                    versionChanges.add(new ManagedVersionChanges(commit.getName(), changes));
                 }
-            }).orElseGet(() -> {
-                log.debug("No commits found in repository '{}' while listing versions", name);
-                return Collections.emptyList();
-            });
+            }
+            log.debug("Listed file changes of {} versions after '{}' in repository: {}", versionChanges.size(), since, name);
+            return versionChanges;
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to list file changes in repository: " + name, e);
         }
     }
 
@@ -257,6 +605,29 @@ public class ManagedRepositoryVersioning {
             @NonNull String newVersion,
             boolean includeUnchanged,
             @Nullable Function<ManagedRepositoryObject, byte[]> objectPreprocessor
+    ) {
+        return compareVersions(oldVersion, newVersion, includeUnchanged, objectPreprocessor, null);
+    }
+
+    /**
+     * Compare two versions of the repository, pairing files that moved to another path by their identity.
+     * A file deleted at one path and added at another path with the same identity is compared as a single
+     * modified file, or as an unchanged file if its content did not change.
+     *
+     * @param oldVersion         the old version to compare with
+     * @param newVersion         the new version to compare with
+     * @param includeUnchanged   whether to include unchanged objects in the comparison results
+     * @param objectPreprocessor a function to preprocess the object content before comparison
+     * @param fileIdentity       maps the path of a file to the identity of its content, e.g., the ID of the element
+     *                           it stores, or to an empty Optional if the file has no identity
+     * @return a list of differences between the two versions of the repository as {@link ManagedDiffEntry} objects
+     */
+    public List<ManagedDiffEntry> compareVersions(
+            @NonNull String oldVersion,
+            @NonNull String newVersion,
+            boolean includeUnchanged,
+            @Nullable Function<ManagedRepositoryObject, byte[]> objectPreprocessor,
+            @Nullable Function<String, Optional<String>> fileIdentity
     ) {
         if (!isInitialized()) {
             throw new RepositoryVersioningException("Cannot compare versions in uninitialized repository: " + name);
@@ -267,7 +638,7 @@ public class ManagedRepositoryVersioning {
                     .orElseThrow(() -> new RepositoryVersioningException("Old version '" + oldVersion + "' not found in repository: " + name));
             var newCommit = resolveCommit(newVersion)
                     .orElseThrow(() -> new RepositoryVersioningException("New version '" + newVersion + "' not found in repository: " + name));
-            return diffFmt.createUnifiedDiff(oldCommit, newCommit, includeUnchanged, objectPreprocessor);
+            return diffFmt.createUnifiedDiff(oldCommit, newCommit, includeUnchanged, objectPreprocessor, fileIdentity);
         } catch (IOException e) {
             throw new RepositoryVersioningException("Failed to compare old version '" + oldVersion +
                     "' with new version + '" + newVersion + "' in repository: " + name, e);
@@ -278,6 +649,7 @@ public class ManagedRepositoryVersioning {
      * Checkout the supplied version
      * or the branch at the supplied version if one exists.
      * If there are multiple branches at the supplied version, `main` will be checked out
+     * In bare repositories, only HEAD is moved, since there is no working tree to update
      * <p>
      * overloaded methods used mainly to maintain compatibility with caller
      * can at some point refactor this to a more intuitive API
@@ -328,17 +700,23 @@ public class ManagedRepositoryVersioning {
                 }
             }
 
-            // setting forced=true, because any files in the working tree should immediately be committed after being written
-            // so we should never be in a position where we are discarding changes
-            git.checkout().setForced(true).setName(checkoutRef).call();
+            if (repository.isBare()) {
+                moveHead(checkoutRef);
+            } else {
+                // setting forced=true, because any files in the working tree should immediately be committed after being written
+                // so we should never be in a position where we are discarding changes
+                git.checkout().setForced(true).setName(checkoutRef).call();
+            }
             log.debug("Checked out version '{}' in repository: {}", version, name);
-        } catch (GitAPIException e) {
+        } catch (GitAPIException | IOException e) {
             throw new RepositoryVersioningException("Failed to checkout version '" + version + "' in repository: " + name, e);
         }
     }
 
     /**
      * Reset the repository to a specific version.
+     * In bare repositories, this only moves the branch HEAD is attached to (or HEAD itself if detached),
+     * since there is neither an index nor a working tree to reset.
      *
      * @param version the version to reset to
      */
@@ -349,15 +727,117 @@ public class ManagedRepositoryVersioning {
 
         try {
             log.debug("Resetting to version '{}' in repository: {}", version, name);
-            new ResetCommand(repository).setMode(ResetCommand.ResetType.HARD).setRef(version).call();
+            if (repository.isBare()) {
+                // JGit's ResetCommand refuses to run in bare repositories, even for soft resets
+                var commit = resolveCommit(version)
+                        .orElseThrow(() -> new RepositoryVersioningException("Version '" + version + "' not found in repository: " + name));
+                var refUpdate = repository.updateRef(Constants.HEAD);
+                refUpdate.setNewObjectId(commit);
+                refUpdate.setRefLogMessage("reset: moving to " + version, false);
+                ensureRefUpdated(Constants.HEAD, refUpdate.forceUpdate());
+            } else {
+                new ResetCommand(repository).setMode(ResetCommand.ResetType.HARD).setRef(version).call();
+            }
             log.debug("Reset to version '{}' in repository: {}", version, name);
-        } catch (GitAPIException | JGitInternalException e) {
+        } catch (GitAPIException | JGitInternalException | IOException e) {
             // for some reason the reset command can throw an internal runtime exception, e.g., when the ref is invalid
             // we prefer to wrap this in our own exception though. So catching that here as well
             throw new RepositoryVersioningException("Failed to reset to version '" + version + "' in repository: " + name, e);
         }
     }
 
+    /**
+     * Squash the versions of the main branch that are not kept, to bound the length of its history.
+     * Every run of consecutive versions that are not kept is replaced by a single version with the tree of the last
+     * version of the run. Kept versions are copied with their tree, message, author and committer, but get a new
+     * hash if a version before them was squashed. The tip of the main branch and a detached HEAD are always kept.
+     * <p>
+     * Tags of squashed versions are moved to the version that replaced them, tags of copied versions to the copy.
+     * Notes of kept versions are moved to their copy, notes of squashed versions are removed.
+     * The replaced versions stay in the object database until their reflog entries expire and maintenance prunes them.
+     *
+     * @param keptVersions the version IDs (commit hashes) to keep
+     * @param notesRefs    the full names of the notes refs whose notes are moved along with the versions
+     * @return a map of the version IDs on the main branch to the version IDs replacing them, including versions that
+     * did not change - an empty map if no version was squashed
+     */
+    public Map<String, String> squashVersions(@NonNull Set<String> keptVersions, @NonNull Collection<String> notesRefs) {
+        if (!isInitialized()) {
+            throw new RepositoryVersioningException("Cannot squash versions in uninitialized repository: " + name);
+        }
+        var mainCommit = resolve(DEFAULT_BRANCH_REF);
+        if (mainCommit.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        log.debug("Squashing versions of the main branch in repository: {}", name);
+        try (var revWalk = new RevWalk(repository); var inserter = repository.newObjectInserter()) {
+            var kept = new HashSet<>(keptVersions);
+            kept.add(mainCommit.get().getName());
+            var headIsDetached = !headIsAttachedToRef(DEFAULT_BRANCH_REF);
+            var headCommit = resolveHead();
+            if (headIsDetached && headCommit.isPresent()) {
+                kept.add(headCommit.get().getName());
+            }
+
+            revWalk.sort(RevSort.TOPO);
+            revWalk.sort(RevSort.REVERSE, true);
+            revWalk.setFirstParent(true);
+            revWalk.markStart(revWalk.parseCommit(mainCommit.get()));
+
+            var rewritten = new LinkedHashMap<String, String>();
+            var squashed = new ArrayList<RevCommit>();
+            ObjectId parent = null;
+            for (var commit : revWalk) {
+                if (!kept.contains(commit.getName())) {
+                    squashed.add(commit);
+                    continue;
+                }
+                if (!squashed.isEmpty()) {
+                    parent = insertSquashedCommit(inserter, squashed, parent);
+                    for (var squashedCommit : squashed) {
+                        rewritten.put(squashedCommit.getName(), parent.getName());
+                    }
+                    squashed.clear();
+                }
+                // versions before the first squashed version are left as they are
+                var originalParent = commit.getParentCount() > 0 ? commit.getParent(0) : null;
+                if (!Objects.equals(parent, originalParent == null ? null : originalParent.getId())) {
+                    parent = insertCommitCopy(inserter, commit, parent);
+                } else {
+                    parent = commit.getId();
+                }
+                rewritten.put(commit.getName(), parent.getName());
+            }
+            var squashedCount = rewritten.size() - new HashSet<>(rewritten.values()).size();
+            if (squashedCount == 0) {
+                log.debug("No versions to squash in repository: {}", name);
+                return Collections.emptyMap();
+            }
+
+            inserter.flush();
+            var newMainCommit = ObjectId.fromString(rewritten.get(mainCommit.get().getName()));
+            var refUpdate = repository.updateRef(DEFAULT_BRANCH_REF);
+            refUpdate.setExpectedOldObjectId(mainCommit.get());
+            refUpdate.setNewObjectId(newMainCommit);
+            refUpdate.setRefLogMessage("squash: squashed " + squashedCount + " versions", false);
+            ensureRefUpdated(DEFAULT_BRANCH_REF, refUpdate.forceUpdate());
+            if (headIsDetached && headCommit.isPresent() && rewritten.containsKey(headCommit.get().getName())) {
+                var headUpdate = repository.updateRef(Constants.HEAD, true);
+                headUpdate.setNewObjectId(ObjectId.fromString(rewritten.get(headCommit.get().getName())));
+                headUpdate.setRefLogMessage("squash: moving to rewritten version", false);
+                ensureRefUpdated(Constants.HEAD, headUpdate.forceUpdate());
+            }
+            moveTags(revWalk, rewritten);
+            moveNotes(inserter, revWalk, rewritten, kept, notesRefs);
+
+            log.debug("Squashed {} versions of the main branch in repository: {}", squashedCount, name);
+            return rewritten;
+        } catch (IOException | GitAPIException e) {
+            throw new RepositoryVersioningException("Failed to squash versions in repository: " + name, e);
+        }
+    }
+
     /**
      * Tag the specified commit in the repository.
      */
@@ -368,10 +848,12 @@ public class ManagedRepositoryVersioning {
 
         try (var git = Git.wrap(repository)) {
             log.debug("Tagging commit '{}' with tag '{}' in repository: {}", commit, tagName, name);
-            git.tag().setObjectId(resolveCommit(commit)
-                            .orElseThrow(() -> new RepositoryVersioningException("Commit '" + commit + "' not found in repository: " + name)))
+            var commitId = resolveCommit(commit)
+                    .orElseThrow(() -> new RepositoryVersioningException("Commit '" + commit + "' not found in repository: " + name));
+            git.tag().setObjectId(commitId)
                     .setName(tagName)
                     .call();
+            tagIndex.add(commitId, tagName);
             log.debug("Tagged commit '{}' with tag '{}' in repository: {}", commit, tagName, name);
         } catch (GitAPIException e) {
             throw new RepositoryVersioningException("Failed to tag commit '" + commit + "' with tag '" + tagName + "' in repository: " + name, e);
@@ -388,11 +870,32 @@ public class ManagedRepositoryVersioning {
         if (!isInitialized()) {
             throw new RepositoryVersioningException("Cannot list tags in uninitialized repository: " + name);
         }
-        var tags = listTags(null);
+        var tags = getTagIndex().values().stream()
+                .flatMap(List::stream)
+                .sorted()
+                .toList();
         log.debug("Listed {} tags in repository: {}", tags.size(), name);
         return tags;
     }
 
+    /**
+     * List the tags of all tagged commits in the repository.
+     * Requires only a single scan of the tag refs, so prefer this over calling {@link #listTagsForCommit(String)}
+     * for many commits.
+     *
+     * @return a map of commit hashes to the names of the tags pointing to them, untagged commits are not included
+     */
+    public Map<String, List<String>> listTagsByCommit() {
+        log.debug("Listing tags by commit in repository: {}", name);
+        if (!isInitialized()) {
+            throw new RepositoryVersioningException("Cannot list tags in uninitialized repository: " + name);
+        }
+        var tagsByCommit = new HashMap<String, List<String>>();
+        getTagIndex().forEach((commitId, tags) -> tagsByCommit.put(commitId.getName(), List.copyOf(tags)));
+        log.debug("Listed tags of {} commits in repository: {}", tagsByCommit.size(), name);
+        return tagsByCommit;
+    }
+
     /**
      * List all tags for a specific commit in the repository.
      *
@@ -407,12 +910,206 @@ public class ManagedRepositoryVersioning {
         var commit = resolveCommit(forCommit)
                 .orElseThrow(() -> new RepositoryVersioningException("Commit '" + forCommit + "' not found in repository " +
                         "when trying to list its tags: " + name));
-        var tags = listTags(commit);
+        var tags = List.copyOf(getTagIndex().getOrDefault(commit, Collections.emptyList()));
         log.debug("Listed {} tags for commit '{}' in repository: {}", tags.size(), forCommit, name);
         return tags;
     }
 
 
+    /**
+     * Attach a note to a version, replacing the note the version already has under the same notes ref.
+     * Notes are kept in their own history below the notes ref, so the version and its hash stay unchanged.
+     *
+     * @param notesRef the full name of the notes ref, e.g., refs/notes/commits
+     * @param version  the version ID (commit hash) to attach the note to
+     * @param note     the content of the note
+     */
+    public void addNote(@NonNull String notesRef, @NonNull String version, @NonNull String note) {
+        if (!isInitialized()) {
+            throw new RepositoryVersioningException("Cannot add note in uninitialized repository: " + name);
+        }
+
+        try (var git = Git.wrap(repository)) {
+            log.debug("Adding note to version '{}' under '{}' in repository: {}", version, notesRef, name);
+            var commit = resolveCommit(version)
+                    .orElseThrow(() -> new RepositoryVersioningException("Version '" + version + "' not found in repository: " + name));
+            git.notesAdd().setNotesRef(notesRef)
+                    .setObjectId(commit)
+                    .setMessage(note)
+                    .call();
+            log.debug("Added note to version '{}' under '{}' in repository: {}", version, notesRef, name);
+        } catch (GitAPIException | JGitInternalException e) {
+            throw new RepositoryVersioningException("Failed to add note to version '" + version + "' in repository: " + name, e);
+        }
+    }
+
+    /**
+     * Read the notes attached to versions under a notes ref.
+     * The notes tree is read once, so prefer this over reading the notes of many versions one by one.
+     *
+     * @param notesRef the full name of the notes ref, e.g., refs/notes/commits
+     * @param versions the version IDs (commit hashes) to read the notes of
+     * @return a map of version IDs to the content of their notes, versions without a note are not included
+     */
+    public Map<String, String> readNotes(@NonNull String notesRef, @NonNull Collection<String> versions) {
+        if (!isInitialized() || versions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        var notesCommit = resolve(notesRef);
+        if (notesCommit.isEmpty()) {
+            log.debug("No notes under '{}' in repository: {}", notesRef, name);
+            return Collections.emptyMap();
+        }
+
+        log.debug("Reading notes of {} versions under '{}' in repository: {}", versions.size(), notesRef, name);
+        try (var reader = repository.newObjectReader(); var revWalk = new RevWalk(reader)) {
+            var noteMap = NoteMap.read(reader, revWalk.parseCommit(notesCommit.get()));
+            var notes = new HashMap<String, String>();
+            for (var version : versions) {
+                var versionId = resolve(version);
+                var noteId = versionId.isPresent() ? noteMap.get(versionId.get()) : null;
+                if (noteId != null) {
+                    notes.put(version, new String(reader.open(noteId, Constants.OBJ_BLOB).getBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            log.debug("Read notes of {} versions under '{}' in repository: {}", notes.size(), notesRef, name);
+            return notes;
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to read notes under '" + notesRef + "' in repository: " + name, e);
+        }
+    }
+
+
+    /**
+     * Check whether the repository has accumulated enough loose objects or pack files to warrant maintenance.
+     * Only counts files in the object directory, so it is cheap compared to running maintenance.
+     *
+     * @param looseObjectLimit the number of loose objects above which maintenance is needed
+     * @param packLimit        the number of pack files above which maintenance is needed
+     * @return true if either limit is exceeded, false otherwise or if the repository is not stored on disk
+     */
+    public boolean needsMaintenance(long looseObjectLimit, long packLimit) {
+        if (!isInitialized()) {
+            throw new RepositoryVersioningException("Cannot check maintenance state of uninitialized repository: " + name);
+        }
+        if (!(repository instanceof FileRepository fileRepository)) {
+            return false;
+        }
+
+        try {
+            var statistics = new GC(fileRepository).getStatistics();
+            log.debug("Repository '{}' has {} loose objects and {} pack files", name,
+                    statistics.numberOfLooseObjects, statistics.numberOfPackFiles);
+            return statistics.numberOfLooseObjects > looseObjectLimit || statistics.numberOfPackFiles > packLimit;
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to read object statistics of repository: " + name, e);
+        }
+    }
+
+    /**
+     * Run maintenance on the repository: repack all objects into a pack with a reachability bitmap index,
+     * write the commit-graph file and compact the ref storage.
+     * History walks such as {@link #listVersions()} then read parents from the commit-graph, and reachability checks
+     * use the bitmaps, rather than inflating every commit.
+     *
+     * @param onlyIfNeeded whether to only run maintenance if git's automatic gc thresholds are exceeded,
+     *                     i.e., there are too many loose objects (gc.auto) or packs (gc.autoPackLimit)
+     */
+    public void runMaintenance(boolean onlyIfNeeded) {
+        runMaintenance(onlyIfNeeded, new PackConfig(repository));
+    }
+
+    /**
+     * Run maintenance on the repository as described in {@link #runMaintenance(boolean)},
+     * packing objects with the given pack settings instead of the ones from the repository configuration.
+     *
+     * @param onlyIfNeeded whether to only run maintenance if git's automatic gc thresholds are exceeded
+     * @param packConfig   the settings used for repacking, e.g., the delta search window and depth
+     */
+    public void runMaintenance(boolean onlyIfNeeded, @NonNull PackConfig packConfig) {
+        if (!isInitialized()) {
+            throw new RepositoryVersioningException("Cannot run maintenance in uninitialized repository: " + name);
+        }
+        if (!(repository instanceof FileRepository fileRepository)) {
+            log.debug("Skipping maintenance of repository '{}', since it is not stored on disk", name);
+            return;
+        }
+
+        try {
+            log.debug("Running maintenance in repository: {}", name);
+            enableHistoryIndexes();
+            var gc = new GC(fileRepository);
+            gc.setAuto(onlyIfNeeded);
+            gc.setPackConfig(packConfig);
+            gc.gc().get();
+            log.debug("Ran maintenance in repository: {}", name);
+        } catch (IOException | ParseException | GitAPIException | ExecutionException e) {
+            throw new RepositoryVersioningException("Failed to run maintenance in repository: " + name, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryVersioningException("Interrupted while running maintenance in repository: " + name, e);
+        }
+    }
+
+    /**
+     * Move the objects of the repository to a shared object store and read them from there as a git alternate.
+     * The objects and refs of the repository are imported into the store first, then the store is added to the
+     * alternates file of the repository. Afterwards, loose objects and packs contained in the store are deleted
+     * from the repository. Objects of such packs that the store does not contain, e.g., objects only referenced by
+     * the reflog, are written to a new pack first. Packs marked to be kept are left as they are.
+     * <p>
+     * Packs written by {@link #runMaintenance(boolean)} contain every object of the repository again,
+     * so objects should be shared after maintenance. The reachability bitmaps of deleted packs are lost,
+     * the commit-graph of the repository stays valid.
+     *
+     * @param objectStore the store the objects are moved to
+     * @return the number of objects deleted from the repository
+     */
+    public long shareObjects(@NonNull SharedObjectStore objectStore) {
+        if (!isInitialized()) {
+            throw new RepositoryVersioningException("Cannot share objects of uninitialized repository: " + name);
+        }
+        if (!(repository instanceof FileRepository fileRepository)) {
+            log.debug("Skipping sharing objects of repository '{}', since it is not stored on disk", name);
+            return 0;
+        }
+
+        try {
+            log.debug("Sharing objects of repository: {}", name);
+            objectStore.importObjects(name, repository);
+            // the alternate is recorded before any object is deleted, so the repository stays readable by any git tooling
+            addAlternate(fileRepository, objectStore.getObjectDirectory());
+            var removed = removeSharedPacks(fileRepository, objectStore) + removeSharedLooseObjects(fileRepository, objectStore);
+            // drops the cached pack list and alternates, so deleted packs are no longer read and the alternate is picked up
+            fileRepository.getObjectDatabase().close();
+            log.debug("Removed {} objects contained in the shared object store from repository: {}", removed, name);
+            return removed;
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to share objects of repository: " + name, e);
+        }
+    }
+
+    /**
+     * Copy the current refs of the repository into a shared object store again, without deleting any objects.
+     * Versions committed since the objects were last shared may reference objects that the repository only reads
+     * from the store, which maintenance of the store keeps only while a ref of the store references them.
+     * Does nothing if the repository does not read objects from the store.
+     *
+     * @param objectStore the store the objects of the repository were moved to
+     */
+    public void refreshSharedRefs(@NonNull SharedObjectStore objectStore) {
+        if (!isInitialized() || !(repository instanceof FileRepository fileRepository)) {
+            return;
+        }
+        try {
+            if (readAlternates(fileRepository).contains(objectStore.getObjectDirectory().toString())) {
+                objectStore.importObjects(name, repository);
+            }
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to read alternates of repository: " + name, e);
+        }
+    }
+
     /*
      * Build a commit in the repository.
      * This method is largely a copy of the JGit {@link org.eclipse.jgit.api.CommitCommand} implementation
@@ -483,6 +1180,131 @@ public class ManagedRepositoryVersioning {
     }
 
 
+    private List<String> readAlternates(FileRepository fileRepository) throws IOException {
+        var alternatesFile = fileRepository.getObjectsDirectory().toPath().resolve(Constants.INFO_ALTERNATES);
+        return Files.exists(alternatesFile) ? Files.readAllLines(alternatesFile, StandardCharsets.UTF_8) : List.of();
+    }
+
+    private void addAlternate(FileRepository fileRepository, Path objectDirectory) throws IOException {
+        var alternatesFile = fileRepository.getObjectsDirectory().toPath().resolve(Constants.INFO_ALTERNATES);
+        var alternates = new ArrayList<>(readAlternates(fileRepository));
+        if (alternates.contains(objectDirectory.toString())) {
+            return;
+        }
+
+        alternates.add(objectDirectory.toString());
+        Files.createDirectories(alternatesFile.getParent());
+        var lockFile = new LockFile(alternatesFile.toFile());
+        if (!lockFile.lock()) {
+            throw new IOException("Failed to lock alternates file of repository: " + name);
+        }
+        try {
+            lockFile.write((String.join("\n", alternates) + "\n").getBytes(StandardCharsets.UTF_8));
+            if (!lockFile.commit()) {
+                throw new IOException("Failed to write alternates file of repository: " + name);
+            }
+        } finally {
+            lockFile.unlock();
+        }
+    }
+
+    private long removeSharedPacks(FileRepository fileRepository, SharedObjectStore objectStore) throws IOException {
+        var sharedPacks = new ArrayList<Pack>();
+        var localObjects = new HashSet<ObjectId>();
+        long removed = 0;
+        for (var pack : fileRepository.getObjectDatabase().getPacks()) {
+            if (pack.shouldBeKept()) {
+                continue;
+            }
+            var packLocalObjects = new ArrayList<ObjectId>();
+            long packSharedObjects = 0;
+            for (var entry : pack) {
+                var objectId = entry.toObjectId();
+                if (objectStore.contains(objectId)) {
+                    packSharedObjects++;
+                } else {
+                    packLocalObjects.add(objectId);
+                }
+            }
+            if (packSharedObjects > 0) {
+                sharedPacks.add(pack);
+                localObjects.addAll(packLocalObjects);
+                removed += packSharedObjects;
+            }
+        }
+        if (sharedPacks.isEmpty()) {
+            return 0;
+        }
+
+        if (!localObjects.isEmpty()) {
+            try (var inserter = fileRepository.getObjectDatabase().newPackInserter();
+                 var reader = repository.newObjectReader()) {
+                // the objects are still contained in the packs that are about to be deleted
+                inserter.checkExisting(false);
+                for (var objectId : localObjects) {
+                    var loader = reader.open(objectId);
+                    try (var stream = loader.openStream()) {
+                        inserter.insert(loader.getType(), loader.getSize(), stream);
+                    }
+                }
+                inserter.flush();
+            }
+        }
+        for (var pack : sharedPacks) {
+            // the index is deleted first, since a pack without index is ignored by readers
+            Files.deleteIfExists(pack.getPackFile().create(PackExt.INDEX).toPath());
+            for (var extension : PackExt.values()) {
+                Files.deleteIfExists(pack.getPackFile().create(extension).toPath());
+            }
+        }
+        return removed;
+    }
+
+    private long removeSharedLooseObjects(FileRepository fileRepository, SharedObjectStore objectStore) throws IOException {
+        long removed = 0;
+        try (var directories = Files.list(fileRepository.getObjectsDirectory().toPath())) {
+            // loose objects are stored in directories named after the first two hex digits of their ID
+            for (var directory : directories.filter(path -> path.getFileName().toString().matches("[0-9a-f]{2}")).toList()) {
+                try (var files = Files.list(directory)) {
+                    for (var file : files.toList()) {
+                        var objectName = directory.getFileName().toString() + file.getFileName();
+                        if (ObjectId.isId(objectName) && objectStore.contains(ObjectId.fromString(objectName))) {
+                            Files.deleteIfExists(file);
+                            removed++;
+                        }
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    // the commit-graph is only read if core.commitGraph is set, and only written by gc if gc.writeCommitGraph is set
+    private void enableHistoryIndexes() throws IOException {
+        var config = repository.getConfig();
+        if (!config.getBoolean(ConfigConstants.CONFIG_CORE_SECTION, ConfigConstants.CONFIG_COMMIT_GRAPH, false)
+                || !config.getBoolean(ConfigConstants.CONFIG_GC_SECTION, ConfigConstants.CONFIG_KEY_WRITE_COMMIT_GRAPH, false)) {
+            config.setBoolean(ConfigConstants.CONFIG_CORE_SECTION, null, ConfigConstants.CONFIG_COMMIT_GRAPH, true);
+            config.setBoolean(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_WRITE_COMMIT_GRAPH, true);
+            config.save();
+        }
+    }
+
+    private DirCacheEntry createDirCacheEntry(String path, FileMode fileMode, ObjectId objectId) {
+        var entry = new DirCacheEntry(path);
+        entry.setFileMode(fileMode);
+        entry.setObjectId(objectId);
+        return entry;
+    }
+
+    private String toRepositoryPath(Path path) {
+        var normalized = path.normalize();
+        if (normalized.isAbsolute() || normalized.startsWith("..") || normalized.toString().isEmpty()) {
+            throw new RepositoryVersioningException("Attempted to commit file '" + path + "' outside repository: " + name);
+        }
+        return PathUtils.normalizePath(normalized.toString());
+    }
+
     private CommitBuilder configureCommitBuilder(
             String message,
             ObjectId indexTreeId,
@@ -533,47 +1355,153 @@ public class ManagedRepositoryVersioning {
         }
     }
 
-    private List<String> listTags(@Nullable ObjectId forCommit) {
+    /*
+     * Checkout without a working tree: attach HEAD to the reference if it is a branch, detach it at the commit otherwise.
+     */
+    private void moveHead(String checkoutRef) throws IOException {
+        var branch = findRef(checkoutRef).filter(ref -> ref.getName().startsWith(BRANCH_NAMESPACE));
+        if (branch.isPresent()) {
+            var refUpdate = repository.updateRef(Constants.HEAD);
+            refUpdate.setRefLogMessage("checkout: moving to " + branch.get().getName(), false);
+            ensureRefUpdated(Constants.HEAD, refUpdate.link(branch.get().getName()));
+        } else {
+            var commit = resolveCommit(checkoutRef)
+                    .orElseThrow(() -> new RepositoryVersioningException("Version '" + checkoutRef + "' not found in repository: " + name));
+            var refUpdate = repository.updateRef(Constants.HEAD, true);
+            refUpdate.setNewObjectId(commit);
+            refUpdate.setRefLogMessage("checkout: moving to " + commit.getName(), false);
+            ensureRefUpdated(Constants.HEAD, refUpdate.forceUpdate());
+        }
+    }
+
+    private ObjectId insertSquashedCommit(ObjectInserter inserter, List<RevCommit> squashed, @Nullable ObjectId parent) throws IOException {
+        var first = squashed.getFirst();
+        var last = squashed.getLast();
+        var commitBuilder = new CommitBuilder();
+        if (parent != null) {
+            commitBuilder.setParentId(parent);
+        }
+        commitBuilder.setTreeId(last.getTree());
+        commitBuilder.setAuthor(last.getAuthorIdent());
+        commitBuilder.setCommitter(last.getCommitterIdent());
+        commitBuilder.setMessage(squashed.size() == 1
+                ? last.getFullMessage()
+                : "Squashed " + squashed.size() + " versions from " + first.getName() + " to " + last.getName()
+                + "\n\n" + last.getFullMessage());
+        return inserter.insert(commitBuilder);
+    }
+
+    private ObjectId insertCommitCopy(ObjectInserter inserter, RevCommit commit, @Nullable ObjectId parent) throws IOException {
+        var commitBuilder = new CommitBuilder();
+        if (parent != null) {
+            commitBuilder.setParentId(parent);
+        }
+        commitBuilder.setTreeId(commit.getTree());
+        commitBuilder.setAuthor(commit.getAuthorIdent());
+        commitBuilder.setCommitter(commit.getCommitterIdent());
+        commitBuilder.setEncoding(commit.getEncoding());
+        commitBuilder.setMessage(commit.getFullMessage());
+        return inserter.insert(commitBuilder);
+    }
+
+    // notes are looked up by the hash of their version, so they are moved to the versions that replace them
+    private void moveNotes(
+            ObjectInserter inserter,
+            RevWalk revWalk,
+            Map<String, String> rewritten,
+            Set<String> kept,
+            Collection<String> notesRefs
+    ) throws IOException {
+        for (var notesRef : notesRefs) {
+            var notesCommit = resolve(notesRef);
+            if (notesCommit.isEmpty()) {
+                continue;
+            }
+            var noteMap = NoteMap.read(revWalk.getObjectReader(), revWalk.parseCommit(notesCommit.get()));
+            var changed = false;
+            for (var version : rewritten.entrySet()) {
+                if (version.getKey().equals(version.getValue())) {
+                    continue;
+                }
+                var oldId = ObjectId.fromString(version.getKey());
+                var noteId = noteMap.get(oldId);
+                if (noteId == null) {
+                    continue;
+                }
+                noteMap.remove(oldId);
+                if (kept.contains(version.getKey())) {
+                    noteMap.set(ObjectId.fromString(version.getValue()), noteId);
+                }
+                changed = true;
+            }
+            if (!changed) {
+                continue;
+            }
+
+            var commitBuilder = new CommitBuilder();
+            commitBuilder.setParentId(notesCommit.get());
+            commitBuilder.setTreeId(noteMap.writeTree(inserter));
+            var ident = new PersonIdent(repository);
+            commitBuilder.setAuthor(ident);
+            commitBuilder.setCommitter(ident);
+            commitBuilder.setMessage("Notes moved to squashed versions");
+            var newNotesCommit = inserter.insert(commitBuilder);
+            inserter.flush();
+            var refUpdate = repository.updateRef(notesRef);
+            refUpdate.setExpectedOldObjectId(notesCommit.get());
+            refUpdate.setNewObjectId(newNotesCommit);
+            refUpdate.setRefLogMessage("squash: moved notes", false);
+            ensureRefUpdated(notesRef, refUpdate.update());
+        }
+    }
+
+    private void moveTags(RevWalk revWalk, Map<String, String> rewritten) throws IOException, GitAPIException {
+        var movedTags = 0;
         try (var git = Git.wrap(repository)) {
-            var listTagsCommand = git.tagList();
-            var tagsStream = forCommit == null
-                    ? listTagsCommand.call().stream()
-                    : listTagsCommand.setContains(forCommit).call()
-                    .stream().filter(ref -> {
-                        try {
-                            // need to handle both annotated and lightweight tags here
-                            var finalRef = repository.getRefDatabase().peel(ref);
-                            var refCommitID = finalRef.isPeeled()
-                                    ? finalRef.getPeeledObjectId()
-                                    : ref.getObjectId();
-                            return refCommitID != null && refCommitID.equals(forCommit);
-                        } catch (IOException e) {
-                            log.error("Failed to peel tag reference: {}", ref.getName(), e);
-                            return false;
-                        }
-                    });
-            return tagsStream.map(Ref::getName).map(this::stripTags).toList();
-        } catch (GitAPIException | IOException e) {
-            String message = "Failed to list tags"
-                    + (forCommit != null ? " for commit '" + forCommit.getName() + "'" : "")
-                    + " in repository: " + name;
+            for (var tagged : getTagIndex().entrySet()) {
+                var newCommit = rewritten.get(tagged.getKey().getName());
+                if (newCommit == null || newCommit.equals(tagged.getKey().getName())) {
+                    continue;
+                }
+                for (var tagName : tagged.getValue()) {
+                    git.tag().setObjectId(revWalk.parseCommit(ObjectId.fromString(newCommit)))
+                            .setName(tagName)
+                            .setForceUpdate(true)
+                            .call();
+                    movedTags++;
+                }
+            }
+        }
+        // rebuilt on next read
+        tagIndex.invalidate();
+        log.debug("Moved {} tags to squashed versions in repository: {}", movedTags, name);
+    }
 
-            throw new RepositoryVersioningException(message, e);
+    private void ensureRefUpdated(String reference, RefUpdate.Result result) {
+        switch (result) {
+            case NEW, FORCED, FAST_FORWARD, NO_CHANGE -> {
+            }
+            default -> throw new RepositoryVersioningException("Failed to update reference '" + reference +
+                    "' in repository '" + name + "': " + result);
         }
     }
 
-    private String stripTags(String tagName) {
-        return tagName.replace(Constants.R_TAGS, "");
+    private Map<ObjectId, List<String>> getTagIndex() {
+        try {
+            return tagIndex.get(repository.getRefDatabase(), name);
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to list tags in repository: " + name, e);
+        }
     }
 
     private List<Ref> listBranches(@Nullable String atCommit) {
         try (var git = Git.wrap(repository)) {
-            var listBranchesCommand = git.branchList();
+            var branches = git.branchList().call();
             return atCommit == null
-                    ? listBranchesCommand.call()
-                    // need to deliberately filter here since `setCommit` unfortunately includes
-                    // branches whose ancestors contain the given commit, not just those actually pointing to it
-                    : listBranchesCommand.setContains(atCommit).call().stream()
+                    ? branches
+                    // only branches actually pointing to the commit are of interest, so comparing the branch tips
+                    // is enough - `setContains` would walk the ancestry of every branch instead
+                    : branches.stream()
                     .filter(ref -> {
                         var objectId = ref.getLeaf().getObjectId();
                         return objectId != null && objectId.getName().equals(atCommit);
@@ -0,0 +1,14 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * The files changed by a single version.
+ *
+ * @param version the version ID (commit hash)
+ * @param changes the changed files
+ */
+public record ManagedVersionChanges(@NonNull String version, @NonNull List<ManagedFileChange> changes) {
+}
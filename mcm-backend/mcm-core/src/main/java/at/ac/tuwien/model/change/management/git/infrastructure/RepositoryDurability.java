@@ -0,0 +1,49 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import lombok.NonNull;
+
+import java.util.Set;
+
+/**
+ * Forces the files written by commits to disk, as configured in
+ * {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Commit}.
+ * JGit leaves most files it writes to the page cache of the operating system, so a crash may lose recent commits
+ * unless they are synced.
+ */
+public interface RepositoryDurability {
+
+    /**
+     * Acknowledge a commit to the repository of the given name according to the configured durability.
+     * Depending on the durability, this forces the commit to disk, waits for the next periodic sync to do so,
+     * or only schedules the commit for the next periodic sync.
+     * Should be called after the commit, but without holding the lock of the repository, since it may wait for a while.
+     *
+     * @param repositoryName the name of the repository that was committed to
+     */
+    void awaitDurable(@NonNull String repositoryName);
+
+    /**
+     * Force the commits to a repository to disk before it is renamed, so the callers waiting for them are released
+     * with the next sync although the repository no longer exists under its current name.
+     * Must be called while holding the write lock of the repository, before it is moved.
+     *
+     * @param currentName the name of the repository before renaming it
+     */
+    void syncBeforeRename(@NonNull String currentName);
+
+    /**
+     * Forget the commits to a repository that is about to be deleted, so the callers waiting for them are released
+     * with the next sync although the repository no longer exists. Must be called while holding the write lock of the repository.
+     *
+     * @param name the name of the repository
+     */
+    void forget(@NonNull String name);
+
+    /**
+     * Force all commits that have not been forced to disk yet to disk and release the callers waiting for them.
+     * If any repository fails to be synced, the waiting callers fail as well.
+     *
+     * @return the names of the synced repositories
+     */
+    Set<String> syncPendingRepositories();
+}
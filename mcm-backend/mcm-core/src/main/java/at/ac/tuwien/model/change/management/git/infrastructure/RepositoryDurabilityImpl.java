@@ -0,0 +1,189 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryWriteException;
+import javax.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.util.FS;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class RepositoryDurabilityImpl implements RepositoryDurability, SchedulingConfigurer {
+
+    // file systems with a coarse modification time may stamp a file written right after a sync with the time of the sync
+    private static final Duration MODIFICATION_TIME_GRANULARITY = Duration.ofSeconds(2);
+
+    private final GitProperties properties;
+
+    // start of the last sync of each repository, files modified since then have not been forced to disk
+    private final Map<String, Instant> lastSyncs = new ConcurrentHashMap<>();
+    // repositories renamed or deleted after their commits were synced, a sync that finds them gone has nothing left to do
+    private final Set<String> removedRepositories = ConcurrentHashMap.newKeySet();
+
+    // guarded by this
+    private Set<String> pendingRepositories = new HashSet<>();
+    private CompletableFuture<Void> nextSync = new CompletableFuture<>();
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        var commit = properties.getCommit();
+        if (hasPeriodicSync() && commit.getDurability() != GitProperties.Durability.PER_COMMIT) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::syncPendingRepositories, commit.getSyncInterval(), commit.getSyncInterval()));
+            log.info("Scheduled {} sync of commits every {}", commit.getDurability(), commit.getSyncInterval());
+        }
+    }
+
+    @Override
+    public void awaitDurable(@NonNull String repositoryName) {
+        switch (properties.getCommit().getDurability()) {
+            case PER_COMMIT -> syncRepository(repositoryName);
+            case GROUP -> {
+                if (!hasPeriodicSync()) {
+                    syncRepository(repositoryName);
+                    return;
+                }
+                try {
+                    markPending(repositoryName).join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause
+                            : new RepositoryWriteException("Failed to sync repository: " + repositoryName, e.getCause());
+                }
+            }
+            case BUFFERED -> markPending(repositoryName);
+        }
+    }
+
+    @Override
+    public void syncBeforeRename(@NonNull String currentName) {
+        syncRepository(currentName);
+        // the commits are durable, so a pending sync that no longer finds the repository under this name may skip it
+        forget(currentName);
+    }
+
+    @Override
+    public void forget(@NonNull String name) {
+        // the pending entry is kept, so the repository is still synced if it is not moved or deleted after all
+        lastSyncs.remove(name);
+        removedRepositories.add(name);
+    }
+
+    @Override
+    @PreDestroy
+    public Set<String> syncPendingRepositories() {
+        Set<String> repositories;
+        CompletableFuture<Void> sync;
+        synchronized (this) {
+            repositories = pendingRepositories;
+            sync = nextSync;
+            pendingRepositories = new HashSet<>();
+            nextSync = new CompletableFuture<>();
+        }
+        if (repositories.isEmpty()) {
+            sync.complete(null);
+            return repositories;
+        }
+
+        log.debug("Syncing commits of {} repositories", repositories.size());
+        try {
+            repositories.forEach(this::syncRepository);
+            sync.complete(null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync commits of repositories: {}", repositories, e);
+            sync.completeExceptionally(e);
+        }
+        return repositories;
+    }
+
+    private synchronized CompletableFuture<Void> markPending(String repositoryName) {
+        // the name may have been taken by a new repository since another one was renamed or deleted
+        removedRepositories.remove(repositoryName);
+        pendingRepositories.add(repositoryName);
+        return nextSync;
+    }
+
+    private boolean hasPeriodicSync() {
+        var syncInterval = properties.getCommit().getSyncInterval();
+        return !syncInterval.isZero() && !syncInterval.isNegative();
+    }
+
+    private void syncRepository(String repositoryName) {
+        var gitDir = RepositoryCache.FileKey.resolve(properties.getRepositories().resolve(repositoryName).toFile(), FS.DETECTED);
+        if (gitDir == null) {
+            if (removedRepositories.contains(repositoryName)) {
+                log.debug("Repository '{}' was renamed or deleted after its commits were synced", repositoryName);
+                return;
+            }
+            throw new RepositoryWriteException("Cannot sync repository that does not exist: " + repositoryName);
+        }
+
+        var syncStart = Instant.now();
+        var modifiedAfter = lastSyncs.getOrDefault(repositoryName, Instant.EPOCH).minus(MODIFICATION_TIME_GRANULARITY);
+        var directories = new HashSet<Path>();
+        try {
+            Files.walkFileTree(gitDir.toPath(), new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && !attrs.lastModifiedTime().toInstant().isBefore(modifiedAfter)) {
+                        forceFile(file);
+                        directories.add(file.getParent());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    // lock and temporary files disappear while the repository is written
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new RepositoryWriteException("Failed to sync repository: " + repositoryName, e);
+        }
+        // files are moved into place after they were written, the directory entries have to be forced as well
+        directories.forEach(this::forceDirectory);
+        lastSyncs.put(repositoryName, syncStart);
+        log.debug("Synced {} directories of repository: {}", directories.size(), repositoryName);
+    }
+
+    private void forceFile(Path file) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (NoSuchFileException e) {
+            // removed since it was listed, e.g., a lock file
+        } catch (IOException e) {
+            throw new RepositoryWriteException("Failed to force '" + file + "' to disk", e);
+        }
+    }
+
+    private void forceDirectory(Path directory) {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (NoSuchFileException e) {
+            // removed since it was listed, e.g., an emptied loose object directory
+        } catch (IOException e) {
+            // some platforms, e.g., Windows, cannot open directories to force them
+            log.debug("Could not force directory '{}' to disk", directory, e);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Bounded pool of open JGit repositories, keyed by the path of the repository.
+ * Keeping repositories open between requests preserves JGit's pack indexes, window cache entries and ref database.
+ * <p>
+ * Handles are reference-counted: every {@link #acquire(Path, RepositoryOpener)} increments the use count of the
+ * JGit repository and has to be matched by a call to {@link Repository#close()} followed by {@link #release(Path, Repository)}.
+ * The pool itself holds one additional reference, so a repository is only really closed once it has been evicted
+ * (least recently used or idle for longer than the configured timeout) or invalidated AND every lease has been released.
+ * The pool never holds more than the configured maximum number of repositories: if all of them are leased,
+ * further repositories are handed out without being pooled.
+ * <p>
+ * Only initialized repositories are pooled, since uninitialized repositories are usually created or deleted right after.
+ * <p>
+ * Every pooled repository keeps the {@link TagIndex} of its tags, so the tags are not scanned again by every request.
+ */
+@Slf4j
+class RepositoryHandlePool implements AutoCloseable {
+
+    private final GitProperties properties;
+
+    // access-ordered, so iteration starts with the least recently used handle
+    private final LinkedHashMap<Path, PooledHandle> handles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    RepositoryHandlePool(@NonNull GitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Acquire a lease on the repository at the given path, opening it if it is not pooled yet.
+     * The repository is opened outside the lock of the pool, so opening one repository does not block access
+     * to the others. If another thread pools the same repository in the meantime, its handle is used instead.
+     *
+     * @param repositoryPath the path of the repository, used as the pool key
+     * @param opener         opens the JGit repository on a pool miss
+     * @return the leased repository, which is not pooled if pooling is disabled, the repository is not initialized,
+     * or all pooled repositories are leased and the pool is full
+     * @throws IOException if the repository cannot be opened
+     */
+    Lease acquire(@NonNull Path repositoryPath, @NonNull RepositoryOpener opener) throws IOException {
+        var settings = properties.getPool();
+        if (settings == null || !settings.isEnabled()) {
+            return new Lease(opener.open(), false);
+        }
+
+        var key = toKey(repositoryPath);
+        var pooledRepository = leasePooledRepository(key);
+        if (pooledRepository.isPresent()) {
+            var repository = pooledRepository.get();
+            if (repository.getObjectDatabase().exists()) {
+                return new Lease(repository, true);
+            }
+            // repository was removed from disk without going through the pool
+            repository.close();
+            release(key, repository);
+            invalidate(key, repository);
+        }
+
+        var repository = opener.open();
+        if (!repository.getObjectDatabase().exists()) {
+            return new Lease(repository, false);
+        }
+        return poolRepository(key, repository, settings);
+    }
+
+    /**
+     * Release a lease previously obtained via {@link #acquire(Path, RepositoryOpener)}.
+     * Leases on handles that have been invalidated in the meantime are ignored.
+     *
+     * @param repositoryPath the path of the repository
+     * @param repository     the leased repository
+     */
+    synchronized void release(@NonNull Path repositoryPath, @NonNull Repository repository) {
+        var handle = handles.get(toKey(repositoryPath));
+        if (handle != null && handle.repository == repository && handle.leases > 0) {
+            handle.leases--;
+            handle.lastUsed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Close pooled repositories that have not been leased for longer than the configured idle timeout.
+     */
+    synchronized void evictIdleHandles() {
+        var settings = properties.getPool();
+        if (settings != null) {
+            evictIdleHandles(settings);
+        }
+    }
+
+    /**
+     * Get the tag index kept with a leased repository, see {@link TagIndex}.
+     *
+     * @param repositoryPath the path of the repository
+     * @param repository     the leased repository
+     * @return the tag index of the pooled repository, or a new tag index if the repository is not pooled (anymore)
+     */
+    synchronized TagIndex getTagIndex(@NonNull Path repositoryPath, @NonNull Repository repository) {
+        var handle = handles.get(toKey(repositoryPath));
+        return handle != null && handle.repository == repository ? handle.tagIndex : new TagIndex();
+    }
+
+    /**
+     * Remove the repository at the given path from the pool, e.g., because it is renamed or deleted.
+     * The repository is closed as soon as all outstanding leases have been released.
+     *
+     * @param repositoryPath the path of the repository
+     */
+    synchronized void invalidate(@NonNull Path repositoryPath) {
+        var handle = handles.remove(toKey(repositoryPath));
+        if (handle != null) {
+            log.debug("Invalidated pooled repository '{}' with {} outstanding leases", repositoryPath, handle.leases);
+            handle.repository.close();
+        }
+    }
+
+    /**
+     * Get hit, miss and eviction counters of the pool.
+     *
+     * @return a snapshot of the pool statistics
+     */
+    synchronized RepositoryPoolStatistics getStatistics() {
+        return new RepositoryPoolStatistics(hits, misses, evictions, handles.size());
+    }
+
+    /**
+     * Close all pooled repositories.
+     */
+    @Override
+    public synchronized void close() {
+        log.debug("Closing {} pooled repositories", handles.size());
+        handles.values().forEach(handle -> handle.repository.close());
+        handles.clear();
+    }
+
+    private synchronized Optional<Repository> leasePooledRepository(Path key) {
+        var handle = handles.get(key);
+        if (handle == null) {
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(lease(handle));
+    }
+
+    private synchronized Lease poolRepository(Path key, Repository repository, GitProperties.Pool settings) {
+        var handle = handles.get(key);
+        if (handle != null) {
+            // another thread pooled the repository while this one was opening it
+            repository.close();
+            hits++;
+            return new Lease(lease(handle), true);
+        }
+
+        misses++;
+        evictIdleHandles(settings);
+        evictLeastRecentlyUsedHandles(settings, 1);
+        if (handles.size() >= settings.getMaxSize()) {
+            // every pooled repository is leased, e.g., while iterating over all repositories
+            log.debug("Not pooling repository '{}', all {} pooled repositories are leased", key, handles.size());
+            return new Lease(repository, false);
+        }
+        handle = new PooledHandle(repository);
+        handles.put(key, handle);
+        return new Lease(lease(handle), true);
+    }
+
+    private Repository lease(PooledHandle handle) {
+        handle.leases++;
+        handle.lastUsed = System.nanoTime();
+        handle.repository.incrementOpen();
+        return handle.repository;
+    }
+
+    private synchronized void invalidate(Path key, Repository repository) {
+        var handle = handles.get(key);
+        if (handle != null && handle.repository == repository) {
+            invalidate(key);
+        }
+    }
+
+    private void evictIdleHandles(GitProperties.Pool settings) {
+        var now = System.nanoTime();
+        var idleTimeout = settings.getIdleTimeout().toNanos();
+        evictWhere(handle -> handle.leases == 0 && now - handle.lastUsed > idleTimeout, Integer.MAX_VALUE);
+    }
+
+    // evict until there is room for the given number of additional handles, skipping handles that are currently leased
+    private void evictLeastRecentlyUsedHandles(GitProperties.Pool settings, int room) {
+        var overflow = handles.size() + room - Math.max(settings.getMaxSize(), 0);
+        if (overflow > 0) {
+            evictWhere(handle -> handle.leases == 0, overflow);
+        }
+    }
+
+    private void evictWhere(Predicate<PooledHandle> condition, int limit) {
+        var evicted = new ArrayList<Path>();
+        Iterator<Map.Entry<Path, PooledHandle>> iterator = handles.entrySet().iterator();
+        while (iterator.hasNext() && evicted.size() < limit) {
+            var entry = iterator.next();
+            if (condition.test(entry.getValue())) {
+                iterator.remove();
+                entry.getValue().repository.close();
+                evicted.add(entry.getKey());
+            }
+        }
+        evictions += evicted.size();
+        if (!evicted.isEmpty()) {
+            log.debug("Evicted {} pooled repositories: {}", evicted.size(), evicted);
+        }
+    }
+
+    private static Path toKey(Path repositoryPath) {
+        return repositoryPath.toAbsolutePath().normalize();
+    }
+
+    /**
+     * A leased repository. Repositories that are not pooled are owned by the caller alone,
+     * releasing them is a no-op.
+     *
+     * @param repository the leased repository
+     * @param pooled     whether the repository is kept in the pool
+     */
+    record Lease(Repository repository, boolean pooled) {
+    }
+
+    @FunctionalInterface
+    interface RepositoryOpener {
+        Repository open() throws IOException;
+    }
+
+    private static class PooledHandle {
+        private final Repository repository;
+        private final TagIndex tagIndex = new TagIndex();
+        private int leases = 0;
+        private long lastUsed = System.nanoTime();
+
+        private PooledHandle(Repository repository) {
+            this.repository = repository;
+        }
+    }
+}
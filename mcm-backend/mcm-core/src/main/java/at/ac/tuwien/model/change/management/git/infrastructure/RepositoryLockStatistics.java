@@ -0,0 +1,21 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the counters of the per-repository read/write locks held by the {@link RepositoryManager}.
+ *
+ * @param readAcquisitions      number of times a read lock was acquired
+ * @param writeAcquisitions     number of times a write lock was acquired
+ * @param contendedAcquisitions number of acquisitions that had to wait because the lock was held by another thread
+ * @param totalWaitTime         time spent waiting for locks, summed over all acquisitions
+ * @param maxWaitTime           longest time a single acquisition had to wait
+ */
+public record RepositoryLockStatistics(
+        long readAcquisitions,
+        long writeAcquisitions,
+        long contendedAcquisitions,
+        Duration totalWaitTime,
+        Duration maxWaitTime
+) {
+}
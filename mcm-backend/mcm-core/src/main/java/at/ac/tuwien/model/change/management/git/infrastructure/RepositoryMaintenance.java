@@ -0,0 +1,25 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import java.util.List;
+
+/**
+ * Keeps the repositories stored under the path defined in
+ * {@link at.ac.tuwien.model.change.management.git.config.GitProperties} fast to read as versions pile up,
+ * by repacking loose objects and packs into a single pack and compacting the refs.
+ * If sharing objects is enabled, the objects of every repository are moved to the shared object store,
+ * which is repacked after all repositories.
+ * Runs periodically in the background when enabled.
+ */
+public interface RepositoryMaintenance {
+
+    /**
+     * Run maintenance on every repository whose loose objects or pack files exceed the configured thresholds,
+     * and move the objects of every repository to the shared object store if sharing objects is enabled.
+     * Repositories are maintained one after another, each through the {@link RepositoryManager},
+     * so that maintenance does not interfere with other access to the same repository.
+     * A repository that fails to be maintained is skipped.
+     *
+     * @return the names of the repositories that were repacked or whose objects were moved to the shared object store
+     */
+    List<String> maintainRepositories();
+}
@@ -0,0 +1,124 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class RepositoryMaintenanceImpl implements RepositoryMaintenance, SchedulingConfigurer {
+
+    private final GitProperties properties;
+    private final RepositoryManager repositoryManager;
+    private final ManagedRepositoryFactory repositoryFactory;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        var maintenance = properties.getMaintenance();
+        if (maintenance.isEnabled()) {
+            // the first run is delayed as well, so that startup is not slowed down by repacking
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::maintainRepositories, maintenance.getInterval(), maintenance.getInterval()));
+            log.info("Scheduled repository maintenance every {}", maintenance.getInterval());
+        }
+    }
+
+    @Override
+    public List<String> maintainRepositories() {
+        log.debug("Running maintenance of all repositories");
+        var repositoryNames = repositoryManager.withAllRepositories(repositories -> repositories.stream()
+                .map(ManagedRepository::getName)
+                .toList());
+
+        var objectStore = repositoryFactory.getSharedObjectStore();
+        var maintained = new ArrayList<String>();
+        for (var name : repositoryNames) {
+            try {
+                if (repositoryManager.withRepository(name, repository -> maintainRepository(repository, objectStore))) {
+                    maintained.add(name);
+                }
+            } catch (RepositoryAccessException e) {
+                log.warn("Failed to run maintenance of repository: {}", name, e);
+            }
+        }
+        objectStore.ifPresent(this::maintainSharedObjectStore);
+
+        log.info("Ran maintenance of {} out of {} repositories", maintained.size(), repositoryNames.size());
+        return maintained;
+    }
+
+    private boolean maintainRepository(ManagedRepository repository, Optional<SharedObjectStore> objectStore) {
+        var maintenance = properties.getMaintenance();
+        // the repository may have been deleted since all repositories were listed
+        if (!repository.exists()) {
+            return false;
+        }
+
+        var maintained = false;
+        if (repository.versioning().needsMaintenance(maintenance.getLooseObjectThreshold(), maintenance.getPackThreshold())) {
+            log.debug("Running maintenance of repository: {}", repository.getName());
+            repository.versioning().runMaintenance(false, createPackConfig());
+            maintained = true;
+        }
+        // objects are shared after repacking, since the new pack contains the objects read from the store again
+        if (objectStore.isPresent() && repository.versioning().shareObjects(objectStore.get()) > 0) {
+            maintained = true;
+        }
+        return maintained;
+    }
+
+    private void maintainSharedObjectStore(SharedObjectStore objectStore) {
+        var maintenance = properties.getMaintenance();
+        try {
+            // all repositories stay locked until the store is repacked, so none of them commits, is renamed or is deleted
+            // between copying its refs into the store and pruning the objects no ref of the store references
+            repositoryManager.consumeAllRepositories(repositories -> {
+                var repositoryNames = repositories.stream().map(ManagedRepository::getName).toList();
+                if (!Set.copyOf(repositoryNames).equals(listRepositoryNames())) {
+                    // renamed between listing and locking, its refs are copied under the new name by the next run
+                    log.debug("Skipping maintenance of shared object store, since repositories changed while locking them");
+                    return;
+                }
+                var removed = objectStore.removeRepositories(repositoryNames);
+                if (!removed.isEmpty()) {
+                    log.info("Removed refs of {} repositories that no longer exist from shared object store: {}", removed.size(), removed);
+                }
+                if (objectStore.needsMaintenance(maintenance.getLooseObjectThreshold(), maintenance.getPackThreshold())) {
+                    log.debug("Running maintenance of shared object store");
+                    objectStore.runMaintenance(repositories, createPackConfig());
+                }
+            });
+        } catch (RepositoryAccessException e) {
+            log.warn("Failed to run maintenance of shared object store", e);
+        }
+    }
+
+    private Set<String> listRepositoryNames() {
+        var repositories = repositoryFactory.getAllRepositories();
+        try {
+            return repositories.stream().map(ManagedRepository::getName).collect(Collectors.toSet());
+        } finally {
+            repositories.forEach(ManagedRepository::close);
+        }
+    }
+
+    private PackConfig createPackConfig() {
+        var maintenance = properties.getMaintenance();
+        var packConfig = new PackConfig();
+        packConfig.setDeltaSearchWindowSize(maintenance.getDeltaWindow());
+        packConfig.setMaxDeltaDepth(maintenance.getDeltaDepth());
+        return packConfig;
+    }
+}
@@ -3,16 +3,21 @@ package at.ac.tuwien.model.change.management.git.infrastructure;
 import lombok.NonNull;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * Manages access to Git repositories represented by {@link ManagedRepository} objects.
+ * Access to a repository is guarded by a read/write lock keyed by the repository name:
+ * any number of threads may read a repository at once, while writing to it excludes all other access.
+ * Since a read lock cannot be upgraded to a write lock, no write access may be nested in a read access of the same repository.
  */
 public interface RepositoryManager {
 
     /**
      * Executes the supplied function with the repository of the given name and closes the repository afterward.
+     * Holds the write lock of the repository while the function is executed.
      *
      * @param repositoryName the name of the repository
      * @param function       the function to execute
@@ -21,16 +26,40 @@ public interface RepositoryManager {
      */
     <R> R withRepository(@NonNull String repositoryName, @NonNull Function<ManagedRepository, R> function);
 
+    /**
+     * Executes the supplied function with the repository of the given name and closes the repository afterward.
+     * Holds the read lock of the repository while the function is executed, so the function must not modify the repository.
+     *
+     * @param repositoryName the name of the repository
+     * @param function       the function to execute
+     * @param <R>            the return type of the function
+     * @return the result of the function
+     */
+    <R> R withRepositoryReadOnly(@NonNull String repositoryName, @NonNull Function<ManagedRepository, R> function);
+
     /**
      * Executes the supplied consumer with the repository of the given name and closes the repository afterward.
+     * Holds the write lock of the repository while the consumer is executed.
      *
      * @param repositoryName the name of the repository
      * @param consumer       the consumer function to execute
      */
     void consumeRepository(@NonNull String repositoryName, @NonNull Consumer<ManagedRepository> consumer);
 
+    /**
+     * Executes the supplied consumer with the repository of the given name and closes the repository afterward.
+     * Holds the write locks of the repository and of the second given name while the consumer is executed,
+     * e.g., for moving the repository to the second name.
+     *
+     * @param repositoryName      the name of the repository
+     * @param otherRepositoryName the name of the second repository to lock
+     * @param consumer            the consumer function to execute
+     */
+    void consumeRepository(@NonNull String repositoryName, @NonNull String otherRepositoryName, @NonNull Consumer<ManagedRepository> consumer);
+
     /**
      * Executes the supplied function with all repositories and closes them afterward.
+     * Holds the read locks of all repositories while the function is executed.
      *
      * @param function the function to execute
      * @param <R>      the return type of the function
@@ -40,8 +69,45 @@ public interface RepositoryManager {
 
     /**
      * Executes the supplied consumer with all repositories and closes them afterward.
+     * Holds the read locks of all repositories while the consumer is executed.
      *
      * @param consumer the consumer function to execute
      */
     void consumeAllRepositories(@NonNull Consumer<List<ManagedRepository>> consumer);
+
+    /**
+     * Applies the supplied function to every repository and closes the repositories afterward.
+     * Repositories are processed concurrently as configured in
+     * {@link at.ac.tuwien.model.change.management.git.config.GitProperties.FanOut}, so the function must not rely on
+     * being called for one repository after another. The read lock of each repository is held while the function
+     * is applied to it.
+     * A repository for which the function fails with a
+     * {@link at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException} is skipped, so a single
+     * broken repository does not fail the whole operation. Any other exception is rethrown.
+     *
+     * @param function the function to apply to every repository
+     * @param <R>      the return type of the function
+     * @return the non-null results of the function, in the order of the repositories
+     */
+    <R> List<R> mapAllRepositories(@NonNull Function<ManagedRepository, R> function);
+
+    /**
+     * Applies the supplied function to the repositories until it returns a result for one of them
+     * and closes the repositories afterward.
+     * Repositories are processed concurrently like in {@link #mapAllRepositories(Function)}. Once a result is found,
+     * repositories that are not being processed yet are skipped.
+     * If the function returns a result for more than one repository, it is not specified which result is returned.
+     *
+     * @param function the function to apply to the repositories
+     * @param <R>      the type of the result
+     * @return the first result found, or an empty Optional if the function returned no result for any repository
+     */
+    <R> Optional<R> findInAllRepositories(@NonNull Function<ManagedRepository, Optional<R>> function);
+
+    /**
+     * Get the counters of the per-repository read/write locks, including the time spent waiting for them.
+     *
+     * @return a snapshot of the lock statistics
+     */
+    RepositoryLockStatistics getLockStatistics();
 }
@@ -1,36 +1,68 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
 import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 @GitComponent
 @Slf4j
-@RequiredArgsConstructor
 public class RepositoryManagerImpl implements RepositoryManager {
 
     private final ManagedRepositoryFactory repositoryFactory;
+    private final GitProperties properties;
+    private final StripedRepositoryLocks locks;
+
+    public RepositoryManagerImpl(ManagedRepositoryFactory repositoryFactory, GitProperties properties) {
+        this.repositoryFactory = repositoryFactory;
+        this.properties = properties;
+        this.locks = new StripedRepositoryLocks(properties.getLocking().getStripes());
+    }
 
     public <R> R withRepository(@NonNull String repositoryName, @NonNull Function<ManagedRepository, R> function) {
-        try (var repository = repositoryFactory.getRepositoryByName(repositoryName)) {
+        try (var ignored = locks.lockForWriting(List.of(repositoryName));
+             var repository = repositoryFactory.getRepositoryByName(repositoryName)) {
+            return function.apply(repository);
+        }
+    }
+
+    public <R> R withRepositoryReadOnly(@NonNull String repositoryName, @NonNull Function<ManagedRepository, R> function) {
+        try (var ignored = locks.lockForReading(List.of(repositoryName));
+             var repository = repositoryFactory.getRepositoryByName(repositoryName)) {
             return function.apply(repository);
         }
     }
 
     public void consumeRepository(@NonNull String repositoryName, @NonNull Consumer<ManagedRepository> consumer) {
-        try (var repository = repositoryFactory.getRepositoryByName(repositoryName)) {
+        try (var ignored = locks.lockForWriting(List.of(repositoryName));
+             var repository = repositoryFactory.getRepositoryByName(repositoryName)) {
+            consumer.accept(repository);
+        }
+    }
+
+    public void consumeRepository(
+            @NonNull String repositoryName,
+            @NonNull String otherRepositoryName,
+            @NonNull Consumer<ManagedRepository> consumer
+    ) {
+        try (var ignored = locks.lockForWriting(List.of(repositoryName, otherRepositoryName));
+             var repository = repositoryFactory.getRepositoryByName(repositoryName)) {
             consumer.accept(repository);
         }
     }
 
     public <R> R withAllRepositories(@NonNull Function<List<ManagedRepository>, R> function) {
         var repositories = repositoryFactory.getAllRepositories();
-        try {
+        try (var ignored = locks.lockForReading(repositories.stream().map(ManagedRepository::getName).toList())) {
             return function.apply(repositories);
         } finally {
             repositories.forEach(ManagedRepository::close);
@@ -38,11 +70,135 @@ public class RepositoryManagerImpl implements RepositoryManager {
     }
 
     public void consumeAllRepositories(@NonNull Consumer<List<ManagedRepository>> consumer) {
+        withAllRepositories(repositories -> {
+            consumer.accept(repositories);
+            return null;
+        });
+    }
+
+    public <R> List<R> mapAllRepositories(@NonNull Function<ManagedRepository, R> function) {
         var repositories = repositoryFactory.getAllRepositories();
         try {
-            consumer.accept(repositories);
+            return fanOut(repositories, repository -> Optional.ofNullable(function.apply(repository)), false);
+        } finally {
+            repositories.forEach(ManagedRepository::close);
+        }
+    }
+
+    public <R> Optional<R> findInAllRepositories(@NonNull Function<ManagedRepository, Optional<R>> function) {
+        var repositories = repositoryFactory.getAllRepositories();
+        try {
+            return fanOut(repositories, function, true).stream().findFirst();
         } finally {
             repositories.forEach(ManagedRepository::close);
         }
     }
+
+    public RepositoryLockStatistics getLockStatistics() {
+        return locks.getStatistics();
+    }
+
+    private <R> List<R> fanOut(
+            List<ManagedRepository> repositories,
+            Function<ManagedRepository, Optional<R>> function,
+            boolean stopAtFirstResult
+    ) {
+        var fanOut = properties.getFanOut();
+        if (!fanOut.isEnabled() || repositories.size() < 2) {
+            return processSequentially(repositories, function, stopAtFirstResult);
+        }
+
+        log.debug("Processing {} repositories with up to {} at once", repositories.size(), fanOut.getMaxConcurrency());
+        var permits = new Semaphore(Math.max(1, fanOut.getMaxConcurrency()));
+        var stopped = new AtomicBoolean(false);
+        // closing the executor waits for all started tasks, so no repository is used after it was closed
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var completionService = new ExecutorCompletionService<Optional<R>>(executor);
+            var tasks = new ArrayList<Future<Optional<R>>>(repositories.size());
+            for (var repository : repositories) {
+                tasks.add(completionService.submit(() -> {
+                    permits.acquire();
+                    try {
+                        if (stopped.get()) {
+                            return Optional.empty();
+                        }
+                        var result = processIsolated(repository, function);
+                        // set before the permit is released, so no task waiting for it starts processing
+                        if (stopAtFirstResult && result.isPresent()) {
+                            stopped.set(true);
+                        }
+                        return result;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            try {
+                if (stopAtFirstResult) {
+                    for (int i = 0; i < tasks.size(); i++) {
+                        var result = awaitResult(completionService.take());
+                        if (result.isPresent()) {
+                            return List.of(result.get());
+                        }
+                    }
+                    return List.of();
+                }
+
+                var results = new ArrayList<R>(tasks.size());
+                for (var task : tasks) {
+                    awaitResult(task).ifPresent(results::add);
+                }
+                return results;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RepositoryAccessException("Interrupted while processing all repositories", e);
+            } finally {
+                // tasks are not interrupted, since interrupting JGit while it reads a pack file closes the pack file
+                stopped.set(true);
+            }
+        }
+    }
+
+    private <R> List<R> processSequentially(
+            List<ManagedRepository> repositories,
+            Function<ManagedRepository, Optional<R>> function,
+            boolean stopAtFirstResult
+    ) {
+        var results = new ArrayList<R>();
+        for (var repository : repositories) {
+            var result = processIsolated(repository, function);
+            if (result.isPresent()) {
+                results.add(result.get());
+                if (stopAtFirstResult) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    private <R> Optional<R> processIsolated(ManagedRepository repository, Function<ManagedRepository, Optional<R>> function) {
+        // each repository is only locked while it is processed, so writers of other repositories are not held up
+        try (var ignored = locks.lockForReading(List.of(repository.getName()))) {
+            return function.apply(repository);
+        } catch (RepositoryAccessException e) {
+            log.warn("Skipping repository '{}', because it could not be processed", repository.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static <R> Optional<R> awaitResult(Future<Optional<R>> task) throws InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RepositoryAccessException("Failed to process repository", e.getCause());
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+/**
+ * Snapshot of the counters of the repository handle pool.
+ *
+ * @param hits      number of requests served by an already open repository
+ * @param misses    number of requests that had to open the repository
+ * @param evictions number of repositories closed because they were idle or least recently used
+ * @param size      number of repositories currently kept open
+ */
+public record RepositoryPoolStatistics(long hits, long misses, long evictions, int size) {
+}
@@ -0,0 +1,21 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+/**
+ * The caches JGit keeps of the pack files of all repositories, configured by
+ * {@link at.ac.tuwien.model.change.management.git.config.GitProperties.StorageCache}.
+ */
+public interface RepositoryStorageCache {
+
+    /**
+     * Apply the configured settings to the caches.
+     * The caches are reset, so this should be done before repositories are accessed.
+     */
+    void applySettings();
+
+    /**
+     * Get a snapshot of the counters of the pack file window cache.
+     *
+     * @return the statistics of the pack file window cache
+     */
+    RepositoryStorageCacheStatistics getStatistics();
+}
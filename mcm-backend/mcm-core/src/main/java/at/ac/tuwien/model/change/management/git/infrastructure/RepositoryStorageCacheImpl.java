@@ -0,0 +1,64 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.eclipse.jgit.storage.file.WindowCacheStats;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class RepositoryStorageCacheImpl implements RepositoryStorageCache {
+
+    private final GitProperties properties;
+
+    @PostConstruct
+    public void applyOnStartup() {
+        applySettings();
+    }
+
+    @Override
+    public void applySettings() {
+        var settings = properties.getStorageCache();
+        var config = new WindowCacheConfig();
+        try {
+            config.setPackedGitLimit(settings.getPackedGitLimit().toBytes());
+            config.setPackedGitWindowSize(toIntBytes(settings.getWindowSize()));
+            config.setPackedGitOpenFiles(settings.getOpenFiles());
+            config.setDeltaBaseCacheLimit(toIntBytes(settings.getDeltaBaseCacheLimit()));
+            config.setStreamFileThreshold(toIntBytes(settings.getStreamFileThreshold()));
+            config.setPackedGitMMAP(settings.isMmap());
+            config.install();
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new RepositoryAccessException("Invalid storage cache settings in 'app.git.storage-cache': " + e.getMessage(), e);
+        }
+        log.debug("Configured storage cache with a limit of {} in windows of {}, {} open files and mmap {}",
+                settings.getPackedGitLimit(), settings.getWindowSize(), settings.getOpenFiles(),
+                settings.isMmap() ? "enabled" : "disabled");
+    }
+
+    @Override
+    public RepositoryStorageCacheStatistics getStatistics() {
+        var stats = WindowCacheStats.getStats();
+        return new RepositoryStorageCacheStatistics(
+                stats.getHitCount(),
+                stats.getMissCount(),
+                stats.getEvictionCount(),
+                stats.getLoadFailureCount(),
+                Duration.ofNanos(stats.getTotalLoadTime()),
+                stats.getOpenFileCount(),
+                stats.getOpenByteCount()
+        );
+    }
+
+    private static int toIntBytes(DataSize size) {
+        return Math.toIntExact(size.toBytes());
+    }
+}
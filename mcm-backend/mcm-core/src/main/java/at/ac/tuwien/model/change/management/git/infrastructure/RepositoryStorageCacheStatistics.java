@@ -0,0 +1,25 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the counters of the cache of pack file windows shared by all repositories.
+ *
+ * @param hits          number of requests served by a window already in memory
+ * @param misses        number of requests that had to read a window from a pack file
+ * @param evictions     number of windows removed to stay within the configured limits
+ * @param loadFailures  number of windows that could not be read
+ * @param totalLoadTime time spent reading windows from pack files
+ * @param openFiles     number of pack files currently open
+ * @param openBytes     number of bytes currently held in windows
+ */
+public record RepositoryStorageCacheStatistics(
+        long hits,
+        long misses,
+        long evictions,
+        long loadFailures,
+        Duration totalLoadTime,
+        long openFiles,
+        long openBytes
+) {
+}
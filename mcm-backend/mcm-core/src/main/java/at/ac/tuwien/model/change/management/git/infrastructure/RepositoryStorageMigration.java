@@ -0,0 +1,33 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import java.util.List;
+
+/**
+ * Converts repositories stored under the path defined in
+ * {@link at.ac.tuwien.model.change.management.git.config.GitProperties} between storage layouts.
+ */
+public interface RepositoryStorageMigration {
+
+    /**
+     * Convert all repositories with a working tree to bare repositories.
+     * The working tree of every such repository is discarded, only the contents of its git directory are kept.
+     * Migrations that were interrupted earlier, e.g., by a crash, are completed first.
+     * Repositories that are already bare are left untouched, so running the migration again is a no-op.
+     * <p>
+     * Should be run before any repository is accessed, since open repository handles are not invalidated.
+     *
+     * @return the names of the migrated repositories
+     */
+    List<String> migrateToBareRepositories();
+
+    /**
+     * Convert the ref storage of all repositories from loose and packed ref files to a reftable.
+     * Refs and their reflogs are copied, the old ref files are removed afterward.
+     * Repositories that already use reftable are left untouched, so running the migration again is a no-op.
+     * <p>
+     * Should be run before any repository is accessed, since open repository handles are not invalidated.
+     *
+     * @return the names of the migrated repositories
+     */
+    List<String> migrateToReftable();
+}
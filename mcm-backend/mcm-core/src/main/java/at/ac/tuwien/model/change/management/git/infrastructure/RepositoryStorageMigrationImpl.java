@@ -0,0 +1,163 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import at.ac.tuwien.model.change.management.git.util.PathUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.util.FS;
+
+import javax.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class RepositoryStorageMigrationImpl implements RepositoryStorageMigration {
+    private static final String GIT_DIRECTORY = ".git";
+    private static final String INDEX_FILE = "index";
+    // git directories are moved here while the working tree they belong to is deleted
+    // it is not listed as a repository, since it is neither a git repository nor contains a git directory
+    private static final String STAGING_DIRECTORY = ".bare-migration";
+
+    private final GitProperties properties;
+
+    @PostConstruct
+    public void migrateOnStartup() {
+        if (properties.getStorage().isMigrateToBare()) {
+            var migrated = migrateToBareRepositories();
+            log.info("Migrated {} repositories to bare storage: {}", migrated.size(), migrated);
+        }
+        if (properties.getStorage().isMigrateToReftable()) {
+            var migrated = migrateToReftable();
+            log.info("Migrated {} repositories to reftable: {}", migrated.size(), migrated);
+        }
+    }
+
+    @Override
+    public List<String> migrateToBareRepositories() {
+        var repositoriesDir = properties.getRepositories();
+        var stagingDir = repositoriesDir.resolve(STAGING_DIRECTORY);
+        log.debug("Migrating repositories in '{}' to bare storage", repositoriesDir);
+
+        var migrated = new ArrayList<String>();
+        migrated.addAll(resumeInterruptedMigrations(repositoriesDir, stagingDir));
+
+        try (var fileStream = Files.list(repositoriesDir)) {
+            var repositoriesWithWorkTree = fileStream
+                    .filter(path -> Files.isDirectory(path.resolve(GIT_DIRECTORY)))
+                    .toList();
+            for (var repositoryPath : repositoriesWithWorkTree) {
+                migrateToBare(repositoryPath, stagingDir);
+                migrated.add(repositoryPath.getFileName().toString());
+            }
+            PathUtils.deleteFilesRecursively(stagingDir);
+        } catch (IOException e) {
+            throw new RepositoryAccessException("Failed to migrate repositories in '" + repositoriesDir + "' to bare storage", e);
+        }
+
+        log.debug("Migrated {} repositories in '{}' to bare storage", migrated.size(), repositoriesDir);
+        return migrated;
+    }
+
+    @Override
+    public List<String> migrateToReftable() {
+        var repositoriesDir = properties.getRepositories();
+        log.debug("Migrating repositories in '{}' to reftable", repositoriesDir);
+
+        var migrated = new ArrayList<String>();
+        try (var fileStream = Files.list(repositoriesDir)) {
+            for (var repositoryPath : fileStream.filter(Files::isDirectory).toList()) {
+                var gitDir = RepositoryCache.FileKey.resolve(repositoryPath.toFile(), FS.DETECTED);
+                if (gitDir != null && convertToReftable(gitDir)) {
+                    migrated.add(repositoryPath.getFileName().toString());
+                }
+            }
+        } catch (IOException e) {
+            throw new RepositoryAccessException("Failed to migrate repositories in '" + repositoriesDir + "' to reftable", e);
+        }
+
+        log.debug("Migrated {} repositories in '{}' to reftable", migrated.size(), repositoriesDir);
+        return migrated;
+    }
+
+    private boolean convertToReftable(File gitDir) throws IOException {
+        try (var repository = new RepositoryBuilder()
+                .setFS(FS.DETECTED)
+                .setGitDir(gitDir)
+                .setMustExist(true)
+                .build()) {
+            var refStorage = repository.getConfig()
+                    .getString(ConfigConstants.CONFIG_EXTENSIONS_SECTION, null, ConfigConstants.CONFIG_KEY_REF_STORAGE);
+            if (ConfigConstants.CONFIG_REF_STORAGE_REFTABLE.equals(refStorage)
+                    || !(repository instanceof FileRepository fileRepository)) {
+                return false;
+            }
+            log.debug("Migrating repository '{}' to reftable", gitDir);
+            fileRepository.convertRefStorage(ConfigConstants.CONFIG_REF_STORAGE_REFTABLE, true, false);
+            return true;
+        }
+    }
+
+    private List<String> resumeInterruptedMigrations(Path repositoriesDir, Path stagingDir) {
+        if (!Files.isDirectory(stagingDir)) {
+            return List.of();
+        }
+
+        try (var fileStream = Files.list(stagingDir)) {
+            var resumed = new ArrayList<String>();
+            for (var stagedGitDir : fileStream.filter(Files::isDirectory).toList()) {
+                var name = stagedGitDir.getFileName().toString();
+                var repositoryPath = repositoriesDir.resolve(name);
+                if (Files.isDirectory(repositoryPath.resolve(GIT_DIRECTORY))) {
+                    throw new RepositoryAccessException("Cannot resume migration of repository '" + name +
+                            "' to bare storage, because it has a git directory again: " + repositoryPath);
+                }
+                log.info("Resuming interrupted migration of repository '{}' to bare storage", name);
+                completeMigration(repositoryPath, stagedGitDir);
+                resumed.add(name);
+            }
+            return resumed;
+        } catch (IOException e) {
+            throw new RepositoryAccessException("Failed to resume interrupted migrations in: " + stagingDir, e);
+        }
+    }
+
+    private void migrateToBare(Path repositoryPath, Path stagingDir) throws IOException {
+        log.debug("Migrating repository '{}' to bare storage", repositoryPath.getFileName());
+        var stagedGitDir = stagingDir.resolve(repositoryPath.getFileName());
+        Files.createDirectories(stagingDir);
+        Files.move(repositoryPath.resolve(GIT_DIRECTORY), stagedGitDir, StandardCopyOption.ATOMIC_MOVE);
+        completeMigration(repositoryPath, stagedGitDir);
+    }
+
+    private void completeMigration(Path repositoryPath, Path stagedGitDir) throws IOException {
+        // the working tree only holds checked out copies of committed files, all versions live in the git directory
+        PathUtils.deleteFilesRecursively(repositoryPath);
+        Files.move(stagedGitDir, repositoryPath, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(repositoryPath.resolve(INDEX_FILE));
+
+        try (var repository = new RepositoryBuilder()
+                .setFS(FS.DETECTED)
+                .setGitDir(repositoryPath.toFile())
+                .setBare()
+                .setMustExist(true)
+                .build()) {
+            var config = repository.getConfig();
+            config.setBoolean(ConfigConstants.CONFIG_CORE_SECTION, null, ConfigConstants.CONFIG_KEY_BARE, true);
+            config.save();
+        }
+        log.debug("Migrated repository '{}' to bare storage", repositoryPath.getFileName());
+    }
+}
@@ -0,0 +1,168 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersioningException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.eclipse.jgit.transport.ReceiveCommand;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.TagOpt;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Object store shared by all repositories, see {@link at.ac.tuwien.model.change.management.git.config.GitProperties.SharedObjects}.
+ * A bare repository whose objects the repositories read as their git alternate.
+ * Every ref of a repository is copied to refs/repositories/&lt;name&gt;/ in the store when its objects are imported,
+ * so the objects referenced by a repository are never pruned by maintenance of the store.
+ * Objects are moved to the store with {@link ManagedRepositoryVersioning#shareObjects(SharedObjectStore)}.
+ */
+@Slf4j
+public class SharedObjectStore implements AutoCloseable {
+    private static final String NAME = "shared object store";
+    private static final String REPOSITORIES_NAMESPACE = "refs/repositories/";
+
+    private final Repository repository;
+    // the store is initialized and maintained like any other bare repository
+    private final ManagedRepositoryVersioning versioning;
+
+    public SharedObjectStore(Repository repository, Charset encoding, boolean useReftable) {
+        this.repository = repository;
+        this.versioning = new ManagedRepositoryVersioning(repository, NAME, encoding, repository.getDirectory().toPath(), useReftable);
+    }
+
+    /**
+     * Create the store on disk, if it does not exist yet.
+     */
+    public void init() {
+        versioning.init();
+    }
+
+    /**
+     * Get the object directory of the store, which repositories list in their alternates file.
+     *
+     * @return the absolute path of the object directory
+     */
+    public Path getObjectDirectory() {
+        return repository.getDirectory().toPath().resolve(Constants.OBJECTS).toAbsolutePath();
+    }
+
+    /**
+     * Remove the copied refs of all repositories except the given ones, e.g., of deleted or renamed repositories.
+     * Objects only referenced by the removed refs are pruned by a later maintenance of the store,
+     * once they are older than git's prune expiry. Renamed repositories are copied again under their new name
+     * before that, see {@link #runMaintenance(Collection, PackConfig)}.
+     *
+     * @param keptRepositoryNames the names of the repositories whose refs are kept
+     * @return the names of the repositories whose refs were removed
+     */
+    public synchronized List<String> removeRepositories(@NonNull Collection<String> keptRepositoryNames) {
+        try {
+            var staleRefs = repository.getRefDatabase().getRefsByPrefix(REPOSITORIES_NAMESPACE).stream()
+                    .filter(ref -> !keptRepositoryNames.contains(getRepositoryName(ref.getName())))
+                    .toList();
+            if (staleRefs.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            var batchUpdate = repository.getRefDatabase().newBatchUpdate();
+            batchUpdate.setAllowNonFastForwards(true);
+            staleRefs.forEach(ref -> batchUpdate.addCommand(new ReceiveCommand(ref.getObjectId(), ObjectId.zeroId(), ref.getName())));
+            try (var revWalk = new RevWalk(repository)) {
+                batchUpdate.execute(revWalk, NullProgressMonitor.INSTANCE);
+            }
+            for (var command : batchUpdate.getCommands()) {
+                if (command.getResult() != ReceiveCommand.Result.OK) {
+                    throw new RepositoryVersioningException("Failed to remove ref '" + command.getRefName()
+                            + "' from " + NAME + ": " + command.getResult());
+                }
+            }
+
+            var removed = staleRefs.stream().map(ref -> getRepositoryName(ref.getName())).distinct().toList();
+            log.debug("Removed {} refs of {} repositories from {}", staleRefs.size(), removed.size(), NAME);
+            return removed;
+        } catch (IOException e) {
+            throw new RepositoryVersioningException("Failed to remove refs of repositories from " + NAME, e);
+        }
+    }
+
+    /**
+     * Check whether the store has accumulated enough loose objects or pack files to warrant maintenance,
+     * see {@link ManagedRepositoryVersioning#needsMaintenance(long, long)}.
+     */
+    public boolean needsMaintenance(long looseObjectLimit, long packLimit) {
+        return versioning.needsMaintenance(looseObjectLimit, packLimit);
+    }
+
+    /**
+     * Repack the objects of the store, see {@link ManagedRepositoryVersioning#runMaintenance(boolean, PackConfig)}.
+     * Objects imported from several repositories are only kept once in the new pack.
+     * <p>
+     * The refs of the given repositories are copied into the store again first, see
+     * {@link ManagedRepositoryVersioning#refreshSharedRefs(SharedObjectStore)}, so no object a repository reads from
+     * the store is pruned. The given repositories must be all repositories reading from the store, and callers must
+     * hold their locks until maintenance completed, so none of them is committed to, renamed or deleted in between.
+     *
+     * @param repositories all repositories reading objects from the store
+     * @param packConfig   the settings used for repacking
+     */
+    public synchronized void runMaintenance(@NonNull Collection<ManagedRepository> repositories, @NonNull PackConfig packConfig) {
+        repositories.forEach(repository -> repository.versioning().refreshSharedRefs(this));
+        versioning.runMaintenance(false, packConfig);
+    }
+
+    @Override
+    public void close() {
+        repository.close();
+    }
+
+    boolean contains(AnyObjectId objectId) throws IOException {
+        return repository.getObjectDatabase().has(objectId);
+    }
+
+    /*
+     * Copy the objects and refs of a repository into the store.
+     * Refs that the repository no longer has are removed from the store, so the objects only they referenced can be pruned.
+     */
+    synchronized void importObjects(String repositoryName, Repository source) {
+        var refPrefix = REPOSITORIES_NAMESPACE + repositoryName + "/";
+        var refSpecs = new ArrayList<RefSpec>();
+        refSpecs.add(new RefSpec("+" + Constants.R_REFS + "*:" + refPrefix + Constants.R_REFS + "*"));
+        try {
+            // a detached HEAD may point to a version that no branch contains anymore
+            if (source.resolve(Constants.HEAD) != null) {
+                refSpecs.add(new RefSpec("+" + Constants.HEAD + ":" + refPrefix + Constants.HEAD));
+            }
+            try (var git = Git.wrap(repository)) {
+                git.fetch()
+                        .setRemote(source.getDirectory().getAbsolutePath())
+                        .setRefSpecs(refSpecs)
+                        .setTagOpt(TagOpt.NO_TAGS)
+                        .setRemoveDeletedRefs(true)
+                        .call();
+            }
+            log.debug("Imported objects of repository '{}' into {}", repositoryName, NAME);
+        } catch (IOException | GitAPIException e) {
+            throw new RepositoryVersioningException("Failed to import objects of repository '" + repositoryName + "' into " + NAME, e);
+        }
+    }
+
+    private static String getRepositoryName(String refName) {
+        var nameEnd = refName.indexOf('/', REPOSITORIES_NAMESPACE.length());
+        return nameEnd < 0 ? refName.substring(REPOSITORIES_NAMESPACE.length()) : refName.substring(REPOSITORIES_NAMESPACE.length(), nameEnd);
+    }
+}
@@ -0,0 +1,121 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read/write locks keyed by repository name.
+ * Names are mapped onto a fixed number of stripes, so the number of locks stays bounded however many repositories exist.
+ * Two names mapped onto the same stripe merely share a lock.
+ * Whenever more than one stripe is locked, they are locked in the order of their index, so that two threads locking
+ * the same names can never deadlock.
+ */
+class StripedRepositoryLocks {
+
+    private final ReadWriteLock[] stripes;
+
+    private final LongAdder readAcquisitions = new LongAdder();
+    private final LongAdder writeAcquisitions = new LongAdder();
+    private final LongAdder contendedAcquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    StripedRepositoryLocks(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Number of lock stripes must be positive, but was: " + stripeCount);
+        }
+        stripes = new ReadWriteLock[stripeCount];
+        Arrays.setAll(stripes, i -> new ReentrantReadWriteLock());
+    }
+
+    /**
+     * Acquire the read locks of all given repository names.
+     *
+     * @param names the repository names to lock
+     * @return a handle releasing the locks when closed
+     */
+    Acquired lockForReading(@NonNull Collection<String> names) {
+        return lock(names, false);
+    }
+
+    /**
+     * Acquire the write locks of all given repository names.
+     *
+     * @param names the repository names to lock
+     * @return a handle releasing the locks when closed
+     */
+    Acquired lockForWriting(@NonNull Collection<String> names) {
+        return lock(names, true);
+    }
+
+    RepositoryLockStatistics getStatistics() {
+        return new RepositoryLockStatistics(
+                readAcquisitions.sum(),
+                writeAcquisitions.sum(),
+                contendedAcquisitions.sum(),
+                Duration.ofNanos(totalWaitNanos.sum()),
+                Duration.ofNanos(maxWaitNanos.get())
+        );
+    }
+
+    private Acquired lock(Collection<String> names, boolean write) {
+        var locks = names.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .mapToObj(i -> write ? stripes[i].writeLock() : stripes[i].readLock())
+                .toArray(Lock[]::new);
+
+        var locked = 0;
+        try {
+            for (var lock : locks) {
+                acquire(lock);
+                locked++;
+            }
+        } finally {
+            if (locked < locks.length) {
+                unlock(locks, locked);
+            }
+        }
+        (write ? writeAcquisitions : readAcquisitions).add(locks.length);
+        return () -> unlock(locks, locks.length);
+    }
+
+    private void acquire(Lock lock) {
+        if (lock.tryLock()) {
+            return;
+        }
+        var start = System.nanoTime();
+        lock.lock();
+        var waited = System.nanoTime() - start;
+        contendedAcquisitions.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    private static void unlock(Lock[] locks, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private int stripeIndex(String name) {
+        return Math.floorMod(name.hashCode(), stripes.length);
+    }
+
+    /**
+     * Locks held until closed.
+     */
+    interface Acquired extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
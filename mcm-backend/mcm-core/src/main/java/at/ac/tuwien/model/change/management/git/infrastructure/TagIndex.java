@@ -0,0 +1,81 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Names of the tags of a repository, keyed by the commit they point to.
+ * Built from a single scan of the tag refs on first use and kept up to date as commits are tagged.
+ * A pooled repository keeps its index together with its JGit handle, see {@link RepositoryHandlePool},
+ * so the tags are only scanned again once the handle is evicted or invalidated, e.g., by renaming or deleting the repository.
+ */
+@Slf4j
+class TagIndex {
+
+    // commit ID -> names of the tags pointing to it, sorted by name
+    @Nullable
+    private Map<ObjectId, List<String>> tags;
+
+    /**
+     * Get the index, scanning the tag refs if it has not been built yet or was invalidated.
+     *
+     * @param refDatabase    the ref database of the repository
+     * @param repositoryName the name of the repository, for logging
+     * @return the names of the tags by commit ID
+     * @throws IOException if the tag refs cannot be read
+     */
+    synchronized Map<ObjectId, List<String>> get(RefDatabase refDatabase, String repositoryName) throws IOException {
+        if (tags != null) {
+            return tags;
+        }
+
+        log.debug("Building tag index of repository: {}", repositoryName);
+        var index = new HashMap<ObjectId, List<String>>();
+        for (var ref : refDatabase.getRefsByPrefix(Constants.R_TAGS)) {
+            // need to handle both annotated and lightweight tags here
+            var peeledRef = refDatabase.peel(ref);
+            var commitId = peeledRef.getPeeledObjectId() != null
+                    ? peeledRef.getPeeledObjectId()
+                    : ref.getObjectId();
+            if (commitId != null) {
+                index.computeIfAbsent(commitId.copy(), id -> new ArrayList<>()).add(ref.getName().substring(Constants.R_TAGS.length()));
+            }
+        }
+        index.values().forEach(Collections::sort);
+        tags = index;
+        log.debug("Built tag index with {} tagged commits in repository: {}", index.size(), repositoryName);
+        return tags;
+    }
+
+    /**
+     * Record a new tag, if the index has been built already. Otherwise, the tag is found by the scan building it.
+     *
+     * @param commitId the commit the tag points to
+     * @param tagName  the name of the tag
+     */
+    synchronized void add(ObjectId commitId, String tagName) {
+        if (tags == null) {
+            return;
+        }
+        var commitTags = tags.computeIfAbsent(commitId.copy(), id -> new ArrayList<>());
+        commitTags.add(tagName);
+        Collections.sort(commitTags);
+    }
+
+    /**
+     * Drop the index, e.g., after tags were moved to other commits, so it is built again on next use.
+     */
+    synchronized void invalidate() {
+        tags = null;
+    }
+}
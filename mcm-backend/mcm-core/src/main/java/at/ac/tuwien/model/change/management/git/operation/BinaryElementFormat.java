@@ -0,0 +1,291 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.exception.RepositoryReadException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryWriteException;
+import lombok.NonNull;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+/**
+ * The compact binary encoding of the DSL of a single element, see {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Codec#BINARY}.
+ * <p>
+ * An encoded file starts with {@link #MAGIC}, followed by one record per XML event:
+ * <pre>
+ * START_ELEMENT name attribute-count (name string)*
+ * TEXT          string
+ * END_ELEMENT
+ * </pre>
+ * Counts and lengths are unsigned varints, strings are a length followed by UTF-8 bytes.
+ * Names are qualified names as written, namespace declarations are stored as attributes.
+ * A name is a varint reference into the names of the file: 0 introduces a new name as a string, n refers to the n-th name.
+ * Indentation between elements is dropped; text is only kept if it belongs to a leaf element or is not blank.
+ */
+final class BinaryElementFormat {
+
+    // starts with a NUL byte, which is not allowed in XML, so encoded files are never mistaken for XML
+    static final byte[] MAGIC = {0x00, 'M', 'C', 'M', 0x01};
+
+    private static final int START_ELEMENT = 1;
+    private static final int TEXT = 2;
+    private static final int END_ELEMENT = 3;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private BinaryElementFormat() {
+    }
+
+    static boolean isEncoded(byte @NonNull [] content) {
+        if (content.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (content[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encode XML text.
+     *
+     * @param xml the XML text to encode
+     * @return the encoded XML
+     */
+    static byte[] encode(@NonNull String xml) {
+        var writer = new Writer();
+        try {
+            var reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+            try {
+                var text = new StringBuilder();
+                // whether the last element event was a start, i.e., the current text belongs to a leaf element
+                var inLeaf = false;
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            writer.writeTextIfPresent(text, false);
+                            writer.writeByte(START_ELEMENT);
+                            writer.writeName(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+                            // namespace declarations are kept as the attributes they were written as
+                            writer.writeVarint(reader.getNamespaceCount() + reader.getAttributeCount());
+                            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                                writer.writeName(qualifiedName(XMLConstants.XMLNS_ATTRIBUTE, reader.getNamespacePrefix(i)));
+                                writer.writeString(reader.getNamespaceURI(i));
+                            }
+                            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                                writer.writeName(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)));
+                                writer.writeString(reader.getAttributeValue(i));
+                            }
+                            inLeaf = true;
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            writer.writeTextIfPresent(text, inLeaf);
+                            writer.writeByte(END_ELEMENT);
+                            inLeaf = false;
+                        }
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                                text.append(reader.getText());
+                        default -> {
+                            // the declaration, comments and processing instructions are not part of the DSL
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new RepositoryWriteException("Failed to encode element DSL: " + xml, e);
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decode an encoded file to compact XML text, i.e., without declaration and indentation.
+     *
+     * @param content the encoded file
+     * @return the XML text
+     */
+    static String decode(byte @NonNull [] content) {
+        if (!isEncoded(content)) {
+            throw new RepositoryReadException("Content is not encoded in the binary element format");
+        }
+        var reader = new Reader(content);
+        var xml = new StringBuilder(content.length * 2);
+        var openElements = new ArrayDeque<String>();
+        try {
+            while (reader.hasNext()) {
+                switch (reader.readByte()) {
+                    case START_ELEMENT -> {
+                        var name = reader.readName();
+                        xml.append('<').append(name);
+                        var attributes = reader.readVarint();
+                        for (int i = 0; i < attributes; i++) {
+                            xml.append(' ').append(reader.readName()).append("=\"");
+                            escape(reader.readString(), xml, true);
+                            xml.append('"');
+                        }
+                        xml.append('>');
+                        openElements.push(name);
+                    }
+                    case TEXT -> escape(reader.readString(), xml, false);
+                    case END_ELEMENT -> xml.append("</").append(openElements.pop()).append('>');
+                    default -> throw new RepositoryReadException("Unknown record in binary element format at offset " + reader.offset);
+                }
+            }
+        } catch (IndexOutOfBoundsException | NoSuchElementException e) {
+            throw new RepositoryReadException("Malformed content in binary element format", e);
+        }
+        if (!openElements.isEmpty()) {
+            throw new RepositoryReadException("Truncated content in binary element format, unclosed element: " + openElements.peek());
+        }
+        return xml.toString();
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        if (localName == null || localName.isEmpty()) {
+            // the declaration of the default namespace
+            return prefix;
+        }
+        return prefix + ':' + localName;
+    }
+
+    private static void escape(String text, StringBuilder xml, boolean attribute) {
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            switch (c) {
+                case '&' -> xml.append("&amp;");
+                case '<' -> xml.append("&lt;");
+                case '>' -> xml.append("&gt;");
+                case '"' -> xml.append(attribute ? "&quot;" : "\"");
+                case '\r' -> xml.append("&#13;");
+                case '\n' -> xml.append(attribute ? "&#10;" : "\n");
+                case '\t' -> xml.append(attribute ? "&#9;" : "\t");
+                default -> xml.append(c);
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final HashMap<String, Integer> names = new HashMap<>();
+
+        Writer() {
+            output.writeBytes(MAGIC);
+        }
+
+        void writeByte(int value) {
+            output.write(value);
+        }
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                output.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.write(value);
+        }
+
+        void writeString(String value) {
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            output.writeBytes(bytes);
+        }
+
+        void writeName(String name) {
+            var reference = names.get(name);
+            if (reference != null) {
+                writeVarint(reference);
+            } else {
+                writeVarint(0);
+                writeString(name);
+                names.put(name, names.size() + 1);
+            }
+        }
+
+        void writeTextIfPresent(StringBuilder text, boolean inLeaf) {
+            if (!text.isEmpty() && (inLeaf || !text.toString().isBlank())) {
+                writeByte(TEXT);
+                writeString(text.toString());
+            }
+            text.setLength(0);
+        }
+
+        byte[] toByteArray() {
+            return output.toByteArray();
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] content;
+        private final ArrayList<String> names = new ArrayList<>();
+        private int offset = MAGIC.length;
+
+        Reader(byte[] content) {
+            this.content = content;
+        }
+
+        boolean hasNext() {
+            return offset < content.length;
+        }
+
+        int readByte() {
+            return content[offset++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                var b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new RepositoryReadException("Malformed varint in binary element format at offset " + offset);
+        }
+
+        String readString() {
+            var length = readVarint();
+            if (length < 0 || length > content.length - offset) {
+                throw new RepositoryReadException("Malformed string length in binary element format at offset " + offset);
+            }
+            var value = new String(content, offset, length, StandardCharsets.UTF_8);
+            offset += length;
+            return value;
+        }
+
+        String readName() {
+            var reference = readVarint();
+            if (reference == 0) {
+                var name = readString();
+                names.add(name);
+                return name;
+            }
+            if (reference > names.size()) {
+                throw new RepositoryReadException("Unknown name reference in binary element format at offset " + offset);
+            }
+            return names.get(reference - 1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent catalog of the summaries of all configurations, keyed by configuration name.
+ * Lets configurations be listed without opening and parsing every repository.
+ * Changes are written to disk periodically and on shutdown, see {@link GitProperties.Catalog}, so the catalog survives restarts.
+ * The catalog is not the source of truth: an entry whose version differs from the HEAD of its repository, e.g.,
+ * because writing the catalog failed, is stale and has to be replaced by whoever notices it.
+ */
+public interface ConfigurationCatalog {
+
+    /**
+     * Get the summary of a configuration.
+     *
+     * @param name the name of the configuration
+     * @return the summary of the configuration, or an empty Optional if the catalog has no entry for it
+     */
+    Optional<ConfigurationSummary> get(@NonNull String name);
+
+    /**
+     * Get the summaries of all configurations in the catalog.
+     *
+     * @return a list of all summaries, ordered by configuration name
+     */
+    List<ConfigurationSummary> getAll();
+
+    /**
+     * Add the summary of a configuration to the catalog, replacing any existing entry for the same configuration.
+     *
+     * @param summary the summary to add
+     */
+    void put(@NonNull ConfigurationSummary summary);
+
+    /**
+     * Move the entry of a configuration to a new name.
+     * Does nothing if the catalog has no entry for the current name.
+     *
+     * @param currentName the current name of the configuration
+     * @param newName     the new name of the configuration
+     */
+    void rename(@NonNull String currentName, @NonNull String newName);
+
+    /**
+     * Remove the entry of a configuration from the catalog.
+     *
+     * @param name the name of the configuration
+     */
+    void remove(@NonNull String name);
+
+    /**
+     * Remove the entries of all configurations except the given ones, e.g., of repositories deleted while the
+     * application was not running.
+     *
+     * @param names the names of the configurations to keep
+     */
+    void retainAll(@NonNull Collection<String> names);
+
+    /**
+     * Write the catalog to disk, if it changed since it was last written.
+     *
+     * @return true if the catalog was written, false otherwise
+     */
+    boolean flush();
+}
@@ -0,0 +1,178 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import javax.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigurationCatalogImpl implements ConfigurationCatalog, SchedulingConfigurer {
+
+    // stored next to the repositories, it is not listed as a repository since it is a file
+    private static final String CATALOG_FILE = ".catalog.json";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final GitProperties properties;
+    private final Gson gson = new Gson();
+    // held while writing the catalog file, so a flush never replaces the file with an older snapshot
+    private final Object flushLock = new Object();
+
+    // sorted by name, so listing needs no extra work
+    // null until the catalog is first accessed, since the catalog file may be moved into place on startup
+    private TreeMap<String, ConfigurationSummary> entries;
+    // whether the entries changed since they were last written to disk, guarded by this
+    private boolean dirty = false;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        var flushInterval = properties.getCatalog().getFlushInterval();
+        if (flushInterval.isPositive()) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::flush, flushInterval, flushInterval));
+            log.info("Scheduled flush of configuration catalog every {}", flushInterval);
+        }
+    }
+
+    @Override
+    public synchronized Optional<ConfigurationSummary> get(@NonNull String name) {
+        return Optional.ofNullable(getEntries().get(name));
+    }
+
+    @Override
+    public synchronized List<ConfigurationSummary> getAll() {
+        return List.copyOf(getEntries().values());
+    }
+
+    @Override
+    public synchronized void put(@NonNull ConfigurationSummary summary) {
+        if (summary.equals(getEntries().put(summary.name(), summary))) {
+            return;
+        }
+        log.debug("Updated catalog entry of configuration: {}", summary.name());
+        markChanged();
+    }
+
+    @Override
+    public synchronized void rename(@NonNull String currentName, @NonNull String newName) {
+        var summary = getEntries().remove(currentName);
+        if (summary == null) {
+            return;
+        }
+        getEntries().put(newName, summary.withName(newName));
+        log.debug("Renamed catalog entry of configuration '{}' to '{}'", currentName, newName);
+        markChanged();
+    }
+
+    @Override
+    public synchronized void remove(@NonNull String name) {
+        if (getEntries().remove(name) != null) {
+            log.debug("Removed catalog entry of configuration: {}", name);
+            markChanged();
+        }
+    }
+
+    @Override
+    public synchronized void retainAll(@NonNull Collection<String> names) {
+        if (getEntries().keySet().retainAll(new HashSet<>(names))) {
+            log.debug("Removed catalog entries of configurations that no longer exist");
+            markChanged();
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public boolean flush() {
+        synchronized (flushLock) {
+            List<ConfigurationSummary> summaries;
+            synchronized (this) {
+                if (!dirty) {
+                    return false;
+                }
+                summaries = List.copyOf(entries.values());
+                dirty = false;
+            }
+            // written outside the monitor, so the catalog can be read and changed while it is written
+            if (!write(summaries)) {
+                synchronized (this) {
+                    dirty = true;
+                }
+                return false;
+            }
+            log.debug("Wrote {} catalog entries", summaries.size());
+            return true;
+        }
+    }
+
+    // guarded by this
+    private void markChanged() {
+        dirty = true;
+        if (!properties.getCatalog().getFlushInterval().isPositive()) {
+            // left dirty if writing fails, so the catalog is written again on shutdown
+            dirty = !write(List.copyOf(entries.values()));
+        }
+    }
+
+    private TreeMap<String, ConfigurationSummary> getEntries() {
+        if (entries == null) {
+            entries = load();
+        }
+        return entries;
+    }
+
+    private TreeMap<String, ConfigurationSummary> load() {
+        var catalogFile = getCatalogFile();
+        var loaded = new TreeMap<String, ConfigurationSummary>();
+        if (Files.notExists(catalogFile)) {
+            return loaded;
+        }
+
+        try {
+            List<ConfigurationSummary> summaries = gson.fromJson(Files.readString(catalogFile),
+                    new TypeToken<List<ConfigurationSummary>>() {}.getType());
+            if (summaries != null) {
+                summaries.forEach(summary -> loaded.put(summary.name(), summary));
+            }
+            log.debug("Loaded {} catalog entries from: {}", loaded.size(), catalogFile);
+        } catch (IOException | JsonParseException e) {
+            // the catalog can always be rebuilt from the repositories, so a broken catalog file is not fatal
+            log.warn("Failed to load configuration catalog from '{}', starting with an empty catalog", catalogFile, e);
+        }
+        return loaded;
+    }
+
+    private boolean write(List<ConfigurationSummary> summaries) {
+        var catalogFile = getCatalogFile();
+        var temporaryFile = catalogFile.resolveSibling(CATALOG_FILE + TEMPORARY_FILE_SUFFIX);
+        try {
+            Files.createDirectories(catalogFile.getParent());
+            // readers only ever see the old or the new catalog, never a partially written one
+            Files.writeString(temporaryFile, gson.toJson(summaries));
+            Files.move(temporaryFile, catalogFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            // the change was already made in the repository, entries left stale on disk are replaced once they are listed
+            log.warn("Failed to write configuration catalog to: {}", catalogFile, e);
+            return false;
+        }
+    }
+
+    private Path getCatalogFile() {
+        return properties.getRepositories().resolve(CATALOG_FILE);
+    }
+}
@@ -0,0 +1,26 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.Configuration;
+import lombok.NonNull;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces saves of the same configuration that arrive within the window configured in
+ * {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Commit} into a single commit.
+ * Only the most recent configuration of a window is committed, since every save contains the complete configuration.
+ */
+public interface ConfigurationCommitCoalescer {
+
+    /**
+     * Commit the configuration together with the other saves of the same configuration in the current window.
+     * Blocks until the commit of the window is done. If the configuration has a custom version name,
+     * the window is closed and committed right away, so that the custom version name ends up in the commit.
+     *
+     * @param configuration the configuration to commit
+     * @param committer     commits a configuration and returns the saved configuration;
+     *                      the committer of the most recent save of the window is used
+     * @return a copy of the configuration saved by the commit of the window
+     */
+    Configuration commit(@NonNull Configuration configuration, @NonNull UnaryOperator<Configuration> committer);
+}
@@ -0,0 +1,118 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.utils.ConfigurationUtils;
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+@GitComponent
+@Slf4j
+public class ConfigurationCommitCoalescerImpl implements ConfigurationCommitCoalescer {
+
+    private final GitProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    // open batches by configuration name, guarded by this
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    public ConfigurationCommitCoalescerImpl(GitProperties properties) {
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("configuration-commit-coalescer")
+                .daemon(true)
+                .factory());
+    }
+
+    @Override
+    public Configuration commit(@NonNull Configuration configuration, @NonNull UnaryOperator<Configuration> committer) {
+        var window = properties.getCommit().getCoalescingWindow();
+        if (window.isZero() || window.isNegative()) {
+            return committer.apply(configuration);
+        }
+
+        var name = configuration.getName();
+        var commitNow = configuration.getVersionCustomName() != null;
+        Batch batch;
+        synchronized (this) {
+            batch = batches.get(name);
+            if (batch == null) {
+                if (commitNow) {
+                    return committer.apply(configuration);
+                }
+                batch = new Batch();
+                batches.put(name, batch);
+                var scheduledBatch = batch;
+                scheduler.schedule(() -> Thread.ofVirtual().start(() -> commitBatch(name, scheduledBatch)),
+                        window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.configuration = configuration;
+            batch.committer = committer;
+            batch.saves++;
+        }
+
+        if (commitNow) {
+            log.debug("Committing batch of configuration '{}' early for custom version name '{}'.",
+                    name, configuration.getVersionCustomName());
+            commitBatch(name, batch);
+        }
+        return awaitBatch(batch);
+    }
+
+    @PreDestroy
+    public void commitPendingBatches() {
+        scheduler.shutdownNow();
+        Map<String, Batch> pendingBatches;
+        synchronized (this) {
+            pendingBatches = new HashMap<>(batches);
+        }
+        pendingBatches.forEach(this::commitBatch);
+    }
+
+    private void commitBatch(String name, Batch batch) {
+        synchronized (this) {
+            // closing the batch under the lock guarantees that no later save is merged into it
+            if (!batches.remove(name, batch)) {
+                return;
+            }
+        }
+
+        log.debug("Committing {} coalesced saves of configuration '{}'.", batch.saves, name);
+        try {
+            batch.result.complete(batch.committer.apply(batch.configuration));
+        } catch (RuntimeException e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    private Configuration awaitBatch(Batch batch) {
+        try {
+            // every caller may modify the configuration it receives, so none of them gets the shared instance
+            return ConfigurationUtils.deepCopy(batch.result.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Batch {
+        // written under the lock of the coalescer while the batch is open, read only after it was closed
+        private Configuration configuration;
+        private UnaryOperator<Configuration> committer;
+        private int saves;
+        private final CompletableFuture<Configuration> result = new CompletableFuture<>();
+    }
+}
@@ -1,10 +1,12 @@
 package at.ac.tuwien.model.change.management.git.operation;
 
 import at.ac.tuwien.model.change.management.core.model.*;
+import at.ac.tuwien.model.change.management.core.transformer.DSLSource;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
 import lombok.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.util.Map;
 import java.util.Set;
 
 public interface ConfigurationDSLTransformer {
@@ -29,6 +31,42 @@ public interface ConfigurationDSLTransformer {
             @Nullable ConfigurationVersion configurationVersion
     );
 
+    /**
+     * Parses the given DSL sources to a configuration and set its ConfigurationVersion.
+     * Sources with a content ID (e.g., the ID of the git blob they are stored in) are only parsed once,
+     * so elements shared between versions are not parsed again.
+     * Relies on {@link at.ac.tuwien.model.change.management.core.transformer.DSLTransformer}
+     *
+     * @param configurationSources a {@link ConfigurationContents} object containing the DSL sources
+     *                             of the models, nodes and relations to parse
+     * @param configurationName    the name of the configuration
+     * @param configurationVersion the version of the configuration
+     * @return the parsed configuration object
+     */
+    Configuration parseSourcesToConfiguration(
+            @NonNull ConfigurationContents<DSLSource, DSLSource, DSLSource> configurationSources,
+            @Nullable String configurationName,
+            @Nullable ConfigurationVersion configurationVersion
+    );
+
+    /**
+     * Checks whether the given DSL source is already parsed, so parsing it again does not load its DSL text.
+     * Relies on {@link at.ac.tuwien.model.change.management.core.transformer.DSLTransformer}
+     *
+     * @param source the DSL source to check
+     * @return true if the parse result of the source is reused, false otherwise
+     */
+    boolean isParsed(@NonNull DSLSource source);
+
+    /**
+     * Parses only the MCM attributes of a single model, node or relation from its DSL source.
+     * Relies on {@link at.ac.tuwien.model.change.management.core.transformer.DSLTransformer}
+     *
+     * @param source the DSL source of the element
+     * @return the MCM attributes of the element
+     */
+    Map<String, Object> parseSourceToAttributes(@NonNull DSLSource source);
+
     /**
      * Serializes the given configuration to its DSL representation.
      * Relies on {@link at.ac.tuwien.model.change.management.core.transformer.DSLTransformer}
@@ -2,6 +2,7 @@ package at.ac.tuwien.model.change.management.git.operation;
 
 import at.ac.tuwien.model.change.management.core.exception.DSLException;
 import at.ac.tuwien.model.change.management.core.model.*;
+import at.ac.tuwien.model.change.management.core.transformer.DSLSource;
 import at.ac.tuwien.model.change.management.core.transformer.DSLTransformer;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationProcessor;
@@ -15,6 +16,7 @@ import org.springframework.lang.Nullable;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -49,6 +51,40 @@ public class ConfigurationDSLTransformerImpl implements ConfigurationDSLTransfor
         return parsedConfiguration;
     }
 
+    @Override
+    public Configuration parseSourcesToConfiguration(
+            @NonNull ConfigurationContents<DSLSource, DSLSource, DSLSource> configurationSources,
+            @Nullable String configurationName,
+            @Nullable ConfigurationVersion configurationVersion) {
+        log.debug("Parsing configuration with name '{}' and version '{}' from sources, " +
+                        "consisting of {} models, {} nodes and {} relations.",
+                configurationName, configurationVersion, configurationSources.getModels().size(),
+                configurationSources.getNodes().size(), configurationSources.getRelations().size());
+        var parsedConfiguration = new Configuration();
+        parsedConfiguration.setName(configurationName);
+        parsedConfiguration.setVersion(configurationVersion);
+        var models = configurationSources.getModels().stream().map(this::parseSourceToModel).collect(Collectors.toSet());
+        var nodes = parseSourcesToNodes(configurationSources.getNodes(), configurationSources.getRelations());
+        parsedConfiguration.setModels(assignNodesToModels(models, nodes));
+        log.debug("Successfully parsed configuration with name '{}' and version '{}' from sources.",
+                configurationName, configurationVersion);
+        return parsedConfiguration;
+    }
+
+    @Override
+    public boolean isParsed(@NonNull DSLSource source) {
+        return dslTransformer.isParsed(source);
+    }
+
+    @Override
+    public Map<String, Object> parseSourceToAttributes(@NonNull DSLSource source) {
+        try {
+            return dslTransformer.parseSourceToAttributes(source);
+        } catch (DSLException e) {
+            throw new RepositoryReadException("Failed to parse attributes from element DSL", e);
+        }
+    }
+
     @Override
     public ConfigurationContents<DSLElement<Model>, DSLElement<Node>, DSLElement<Relation>> serializeToDsl(
             @NonNull Configuration configuration
@@ -97,6 +133,22 @@ public class ConfigurationDSLTransformerImpl implements ConfigurationDSLTransfor
         }
     }
 
+    private Model parseSourceToModel(DSLSource modelSource) {
+        try {
+            return dslTransformer.parseSourceToModel(modelSource);
+        } catch (DSLException e) {
+            throw new RepositoryReadException("Failed to parse model DSL to Model domain object", e);
+        }
+    }
+
+    private Set<Node> parseSourcesToNodes(Set<DSLSource> nodeSources, Set<DSLSource> relationSources) {
+        try {
+            return dslTransformer.parseSourcesToNodes(nodeSources, relationSources);
+        } catch (DSLException e) {
+            throw new RepositoryReadException("Failed to parse node and relation DSLs to Node and Relation domain objects", e);
+        }
+    }
+
     private Set<Model> assignNodesToModels(Set<Model> models, Set<Node> nodes) {
         HashMap<String, Model> modelLookup = new HashMap<>();
 
@@ -0,0 +1,23 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import java.util.List;
+
+/**
+ * Bounds the history of the configurations stored under the path defined in
+ * {@link at.ac.tuwien.model.change.management.git.config.GitProperties} by squashing old versions,
+ * see {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Retention}.
+ * Runs periodically in the background when enabled.
+ */
+public interface ConfigurationHistoryCompaction {
+
+    /**
+     * Compact the history of every configuration with enough versions that can be squashed.
+     * Configurations are compacted one after another, each through the
+     * {@link at.ac.tuwien.model.change.management.git.infrastructure.RepositoryManager},
+     * so that compaction does not interfere with other access to the same configuration.
+     * A configuration that fails to be compacted is skipped.
+     *
+     * @return the names of the compacted configurations
+     */
+    List<String> compactConfigurationHistories();
+}
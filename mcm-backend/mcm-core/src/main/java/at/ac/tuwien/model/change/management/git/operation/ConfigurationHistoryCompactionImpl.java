@@ -0,0 +1,66 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigurationHistoryCompactionImpl implements ConfigurationHistoryCompaction, SchedulingConfigurer {
+
+    private final GitProperties properties;
+    private final RepositoryManager repositoryManager;
+    private final ConfigurationRepositoryActions repositoryActions;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        var retention = properties.getRetention();
+        if (retention.isEnabled()) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::compactConfigurationHistories, retention.getInterval(), retention.getInterval()));
+            log.info("Scheduled compaction of configuration histories every {}", retention.getInterval());
+        }
+    }
+
+    @Override
+    public List<String> compactConfigurationHistories() {
+        log.debug("Compacting the history of all configurations");
+        var repositoryNames = repositoryManager.withAllRepositories(repositories -> repositories.stream()
+                .map(ManagedRepository::getName)
+                .toList());
+
+        var compacted = new ArrayList<String>();
+        for (var name : repositoryNames) {
+            try {
+                if (repositoryManager.withRepository(name, this::compactConfigurationHistory) > 0) {
+                    compacted.add(name);
+                }
+            } catch (RepositoryAccessException e) {
+                log.warn("Failed to compact the history of configuration: {}", name, e);
+            }
+        }
+
+        log.info("Compacted the history of {} out of {} configurations", compacted.size(), repositoryNames.size());
+        return compacted;
+    }
+
+    private int compactConfigurationHistory(ManagedRepository repository) {
+        // the repository may have been deleted since all repositories were listed
+        if (!repository.exists()) {
+            return 0;
+        }
+        var retention = properties.getRetention();
+        var keepVersions = repository.getKeepVersions().orElse(retention.getKeepVersions());
+        return repositoryActions.compactConfigurationHistory(repository, keepVersions, retention.getMinSquashedVersions());
+    }
+}
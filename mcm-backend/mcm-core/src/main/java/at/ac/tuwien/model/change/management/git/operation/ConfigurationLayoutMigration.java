@@ -0,0 +1,23 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import java.util.List;
+
+/**
+ * Converts the current configuration versions stored under the path defined in
+ * {@link at.ac.tuwien.model.change.management.git.config.GitProperties} to the configured layout,
+ * see {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Layout}.
+ */
+public interface ConfigurationLayoutMigration {
+
+    /**
+     * Convert the current version of every configuration that is stored in another layout than the configured one.
+     * Each conversion is committed as a new version, older versions keep their layout.
+     * Configurations are converted one after another, each through the
+     * {@link at.ac.tuwien.model.change.management.git.infrastructure.RepositoryManager}.
+     * A configuration that fails to be converted is skipped, so running the migration again converts only
+     * the remaining configurations.
+     *
+     * @return the names of the converted configurations
+     */
+    List<String> migrateConfigurationLayouts();
+}
@@ -0,0 +1,66 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+// repositories have to be in their final storage layout before their configurations are converted
+@DependsOn("repositoryStorageMigrationImpl")
+public class ConfigurationLayoutMigrationImpl implements ConfigurationLayoutMigration {
+
+    private final GitProperties properties;
+    private final RepositoryManager repositoryManager;
+    private final ConfigurationRepositoryActions repositoryActions;
+
+    @PostConstruct
+    public void migrateOnStartup() {
+        if (properties.getStorage().isMigrateLayout()) {
+            var migrated = migrateConfigurationLayouts();
+            log.info("Migrated {} configurations to the {} layout: {}", migrated.size(), properties.getStorage().getLayout(), migrated);
+        }
+    }
+
+    @Override
+    public List<String> migrateConfigurationLayouts() {
+        log.debug("Migrating all configurations to the {} layout", properties.getStorage().getLayout());
+        var repositoryNames = repositoryManager.withAllRepositories(repositories -> repositories.stream()
+                .map(ManagedRepository::getName)
+                .toList());
+
+        var migrated = new ArrayList<String>();
+        for (var name : repositoryNames) {
+            try {
+                if (repositoryManager.withRepository(name, this::migrateConfigurationLayout).isPresent()) {
+                    migrated.add(name);
+                }
+            } catch (RepositoryAccessException e) {
+                log.warn("Failed to migrate configuration '{}' to the {} layout", name, properties.getStorage().getLayout(), e);
+            }
+        }
+
+        log.debug("Migrated {} out of {} configurations to the {} layout", migrated.size(), repositoryNames.size(),
+                properties.getStorage().getLayout());
+        return migrated;
+    }
+
+    private Optional<String> migrateConfigurationLayout(ManagedRepository repository) {
+        // the repository may have been deleted since all repositories were listed
+        if (!repository.exists()) {
+            return Optional.empty();
+        }
+        return repositoryActions.migrateConfigurationLayout(repository);
+    }
+}
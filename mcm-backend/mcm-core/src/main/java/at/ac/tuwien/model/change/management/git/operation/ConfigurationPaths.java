@@ -0,0 +1,132 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryWriteException;
+import lombok.NonNull;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Paths of the files of a configuration version in its repository, for each {@link GitProperties.Layout}.
+ * Files of either layout are recognized when reading, so versions written before a layout change remain readable.
+ */
+final class ConfigurationPaths {
+
+    static final String MODELS_DIRECTORY = "models";
+    static final String NODES_DIRECTORY = "nodes";
+    static final String RELATIONS_DIRECTORY = "relations";
+    static final String MODEL_FILE = "model";
+    static final String FILE_EXTENSION = ".xml";
+
+    // every file of a configuration is below one of these directories, in either layout
+    static final List<Path> CONFIGURATION_DIRECTORIES =
+            List.of(Path.of(MODELS_DIRECTORY), Path.of(NODES_DIRECTORY), Path.of(RELATIONS_DIRECTORY));
+
+    enum ElementType {
+        MODEL,
+        NODE,
+        RELATION
+    }
+
+    /**
+     * A file of a configuration version, identified by its path.
+     *
+     * @param type   the type of the element stored in the file
+     * @param id     the ID of the element stored in the file
+     * @param layout the layout the path belongs to
+     */
+    record ElementFile(ElementType type, String id, GitProperties.Layout layout) {
+    }
+
+    private ConfigurationPaths() {
+    }
+
+    static Path modelPath(GitProperties.Layout layout, String modelId) {
+        return switch (layout) {
+            case FLAT -> Path.of(MODELS_DIRECTORY, modelId + FILE_EXTENSION);
+            case PER_MODEL -> Path.of(MODELS_DIRECTORY, modelId, MODEL_FILE + FILE_EXTENSION);
+        };
+    }
+
+    static Path nodePath(GitProperties.Layout layout, String modelId, String nodeId) {
+        return switch (layout) {
+            case FLAT -> Path.of(NODES_DIRECTORY, nodeId + FILE_EXTENSION);
+            case PER_MODEL -> Path.of(MODELS_DIRECTORY, requireModelId(modelId, nodeId), NODES_DIRECTORY, nodeId + FILE_EXTENSION);
+        };
+    }
+
+    static Path relationPath(GitProperties.Layout layout, String modelId, String relationId) {
+        return switch (layout) {
+            case FLAT -> Path.of(RELATIONS_DIRECTORY, relationId + FILE_EXTENSION);
+            case PER_MODEL -> Path.of(MODELS_DIRECTORY, requireModelId(modelId, relationId), RELATIONS_DIRECTORY, relationId + FILE_EXTENSION);
+        };
+    }
+
+    private static String requireModelId(String modelId, String elementId) {
+        if (modelId == null) {
+            throw new RepositoryWriteException("Cannot store element '" + elementId + "' in the per-model layout, because it has no model ID");
+        }
+        return modelId;
+    }
+
+    /**
+     * Get the paths below which the files of the given models are stored.
+     * For the per-model layout this is the directory of each model; for the flat layout it is the file of each model
+     * plus the node and relation directories, since they do not reveal which model a node or relation belongs to.
+     *
+     * @param modelIds the IDs of the models
+     * @return the paths to include when reading the given models
+     */
+    static List<Path> modelPaths(@NonNull Collection<String> modelIds) {
+        var paths = new ArrayList<Path>(modelIds.size() * 2 + 2);
+        for (var modelId : modelIds) {
+            paths.add(Path.of(MODELS_DIRECTORY, modelId));
+            paths.add(modelPath(GitProperties.Layout.FLAT, modelId));
+        }
+        paths.add(Path.of(NODES_DIRECTORY));
+        paths.add(Path.of(RELATIONS_DIRECTORY));
+        return paths;
+    }
+
+    /**
+     * Identify the element stored at the given path.
+     *
+     * @param path the path of the file, relative to the repository root and separated by '/'
+     * @return the element stored in the file, or an empty Optional if the file does not belong to the configuration
+     */
+    static Optional<ElementFile> parse(@NonNull String path) {
+        var segments = path.split("/");
+        var fileName = segments[segments.length - 1];
+        if (!fileName.endsWith(FILE_EXTENSION)) {
+            return Optional.empty();
+        }
+        var id = fileName.substring(0, fileName.length() - FILE_EXTENSION.length());
+
+        if (segments.length == 2) {
+            return switch (segments[0]) {
+                case MODELS_DIRECTORY -> Optional.of(new ElementFile(ElementType.MODEL, id, GitProperties.Layout.FLAT));
+                case NODES_DIRECTORY -> Optional.of(new ElementFile(ElementType.NODE, id, GitProperties.Layout.FLAT));
+                case RELATIONS_DIRECTORY -> Optional.of(new ElementFile(ElementType.RELATION, id, GitProperties.Layout.FLAT));
+                default -> Optional.empty();
+            };
+        }
+        if (!MODELS_DIRECTORY.equals(segments[0])) {
+            return Optional.empty();
+        }
+        if (segments.length == 3 && MODEL_FILE.equals(id)) {
+            return Optional.of(new ElementFile(ElementType.MODEL, segments[1], GitProperties.Layout.PER_MODEL));
+        }
+        if (segments.length == 4) {
+            return switch (segments[2]) {
+                case NODES_DIRECTORY -> Optional.of(new ElementFile(ElementType.NODE, id, GitProperties.Layout.PER_MODEL));
+                case RELATIONS_DIRECTORY -> Optional.of(new ElementFile(ElementType.RELATION, id, GitProperties.Layout.PER_MODEL));
+                default -> Optional.empty();
+            };
+        }
+        return Optional.empty();
+    }
+}
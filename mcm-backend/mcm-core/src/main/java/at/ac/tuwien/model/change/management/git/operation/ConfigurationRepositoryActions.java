@@ -1,7 +1,10 @@
 package at.ac.tuwien.model.change.management.git.operation;
 
 import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
 import at.ac.tuwien.model.change.management.core.model.versioning.ModelDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.NodeDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.RelationDiff;
@@ -11,6 +14,7 @@ import lombok.NonNull;
 import org.springframework.lang.Nullable;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +44,15 @@ public interface ConfigurationRepositoryActions {
      */
     Optional<Configuration> readCurrentConfigurationVersion(@NonNull ManagedRepository repository);
 
+    /**
+     * Summarizes the current configuration version of the given repository.
+     * The models, nodes and relations are counted from the files tracked in the HEAD git commit, so none of them is parsed.
+     *
+     * @param repository the repository to summarize the configuration of
+     * @return the summary of the current configuration version or an empty optional if there is no current version
+     */
+    Optional<ConfigurationSummary> summarizeCurrentConfigurationVersion(@NonNull ManagedRepository repository);
+
     /**
      * Reads the configuration version with the given version from the given repository
      *
@@ -49,6 +62,44 @@ public interface ConfigurationRepositoryActions {
      */
     Optional<Configuration> readConfigurationVersion(@NonNull ManagedRepository repository, @NonNull String version);
 
+    /**
+     * Reads only the given models of the current configuration version from the given repository,
+     * including their nodes and the relations starting at their nodes.
+     * In the per-model layout only the files of the given models are read, so the cost depends on the size of the
+     * given models rather than the size of the configuration. Configurations in the flat layout are read as a whole.
+     * Relations pointing to a node of a model that is not read have no target.
+     *
+     * @param repository the repository to read the models from
+     * @param modelIds   the IDs of the models to read
+     * @return the current configuration version containing only those of the given models that exist in it,
+     * or an empty optional if there is no current version
+     */
+    Optional<Configuration> readCurrentConfigurationModels(@NonNull ManagedRepository repository, @NonNull Collection<String> modelIds);
+
+    /**
+     * Converts the current configuration version of the given repository to the layout configured in
+     * {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Storage}, if it is stored in another layout.
+     * The converted configuration is committed and tagged like any other version.
+     *
+     * @param repository the repository to convert the configuration of
+     * @return the ID of the commit that was created, or an empty Optional if the configuration already uses the layout
+     */
+    Optional<String> migrateConfigurationLayout(@NonNull ManagedRepository repository);
+
+    /**
+     * Compacts the history of the given repository by squashing old versions,
+     * see {@link at.ac.tuwien.model.change.management.git.config.GitProperties.Retention}.
+     * Versions with a custom name and the given number of most recent versions are kept, every run of other versions
+     * between them is squashed into a single version, which their tags then point to.
+     * Nothing is squashed unless at least the given minimum number of versions can be squashed.
+     *
+     * @param repository          the repository to compact the history of
+     * @param keepVersions        the number of most recent versions to keep
+     * @param minSquashedVersions the minimum number of versions that must be squashable
+     * @return the number of versions removed from the history, 0 if the history was not compacted
+     */
+    int compactConfigurationHistory(@NonNull ManagedRepository repository, int keepVersions, int minSquashedVersions);
+
     /**
      * Clears the configuration working directory of the given repository.
      * More specifically, it deletes the directories that store the models, nodes and relations of the configuration
@@ -80,6 +131,7 @@ public interface ConfigurationRepositoryActions {
 
     /**
      * Commits the configuration changes in the working directory of the given repository.
+     * The number of added, modified and deleted elements is stored as a git note on the new commit.
      *
      * @param repository    the repository to commit the changes in
      * @param commitMessage the commit message to use
@@ -92,6 +144,26 @@ public interface ConfigurationRepositoryActions {
             @Nullable String customTag
     );
 
+    /**
+     * Commits the given configuration directly to the object database of the given repository,
+     * replacing the models, nodes and relations of the previous version.
+     * Unlike {@link #writeConfigurationToWorkingDirectory(ManagedRepository, Configuration)} followed by
+     * {@link #commitConfigurationChanges(ManagedRepository, String, String)}, this does not touch the working directory.
+     * Only elements whose content differs from the previous version are written. If no element was added, modified
+     * or deleted, neither a commit nor a version tag is created.
+     * The number of added, modified and deleted elements is stored as a git note on the new commit.
+     *
+     * @param repository    the repository to commit the configuration to
+     * @param configuration the configuration to commit
+     * @param customTag     a custom tag to use for the commit, or null if no custom tag should be used
+     * @return the ID of the commit that was created, or an empty Optional if the configuration did not change
+     */
+    Optional<String> commitConfiguration(
+            @NonNull ManagedRepository repository,
+            @NonNull Configuration configuration,
+            @Nullable String customTag
+    );
+
     /**
      * Renames the repository directory and the repository itself.
      *
@@ -115,10 +187,51 @@ public interface ConfigurationRepositoryActions {
 
     /**
      * List the metadata for all configuration versions in the given repository
-     * Includes the commit hash, the auto-generated version name and the user-supplied version name if there is one
+     * Includes the commit hash, the auto-generated version name and the user-supplied version name if there is one,
+     * as well as the change summary recorded when the version was committed
      *
      * @param repository the repository to list the configuration version metadata from
      * @return a list of configuration version metadata
      */
     List<ConfigurationVersion> getMetadataForAllConfigurationVersions(@NonNull ManagedRepository repository);
+
+    /**
+     * List the metadata for a page of configuration versions in the given repository, most recent version first
+     * Only the versions on the requested page are visited, so listing recent versions does not walk the entire history
+     * The change summaries recorded when the versions were committed are included, no versions are compared
+     *
+     * @param repository the repository to list the configuration version metadata from
+     * @param cursor     the hash of the last version of the previous page, or null to start at the most recent version
+     * @param limit      the maximum number of versions to list
+     * @return a list of at most {@code limit} configuration version metadata objects
+     */
+    List<ConfigurationVersion> getMetadataForConfigurationVersions(@NonNull ManagedRepository repository, @Nullable String cursor, int limit);
+
+    /**
+     * List the versions in the given repository in which a model, node or relation was added, modified or deleted
+     * The versions are looked up in the element history index instead of comparing versions of the configuration
+     *
+     * @param repository the repository to list the changes from
+     * @param elementId  the ID of the model, node or relation
+     * @return the changes of the element including their version metadata, most recent version first
+     */
+    List<ElementChange> getElementHistory(@NonNull ManagedRepository repository, @NonNull String elementId);
+
+    /**
+     * List the values an MCM attribute took across a range of versions in the given repository, oldest version first
+     * The first version of the range is read completely, later versions only decode the element files they changed
+     * A value is only listed for the versions in which it changed, elements that never had the attribute are not listed
+     *
+     * @param repository  the repository to read the attribute values from
+     * @param key         the key of the MCM attribute
+     * @param fromVersion the first version of the range, or null to start at the first version
+     * @param toVersion   the last version of the range, or null to end at the most recent version of the main branch
+     * @return the changed values of the attribute, grouped by version and ordered by element ID within a version
+     */
+    List<AttributeValue> getAttributeSeries(
+            @NonNull ManagedRepository repository,
+            @NonNull String key,
+            @Nullable String fromVersion,
+            @Nullable String toVersion
+    );
 }
@@ -2,37 +2,54 @@ package at.ac.tuwien.model.change.management.git.operation;
 
 import at.ac.tuwien.model.change.management.core.model.*;
 import at.ac.tuwien.model.change.management.core.model.attributes.BaseAttributes;
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
 import at.ac.tuwien.model.change.management.core.model.versioning.ModelDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.NodeDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.RelationDiff;
+import at.ac.tuwien.model.change.management.core.transformer.DSLSource;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationProcessor;
 import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryReadException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersioningException;
 import at.ac.tuwien.model.change.management.git.infrastructure.*;
+import at.ac.tuwien.model.change.management.git.operation.ConfigurationPaths.ElementFile;
+import at.ac.tuwien.model.change.management.git.operation.ConfigurationPaths.ElementType;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 
-import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @GitComponent
 @RequiredArgsConstructor
 @Slf4j
 public class ConfigurationRepositoryActionsImpl implements ConfigurationRepositoryActions {
 
-    private static final String NODES_DIRECTORY = "nodes";
-    private static final String RELATIONS_DIRECTORY = "relations";
-    private static final String MODELS_DIRECTORY = "models";
-    private static final String FILE_EXTENSION = ".xml";
-
     private static final String EXISTING_METADATA_REGEX = "(?s)<metadata>.*?</metadata>";
     private static final String EMPTY_METADATA_REGEX = "<metadata/>";
 
+    // rough estimate of the memory used by a single parsed element, used to weigh cached configuration versions
+    private static final long ESTIMATED_ELEMENT_WEIGHT = 2048;
+
+    // the change summary of every version is stored as a git note under this ref
+    private static final String CHANGE_SUMMARY_NOTES_REF = "refs/notes/mcm-changes";
+
+    private final Gson gson = new Gson();
+
     private final ConfigurationDSLTransformer configurationDSLTransformer;
     private final VersionNameGenerator versionNameGenerator;
+    private final ConfigurationVersionCache configurationVersionCache;
+    private final GitProperties properties;
+    private final ElementCodec elementCodec;
+    private final ElementHistoryIndex elementHistoryIndex;
 
     @Override
     public List<Path> writeConfigurationToWorkingDirectory(
@@ -41,7 +58,7 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
     ) {
         log.debug("Writing configuration '{}' to repository.", configuration.getName());
         var configurationDSL = configurationDSLTransformer.serializeToDsl(configuration);
-        var repositoryFiles = generateRepositoryFiles(configurationDSL);
+        var repositoryFiles = generateRepositoryFiles(repository, configurationDSL, getRepositoryLayout(repository));
         var paths = repository.writeRepositoryFiles(repositoryFiles);
         log.debug("Successfully wrote {} files to repository: {}", paths.size(), repository.getName());
         return paths;
@@ -52,7 +69,7 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
     public Optional<Configuration> readCurrentConfigurationVersion(@NonNull ManagedRepository repository) {
         log.debug("Reading current configuration from repository: {}", repository.getName());
         return repository.getCurrentRepositoryVersion().map(version -> {
-            var configuration = parseRepositoryVersionToConfiguration(repository.getName(), repository.getEncoding(), version);
+            var configuration = parseRepositoryVersionToConfiguration(repository, version);
             var generatedName = findName(version.tags(), true);
             var customName = findName(version.tags(), false);
 
@@ -65,11 +82,37 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
         });
     }
 
+    @Override
+    public Optional<ConfigurationSummary> summarizeCurrentConfigurationVersion(@NonNull ManagedRepository repository) {
+        log.debug("Summarizing current configuration in repository: {}", repository.getName());
+        return repository.getCurrentRepositoryVersion().map(version -> {
+            int models = 0, nodes = 0, relations = 0;
+            long size = 0;
+            for (var repositoryObj : version.objects()) {
+                var elementFile = ConfigurationPaths.parse(repositoryObj.getFilePath());
+                if (elementFile.isEmpty()) {
+                    continue;
+                }
+                switch (elementFile.get().type()) {
+                    case MODEL -> models++;
+                    case NODE -> nodes++;
+                    case RELATION -> relations++;
+                }
+                size += repositoryObj.getSize();
+            }
+
+            var configurationVersion = new ConfigurationVersion(version.id(), findName(version.tags(), true), findName(version.tags(), false));
+            var summary = new ConfigurationSummary(repository.getName(), configurationVersion, models, nodes, relations, size);
+            log.debug("Summarized current configuration in repository: {}", repository.getName());
+            return summary;
+        });
+    }
+
     @Override
     public Optional<Configuration> readConfigurationVersion(@NonNull ManagedRepository repository, @NonNull String version) {
         log.debug("Reading configuration version '{}' from repository: {}", version, repository.getName());
         return repository.getRepositoryVersion(version).map(repositoryVersion -> {
-            var configuration = parseRepositoryVersionToConfiguration(repository.getName(), repository.getEncoding(), repositoryVersion);
+            var configuration = parseRepositoryVersionToConfiguration(repository, repositoryVersion);
             log.debug("Read configuration version '{}' from repository: {}", repositoryVersion, repository.getName());
             return configuration;
         }).or(() -> {
@@ -78,14 +121,108 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
         });
     }
 
+    @Override
+    public Optional<Configuration> readCurrentConfigurationModels(@NonNull ManagedRepository repository, @NonNull Collection<String> modelIds) {
+        log.debug("Reading models {} of current configuration from repository: {}", modelIds, repository.getName());
+        return repository.getCurrentRepositoryVersion(ConfigurationPaths.modelPaths(modelIds)).map(version -> {
+            var configurationVersion = new ConfigurationVersion(version.id(), findName(version.tags(), true), findName(version.tags(), false));
+            var elementFiles = parseElementFiles(version.objects());
+
+            Configuration configuration;
+            if (elementFiles.values().stream().anyMatch(elementFile -> elementFile.layout() == GitProperties.Layout.FLAT
+                    && elementFile.type() != ElementType.MODEL)) {
+                // the flat layout does not reveal which model a node belongs to, so the whole configuration is read
+                log.debug("Repository '{}' uses the flat layout, reading the whole configuration.", repository.getName());
+                configuration = repository.getRepositoryVersion(version.id())
+                        .map(fullVersion -> parseRepositoryVersionToConfiguration(repository, fullVersion))
+                        .orElseThrow(() -> new RepositoryReadException("Current version '" + version.id() +
+                                "' of repository '" + repository.getName() + "' disappeared while reading it"));
+                configuration.setModels(configuration.getModels().stream()
+                        .filter(model -> modelIds.contains(model.getId()))
+                        .collect(Collectors.toSet()));
+            } else {
+                configuration = configurationDSLTransformer.parseSourcesToConfiguration(
+                        getRepositorySources(repository, elementFiles), repository.getName(), configurationVersion);
+            }
+            configuration.setVersion(configurationVersion);
+            log.debug("Read {} models of current configuration from repository: {}", configuration.getModels().size(), repository.getName());
+            return configuration;
+        });
+    }
+
+    @Override
+    public Optional<String> migrateConfigurationLayout(@NonNull ManagedRepository repository) {
+        var layout = properties.getStorage().getLayout();
+        log.debug("Migrating current configuration in repository '{}' to the {} layout", repository.getName(), layout);
+        var currentVersion = repository.getCurrentRepositoryVersion();
+        if (currentVersion.isEmpty()) {
+            log.debug("Repository '{}' has no configuration version to migrate", repository.getName());
+            return Optional.empty();
+        }
+        if (parseElementFiles(currentVersion.get().objects()).values().stream()
+                .allMatch(elementFile -> elementFile.layout() == layout)) {
+            repository.setLayout(layout);
+            log.debug("Current configuration in repository '{}' already uses the {} layout", repository.getName(), layout);
+            return Optional.empty();
+        }
+
+        var version = currentVersion.get();
+        var configuration = parseRepositoryVersionToConfiguration(repository, version);
+        var repositoryFiles = generateRepositoryFiles(repository, configurationDSLTransformer.serializeToDsl(configuration), layout);
+        var commitHash = repository.versioning().commitFiles(
+                repositoryFiles,
+                ConfigurationPaths.CONFIGURATION_DIRECTORIES,
+                "Migrated configuration '" + repository.getName() + "' to the " + layout + " layout"
+        );
+        // later saves keep the layout the configuration was migrated to
+        repository.setLayout(layout);
+        commitHash.ifPresent(hash -> {
+            tagConfigurationVersion(repository, hash, null);
+            log.info("Migrated configuration in repository '{}' to the {} layout", repository.getName(), layout);
+        });
+        return commitHash;
+    }
+
+    @Override
+    public int compactConfigurationHistory(@NonNull ManagedRepository repository, int keepVersions, int minSquashedVersions) {
+        log.debug("Compacting history of repository '{}' to the last {} versions", repository.getName(), keepVersions);
+        var versions = repository.versioning().listVersions();
+        var tagsByCommit = repository.versioning().listTagsByCommit();
+        var keptVersions = new HashSet<>(versions.subList(0, Math.min(Math.max(keepVersions, 0), versions.size())));
+        versions.stream()
+                .filter(version -> findName(tagsByCommit.getOrDefault(version, Collections.emptyList()), false) != null)
+                .forEach(keptVersions::add);
+        var squashableVersions = versions.size() - keptVersions.size();
+        if (squashableVersions == 0 || squashableVersions < minSquashedVersions) {
+            log.debug("Not compacting history of repository '{}', only {} versions can be squashed", repository.getName(), squashableVersions);
+            return 0;
+        }
+
+        var rewritten = repository.versioning().squashVersions(keptVersions, List.of(CHANGE_SUMMARY_NOTES_REF));
+        if (rewritten.isEmpty()) {
+            return 0;
+        }
+        configurationVersionCache.invalidate(repository.getName());
+
+        // the notes of kept versions were moved along with them, the versions replacing squashed ones are summarized anew
+        var squashedVersions = rewritten.entrySet().stream()
+                .filter(version -> !keptVersions.contains(version.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+        repository.versioning().getMainBranchVersionId().ifPresent(mainVersion -> repository.versioning()
+                .listFileChanges(null, mainVersion, ConfigurationPaths.CONFIGURATION_DIRECTORIES).stream()
+                .filter(versionChanges -> squashedVersions.contains(versionChanges.version()))
+                .forEach(versionChanges -> addChangeSummary(repository, versionChanges.version(), List.of(versionChanges))));
+
+        var removedVersions = rewritten.size() - new HashSet<>(rewritten.values()).size();
+        log.info("Compacted history of repository '{}', removed {} out of {} versions", repository.getName(), removedVersions, versions.size());
+        return removedVersions;
+    }
+
     @Override
     public void clearConfigurationRepository(@NonNull ManagedRepository repository) {
         log.debug("Clearing repository: {}", repository.getName());
-        repository.deleteRepositoryFiles(
-                Path.of(MODELS_DIRECTORY),
-                Path.of(NODES_DIRECTORY),
-                Path.of(RELATIONS_DIRECTORY)
-        );
+        repository.deleteRepositoryFiles(ConfigurationPaths.CONFIGURATION_DIRECTORIES.toArray(Path[]::new));
         log.debug("Cleared repository: {}", repository.getName());
     }
 
@@ -97,13 +234,15 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
             boolean includeUnchanged
     ) {
         log.debug("Comparing configuration versions '{}' and '{}' in repository: {}", oldVersion, newVersion, repository.getName());
+        // element files are paired by element ID, since an element moves to another path when the layout of the
+        // configuration changes, or when a node moves to another model in the per-model layout
         var diffEntries = repository.versioning().compareVersions(oldVersion, newVersion, includeUnchanged, managedRepositoryObject -> {
-            var content = managedRepositoryObject.getFileContent();
+            var content = elementCodec.decodeToText(managedRepositoryObject.getRawFileContent(), repository.getEncoding());
             var modifiedContent = content
                     .replaceAll(EXISTING_METADATA_REGEX, "")
                     .replaceAll(EMPTY_METADATA_REGEX, "");
             return modifiedContent.getBytes(repository.getEncoding());
-        });
+        }, path -> ConfigurationPaths.parse(path).map(ElementFile::id));
 
         // generally far from ideal to read both versions here, but likely the only way to avoid errors
         // given current implementation of DSLTransformer
@@ -123,28 +262,53 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
     @Override
     public String commitConfigurationChanges(@NonNull ManagedRepository managedRepository, @NonNull String commitMessage, String customTag) {
         log.debug("Committing configuration changes to repository: {}", managedRepository.getName());
+        var previousVersion = managedRepository.versioning().getMainBranchVersionId().orElse(null);
         var changes = managedRepository.versioning().stageAll();
         var commitHash = managedRepository.versioning().commit(defaultCommitMessage(
                         managedRepository.getName(), changes),
                 true
         );
-        var existingTags = managedRepository.versioning().listTags();
-        var newAutoVersionTag = versionNameGenerator.findNextVersionName(existingTags);
-        managedRepository.versioning().tagCommit(commitHash, newAutoVersionTag);
+        tagConfigurationVersion(managedRepository, commitHash, customTag);
+        addChangeSummary(managedRepository, previousVersion, commitHash);
+        log.info("Committed {} configuration changes to repository: {}", changes, managedRepository.getName());
 
-        if (customTag != null && !customTag.equals(newAutoVersionTag)) {
-            managedRepository.versioning().tagCommit(commitHash, customTag);
+        return commitHash;
+    }
+
+    @Override
+    public Optional<String> commitConfiguration(@NonNull ManagedRepository repository, @NonNull Configuration configuration, String customTag) {
+        log.debug("Committing configuration '{}' to repository: {}", configuration.getName(), repository.getName());
+        var configurationDSL = configurationDSLTransformer.serializeToDsl(configuration);
+        var repositoryFiles = generateRepositoryFiles(repository, configurationDSL, getRepositoryLayout(repository));
+        var previousVersion = repository.versioning().getMainBranchVersionId().orElse(null);
+        var commitHash = repository.versioning().commitFiles(
+                repositoryFiles,
+                ConfigurationPaths.CONFIGURATION_DIRECTORIES,
+                changes -> defaultCommitMessage(repository.getName(), changes)
+        );
+        if (commitHash.isEmpty()) {
+            log.info("Configuration did not change, skipped commit to repository: {}", repository.getName());
+            if (customTag != null) {
+                // the custom name of an unchanged save names the current version instead
+                tagCurrentVersion(repository, previousVersion, customTag);
+            }
+            return commitHash;
         }
-        log.info("Committed {} configuration changes to repository: {}", changes, managedRepository.getName());
+        tagConfigurationVersion(repository, commitHash.get(), customTag);
+        addChangeSummary(repository, previousVersion, commitHash.get());
+        log.info("Committed configuration with {} files to repository: {}", repositoryFiles.size(), repository.getName());
 
         return commitHash;
     }
 
     @Override
     public void renameConfigurationRepository(@NonNull ManagedRepository repository, @NonNull String newName) {
-        log.debug("Renaming repository '{}' to '{}'", repository.getName(), newName);
+        var currentName = repository.getName();
+        log.debug("Renaming repository '{}' to '{}'", currentName, newName);
         repository.renameRepository(newName);
-        log.info("Renamed repository '{}' to '{}'", repository.getName(), newName);
+        configurationVersionCache.invalidate(currentName);
+        configurationVersionCache.invalidate(newName);
+        log.info("Renamed repository '{}' to '{}'", currentName, newName);
     }
 
     @Override
@@ -161,68 +325,290 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
     @Override
     public List<ConfigurationVersion> getMetadataForAllConfigurationVersions(@NonNull ManagedRepository repository) {
         log.debug("Getting metadata for all configuration versions in repository: {}", repository.getName());
-        var versions = repository.versioning().listVersions();
-        var metadata = versions.stream()
-                .map(version -> getConfigurationVersionMetadata(repository, version))
-                .toList();
+        var metadata = getMetadataForVersions(repository, repository.versioning().listVersions());
         log.debug("Got metadata for all {} configuration versions in repository: {}", metadata.size(), repository.getName());
         return metadata;
     }
 
-    private Set<ManagedRepositoryFile> generateRepositoryFiles(
-            ConfigurationContents<DSLElement<Model>, DSLElement<Node>, DSLElement<Relation>> configurationContents
+    @Override
+    public List<ConfigurationVersion> getMetadataForConfigurationVersions(@NonNull ManagedRepository repository, @Nullable String cursor, int limit) {
+        log.debug("Getting metadata for up to {} configuration versions after '{}' in repository: {}", limit, cursor, repository.getName());
+        var metadata = getMetadataForVersions(repository, repository.versioning().listVersions(cursor, limit));
+        log.debug("Got metadata for {} configuration versions after '{}' in repository: {}", metadata.size(), cursor, repository.getName());
+        return metadata;
+    }
+
+    @Override
+    public List<ElementChange> getElementHistory(@NonNull ManagedRepository repository, @NonNull String elementId) {
+        log.debug("Getting history of element '{}' in repository: {}", elementId, repository.getName());
+        var entries = elementHistoryIndex.getHistory(repository, elementId);
+        if (entries.isEmpty()) {
+            log.debug("Element '{}' never changed in repository: {}", elementId, repository.getName());
+            return Collections.emptyList();
+        }
+        var tagsByCommit = repository.versioning().listTagsByCommit();
+        var history = entries.stream()
+                .map(entry -> {
+                    var tags = tagsByCommit.getOrDefault(entry.version(), Collections.emptyList());
+                    var version = new ConfigurationVersion(entry.version(), findName(tags, true), findName(tags, false));
+                    return new ElementChange(version, entry.changeType().name());
+                })
+                .toList();
+        log.debug("Got {} changes of element '{}' in repository: {}", history.size(), elementId, repository.getName());
+        return history;
+    }
+
+    @Override
+    public List<AttributeValue> getAttributeSeries(
+            @NonNull ManagedRepository repository,
+            @NonNull String key,
+            @Nullable String fromVersion,
+            @Nullable String toVersion
     ) {
-        var repositoryFiles = new HashSet<ManagedRepositoryFile>();
-        repositoryFiles.addAll(configurationContents.getModels().stream().map(
-                model -> generateRepositoryFile(MODELS_DIRECTORY, model)).toList()
-        );
-        repositoryFiles.addAll(
-                configurationContents.getNodes().stream().map(node -> generateRepositoryFile(NODES_DIRECTORY, node)).toList()
-        );
-        repositoryFiles.addAll(
-                configurationContents.getRelations().stream().map(relation -> generateRepositoryFile(RELATIONS_DIRECTORY, relation)).toList()
+        log.debug("Getting values of attribute '{}' from '{}' to '{}' in repository: {}", key, fromVersion, toVersion, repository.getName());
+        var lastVersion = toVersion != null ? toVersion : repository.versioning().getMainBranchVersionId().orElse(null);
+        if (lastVersion == null) {
+            log.debug("No versions found in repository: {}", repository.getName());
+            return Collections.emptyList();
+        }
+
+        var series = new AttributeSeries(repository, key);
+        if (fromVersion != null) {
+            var firstVersion = repository.getRepositoryVersion(fromVersion, ConfigurationPaths.CONFIGURATION_DIRECTORIES)
+                    .orElseThrow(() -> new RepositoryVersioningException("Version '" + fromVersion + "' not found in repository: " + repository.getName()));
+            var blobs = new TreeMap<String, String>();
+            for (var object : firstVersion.objects()) {
+                ConfigurationPaths.parse(object.getFilePath()).ifPresent(elementFile ->
+                        blobs.put(elementFile.id(), object.getObjectId().name()));
+            }
+            series.addVersion(firstVersion.id(), blobs);
+        }
+        // every later version only decodes the files it changed, unchanged elements keep their value
+        for (var versionChanges : repository.versioning().listFileChanges(fromVersion, lastVersion, ConfigurationPaths.CONFIGURATION_DIRECTORIES)) {
+            var blobs = new TreeMap<String, String>();
+            for (var change : versionChanges.changes()) {
+                ConfigurationPaths.parse(change.path()).ifPresent(elementFile -> {
+                    // an element moved to another path in the same version is deleted at one path and added at the other
+                    if (change.newObjectId() != null) {
+                        blobs.put(elementFile.id(), change.newObjectId());
+                    } else {
+                        blobs.putIfAbsent(elementFile.id(), null);
+                    }
+                });
+            }
+            series.addVersion(versionChanges.version(), blobs);
+        }
+
+        log.debug("Got {} values of attribute '{}' in repository: {}", series.values.size(), key, repository.getName());
+        return series.values;
+    }
+
+    private List<ConfigurationVersion> getMetadataForVersions(ManagedRepository repository, List<String> versions) {
+        if (versions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        var tagsByCommit = repository.versioning().listTagsByCommit();
+        var changeSummaries = repository.versioning().readNotes(CHANGE_SUMMARY_NOTES_REF, versions);
+        return versions.stream()
+                .map(version -> {
+                    var tags = tagsByCommit.getOrDefault(version, Collections.emptyList());
+                    var changeSummary = parseChangeSummary(repository, version, changeSummaries.get(version));
+                    return new ConfigurationVersion(version, findName(tags, true), findName(tags, false), changeSummary);
+                })
+                .toList();
+    }
+
+    // counts the changed elements right after the commit, so listing versions does not need to compare them
+    // only the trees changed by the new version are read, a failure here must not fail the commit
+    private void addChangeSummary(ManagedRepository repository, @Nullable String previousVersion, String version) {
+        try {
+            var versionChanges = repository.versioning().listFileChanges(previousVersion, version, ConfigurationPaths.CONFIGURATION_DIRECTORIES);
+            addChangeSummary(repository, version, versionChanges);
+        } catch (RepositoryVersioningException e) {
+            log.warn("Failed to add change summary to version '{}' in repository: {}", version, repository.getName(), e);
+        }
+    }
+
+    private void addChangeSummary(ManagedRepository repository, String version, List<ManagedVersionChanges> versionChanges) {
+        try {
+            var changes = new ArrayList<ElementFileChanges.Change>();
+            versionChanges.forEach(changesOfVersion -> changes.addAll(ElementFileChanges.of(changesOfVersion).values()));
+            var summary = new ConfigurationChangeSummary(
+                    countChanges(changes, ElementType.MODEL),
+                    countChanges(changes, ElementType.NODE),
+                    countChanges(changes, ElementType.RELATION)
+            );
+            repository.versioning().addNote(CHANGE_SUMMARY_NOTES_REF, version, gson.toJson(summary));
+            log.debug("Added change summary to version '{}' in repository: {}", version, repository.getName());
+        } catch (RepositoryVersioningException e) {
+            log.warn("Failed to add change summary to version '{}' in repository: {}", version, repository.getName(), e);
+        }
+    }
+
+    private ConfigurationChangeSummary.ChangeCounts countChanges(List<ElementFileChanges.Change> changes, ElementType type) {
+        var counts = changes.stream()
+                .filter(change -> change.type() == type)
+                .collect(Collectors.groupingBy(ElementFileChanges.Change::changeType, Collectors.counting()));
+        return new ConfigurationChangeSummary.ChangeCounts(
+                counts.getOrDefault(ManagedDiffType.ADD, 0L).intValue(),
+                counts.getOrDefault(ManagedDiffType.MODIFY, 0L).intValue(),
+                counts.getOrDefault(ManagedDiffType.DELETE, 0L).intValue()
         );
-        return repositoryFiles;
     }
 
-    private ManagedRepositoryFile generateRepositoryFile(String dir, DSLElement<?> dslElement) {
-        return new ManagedRepositoryFile(getElementPath(dir, dslElement.element()), dslElement.dsl());
+    @Nullable
+    private ConfigurationChangeSummary parseChangeSummary(ManagedRepository repository, String version, @Nullable String note) {
+        if (note == null) {
+            return null;
+        }
+        try {
+            return gson.fromJson(note, ConfigurationChangeSummary.class);
+        } catch (JsonParseException e) {
+            log.warn("Ignoring invalid change summary of version '{}' in repository: {}", version, repository.getName(), e);
+            return null;
+        }
+    }
+
+    private void tagConfigurationVersion(ManagedRepository repository, String commitHash, @Nullable String customTag) {
+        var existingTags = repository.versioning().listTags();
+        var newAutoVersionTag = versionNameGenerator.findNextVersionName(existingTags);
+        repository.versioning().tagCommit(commitHash, newAutoVersionTag);
+
+        if (customTag != null && !customTag.equals(newAutoVersionTag)) {
+            repository.versioning().tagCommit(commitHash, customTag);
+        }
+    }
+
+    private void tagCurrentVersion(ManagedRepository repository, @Nullable String currentVersion, String customTag) {
+        if (currentVersion == null) {
+            throw new RepositoryVersioningException("No current version to tag with '" + customTag +
+                    "' in repository: " + repository.getName());
+        }
+        if (repository.versioning().listTagsForCommit(currentVersion).contains(customTag)) {
+            return;
+        }
+        repository.versioning().tagCommit(currentVersion, customTag);
+        log.info("Tagged current version '{}' with '{}' in repository: {}", currentVersion, customTag, repository.getName());
+    }
+
+    /*
+     * The layout is recorded per repository when its first version is committed, so changing the configured layout
+     * does not re-lay out existing configurations. Configurations committed before layouts were recorded keep the layout
+     * of their current version, until the layout migration converts them.
+     */
+    private GitProperties.Layout getRepositoryLayout(ManagedRepository repository) {
+        var recordedLayout = repository.getLayout();
+        if (recordedLayout.isPresent()) {
+            return recordedLayout.get();
+        }
+        if (!repository.exists()) {
+            return properties.getStorage().getLayout();
+        }
+        var layout = repository.getCurrentRepositoryVersion()
+                .flatMap(version -> parseElementFiles(version.objects()).values().stream()
+                        .map(ElementFile::layout)
+                        .findFirst())
+                .orElse(properties.getStorage().getLayout());
+        repository.setLayout(layout);
+        log.debug("Recorded layout {} for repository: {}", layout, repository.getName());
+        return layout;
+    }
+
+    private Set<ManagedRepositoryFile> generateRepositoryFiles(
+            ManagedRepository repository,
+            ConfigurationContents<DSLElement<Model>, DSLElement<Node>, DSLElement<Relation>> configurationContents,
+            GitProperties.Layout layout
+    ) {
+        var codec = elementCodec.getRepositoryCodec(repository);
+        // relations are stored with the model of their source node
+        var relationModelIds = new HashMap<String, String>();
+        for (var node : configurationContents.getNodes()) {
+            node.element().getRelations().forEach(relation -> relationModelIds.put(relation.getId(), node.element().getMcmModelId()));
+        }
+
+        var repositoryFiles = new HashSet<ManagedRepositoryFile>();
+        for (var model : configurationContents.getModels()) {
+            var path = ConfigurationPaths.modelPath(layout, model.element().getId());
+            repositoryFiles.add(ManagedRepositoryFile.ofRawContent(path, encode(repository, model, codec)));
+        }
+        for (var node : configurationContents.getNodes()) {
+            var path = ConfigurationPaths.nodePath(layout, node.element().getMcmModelId(), node.element().getId());
+            repositoryFiles.add(ManagedRepositoryFile.ofRawContent(path, encode(repository, node, codec)));
+        }
+        for (var relation : configurationContents.getRelations()) {
+            var modelId = relationModelIds.getOrDefault(relation.element().getId(), relation.element().getMcmModelId());
+            var path = ConfigurationPaths.relationPath(layout, modelId, relation.element().getId());
+            repositoryFiles.add(ManagedRepositoryFile.ofRawContent(path, encode(repository, relation, codec)));
+        }
+        return repositoryFiles;
     }
 
-    private Path getElementPath(String dir, BaseAttributes el) {
-        return Path.of(dir, el.getId() + FILE_EXTENSION);
+    private byte[] encode(ManagedRepository repository, DSLElement<?> element, GitProperties.Codec codec) {
+        return elementCodec.encode(element.dsl(), codec, repository.getEncoding());
     }
 
     private Configuration parseRepositoryVersionToConfiguration(
-            String name,
-            Charset encoding,
+            ManagedRepository repository,
             ManagedRepositoryVersion version
     ) {
-        var configurationDSL = getRepositoryContents(version.objects(), encoding);
+        var name = repository.getName();
         var versionName = findName(version.tags(), true);
         var versionCustomName = findName(version.tags(), false);
         var configurationVersion = new ConfigurationVersion(version.id(), versionName, versionCustomName);
 
-        return configurationDSLTransformer.parseToConfiguration(configurationDSL, name, configurationVersion);
-    }
+        // tags may have been added to the commit since it was cached, so the version metadata is always refreshed
+        var cachedConfiguration = configurationVersionCache.get(name, version.id());
+        if (cachedConfiguration.isPresent()) {
+            var configuration = cachedConfiguration.get();
+            configuration.setName(name);
+            configuration.setVersion(configurationVersion);
+            return configuration;
+        }
 
-    private ConfigurationContents<String, String, String> getRepositoryContents(Collection<ManagedRepositoryObject> objects, Charset encoding) {
+        var configurationSources = getRepositorySources(repository, parseElementFiles(version.objects()));
+        var configuration = configurationDSLTransformer.parseSourcesToConfiguration(configurationSources, name, configurationVersion);
+        configurationVersionCache.put(name, version.id(), configuration, estimateWeight(configurationSources));
+        return configuration;
+    }
 
-        var rawModelsDirectory = MODELS_DIRECTORY.getBytes(encoding);
-        var rawNodesDirectory = NODES_DIRECTORY.getBytes(encoding);
-        var rawRelationsDirectory = RELATIONS_DIRECTORY.getBytes(encoding);
+    private long estimateWeight(ConfigurationContents<DSLSource, DSLSource, DSLSource> configurationSources) {
+        var elements = configurationSources.getModels().size()
+                + configurationSources.getNodes().size()
+                + configurationSources.getRelations().size();
+        return (long) elements * ESTIMATED_ELEMENT_WEIGHT;
+    }
 
-        var configurationContents = new ConfigurationContents<String, String, String>();
+    private Map<ManagedRepositoryObject, ElementFile> parseElementFiles(Collection<ManagedRepositoryObject> objects) {
+        var elementFiles = new LinkedHashMap<ManagedRepositoryObject, ElementFile>();
         for (var repositoryObj : objects) {
-            if (repositoryObj.rawFilePathMatches(rawModelsDirectory)) {
-                configurationContents.addModel(repositoryObj.getFileContent());
-            } else if (repositoryObj.rawFilePathMatches(rawNodesDirectory)) {
-                configurationContents.addNode(repositoryObj.getFileContent());
-            } else if (repositoryObj.rawFilePathMatches(rawRelationsDirectory)) {
-                configurationContents.addRelation(repositoryObj.getFileContent());
-            }
+            ConfigurationPaths.parse(repositoryObj.getFilePath())
+                    .ifPresent(elementFile -> elementFiles.put(repositoryObj, elementFile));
         }
-        return configurationContents;
+        return elementFiles;
+    }
+
+    private ConfigurationContents<DSLSource, DSLSource, DSLSource> getRepositorySources(
+            ManagedRepository repository,
+            Map<ManagedRepositoryObject, ElementFile> elementFiles
+    ) {
+        // blobs are content-addressed, so their ID identifies the parse result and the content is only read if needed
+        var configurationSources = new ConfigurationContents<DSLSource, DSLSource, DSLSource>();
+        var unparsedObjects = new ArrayList<ManagedRepositoryObject>();
+        elementFiles.forEach((repositoryObj, elementFile) -> {
+            var source = new DSLSource(repositoryObj.getObjectId().name(),
+                    () -> elementCodec.decode(repositoryObj.getRawFileContent(), repositoryObj.getEncoding()));
+            if (!configurationDSLTransformer.isParsed(source)) {
+                unparsedObjects.add(repositoryObj);
+            }
+            switch (elementFile.type()) {
+                case MODEL -> configurationSources.addModel(source);
+                case NODE -> configurationSources.addNode(source);
+                case RELATION -> configurationSources.addRelation(source);
+            }
+        });
+        // the contents that will actually be parsed are read in one batch rather than one object at a time
+        repository.loadObjectContents(unparsedObjects);
+        return configurationSources;
     }
 
     private ConfigurationContents<ModelDiff, NodeDiff, RelationDiff> getDiffDomainModels(
@@ -237,22 +623,22 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
         for (var diff : diffEntries) {
             var lookupProcessor = selectAffectedVersionForDiffObject(diff.getAffectedObjectType(), oldConfigurationProcessor, newConfigurationProcessor);
             var filePath = diff.getAffectedObject().getFilePath();
-            var id = extractIDFromPath(filePath);
+            var elementFile = ConfigurationPaths.parse(filePath)
+                    .orElseThrow(() -> new RepositoryReadException("Could not determine affected object type from file path: " + filePath));
+            var id = elementFile.id();
 
-            if (filePath.contains(MODELS_DIRECTORY)) {
+            if (elementFile.type() == ElementType.MODEL) {
                 var model = lookupProcessor.getModelByID(id)
                         .orElseThrow(() -> new RepositoryReadException("Model with ID '" + id + "' referenced by diff entry not found in configuration"));
                 configurationContents.addModel(new ModelDiff(model, diff.getDiffType().toString(), diff.getDiff()));
-            } else if (filePath.contains(NODES_DIRECTORY)) {
+            } else if (elementFile.type() == ElementType.NODE) {
                 var node = lookupProcessor.getNodeByID(id)
                         .orElseThrow(() -> new RepositoryReadException("Node with ID '" + id + "' referenced by diff entry not found in configuration"));
                 configurationContents.addNode(new NodeDiff(node, diff.getDiffType().toString(), diff.getDiff()));
-            } else if (filePath.contains(RELATIONS_DIRECTORY)) {
+            } else {
                 var relation = lookupProcessor.getRelationByID(id)
                         .orElseThrow(() -> new RepositoryReadException("Relation with ID '" + id + "' referenced by diff entry not found in configuration"));
                 configurationContents.addRelation(new RelationDiff(relation, diff.getDiffType().toString(), diff.getDiff()));
-            } else {
-                throw new RepositoryReadException("Could not determine affected object type from file path: " + filePath);
             }
         }
 
@@ -266,18 +652,59 @@ public class ConfigurationRepositoryActionsImpl implements ConfigurationReposito
         };
     }
 
-    private String extractIDFromPath(String path) {
-        return Path.of(path).getFileName().toString().replace(FILE_EXTENSION, "");
-    }
-
     private String defaultCommitMessage(String configurationName, int numberOfChanges) {
         return "Updated configuration '" + configurationName + "' with " + numberOfChanges + " changes staged";
     }
 
     private String findName(List<String> tags, boolean isGenerated) {
-        return tags.stream()
+        var names = tags.stream()
                 .filter(tag -> isGenerated == versionNameGenerator.isAutoGeneratedVersionName(tag))
-                .findFirst()
-                .orElse(null);
+                .toList();
+        if (isGenerated && names.size() > 1) {
+            // a squashed version carries the generated names of all versions it replaced, it is named after the most recent one
+            return versionNameGenerator.findMostRecentVersionName(names).orElse(names.getFirst());
+        }
+        return names.isEmpty() ? null : names.getFirst();
+    }
+
+    /**
+     * Collects the values of one attribute version by version, tracking the current value of every element.
+     */
+    private final class AttributeSeries {
+        private final ManagedRepository repository;
+        private final String key;
+        private final List<AttributeValue> values = new ArrayList<>();
+        private final Map<String, Object> currentValues = new HashMap<>();
+        // blobs are content-addressed, so each content is decoded once per scan, even if a later version reverts to it
+        private final Map<String, Optional<Object>> decodedValues = new HashMap<>();
+
+        private AttributeSeries(ManagedRepository repository, String key) {
+            this.repository = repository;
+            this.key = key;
+        }
+
+        // blobs holds the blob ID of every element changed by the version, keyed by element ID - null for deleted elements
+        private void addVersion(String version, SortedMap<String, String> blobs) {
+            var undecodedBlobs = blobs.values().stream()
+                    .filter(blob -> blob != null && !decodedValues.containsKey(blob))
+                    .collect(Collectors.toSet());
+            repository.readObjectContents(undecodedBlobs).forEach((blob, content) -> {
+                var source = new DSLSource(blob, () -> elementCodec.decode(content, repository.getEncoding()));
+                decodedValues.put(blob, Optional.ofNullable(configurationDSLTransformer.parseSourceToAttributes(source).get(key)));
+            });
+
+            blobs.forEach((elementId, blob) -> {
+                var value = blob == null ? null : decodedValues.get(blob).orElse(null);
+                if (Objects.equals(currentValues.get(elementId), value)) {
+                    return;
+                }
+                if (value == null) {
+                    currentValues.remove(elementId);
+                } else {
+                    currentValues.put(elementId, value);
+                }
+                values.add(new AttributeValue(version, elementId, value));
+            });
+        }
     }
 }
@@ -0,0 +1,41 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.Configuration;
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Cache of parsed configuration versions, keyed by repository name and commit hash.
+ * Since a commit can never change, cached entries never become stale; they are only dropped when the cache runs
+ * out of space or the repository is renamed or deleted.
+ * Every configuration handed to or returned from the cache is a defensive copy, so callers are free to modify it.
+ */
+public interface ConfigurationVersionCache {
+
+    /**
+     * Get a copy of the cached configuration for the given commit.
+     *
+     * @param repositoryName the name of the repository
+     * @param commitHash     the hash of the commit the configuration was parsed from
+     * @return a copy of the cached configuration, or an empty Optional if it is not cached
+     */
+    Optional<Configuration> get(@NonNull String repositoryName, @NonNull String commitHash);
+
+    /**
+     * Cache a copy of the configuration parsed from the given commit.
+     *
+     * @param repositoryName the name of the repository
+     * @param commitHash     the hash of the commit the configuration was parsed from
+     * @param configuration  the parsed configuration
+     * @param weight         the estimated size of the configuration, in bytes
+     */
+    void put(@NonNull String repositoryName, @NonNull String commitHash, @NonNull Configuration configuration, long weight);
+
+    /**
+     * Remove all cached configurations of a repository.
+     *
+     * @param repositoryName the name of the repository
+     */
+    void invalidate(@NonNull String repositoryName);
+}
@@ -0,0 +1,104 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.utils.ConfigurationUtils;
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigurationVersionCacheImpl implements ConfigurationVersionCache {
+
+    private final GitProperties properties;
+
+    // access-ordered, so iteration starts with the least recently used entry
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight = 0;
+
+    @Override
+    public Optional<Configuration> get(@NonNull String repositoryName, @NonNull String commitHash) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(new CacheKey(repositoryName, commitHash));
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        log.debug("Found cached configuration version '{}' of repository: {}", commitHash, repositoryName);
+        // cached configurations are never modified, so they can be copied outside the lock
+        return Optional.of(ConfigurationUtils.deepCopy(entry.configuration()));
+    }
+
+    @Override
+    public void put(@NonNull String repositoryName, @NonNull String commitHash, @NonNull Configuration configuration, long weight) {
+        if (!isEnabled()) {
+            return;
+        }
+        var maxWeight = properties.getVersionCache().getMaxWeight().toBytes();
+        if (weight > maxWeight) {
+            log.debug("Configuration version '{}' of repository '{}' is too large to be cached", commitHash, repositoryName);
+            return;
+        }
+
+        var entry = new CacheEntry(ConfigurationUtils.deepCopy(configuration), Math.max(weight, 0));
+        synchronized (this) {
+            var previous = entries.put(new CacheKey(repositoryName, commitHash), entry);
+            if (previous != null) {
+                totalWeight -= previous.weight();
+            }
+            totalWeight += entry.weight();
+            evictLeastRecentlyUsed(maxWeight);
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(@NonNull String repositoryName) {
+        var removed = 0;
+        var iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (entry.getKey().repositoryName().equals(repositoryName)) {
+                iterator.remove();
+                totalWeight -= entry.getValue().weight();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.debug("Invalidated {} cached configuration versions of repository: {}", removed, repositoryName);
+        }
+    }
+
+    private void evictLeastRecentlyUsed(long maxWeight) {
+        var evicted = 0;
+        var iterator = entries.values().iterator();
+        while (iterator.hasNext() && totalWeight > maxWeight) {
+            totalWeight -= iterator.next().weight();
+            iterator.remove();
+            evicted++;
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} cached configuration versions", evicted);
+        }
+    }
+
+    private boolean isEnabled() {
+        var settings = properties.getVersionCache();
+        return settings != null && settings.isEnabled();
+    }
+
+    private record CacheKey(String repositoryName, String commitHash) {
+    }
+
+    private record CacheEntry(Configuration configuration, long weight) {
+    }
+}
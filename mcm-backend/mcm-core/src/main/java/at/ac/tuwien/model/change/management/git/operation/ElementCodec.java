@@ -0,0 +1,56 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import lombok.NonNull;
+
+import java.nio.charset.Charset;
+
+/**
+ * Encodes the DSL of single elements to the content of the files they are stored in, and decodes it again,
+ * see {@link GitProperties.Codec}.
+ * The codec of a file is recognized from its content, so files of different codecs can be read side by side,
+ * e.g., versions committed before the codec of a repository was changed.
+ */
+public interface ElementCodec {
+
+    /**
+     * Get the codec new files of the given repository are encoded with.
+     * Repositories without a recorded codec that have no versions yet use the configured codec, which is then recorded;
+     * existing repositories without a recorded codec keep XML.
+     *
+     * @param repository the repository
+     * @return the codec of the repository
+     */
+    GitProperties.Codec getRepositoryCodec(@NonNull ManagedRepository repository);
+
+    /**
+     * Encode the DSL of an element.
+     *
+     * @param dsl      the DSL text of the element
+     * @param codec    the codec to encode with
+     * @param encoding the encoding of the repository, used for XML
+     * @return the content of the file the element is stored in
+     */
+    byte[] encode(@NonNull String dsl, @NonNull GitProperties.Codec codec, @NonNull Charset encoding);
+
+    /**
+     * Decode the content of a file to DSL text that can be parsed.
+     * The text is not necessarily formatted, use {@link #decodeToText(byte[], Charset)} for text that is shown or compared.
+     *
+     * @param content  the content of the file
+     * @param encoding the encoding of the repository, used for XML
+     * @return the DSL text of the element
+     */
+    String decode(byte @NonNull [] content, @NonNull Charset encoding);
+
+    /**
+     * Decode the content of a file to the formatted DSL text, which is the same for every codec.
+     * This keeps line-based diffs of elements meaningful, also between versions of different codecs.
+     *
+     * @param content  the content of the file
+     * @param encoding the encoding of the repository, used for XML
+     * @return the formatted DSL text of the element
+     */
+    String decodeToText(byte @NonNull [] content, @NonNull Charset encoding);
+}
@@ -0,0 +1,71 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.transformer.XMLTransformer;
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryReadException;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import jakarta.xml.bind.JAXBException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.util.RawParseUtils;
+
+import java.nio.charset.Charset;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class ElementCodecImpl implements ElementCodec {
+
+    private final GitProperties properties;
+    private final XMLTransformer xmlTransformer;
+
+    @Override
+    public GitProperties.Codec getRepositoryCodec(@NonNull ManagedRepository repository) {
+        var recordedCodec = repository.getCodec();
+        if (recordedCodec.isPresent()) {
+            return recordedCodec.get();
+        }
+        if (!repository.exists()) {
+            return properties.getStorage().getCodec();
+        }
+        // files committed before codecs were recorded are XML, so such repositories stay XML
+        var codec = repository.versioning().getCurrentVersionId().isEmpty()
+                ? properties.getStorage().getCodec()
+                : GitProperties.Codec.XML;
+        repository.setCodec(codec);
+        log.debug("Recorded codec {} for repository: {}", codec, repository.getName());
+        return codec;
+    }
+
+    @Override
+    public byte[] encode(@NonNull String dsl, @NonNull GitProperties.Codec codec, @NonNull Charset encoding) {
+        return switch (codec) {
+            case XML -> dsl.getBytes(encoding);
+            case BINARY -> BinaryElementFormat.encode(dsl);
+        };
+    }
+
+    @Override
+    public String decode(byte @NonNull [] content, @NonNull Charset encoding) {
+        if (BinaryElementFormat.isEncoded(content)) {
+            return BinaryElementFormat.decode(content);
+        }
+        return RawParseUtils.decode(encoding, content, 0, content.length);
+    }
+
+    @Override
+    public String decodeToText(byte @NonNull [] content, @NonNull Charset encoding) {
+        if (!BinaryElementFormat.isEncoded(content)) {
+            // XML files are stored formatted already
+            return RawParseUtils.decode(encoding, content, 0, content.length);
+        }
+        try {
+            // formatting the same way as the DSL transformer yields exactly the text of the XML codec
+            return xmlTransformer.marshal(xmlTransformer.unmarshal(BinaryElementFormat.decode(content)));
+        } catch (JAXBException e) {
+            throw new RepositoryReadException("Failed to format decoded element DSL", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedDiffType;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedVersionChanges;
+import at.ac.tuwien.model.change.management.git.operation.ConfigurationPaths.ElementType;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Derives how the models, nodes and relations of a configuration changed in a version from the files it changed.
+ */
+final class ElementFileChanges {
+
+    /**
+     * How an element changed in a version.
+     *
+     * @param type       the type of the element
+     * @param changeType {@link ManagedDiffType#ADD}, {@link ManagedDiffType#MODIFY} or {@link ManagedDiffType#DELETE}
+     */
+    record Change(ElementType type, ManagedDiffType changeType) {
+    }
+
+    private ElementFileChanges() {
+    }
+
+    /**
+     * Get the changed elements of a version.
+     * Elements that were only moved to another path with the same content, e.g., when the layout of the configuration
+     * changed, are not included.
+     *
+     * @param versionChanges the file changes of the version
+     * @return the changes of the version by element ID
+     */
+    static Map<String, Change> of(ManagedVersionChanges versionChanges) {
+        // an element may be stored at more than one path in a version, e.g., when the layout of the configuration
+        // changed, so its blobs before and after the version are compared across all its paths
+        var types = new HashMap<String, ElementType>();
+        var oldBlobs = new HashMap<String, Set<String>>();
+        var newBlobs = new HashMap<String, Set<String>>();
+        for (var change : versionChanges.changes()) {
+            ConfigurationPaths.parse(change.path()).ifPresent(elementFile -> {
+                var id = elementFile.id();
+                types.put(id, elementFile.type());
+                var old = oldBlobs.computeIfAbsent(id, k -> new HashSet<>());
+                var current = newBlobs.computeIfAbsent(id, k -> new HashSet<>());
+                if (change.oldObjectId() != null) {
+                    old.add(change.oldObjectId());
+                }
+                if (change.newObjectId() != null) {
+                    current.add(change.newObjectId());
+                }
+            });
+        }
+
+        var changes = new HashMap<String, Change>();
+        oldBlobs.forEach((id, old) -> {
+            var current = newBlobs.get(id);
+            if (old.isEmpty()) {
+                changes.put(id, new Change(types.get(id), ManagedDiffType.ADD));
+            } else if (current.isEmpty()) {
+                changes.put(id, new Change(types.get(id), ManagedDiffType.DELETE));
+            } else if (!old.equals(current)) {
+                changes.put(id, new Change(types.get(id), ManagedDiffType.MODIFY));
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,61 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedDiffType;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Persistent index of the versions in which each model, node and relation of a configuration was added, modified or deleted.
+ * Lets the history of a single element be looked up without comparing the versions of the configuration.
+ * The index of a repository is kept in its git directory and extended by the versions added to the main branch since it
+ * was last updated, which are appended to the index file. Only the indexes of recently used repositories are kept in memory,
+ * see {@link at.ac.tuwien.model.change.management.git.config.GitProperties.ElementHistory}. It is rebuilt from the whole history if the main branch no longer contains the last indexed version,
+ * e.g., after a reset.
+ */
+public interface ElementHistoryIndex {
+
+    /**
+     * A version in which an element changed.
+     *
+     * @param version    the version ID (commit hash)
+     * @param changeType how the element changed - {@link ManagedDiffType#ADD}, {@link ManagedDiffType#MODIFY} or {@link ManagedDiffType#DELETE}
+     */
+    record Entry(@NonNull String version, @NonNull ManagedDiffType changeType) {
+    }
+
+    /**
+     * Get the versions on the main branch in which an element changed.
+     * The index is brought up to date with the main branch first.
+     *
+     * @param repository the repository of the configuration
+     * @param elementId  the ID of the model, node or relation
+     * @return the changes of the element, most recent version first - an empty list if the element never existed
+     */
+    List<Entry> getHistory(@NonNull ManagedRepository repository, @NonNull String elementId);
+
+    /**
+     * Bring the index of a repository up to date with its main branch, e.g., right after a commit.
+     * Only the versions added since the last update are read.
+     *
+     * @param repository the repository of the configuration
+     */
+    void update(@NonNull ManagedRepository repository);
+
+    /**
+     * Forget the index of a renamed repository under both names.
+     * The index file is moved together with the repository, so it is loaded again under the new name.
+     *
+     * @param currentName the name of the repository before renaming it
+     * @param newName     the name of the repository after renaming it
+     */
+    void rename(@NonNull String currentName, @NonNull String newName);
+
+    /**
+     * Forget the index of a deleted repository.
+     *
+     * @param name the name of the repository
+     */
+    void remove(@NonNull String name);
+}
@@ -0,0 +1,196 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedVersionChanges;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@GitComponent
+@RequiredArgsConstructor
+@Slf4j
+public class ElementHistoryIndexImpl implements ElementHistoryIndex {
+
+    // one segment per line, each holding the changes of the versions indexed by one update
+    private static final String INDEX_FILE = "element-history.jsonl";
+    // an index file with more segments is rewritten as a single segment by the next update
+    private static final int MAX_SEGMENTS = 256;
+
+    private final GitProperties properties;
+    private final Gson gson = new Gson();
+
+    // access-ordered, so iteration starts with the least recently used index, guarded by this
+    private final LinkedHashMap<String, Index> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public List<Entry> getHistory(@NonNull ManagedRepository repository, @NonNull String elementId) {
+        var index = getUpToDateIndex(repository);
+        synchronized (index) {
+            // entries are appended as versions are indexed, so they are stored oldest first
+            return List.copyOf(index.changes.getOrDefault(elementId, Collections.emptyList()).reversed());
+        }
+    }
+
+    @Override
+    public void update(@NonNull ManagedRepository repository) {
+        getUpToDateIndex(repository);
+    }
+
+    @Override
+    public synchronized void rename(@NonNull String currentName, @NonNull String newName) {
+        indexes.remove(currentName);
+        indexes.remove(newName);
+    }
+
+    @Override
+    public synchronized void remove(@NonNull String name) {
+        indexes.remove(name);
+    }
+
+    private Index getUpToDateIndex(ManagedRepository repository) {
+        var index = getIndex(repository);
+        synchronized (index) {
+            var mainVersion = repository.versioning().getMainBranchVersionId().orElse(null);
+            if (Objects.equals(mainVersion, index.head)) {
+                return index;
+            }
+            if (index.head != null && (mainVersion == null || !repository.versioning().isOnMainBranch(index.head))) {
+                log.info("Main branch of repository '{}' no longer contains indexed version '{}', rebuilding element history index",
+                        repository.getName(), index.head);
+                index.clear();
+            }
+            var segment = new Segment(index.head, mainVersion, new HashMap<>());
+            if (mainVersion != null) {
+                var versionChanges = repository.versioning()
+                        .listFileChanges(index.head, mainVersion, ConfigurationPaths.CONFIGURATION_DIRECTORIES);
+                versionChanges.forEach(changes -> addEntries(segment.changes(), changes));
+                index.add(segment);
+                log.debug("Indexed element changes of {} versions in repository: {}", versionChanges.size(), repository.getName());
+            }
+            persist(repository, index, segment);
+            return index;
+        }
+    }
+
+    private Index getIndex(ManagedRepository repository) {
+        synchronized (this) {
+            var index = indexes.get(repository.getName());
+            if (index != null) {
+                return index;
+            }
+        }
+        // loaded outside the lock, so loading the index of one repository does not block the others
+        var loaded = load(repository);
+        synchronized (this) {
+            var index = indexes.putIfAbsent(repository.getName(), loaded);
+            evictLeastRecentlyUsed();
+            return index != null ? index : loaded;
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        var maxRepositories = properties.getElementHistory().getMaxRepositories();
+        var iterator = indexes.entrySet().iterator();
+        while (indexes.size() > Math.max(maxRepositories, 0) && iterator.hasNext()) {
+            var evicted = iterator.next();
+            iterator.remove();
+            log.debug("Evicted element history index of repository: {}", evicted.getKey());
+        }
+    }
+
+    private Index load(ManagedRepository repository) {
+        var index = new Index();
+        try {
+            var content = repository.readMetadataFile(INDEX_FILE);
+            if (content.isEmpty()) {
+                return index;
+            }
+            var segments = new String(content.get(), StandardCharsets.UTF_8).lines().filter(line -> !line.isBlank()).toList();
+            var skipped = segments.stream().filter(line -> !applySegment(index, line)).count();
+            if (skipped > 0 || segments.size() > MAX_SEGMENTS) {
+                log.debug("Element history index file of repository '{}' has {} segments, {} of them skipped, rewriting it",
+                        repository.getName(), segments.size(), skipped);
+                index.rewrite = true;
+            }
+            log.debug("Loaded element history index of {} elements from repository: {}", index.changes.size(), repository.getName());
+        } catch (RepositoryAccessException e) {
+            // the index can always be rebuilt from the history of the repository, so a broken index file is not fatal
+            log.warn("Failed to load element history index of repository '{}', rebuilding it", repository.getName(), e);
+            index.clear();
+        }
+        return index;
+    }
+
+    /*
+     * Apply a segment of the index file to the index, if it continues the versions indexed so far.
+     * Segments left partially written when the application stopped, or appended twice by concurrent readers, are skipped.
+     */
+    private boolean applySegment(Index index, String line) {
+        try {
+            var segment = gson.fromJson(line, Segment.class);
+            if (segment == null || segment.head() == null || segment.changes() == null || !Objects.equals(segment.base(), index.head)) {
+                return false;
+            }
+            index.add(segment);
+            return true;
+        } catch (JsonParseException e) {
+            return false;
+        }
+    }
+
+    private void persist(ManagedRepository repository, Index index, Segment segment) {
+        try {
+            if (index.rewrite) {
+                var content = index.head == null ? "" : gson.toJson(new Segment(null, index.head, index.changes)) + "\n";
+                repository.writeMetadataFile(INDEX_FILE, content.getBytes(StandardCharsets.UTF_8));
+                index.rewrite = false;
+            } else {
+                // only the versions indexed by this update are written, the earlier ones are on disk already
+                repository.appendMetadataFile(INDEX_FILE, (gson.toJson(segment) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (RepositoryAccessException e) {
+            // the in-memory index is up to date, the versions missing on disk are indexed again after a restart
+            log.warn("Failed to write element history index of repository: {}", repository.getName(), e);
+            index.rewrite = true;
+        }
+    }
+
+    private static void addEntries(Map<String, List<Entry>> entries, ManagedVersionChanges versionChanges) {
+        ElementFileChanges.of(versionChanges).forEach((id, change) -> entries.computeIfAbsent(id, k -> new ArrayList<>())
+                .add(new Entry(versionChanges.version(), change.changeType())));
+    }
+
+    /*
+     * The element changes of the versions after base up to and including head, oldest first.
+     * A null base marks the first segment of an index.
+     */
+    private record Segment(String base, String head, Map<String, List<Entry>> changes) {
+    }
+
+    private static final class Index {
+        // the last version on the main branch whose changes are indexed, null if no version is indexed
+        private String head;
+        private final HashMap<String, List<Entry>> changes = new HashMap<>();
+        // whether the index file does not match the index, so it is rewritten instead of appended to
+        private boolean rewrite;
+
+        private void add(Segment segment) {
+            segment.changes().forEach((id, entries) -> changes.computeIfAbsent(id, k -> new ArrayList<>()).addAll(entries));
+            head = segment.head();
+        }
+
+        private void clear() {
+            head = null;
+            changes.clear();
+            rewrite = true;
+        }
+    }
+}
@@ -18,7 +18,7 @@ public class VersionNameGeneratorImpl implements VersionNameGenerator {
     // allows versions like v1.0.0, v2.0.0, v3.0.0, ...
     // multiple digits are allowed in the MAJOR version i.e. v10.0.0, v100.0.0, ..., so long as it doesn't start with 0
     // MINOR and PATCH versions are single digits
-    private static final String VERSION_NAME_PATTERN = "^v[1-9][0-9]*\\.[0-9]\\.[0-9]$";
+    private static final Pattern VERSION_NAME_PATTERN = Pattern.compile("^v[1-9][0-9]*\\.[0-9]\\.[0-9]$");
     private static final int VERSION_INCREMENT = 1;
 
     @Override
@@ -44,7 +44,7 @@ public class VersionNameGeneratorImpl implements VersionNameGenerator {
 
     @Override
     public boolean isAutoGeneratedVersionName(@NonNull String versionName) {
-        return Pattern.matches(VERSION_NAME_PATTERN, versionName);
+        return VERSION_NAME_PATTERN.matcher(versionName).matches();
     }
 
     private Optional<String> generateVersionNameFromInteger(int version) {
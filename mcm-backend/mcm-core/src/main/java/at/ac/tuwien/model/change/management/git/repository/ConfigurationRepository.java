@@ -1,15 +1,21 @@
 package at.ac.tuwien.model.change.management.git.repository;
 
 import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
 import at.ac.tuwien.model.change.management.core.model.versioning.ModelDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.NodeDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.RelationDiff;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersionDoesNotExistException;
 import lombok.NonNull;
+import org.springframework.lang.Nullable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +51,19 @@ public interface ConfigurationRepository {
      */
     Optional<Configuration> findCurrentVersionOfConfigurationByName(@NonNull String name);
 
+    /**
+     * Reads only the given models of the most recent version of the configuration with the given name,
+     * including their nodes and the relations starting at their nodes.
+     * The cost of reading depends on the size of the given models rather than on the size of the configuration,
+     * unless the configuration is stored in the flat layout.
+     *
+     * @param name     the name of the configuration
+     * @param modelIds the IDs of the models to read
+     * @return the configuration containing those of the given models that exist in it - an empty {@link Optional}
+     * if no configuration with the given name exists or the existing configuration has no versions yet
+     */
+    Optional<Configuration> findModelsOfCurrentVersionOfConfiguration(@NonNull String name, @NonNull Collection<String> modelIds);
+
     /**
      * Finds a specified version of the configuration with the given name and reads it from its Git repository.
      * Reads from the files tracked by the commit with the given version in the repository - not the working directory.
@@ -63,6 +82,25 @@ public interface ConfigurationRepository {
      */
     List<Configuration> findAllConfigurations();
 
+    /**
+     * Finds the configuration whose most recent version contains the model with the given ID.
+     * Repositories are searched concurrently and the search stops once the model was found.
+     *
+     * @param modelId the ID of the model
+     * @return the most recent version of the configuration containing the model - an empty {@link Optional} if no
+     * configuration contains a model with the given ID
+     */
+    Optional<Configuration> findConfigurationContainingModel(@NonNull String modelId);
+
+    /**
+     * Lists the summaries of the most recent versions of all configurations.
+     * Summaries are served from a persistent catalog, only configurations whose most recent version changed since
+     * their summary was recorded are read from their Git repositories.
+     *
+     * @return a list of the summaries of all configurations that have at least one version, ordered by name
+     */
+    List<ConfigurationSummary> findAllConfigurationSummaries();
+
     /**
      * Writes the models, nodes and relations of the given configuration to its Git repository as XML files.
      * The custom commit name is used if provided in the ConfigurationVersion, generic commit name is used in any case.
@@ -103,11 +141,56 @@ public interface ConfigurationRepository {
 
     /**
      * Lists all versions of the configuration with the given name.
-     * Includes the version hash, the auto-generated version name and the user-supplied version name if there is one.
+     * Includes the version hash, the auto-generated version name and the user-supplied version name if there is one,
+     * as well as the number of elements each version added, modified and deleted.
      * This differentiates it from the `listVersions` method in {@link VersionControlRepository} which only lists the version hashes.
      *
      * @param name the name of the configuration
      * @return a list of configuration versions
      */
     List<ConfigurationVersion> listConfigurationVersions(@NonNull String name) throws RepositoryDoesNotExistException;
+
+    /**
+     * Lists a page of versions of the configuration with the given name, most recent version first.
+     * The next page starts after the last version of this page, i.e., its hash is the cursor for the next page.
+     * A page with less than {@code limit} versions is the last page.
+     *
+     * @param name   the name of the configuration
+     * @param cursor the hash of the last version of the previous page, or null to start at the most recent version
+     * @param limit  the maximum number of versions to list
+     * @return a list of at most {@code limit} configuration versions
+     * @throws RepositoryDoesNotExistException        if the Git repository of the configuration does not exist
+     * @throws RepositoryVersionDoesNotExistException if the cursor is not a version of the configuration
+     */
+    List<ConfigurationVersion> listConfigurationVersions(@NonNull String name, @Nullable String cursor, int limit) throws RepositoryDoesNotExistException;
+
+    /**
+     * Lists the versions of the configuration with the given name in which a model, node or relation was added, modified or deleted.
+     * The versions are served from a persistent per-element index, which is extended by the versions added since it was last used.
+     *
+     * @param name      the name of the configuration
+     * @param elementId the ID of the model, node or relation
+     * @return a list of the changes of the element, most recent version first - an empty list if the element never existed
+     * @throws RepositoryDoesNotExistException if the Git repository of the configuration does not exist
+     */
+    List<ElementChange> listElementHistory(@NonNull String name, @NonNull String elementId) throws RepositoryDoesNotExistException;
+
+    /**
+     * Lists the values an MCM attribute of the models, nodes and relations of a configuration took across a range of versions.
+     * Only the element files changed by each version are decoded, so the cost depends on the number of changes rather
+     * than on the number of versions times the size of the configuration.
+     *
+     * @param name        the name of the configuration
+     * @param key         the key of the MCM attribute
+     * @param fromVersion the first version of the range, or null to start at the first version
+     * @param toVersion   the last version of the range, or null to end at the most recent version
+     * @return a list of the values of the attribute, oldest version first - a value is only listed for versions in which it changed
+     * @throws RepositoryDoesNotExistException if the Git repository of the configuration does not exist
+     */
+    List<AttributeValue> listAttributeSeries(
+            @NonNull String name,
+            @NonNull String key,
+            @Nullable String fromVersion,
+            @Nullable String toVersion
+    ) throws RepositoryDoesNotExistException;
 }
@@ -1,22 +1,33 @@
 package at.ac.tuwien.model.change.management.git.repository;
 
 import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
 import at.ac.tuwien.model.change.management.core.model.versioning.ModelDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.NodeDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.RelationDiff;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
 import at.ac.tuwien.model.change.management.git.annotation.GitComponent;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryVersioningException;
 import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryDurability;
 import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryManager;
+import at.ac.tuwien.model.change.management.git.operation.ConfigurationCatalog;
+import at.ac.tuwien.model.change.management.git.operation.ConfigurationCommitCoalescer;
 import at.ac.tuwien.model.change.management.git.operation.ConfigurationRepositoryActions;
+import at.ac.tuwien.model.change.management.git.operation.ElementHistoryIndex;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -28,6 +39,10 @@ public class ConfigurationRepositoryImpl implements ConfigurationRepository {
 
     private final ConfigurationRepositoryActions repositoryActions;
     private final RepositoryManager repositoryManager;
+    private final ConfigurationCatalog configurationCatalog;
+    private final ConfigurationCommitCoalescer commitCoalescer;
+    private final RepositoryDurability repositoryDurability;
+    private final ElementHistoryIndex elementHistoryIndex;
 
     @Override
     public void createConfiguration(@NonNull String name) throws RepositoryAlreadyExistsException {
@@ -45,8 +60,13 @@ public class ConfigurationRepositoryImpl implements ConfigurationRepository {
     public void renameConfiguration(@NonNull String currentName, @NonNull String newName) throws RepositoryAlreadyExistsException {
         log.debug("Renaming repository for configuration '{}' to '{}'.", currentName, newName);
 
-        repositoryManager.consumeRepository(currentName, repository -> {
+        repositoryManager.consumeRepository(currentName, newName, repository -> {
+            if (repository.exists()) {
+                repositoryDurability.syncBeforeRename(currentName);
+            }
             repositoryActions.renameConfigurationRepository(repository, newName);
+            configurationCatalog.rename(currentName, newName);
+            elementHistoryIndex.rename(currentName, newName);
             log.info("Renamed repository for configuration '{}' to '{}'.", currentName, newName);
         });
     }
@@ -65,6 +85,20 @@ public class ConfigurationRepositoryImpl implements ConfigurationRepository {
         });
     }
 
+    @Override
+    public Optional<Configuration> findModelsOfCurrentVersionOfConfiguration(@NonNull String name, @NonNull Collection<String> modelIds) {
+        log.debug("Finding models {} of current version of configuration '{}'.", modelIds, name);
+        return withExistingConfiguration(name, repository -> {
+            var optionalConfiguration = repositoryActions.readCurrentConfigurationModels(repository, modelIds);
+            optionalConfiguration.ifPresentOrElse(
+                    configuration -> log.info("Found {} models of current version '{}' of configuration '{}'.",
+                            configuration.getModels().size(), configuration.getVersionHash(), name),
+                    () -> log.warn("Current version of configuration '{}' could not be found.", name)
+            );
+            return optionalConfiguration;
+        });
+    }
+
     @Override
     public Optional<Configuration> findSpecifiedVersionOfConfigurationByName(@NonNull String name, @NonNull String version) {
         log.debug("Finding version '{}' of configuration '{}'.", version, name);
@@ -81,44 +115,88 @@ public class ConfigurationRepositoryImpl implements ConfigurationRepository {
     @Override
     public List<Configuration> findAllConfigurations() {
         log.debug("Searching all repositories for configurations.");
+        var configurations = repositoryManager.mapAllRepositories(repository ->
+                repositoryActions.readCurrentConfigurationVersion(repository).orElse(null));
+        log.debug("Found {} configurations in repositories.", configurations.size());
+        return configurations;
+    }
+
+    @Override
+    public Optional<Configuration> findConfigurationContainingModel(@NonNull String modelId) {
+        log.debug("Searching all repositories for configuration containing model '{}'.", modelId);
+        var optionalConfiguration = repositoryManager.findInAllRepositories(repository ->
+                repositoryActions.readCurrentConfigurationVersion(repository)
+                        .filter(configuration -> configuration.getModels().stream()
+                                .anyMatch(model -> modelId.equals(model.getId()))));
+        optionalConfiguration.ifPresentOrElse(
+                configuration -> log.info("Found model '{}' in configuration '{}'.", modelId, configuration.getName()),
+                () -> log.info("No configuration contains model '{}'.", modelId)
+        );
+        return optionalConfiguration;
+    }
+
+    @Override
+    public List<ConfigurationSummary> findAllConfigurationSummaries() {
+        log.debug("Listing summaries of all configurations.");
         return repositoryManager.withAllRepositories(repositories -> {
-            var configurations = repositories.stream()
-                    .map(repositoryActions::readCurrentConfigurationVersion)
-                    .flatMap(Optional::stream)
-                    .toList();
-            log.debug("Found {} configurations in repositories.", configurations.size());
-            return configurations;
+            var names = new ArrayList<String>(repositories.size());
+            for (var repository : repositories) {
+                names.add(repository.getName());
+                // resolving HEAD only reads a ref, the configuration is only read if it changed since it was summarized
+                var currentVersion = repository.versioning().getCurrentVersionId();
+                var summary = configurationCatalog.get(repository.getName());
+                if (currentVersion.isEmpty()) {
+                    configurationCatalog.remove(repository.getName());
+                } else if (summary.isEmpty() || !currentVersion.get().equals(summary.get().version().hash())) {
+                    log.debug("Catalog entry of configuration '{}' is outdated.", repository.getName());
+                    updateCatalog(repository);
+                }
+            }
+            configurationCatalog.retainAll(names);
+
+            var summaries = configurationCatalog.getAll();
+            log.debug("Listed summaries of {} configurations.", summaries.size());
+            return summaries;
         });
     }
 
     @Override
     public Configuration saveConfiguration(@NonNull Configuration configuration) throws RepositoryDoesNotExistException {
         log.debug("Saving configuration '{}'.", configuration.getName());
-        return repositoryManager.withRepository(configuration.getName(), repository -> {
+        return commitCoalescer.commit(configuration, this::commitConfiguration);
+    }
+
+    private Configuration commitConfiguration(Configuration configuration) {
+        var savedConfiguration = repositoryManager.withRepository(configuration.getName(), repository -> {
             if (!repository.exists()) {
                 throw new RepositoryDoesNotExistException("Repository for configuration '" + configuration.getName() + "' does not exist.");
             }
-            repositoryActions.clearConfigurationRepository(repository);
-            repositoryActions.writeConfigurationToWorkingDirectory(repository, configuration);
-            var filesCount = repository.versioning().stageAll();
-            var version = repositoryActions.commitConfigurationChanges(
-                    repository,
-                    "Updated configuration '" + configuration.getName() + "' with " + filesCount + " entries",
-                    configuration.getVersionCustomName()
+            var version = repositoryActions.commitConfiguration(repository, configuration, configuration.getVersionCustomName());
+            version.ifPresentOrElse(
+                    v -> log.info("Created new version '{}' of configuration: {}.", v, configuration.getName()),
+                    () -> log.info("Configuration '{}' did not change, no new version created.", configuration.getName())
             );
-
-
-            log.info("Created new version '{}' of configuration: {}.", version, configuration.getName());
-            return repositoryActions.readCurrentConfigurationVersion(repository)
-                    .orElseThrow(() -> new RepositoryVersioningException("Failed to read new version '" +
-                            version + "' of configuration '" + configuration.getName() + "' after saving it to repository"));
+            var currentConfiguration = repositoryActions.readCurrentConfigurationVersion(repository)
+                    .orElseThrow(() -> new RepositoryVersioningException("Failed to read current version of configuration '" +
+                            configuration.getName() + "' after saving it to repository"));
+            updateCatalog(repository);
+            version.ifPresent(v -> updateElementHistory(repository));
+            return currentConfiguration;
         });
+        // waiting for the commit to be durable must not block other access to the repository
+        repositoryDurability.awaitDurable(configuration.getName());
+        return savedConfiguration;
     }
 
     @Override
     public void deleteConfiguration(@NonNull String name) {
         log.debug("Deleting repository for configuration: {}.", name);
-        repositoryManager.consumeRepository(name, ManagedRepository::deleteRepository);
+        repositoryManager.consumeRepository(name, repository -> {
+            repositoryDurability.forget(name);
+            repository.deleteRepository();
+            configurationCatalog.remove(name);
+            elementHistoryIndex.remove(name);
+        });
         log.info("Deleted repository for configuration: {}", name);
     }
 
@@ -130,7 +208,7 @@ public class ConfigurationRepositoryImpl implements ConfigurationRepository {
             boolean includeUnchanged
     ) throws RepositoryDoesNotExistException {
         log.debug("Comparing versions '{}' and '{}' of configuration '{}'.", oldVersion, newVersion, name);
-        return repositoryManager.withRepository(name, repository -> {
+        return repositoryManager.withRepositoryReadOnly(name, repository -> {
             if (!repository.exists()) {
                 throw new RepositoryDoesNotExistException("Repository for configuration '" + name + "' does not exist.");
             }
@@ -144,7 +222,7 @@ public class ConfigurationRepositoryImpl implements ConfigurationRepository {
     @Override
     public List<ConfigurationVersion> listConfigurationVersions(@NonNull String name) {
         log.debug("Listing versions of configuration '{}'.", name);
-        return repositoryManager.withRepository(name, repository -> {
+        return repositoryManager.withRepositoryReadOnly(name, repository -> {
             if (!repository.exists()) {
                 throw new RepositoryDoesNotExistException("Repository for configuration '" + name + "' does not exist.");
             }
@@ -154,8 +232,68 @@ public class ConfigurationRepositoryImpl implements ConfigurationRepository {
         });
     }
 
+    @Override
+    public List<ConfigurationVersion> listConfigurationVersions(@NonNull String name, @Nullable String cursor, int limit) {
+        log.debug("Listing up to {} versions of configuration '{}' after '{}'.", limit, name, cursor);
+        return repositoryManager.withRepositoryReadOnly(name, repository -> {
+            if (!repository.exists()) {
+                throw new RepositoryDoesNotExistException("Repository for configuration '" + name + "' does not exist.");
+            }
+            var versions = repositoryActions.getMetadataForConfigurationVersions(repository, cursor, limit);
+            log.info("Listed {} versions of configuration '{}' after '{}'.", versions.size(), name, cursor);
+            return versions;
+        });
+    }
+
+    @Override
+    public List<ElementChange> listElementHistory(@NonNull String name, @NonNull String elementId) {
+        log.debug("Listing history of element '{}' in configuration '{}'.", elementId, name);
+        return repositoryManager.withRepositoryReadOnly(name, repository -> {
+            if (!repository.exists()) {
+                throw new RepositoryDoesNotExistException("Repository for configuration '" + name + "' does not exist.");
+            }
+            var history = repositoryActions.getElementHistory(repository, elementId);
+            log.info("Listed {} changes of element '{}' in configuration '{}'.", history.size(), elementId, name);
+            return history;
+        });
+    }
+
+    @Override
+    public List<AttributeValue> listAttributeSeries(
+            @NonNull String name,
+            @NonNull String key,
+            @Nullable String fromVersion,
+            @Nullable String toVersion
+    ) {
+        log.debug("Listing values of attribute '{}' from '{}' to '{}' in configuration '{}'.", key, fromVersion, toVersion, name);
+        return repositoryManager.withRepositoryReadOnly(name, repository -> {
+            if (!repository.exists()) {
+                throw new RepositoryDoesNotExistException("Repository for configuration '" + name + "' does not exist.");
+            }
+            var series = repositoryActions.getAttributeSeries(repository, key, fromVersion, toVersion);
+            log.info("Listed {} values of attribute '{}' in configuration '{}'.", series.size(), key, name);
+            return series;
+        });
+    }
+
+    private void updateCatalog(ManagedRepository repository) {
+        repositoryActions.summarizeCurrentConfigurationVersion(repository).ifPresentOrElse(
+                configurationCatalog::put,
+                () -> configurationCatalog.remove(repository.getName())
+        );
+    }
+
+    // indexes the new version while it is at hand, a failure here must not fail the commit since the next lookup catches up
+    private void updateElementHistory(ManagedRepository repository) {
+        try {
+            elementHistoryIndex.update(repository);
+        } catch (RepositoryAccessException e) {
+            log.warn("Failed to update element history index of configuration '{}'.", repository.getName(), e);
+        }
+    }
+
     private Optional<Configuration> withExistingConfiguration(String name, Function<ManagedRepository, Optional<Configuration>> action) {
-        return repositoryManager.withRepository(name, repository -> {
+        return repositoryManager.withRepositoryReadOnly(name, repository -> {
             if (!repository.exists()) {
                 log.warn("Repository for configuration '{}' does not exist.", name);
                 return Optional.empty();
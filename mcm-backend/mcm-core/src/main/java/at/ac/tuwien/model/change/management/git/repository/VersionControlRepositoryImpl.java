@@ -20,7 +20,7 @@ public class VersionControlRepositoryImpl implements VersionControlRepository {
     @Override
     public Optional<String> getCurrentVersion(@NonNull String repositoryName) {
         log.debug("Resolving HEAD of repository '{}'.", repositoryName);
-        return repositoryManager.withRepository(repositoryName, repository -> {
+        return repositoryManager.withRepositoryReadOnly(repositoryName, repository -> {
             if (! repository.exists()) {
                 log.warn("Repository '{}' does not exist.", repositoryName);
                 return Optional.empty();
@@ -40,7 +40,7 @@ public class VersionControlRepositoryImpl implements VersionControlRepository {
     @Override
     public List<String> listVersions(@NonNull String repositoryName) {
         log.debug("Listing versions of repository '{}'.", repositoryName);
-        return repositoryManager.withRepository(repositoryName, repository -> {
+        return repositoryManager.withRepositoryReadOnly(repositoryName, repository -> {
             var versions = repository.versioning().listVersions();
             log.info("Listed {} versions of repository '{}'", versions.size(), repositoryName);
             return versions;
@@ -3,6 +3,7 @@ package at.ac.tuwien.model.change.management.core.mapper.dsl;
 import at.ac.tuwien.model.change.management.core.model.dsl.KeyValueDSL;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +23,27 @@ public class KeyValuesDSLMapperImplTest {
         assertTrue(result.stream().anyMatch(e -> e.getKey().equals("key1")));
     }
 
+    @Test
+    void testToObjectDSL_shouldSortByKey() {
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("key2", "value2");
+        input.put("key1", 1);
+        List<KeyValueDSL> result = mapper.toObjectDSL(input);
+
+        assertEquals(List.of("key1", "key2"), result.stream().map(KeyValueDSL::getKey).toList());
+        assertEquals("1", result.getFirst().getValue());
+    }
+
+    @Test
+    void testToStringDSL_shouldSortByKey() {
+        Map<String, String> input = new LinkedHashMap<>();
+        input.put("lt", "<<-");
+        input.put("bg", "red");
+        List<KeyValueDSL> result = mapper.toStringDSL(input);
+
+        assertEquals(List.of("bg", "lt"), result.stream().map(KeyValueDSL::getKey).toList());
+    }
+
     @Test
     void testToObjectDSL_NullInput() {
         assertNull(mapper.toObjectDSL(null));
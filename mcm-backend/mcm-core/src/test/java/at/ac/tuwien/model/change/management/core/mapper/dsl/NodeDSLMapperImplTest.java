@@ -59,6 +59,18 @@ public class NodeDSLMapperImplTest {
         assertEquals(node.getMcmAttributesInlineComments().size(), result.getPropertiesInlineComments().size());
     }
 
+    @Test
+    void testToDSLWithUnorderedTags_shouldSortTags() {
+        Node node = new Node();
+        node.setId("node1");
+        node.setTags(List.of("tag2", "tag1"));
+
+        NodeDSL result = nodeDSLMapper.toDSL(node);
+
+        assertEquals(List.of("tag1", "tag2"), result.getTags());
+        assertEquals(List.of("tag2", "tag1"), node.getTags());
+    }
+
     @Test
     void testFromDSLWithValidInput() {
         NodeDSL nodeDSL = new NodeDSL();
@@ -2,6 +2,7 @@ package at.ac.tuwien.model.change.management.core.service;
 
 import at.ac.tuwien.model.change.management.core.exception.*;
 import at.ac.tuwien.model.change.management.core.model.*;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
 import at.ac.tuwien.model.change.management.core.model.versioning.ModelDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.NodeDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.RelationDiff;
@@ -9,6 +10,7 @@ import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersionDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.repository.ConfigurationRepository;
 import at.ac.tuwien.model.change.management.git.repository.VersionControlRepository;
 import at.ac.tuwien.model.change.management.testutil.assertion.ConfigurationAssert;
@@ -399,6 +401,48 @@ public class ConfigurationServiceTest {
         verify(nameValidationService).decodeVersionName(customName);
     }
 
+    @Test
+    public void testGetModelOfConfiguration_existingModel_shouldReturnModel() {
+        var configuration = getEmptyConfiguration(TEST_CONFIGURATION_NAME);
+        var model = new Model();
+        model.setId("model");
+        configuration.setModels(new HashSet<>(Set.of(model)));
+        when(configurationRepository.findModelsOfCurrentVersionOfConfiguration(TEST_CONFIGURATION_NAME, List.of("model")))
+                .thenReturn(Optional.of(configuration));
+
+        var foundModel = configurationService.getModelOfConfiguration(TEST_CONFIGURATION_NAME, "model");
+
+        Assertions.assertThat(foundModel).isSameAs(model);
+        verify(configurationRepository, never()).findCurrentVersionOfConfigurationByName(any());
+    }
+
+    @Test
+    public void testGetModelOfConfiguration_nonExistingModel_shouldThrowModelNotFoundException() {
+        when(configurationRepository.findModelsOfCurrentVersionOfConfiguration(TEST_CONFIGURATION_NAME, List.of("model")))
+                .thenReturn(Optional.of(getEmptyConfiguration(TEST_CONFIGURATION_NAME)));
+
+        Assertions.assertThatThrownBy(() -> configurationService.getModelOfConfiguration(TEST_CONFIGURATION_NAME, "model"))
+                .isInstanceOf(ModelNotFoundException.class);
+    }
+
+    @Test
+    public void testGetModelOfConfiguration_nonExistingConfiguration_shouldThrowConfigurationNotFoundException() {
+        when(configurationRepository.findModelsOfCurrentVersionOfConfiguration(TEST_CONFIGURATION_NAME, List.of("model")))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertThatThrownBy(() -> configurationService.getModelOfConfiguration(TEST_CONFIGURATION_NAME, "model"))
+                .isInstanceOf(ConfigurationNotFoundException.class);
+    }
+
+    @Test
+    public void testGetModelOfConfiguration_findModelsThrowsRepositoryAccessException_shouldThrowConfigurationGetException() {
+        when(configurationRepository.findModelsOfCurrentVersionOfConfiguration(TEST_CONFIGURATION_NAME, List.of("model")))
+                .thenThrow(new RepositoryAccessException(""));
+
+        Assertions.assertThatThrownBy(() -> configurationService.getModelOfConfiguration(TEST_CONFIGURATION_NAME, "model"))
+                .isInstanceOf(ConfigurationGetException.class);
+    }
+
     @Test
     public void testGetConfigurationVersion_existingConfigurationVersion_shouldReturnConfiguration() {
         var configuration = getEmptyConfiguration(TEST_CONFIGURATION_NAME);
@@ -539,6 +583,68 @@ public class ConfigurationServiceTest {
         verify(nameValidationService).decodeVersionName(customName);
     }
 
+    @Test
+    public void testGetConfigurationContainingModel_existingModel_shouldReturnConfiguration() {
+        var configuration = getEmptyConfiguration(TEST_CONFIGURATION_NAME);
+        when(configurationRepository.findConfigurationContainingModel("model")).thenReturn(Optional.of(configuration));
+
+        var foundConfiguration = configurationService.getConfigurationContainingModel("model");
+
+        Assertions.assertThat(foundConfiguration).isEqualTo(configuration);
+        verify(configurationRepository, never()).findAllConfigurations();
+    }
+
+    @Test
+    public void testGetConfigurationContainingModel_nonExistingModel_shouldThrowModelNotFoundException() {
+        when(configurationRepository.findConfigurationContainingModel("model")).thenReturn(Optional.empty());
+
+        Assertions.assertThatThrownBy(() -> configurationService.getConfigurationContainingModel("model"))
+                .isInstanceOf(ModelNotFoundException.class);
+    }
+
+    @Test
+    public void testGetConfigurationContainingModel_findConfigurationContainingModelThrowsRepositoryAccessException_shouldThrowConfigurationGetException() {
+        when(configurationRepository.findConfigurationContainingModel("model")).thenThrow(new RepositoryAccessException(""));
+
+        Assertions.assertThatThrownBy(() -> configurationService.getConfigurationContainingModel("model"))
+                .isInstanceOf(ConfigurationGetException.class);
+    }
+
+    @Test
+    public void testGetAllConfigurationSummaries_shouldReturnAllSummaries() {
+        var summary1 = new ConfigurationSummary("configuration1", new ConfigurationVersion(TEST_CONFIGURATION_VERSION, null, null), 1, 2, 3, 100);
+        var summary2 = new ConfigurationSummary("configuration2", new ConfigurationVersion(TEST_CONFIGURATION_VERSION, null, null), 0, 0, 0, 0);
+        when(configurationRepository.findAllConfigurationSummaries()).thenReturn(List.of(summary1, summary2));
+
+        var summaries = configurationService.getAllConfigurationSummaries();
+
+        Assertions.assertThat(summaries).containsExactly(summary1, summary2);
+        verify(configurationRepository, never()).findAllConfigurations();
+    }
+
+    @Test
+    public void testGetAllConfigurationSummaries_findAllConfigurationSummariesThrowsRepositoryAccessException_shouldThrowConfigurationGetException() {
+        when(configurationRepository.findAllConfigurationSummaries()).thenThrow(new RepositoryAccessException(""));
+
+        Assertions.assertThatThrownBy(() -> configurationService.getAllConfigurationSummaries())
+                .isInstanceOf(ConfigurationGetException.class);
+    }
+
+    @Test
+    public void testGetAllConfigurationSummaries_summaryWithCustomName_shouldDecodeCustomName() {
+        var customName = "customName";
+        var summary = new ConfigurationSummary(TEST_CONFIGURATION_NAME, new ConfigurationVersion(TEST_CONFIGURATION_VERSION, null, customName), 0, 0, 0, 0);
+        when(configurationRepository.findAllConfigurationSummaries()).thenReturn(List.of(summary));
+        when(nameValidationService.decodeVersionName(customName)).thenReturn("decodedName");
+
+        var summaries = configurationService.getAllConfigurationSummaries();
+
+        Assertions.assertThat(summaries).singleElement()
+                .extracting(ConfigurationSummary::version)
+                .extracting(ConfigurationVersion::customName)
+                .isEqualTo("decodedName");
+    }
+
     @Test
     public void testListConfigurationVersions_existingConfiguration_shouldReturnVersions() {
         var versions = List.of(
@@ -592,6 +698,70 @@ public class ConfigurationServiceTest {
         verify(nameValidationService).decodeVersionName(customName);
     }
 
+    @Test
+    public void testGetElementHistory_versionWithCustomName_shouldDecodeCustomName() {
+        var change = new ElementChange(new ConfigurationVersion(TEST_CONFIGURATION_VERSION, null, "encodedName"), "MODIFY");
+        when(configurationRepository.listElementHistory(TEST_CONFIGURATION_NAME, "node1")).thenReturn(List.of(change));
+        when(nameValidationService.decodeVersionName("encodedName")).thenReturn("decodedName");
+
+        var history = configurationService.getElementHistory(TEST_CONFIGURATION_NAME, "node1");
+
+        Assertions.assertThat(history).containsExactly(
+                new ElementChange(new ConfigurationVersion(TEST_CONFIGURATION_VERSION, null, "decodedName"), "MODIFY"));
+    }
+
+    @Test
+    public void testGetElementHistory_nonExistingConfiguration_shouldThrowConfigurationDoesNotExistException() {
+        when(configurationRepository.listElementHistory(TEST_CONFIGURATION_NAME, "node1")).thenThrow(new RepositoryDoesNotExistException(""));
+
+        Assertions.assertThatThrownBy(() -> configurationService.getElementHistory(TEST_CONFIGURATION_NAME, "node1"))
+                .isInstanceOf(ConfigurationDoesNotExistException.class);
+    }
+
+    @Test
+    public void testGetAttributeSeries_blankKey_shouldThrowConfigurationValidationException() {
+        Assertions.assertThatThrownBy(() -> configurationService.getAttributeSeries(TEST_CONFIGURATION_NAME, " ", null, null))
+                .isInstanceOf(ConfigurationValidationException.class);
+        verifyNoInteractions(configurationRepository);
+    }
+
+    @Test
+    public void testGetAttributeSeries_nonExistingConfiguration_shouldThrowConfigurationDoesNotExistException() {
+        when(configurationRepository.listAttributeSeries(TEST_CONFIGURATION_NAME, "priority", null, null))
+                .thenThrow(new RepositoryDoesNotExistException(""));
+
+        Assertions.assertThatThrownBy(() -> configurationService.getAttributeSeries(TEST_CONFIGURATION_NAME, "priority", null, null))
+                .isInstanceOf(ConfigurationDoesNotExistException.class);
+    }
+
+    @Test
+    public void testListConfigurationVersions_page_shouldReturnPageFromRepository() {
+        var cursor = "1.2.0";
+        var versions = List.of(new ConfigurationVersion("1.1.0", null, null));
+        when(configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME, cursor, 1)).thenReturn(versions);
+
+        var retrievedVersions = configurationService.listConfigurationVersions(TEST_CONFIGURATION_NAME, cursor, 1);
+
+        Assertions.assertThat(retrievedVersions).containsExactlyElementsOf(versions);
+    }
+
+    @Test
+    public void testListConfigurationVersions_page_unknownCursor_shouldThrowConfigurationVersionDoesNotExistException() {
+        var cursor = "1.2.0";
+        when(configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME, cursor, 1))
+                .thenThrow(new RepositoryVersionDoesNotExistException(""));
+
+        Assertions.assertThatThrownBy(() -> configurationService.listConfigurationVersions(TEST_CONFIGURATION_NAME, cursor, 1))
+                .isInstanceOf(ConfigurationVersionDoesNotExistException.class);
+    }
+
+    @Test
+    public void testListConfigurationVersions_page_nonPositiveLimit_shouldThrowConfigurationValidationException() {
+        Assertions.assertThatThrownBy(() -> configurationService.listConfigurationVersions(TEST_CONFIGURATION_NAME, null, 0))
+                .isInstanceOf(ConfigurationValidationException.class);
+        verify(configurationRepository, never()).listConfigurationVersions(any(), any(), anyInt());
+    }
+
     @Test
     public void testCompareConfigurationVersions_nonExistingConfiguration_shouldThrowConfigurationDoesNotExistException() {
         var oldVersion = "1.0.0";
@@ -0,0 +1,56 @@
+package at.ac.tuwien.model.change.management.core.transformer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+public class DSLParseCacheTest {
+
+    private DSLParseCache cache;
+
+    @BeforeEach
+    public void setup() {
+        cache = new DSLParseCache(() -> DataSize.ofBytes(100));
+    }
+
+    @Test
+    public void testGet_cachedObject_shouldReturnSameObject() {
+        var parsed = new Object();
+        cache.put("a", parsed, 10);
+
+        Assertions.assertThat(cache.get("a")).isSameAs(parsed);
+        Assertions.assertThat(cache.contains("a")).isTrue();
+    }
+
+    @Test
+    public void testPut_objectHeavierThanMaxWeight_shouldNotCache() {
+        cache.put("a", new Object(), 101);
+
+        Assertions.assertThat(cache.contains("a")).isFalse();
+    }
+
+    @Test
+    public void testPut_maxWeightExceeded_shouldEvictLeastRecentlyUsed() {
+        cache.put("a", new Object(), 40);
+        cache.put("b", new Object(), 40);
+        cache.get("a");
+
+        cache.put("c", new Object(), 40);
+
+        Assertions.assertThat(cache.contains("a")).isTrue();
+        Assertions.assertThat(cache.contains("b")).isFalse();
+        Assertions.assertThat(cache.contains("c")).isTrue();
+    }
+
+    @Test
+    public void testPut_sameContentIdAgain_shouldReplaceWeight() {
+        cache.put("a", new Object(), 60);
+        cache.put("a", new Object(), 10);
+
+        cache.put("b", new Object(), 80);
+
+        Assertions.assertThat(cache.contains("a")).isTrue();
+        Assertions.assertThat(cache.contains("b")).isTrue();
+    }
+}
@@ -4,6 +4,7 @@ import at.ac.tuwien.model.change.management.core.configuration.JaxbConfig;
 import at.ac.tuwien.model.change.management.core.exception.DSLException;
 import at.ac.tuwien.model.change.management.core.mapper.dsl.*;
 import at.ac.tuwien.model.change.management.core.model.*;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,6 +13,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,7 +27,8 @@ import static org.junit.jupiter.api.Assertions.*;
         CoordinatesDSLMapperImpl.class,
         ModelDSLMapperImpl.class,
         XMLTransformerImpl.class,
-        JaxbConfig.class
+        JaxbConfig.class,
+        GitProperties.class
 })
 public class DSLTransformerTest {
 
@@ -126,6 +129,90 @@ public class DSLTransformerTest {
         assertNull(node.iterator().next().getRelations().iterator().next().getTarget());
     }
 
+    @Test
+    public void testParseSourcesToNodes_sameContentId_shouldOnlyLoadDSLOnce() throws DSLException {
+        Node node = getNewNode("1");
+        String nodeAsString = dslService.parseToNodeDSL(node);
+        AtomicInteger loads = new AtomicInteger();
+        DSLSource source = new DSLSource("cached-node-1", () -> {
+            loads.incrementAndGet();
+            return nodeAsString;
+        });
+
+        Node first = dslService.parseSourcesToNodes(List.of(source), List.of()).iterator().next();
+        Node second = dslService.parseSourcesToNodes(List.of(source), List.of()).iterator().next();
+
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+        assertEquals(first.getId(), second.getId());
+        assertEquals(first.getUmletPosition().getX(), second.getUmletPosition().getX());
+    }
+
+    @Test
+    public void testIsParsed_sourceParsed_shouldReturnTrue() throws DSLException {
+        String nodeAsString = dslService.parseToNodeDSL(getNewNode("1"));
+        DSLSource source = new DSLSource("parsed-node-1", () -> nodeAsString);
+
+        assertFalse(dslService.isParsed(source));
+        dslService.parseSourcesToNodes(List.of(source), List.of());
+
+        assertTrue(dslService.isParsed(source));
+        assertFalse(dslService.isParsed(DSLSource.of(nodeAsString)));
+    }
+
+    @Test
+    public void testParseSourceToModel_sameContentId_shouldReturnIndependentModels() throws DSLException {
+        Model model = new Model();
+        model.setId("1");
+        model.setTags(List.of("tag"));
+        String modelAsString = dslService.parseToModelDSL(model);
+        DSLSource source = new DSLSource("cached-model-1", () -> modelAsString);
+
+        Model first = dslService.parseSourceToModel(source);
+        first.getTags().add("modified");
+        Model second = dslService.parseSourceToModel(source);
+
+        assertEquals(List.of("tag"), second.getTags());
+    }
+
+    @Test
+    public void testParseToNodeDSL_sameContentInDifferentOrder_shouldBeIdentical() throws DSLException {
+        Node first = getNewNode("1");
+        first.setTags(List.of("b", "a"));
+        first.setMcmAttributes(new LinkedHashMap<>(Map.of("b", 2)));
+        first.getMcmAttributes().put("a", 1);
+        first.getUmletAttributes().put("lt", "<<-");
+        first.getUmletAttributes().put("bg", "red");
+
+        Node second = getNewNode("1");
+        second.setTags(List.of("a", "b"));
+        second.setMcmAttributes(new LinkedHashMap<>(Map.of("a", 1)));
+        second.getMcmAttributes().put("b", 2);
+        second.getUmletAttributes().put("bg", "red");
+        second.getUmletAttributes().put("lt", "<<-");
+
+        assertEquals(dslService.parseToNodeDSL(first), dslService.parseToNodeDSL(second));
+    }
+
+    @Test
+    public void testParseSourceToAttributes_nodeSource_shouldReturnTypedAttributesWithoutCaching() throws DSLException {
+        Node node = getNewNode("1");
+        node.setMcmAttributes(new LinkedHashMap<>(Map.of("priority", 3)));
+        node.getMcmAttributes().put("owner", "team");
+        DSLSource source = new DSLSource("attributes-node-1", () -> {
+            try {
+                return dslService.parseToNodeDSL(node);
+            } catch (DSLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Map<String, Object> attributes = dslService.parseSourceToAttributes(source);
+
+        assertEquals(Map.of("priority", 3, "owner", "team"), attributes);
+        assertFalse(dslService.isParsed(source));
+    }
+
     private Node getNewNode(String id) {
         Node node = new Node();
         node.setId(id);
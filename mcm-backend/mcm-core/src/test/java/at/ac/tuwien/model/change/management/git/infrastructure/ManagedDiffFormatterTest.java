@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.InstanceOfAssertFactories.STRING;
@@ -555,6 +556,50 @@ public class ManagedDiffFormatterTest {
         Assertions.assertThat(diffs).isEmpty();
     }
 
+    @Test
+    public void testCreateUnifiedDiff_movedFileWithSameIdentity_shouldReturnModifyDiffEntry() throws Exception {
+        var firstCommit = testRepository.commit().add("old/file.txt", "line1\n").create();
+        var secondCommit = testRepository.commit().parent(firstCommit).rm("old/file.txt").add("new/file.txt", "line2\n").create();
+
+        var diffs = managedDiffFormatter.createUnifiedDiff(firstCommit, secondCommit, false, null, this::fileName);
+
+        Assertions.assertThat(diffs).singleElement().satisfies(diff -> {
+            Assertions.assertThat(diff).isInstanceOf(ManagedDiffEntry.Modify.class);
+            Assertions.assertThat(diff.getOldObject()).hasValueSatisfying(object ->
+                    Assertions.assertThat(object.getFilePath()).isEqualTo("old/file.txt"));
+            Assertions.assertThat(diff.getNewObject()).hasValueSatisfying(object ->
+                    Assertions.assertThat(object.getFilePath()).isEqualTo("new/file.txt"));
+            Assertions.assertThat(diff.getDiff()).contains("--- a/old/file.txt", "+++ b/new/file.txt", "-line1", "+line2");
+        });
+    }
+
+    @Test
+    public void testCreateUnifiedDiff_movedFileWithSameContent_shouldReturnUnchangedDiffEntryOnlyIfIncluded() throws Exception {
+        var firstCommit = testRepository.commit().add("old/file.txt", "content").create();
+        var secondCommit = testRepository.commit().parent(firstCommit).rm("old/file.txt").add("new/file.txt", "content").create();
+
+        Assertions.assertThat(managedDiffFormatter.createUnifiedDiff(firstCommit, secondCommit, false, null, this::fileName)).isEmpty();
+        Assertions.assertThat(managedDiffFormatter.createUnifiedDiff(firstCommit, secondCommit, true, null, this::fileName))
+                .singleElement()
+                .isInstanceOf(ManagedDiffEntry.Unchanged.class);
+    }
+
+    @Test
+    public void testCreateUnifiedDiff_movedFileWithoutIdentity_shouldReturnDeleteAndAddDiffEntries() throws Exception {
+        var firstCommit = testRepository.commit().add("old/file.txt", "line1\n").create();
+        var secondCommit = testRepository.commit().parent(firstCommit).rm("old/file.txt").add("new/file.txt", "line2\n").create();
+
+        var diffs = managedDiffFormatter.createUnifiedDiff(firstCommit, secondCommit, false, null, path -> Optional.empty());
+
+        Assertions.assertThat(diffs).hasSize(2)
+                .hasAtLeastOneElementOfType(ManagedDiffEntry.Delete.class)
+                .hasAtLeastOneElementOfType(ManagedDiffEntry.Add.class);
+    }
+
+    private Optional<String> fileName(String path) {
+        return Optional.of(Path.of(path).getFileName().toString());
+    }
+
     private String removeIndexFileMode(String diffOutput) {
         var indexLinePattern = "^(index \\S+\\.\\.\\S+) \\d+$";
         return diffOutput.lines()
@@ -6,6 +6,8 @@ import lombok.SneakyThrows;
 import org.assertj.core.api.Assertions;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,10 +15,13 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -60,6 +65,13 @@ public class ManagedRepositoryFactoryTest {
                 .isInstanceOf(RepositoryAccessException.class);
     }
 
+    @Test
+    public void testGetRepositoryByName_sharedObjectStore_shouldThrowRepositoryAccessException() {
+        var name = ".shared-objects";
+        Assertions.assertThatThrownBy(() -> factory.getRepositoryByName(name))
+                .isInstanceOf(RepositoryAccessException.class);
+    }
+
     @Test
     public void testGetRepositoryByName_repositoryDirDoesNotExist_shouldThrowRepositoryAccessException() {
         var name = "test";
@@ -113,6 +125,188 @@ public class ManagedRepositoryFactoryTest {
         }
     }
 
+    @Test
+    public void testGetRepositoryByName_poolEnabled_secondAccessShouldBePoolHit() {
+        var name = "test";
+        initRepository(name);
+        when(properties.getPool()).thenReturn(new GitProperties.Pool());
+
+        factory.getRepositoryByName(name).close();
+        factory.getRepositoryByName(name).close();
+
+        Assertions.assertThat(factory.getPoolStatistics())
+                .extracting(RepositoryPoolStatistics::hits, RepositoryPoolStatistics::misses, RepositoryPoolStatistics::size)
+                .containsExactly(1L, 1L, 1);
+    }
+
+    @Test
+    public void testGetRepositoryByName_poolEnabled_uninitializedRepositoryShouldNotBePooled() {
+        when(properties.getPool()).thenReturn(new GitProperties.Pool());
+
+        factory.getRepositoryByName("test").close();
+
+        Assertions.assertThat(factory.getPoolStatistics())
+                .extracting(RepositoryPoolStatistics::misses, RepositoryPoolStatistics::size)
+                .containsExactly(0L, 0);
+    }
+
+    @Test
+    public void testGetRepositoryByName_poolExceedsMaxSize_shouldEvictLeastRecentlyUsed() {
+        var pool = new GitProperties.Pool();
+        pool.setMaxSize(1);
+        when(properties.getPool()).thenReturn(pool);
+        initRepository("test1");
+        initRepository("test2");
+
+        factory.getRepositoryByName("test1").close();
+        factory.getRepositoryByName("test2").close();
+
+        Assertions.assertThat(factory.getPoolStatistics())
+                .extracting(RepositoryPoolStatistics::evictions, RepositoryPoolStatistics::size)
+                .containsExactly(1L, 1);
+    }
+
+    @Test
+    public void testGetRepositoryByName_initializationFails_shouldReleasePooledHandle() {
+        var pool = new GitProperties.Pool();
+        pool.setMaxSize(1);
+        when(properties.getPool()).thenReturn(pool);
+        when(properties.getEncoding()).thenThrow(new IllegalStateException("Test exception")).thenReturn(StandardCharsets.UTF_8);
+        initRepository("test1");
+        initRepository("test2");
+
+        Assertions.assertThatThrownBy(() -> factory.getRepositoryByName("test1"))
+                .isInstanceOf(IllegalStateException.class);
+        factory.getRepositoryByName("test2").close();
+
+        // a leaked lease would keep the first repository from being evicted
+        Assertions.assertThat(factory.getPoolStatistics())
+                .extracting(RepositoryPoolStatistics::evictions, RepositoryPoolStatistics::size)
+                .containsExactly(1L, 1);
+    }
+
+    @Test
+    public void testGetAllRepositories_moreRepositoriesThanMaxSize_shouldNotExceedMaxSize() {
+        var pool = new GitProperties.Pool();
+        pool.setMaxSize(1);
+        when(properties.getPool()).thenReturn(pool);
+        initRepository("test1");
+        initRepository("test2");
+        initRepository("test3");
+
+        var repositories = factory.getAllRepositories();
+
+        Assertions.assertThat(repositories).hasSize(3).allMatch(ManagedRepository::exists);
+        Assertions.assertThat(factory.getPoolStatistics())
+                .extracting(RepositoryPoolStatistics::evictions, RepositoryPoolStatistics::size)
+                .containsExactly(0L, 1);
+        repositories.forEach(ManagedRepository::close);
+    }
+
+    @Test
+    public void testConfigureTasks_poolEnabled_shouldScheduleEvictionOfIdleRepositories() {
+        var pool = new GitProperties.Pool();
+        pool.setIdleTimeout(Duration.ofMillis(1));
+        when(properties.getPool()).thenReturn(pool);
+        initRepository("test");
+        factory.getRepositoryByName("test").close();
+        var taskRegistrar = new ScheduledTaskRegistrar();
+
+        factory.configureTasks(taskRegistrar);
+        await(pool.getIdleTimeout().multipliedBy(2));
+        taskRegistrar.getFixedDelayTaskList().forEach(task -> task.getRunnable().run());
+
+        Assertions.assertThat(taskRegistrar.getFixedDelayTaskList()).hasSize(1);
+        Assertions.assertThat(factory.getPoolStatistics())
+                .extracting(RepositoryPoolStatistics::evictions, RepositoryPoolStatistics::size)
+                .containsExactly(1L, 0);
+    }
+
+    @Test
+    public void testConfigureTasks_poolDisabled_shouldNotScheduleEviction() {
+        var pool = new GitProperties.Pool();
+        pool.setEnabled(false);
+        when(properties.getPool()).thenReturn(pool);
+        var taskRegistrar = new ScheduledTaskRegistrar();
+
+        factory.configureTasks(taskRegistrar);
+
+        Assertions.assertThat(taskRegistrar.getFixedDelayTaskList()).isEmpty();
+    }
+
+    @Test
+    public void testGetRepositoryByName_repositoryRenamed_shouldInvalidatePooledHandle() {
+        when(properties.getPool()).thenReturn(new GitProperties.Pool());
+        initRepository("test");
+
+        try (var repository = factory.getRepositoryByName("test")) {
+            repository.renameRepository("renamed");
+        }
+
+        Assertions.assertThat(factory.getPoolStatistics().size()).isZero();
+        try (var renamed = factory.getRepositoryByName("renamed")) {
+            Assertions.assertThat(renamed.exists()).isTrue();
+        }
+    }
+
+    @Test
+    public void testGetRepositoryByName_poolEnabled_shouldKeepTagIndexWithPooledHandle() throws IOException, GitAPIException {
+        when(properties.getPool()).thenReturn(new GitProperties.Pool());
+        when(properties.getEncoding()).thenReturn(StandardCharsets.UTF_8);
+        initRepository("test");
+        String commitHash;
+        try (var repository = factory.getRepositoryByName("test")) {
+            commitHash = repository.versioning().commit("Test commit", true);
+            repository.versioning().tagCommit(commitHash, "v1");
+            Assertions.assertThat(repository.versioning().listTags()).containsExactly("v1");
+        }
+        // tagged behind the back of the pool, so only a new scan of the tags finds it
+        try (var git = Git.open(tempDir.resolve("test").toFile()); var revWalk = new RevWalk(git.getRepository())) {
+            git.tag().setName("external").setObjectId(revWalk.parseCommit(ObjectId.fromString(commitHash))).call();
+        }
+
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.versioning().listTags()).containsExactly("v1");
+            repository.renameRepository("renamed");
+        }
+
+        try (var renamed = factory.getRepositoryByName("renamed")) {
+            Assertions.assertThat(renamed.versioning().listTags()).containsExactly("external", "v1");
+        }
+    }
+
+    @Test
+    public void testGetRepositoryByName_bareStorage_shouldCreateBareRepository() {
+        var storage = new GitProperties.Storage();
+        storage.setBare(true);
+        when(properties.getStorage()).thenReturn(storage);
+
+        try (var repository = factory.getRepositoryByName("test")) {
+            repository.versioning().init();
+        }
+
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.exists()).isTrue();
+            Assertions.assertThat(repository.isBare()).isTrue();
+        }
+        Assertions.assertThat(tempDir.resolve("test").resolve(".git")).doesNotExist();
+    }
+
+    @Test
+    public void testGetRepositoryByName_repositoryWithWorkingTree_shouldNotBeBare() {
+        initRepository("test");
+
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.exists()).isTrue();
+            Assertions.assertThat(repository.isBare()).isFalse();
+        }
+    }
+
+    @SneakyThrows
+    private static void await(Duration duration) {
+        Thread.sleep(duration);
+    }
+
     @SneakyThrows(GitAPIException.class)
     private void initRepository(String name) {
         var git = Git.init().setDirectory(tempDir.resolve(name).toFile()).call();
@@ -240,6 +240,28 @@ public class ManagedRepositoryObjectTest {
         }
     }
 
+    @Test
+    public void testGetRawFileContent_treeWalkConstructor_shouldOnlyComputeContentOnce() throws IOException {
+        try (var repository = spy(getJGitRepository())) {
+            var object = getManagedRepositoryObject(repository, "testFile", "content");
+            var firstCall = object.getRawFileContent();
+            var secondCall = object.getRawFileContent();
+            verify(repository, times(1)).open(any());
+            Assertions.assertThat(firstCall).isEqualTo(secondCall);
+        }
+    }
+
+    @Test
+    public void testGetRawFileContent_contentLoaded_shouldNotReadRepository() throws IOException {
+        try (var repository = spy(getJGitRepository())) {
+            var object = getManagedRepositoryObject(repository, "testFile", "content");
+            object.loadContent("content".getBytes(defaultEncoding));
+            Assertions.assertThat(object.isContentLoaded()).isTrue();
+            Assertions.assertThat(object.getFileContent()).isEqualTo("content");
+            verify(repository, never()).open(any());
+        }
+    }
+
     private InMemoryRepository getJGitRepository() {
         var repoDesc = new DfsRepositoryDescription("testRepo");
         return new InMemoryRepository(repoDesc);
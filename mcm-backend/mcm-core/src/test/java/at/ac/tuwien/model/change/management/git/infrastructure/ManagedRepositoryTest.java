@@ -1,8 +1,10 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDeleteException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryReadException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryWriteException;
 import at.ac.tuwien.model.change.management.git.util.PathUtils;
 import lombok.SneakyThrows;
@@ -287,6 +289,28 @@ public class ManagedRepositoryTest {
         });
     }
 
+    @Test
+    public void testGetRepositoryVersion_withPaths_shouldReturnOnlyObjectsBelowPaths() {
+        initTestRepository();
+        when(mockVersioning.isInitialized()).thenReturn(true);
+
+        testRepository.writeRepositoryFiles(List.of(
+                createManagedRepositoryFile(Path.of("models", "model1", "model.xml"), "model1"),
+                createManagedRepositoryFile(Path.of("models", "model1", "nodes", "node1.xml"), "node1"),
+                createManagedRepositoryFile(Path.of("models", "model2", "model.xml"), "model2"),
+                createManagedRepositoryFile(Path.of("test"), "test")
+        ));
+        var versionID = commitTestRepository("Initial commit");
+        var optionalVersion = testRepository.getRepositoryVersion(versionID, List.of(Path.of("models", "model1")));
+
+        Assertions.assertThat(optionalVersion).hasValueSatisfying(version -> {
+            Assertions.assertThat(version.id()).isEqualTo(versionID);
+            Assertions.assertThat(version.objects())
+                    .extracting(ManagedRepositoryObject::getFilePath)
+                    .containsExactlyInAnyOrder("models/model1/model.xml", "models/model1/nodes/node1.xml");
+        });
+    }
+
     @Test
     public void testGetRepositoryVersion_twoVersions_shouldReturnBothVersions() {
         initTestRepository();
@@ -419,6 +443,132 @@ public class ManagedRepositoryTest {
         Assertions.assertThatCode(() -> testRepository.renameRepository("newName")).doesNotThrowAnyException();
     }
 
+    @Test
+    public void testGetCodec_noCodecRecorded_shouldReturnEmptyOptional() {
+        initTestRepository();
+        Assertions.assertThat(testRepository.getCodec()).isEmpty();
+    }
+
+    @Test
+    public void testSetCodec_shouldRecordCodecInRepositoryConfig() {
+        initTestRepository();
+        testRepository.setCodec(GitProperties.Codec.BINARY);
+
+        Assertions.assertThat(testRepository.getCodec()).contains(GitProperties.Codec.BINARY);
+        try (var reopenedRepository = getjGitRepository()) {
+            Assertions.assertThat(reopenedRepository.getConfig().getString("mcm", null, "codec")).isEqualTo("binary");
+        }
+    }
+
+    @Test
+    public void testGetCodec_unknownCodecRecorded_shouldThrowRepositoryReadException() {
+        initTestRepository();
+        jGitRepository.getConfig().setString("mcm", null, "codec", "unknown");
+
+        Assertions.assertThatThrownBy(() -> testRepository.getCodec())
+                .isInstanceOf(RepositoryReadException.class);
+    }
+
+    @Test
+    public void testSetLayout_shouldRecordLayoutInRepositoryConfig() {
+        initTestRepository();
+        Assertions.assertThat(testRepository.getLayout()).isEmpty();
+
+        testRepository.setLayout(GitProperties.Layout.FLAT);
+
+        Assertions.assertThat(testRepository.getLayout()).contains(GitProperties.Layout.FLAT);
+        try (var reopenedRepository = getjGitRepository()) {
+            Assertions.assertThat(reopenedRepository.getConfig().getString("mcm", null, "layout")).isEqualTo("flat");
+        }
+    }
+
+    @Test
+    public void testLoadObjectContents_shouldLoadContentOfAllObjects() {
+        initTestRepository();
+        when(mockVersioning.isInitialized()).thenReturn(true);
+        testRepository.writeRepositoryFiles(List.of(
+                createManagedRepositoryFile(Path.of("test1"), "test1"),
+                createManagedRepositoryFile(Path.of("test2"), "test2"),
+                createManagedRepositoryFile(Path.of("dir", "test3"), "test1")
+        ));
+        commitTestRepository("Initial commit");
+        var objects = testRepository.getCurrentRepositoryVersion().orElseThrow().objects();
+
+        testRepository.loadObjectContents(objects);
+
+        Assertions.assertThat(objects).hasSize(3).allMatch(ManagedRepositoryObject::isContentLoaded);
+        Assertions.assertThat(objects).extracting(ManagedRepositoryObject::getFileContent)
+                .containsExactlyInAnyOrder("test1", "test2", "test1");
+    }
+
+    @Test
+    public void testLoadObjectContents_noObjects_shouldNotThrowException() {
+        testRepository.loadObjectContents(List.of());
+    }
+
+    @Test
+    public void testReadObjectContents_shouldReturnContentByObjectId() {
+        initTestRepository();
+        when(mockVersioning.isInitialized()).thenReturn(true);
+        testRepository.writeRepositoryFiles(List.of(
+                createManagedRepositoryFile(Path.of("test1"), "test1"),
+                createManagedRepositoryFile(Path.of("test2"), "test2")
+        ));
+        commitTestRepository("Initial commit");
+        var objectIds = testRepository.getCurrentRepositoryVersion().orElseThrow().objects().stream()
+                .map(object -> object.getObjectId().name())
+                .toList();
+
+        var contents = testRepository.readObjectContents(objectIds);
+
+        Assertions.assertThat(contents).containsOnlyKeys(objectIds);
+        Assertions.assertThat(contents.values()).extracting(content -> new String(content, StandardCharsets.UTF_8))
+                .containsExactlyInAnyOrder("test1", "test2");
+    }
+
+    @Test
+    public void testReadObjectContents_invalidObjectId_shouldThrowRepositoryReadException() {
+        initTestRepository();
+        Assertions.assertThatThrownBy(() -> testRepository.readObjectContents(List.of("invalid")))
+                .isInstanceOf(RepositoryReadException.class);
+    }
+
+    @Test
+    public void testWriteMetadataFile_shouldBeReadableAndStoredInGitDirectory() {
+        initTestRepository();
+        var content = "metadata".getBytes(StandardCharsets.UTF_8);
+
+        testRepository.writeMetadataFile("index.json", content);
+
+        Assertions.assertThat(testRepository.readMetadataFile("index.json")).hasValueSatisfying(read ->
+                Assertions.assertThat(read).isEqualTo(content));
+        Assertions.assertThat(jGitRepository.getDirectory().toPath().resolve("mcm").resolve("index.json")).exists();
+    }
+
+    @Test
+    public void testAppendMetadataFile_shouldCreateFileAndAppendToIt() {
+        initTestRepository();
+
+        testRepository.appendMetadataFile("index.jsonl", "first\n".getBytes(StandardCharsets.UTF_8));
+        testRepository.appendMetadataFile("index.jsonl", "second\n".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThat(testRepository.readMetadataFile("index.jsonl")).hasValueSatisfying(read ->
+                Assertions.assertThat(new String(read, StandardCharsets.UTF_8)).isEqualTo("first\nsecond\n"));
+    }
+
+    @Test
+    public void testReadMetadataFile_fileDoesNotExist_shouldReturnEmptyOptional() {
+        initTestRepository();
+        Assertions.assertThat(testRepository.readMetadataFile("index.json")).isEmpty();
+    }
+
+    @Test
+    public void testWriteMetadataFile_fileOutsideMetadataDirectory_shouldThrowRepositoryAccessException() {
+        initTestRepository();
+        Assertions.assertThatThrownBy(() -> testRepository.writeMetadataFile("../config", new byte[0]))
+                .isInstanceOf(RepositoryAccessException.class);
+    }
+
     @SneakyThrows(IOException.class)
     private Repository getjGitRepository() {
         return new FileRepositoryBuilder()
@@ -1,6 +1,7 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersionDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryVersioningException;
 import lombok.SneakyThrows;
 import org.assertj.core.api.Assertions;
@@ -22,6 +23,9 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ManagedRepositoryVersioningTest {
 
@@ -327,6 +331,129 @@ public class ManagedRepositoryVersioningTest {
                 .isInstanceOf(RepositoryVersioningException.class);
     }
 
+    @Test
+    public void testCommitFiles_shouldCommitFilesWithoutWritingWorkingTree() {
+        versioning.init();
+        var commitHash = versioning.commitFiles(List.of(
+                new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "content1"),
+                new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "content2")
+        ), List.of(Path.of("nodes")), "Test commit").orElseThrow();
+
+        Assertions.assertThat(commitHash).hasSize(40);
+        Assertions.assertThat(versioning.getCurrentVersionId()).contains(commitHash);
+        Assertions.assertThat(listFilesInHeadCommit()).containsExactlyInAnyOrder("content1", "content2");
+        Assertions.assertThat(resolveRepositoryPath("nodes")).doesNotExist();
+    }
+
+    @Test
+    public void testCommitFiles_replacedDirectory_shouldOnlyReplaceFilesInThatDirectory() {
+        versioning.init();
+        versioning.commitFiles(List.of(
+                new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1"),
+                new ManagedRepositoryFile(Path.of("models", "model1.xml"), "model1")
+        ), Collections.emptyList(), "Test commit");
+
+        versioning.commitFiles(List.of(
+                new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "node2")
+        ), List.of(Path.of("nodes")), "Test commit 2");
+
+        Assertions.assertThat(listFilesInHeadCommit()).containsExactlyInAnyOrder("node2", "model1");
+        Assertions.assertThat(versioning.listVersions()).hasSize(2);
+    }
+
+    @Test
+    public void testCommitFiles_unchangedFiles_shouldNotCreateCommit() {
+        versioning.init();
+        var files = List.of(
+                new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1"),
+                new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "node2")
+        );
+        var commitHash = versioning.commitFiles(files, List.of(Path.of("nodes")), "Test commit").orElseThrow();
+
+        var secondCommit = versioning.commitFiles(files, List.of(Path.of("nodes")), "Test commit 2");
+
+        Assertions.assertThat(secondCommit).isEmpty();
+        Assertions.assertThat(versioning.listVersions()).containsExactly(commitHash);
+    }
+
+    @Test
+    public void testCommitFiles_deletedFile_shouldCreateCommit() {
+        versioning.init();
+        var node1 = new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1");
+        var node2 = new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "node2");
+        versioning.commitFiles(List.of(node1, node2), List.of(Path.of("nodes")), "Test commit");
+
+        var secondCommit = versioning.commitFiles(List.of(node1), List.of(Path.of("nodes")), "Test commit 2");
+
+        Assertions.assertThat(secondCommit).isPresent();
+        Assertions.assertThat(listFilesInHeadCommit()).containsExactly("node1");
+    }
+
+    @Test
+    public void testCommitFiles_messageFunction_shouldReceiveNumberOfChangedFiles() {
+        versioning.init();
+        var node1 = new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1");
+        var node2 = new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "node2");
+        versioning.commitFiles(List.of(node1, node2), List.of(Path.of("nodes")), "Test commit");
+
+        var changes = new AtomicInteger();
+        versioning.commitFiles(List.of(
+                new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "modified"),
+                new ManagedRepositoryFile(Path.of("nodes", "node3.xml"), "node3")
+        ), List.of(Path.of("nodes")), count -> {
+            changes.set(count);
+            return "Test commit 2";
+        });
+
+        // node1 deleted, node2 modified and node3 added
+        Assertions.assertThat(changes).hasValue(3);
+    }
+
+    @Test
+    public void testCommitFiles_modifiedFile_shouldCreateCommit() {
+        versioning.init();
+        var node1 = new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1");
+        versioning.commitFiles(List.of(node1, new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "node2")),
+                List.of(Path.of("nodes")), "Test commit");
+
+        var secondCommit = versioning.commitFiles(List.of(node1, new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "modified")),
+                List.of(Path.of("nodes")), "Test commit 2");
+
+        Assertions.assertThat(secondCommit).isPresent();
+        Assertions.assertThat(listFilesInHeadCommit()).containsExactlyInAnyOrder("node1", "modified");
+        Assertions.assertThat(versioning.listVersions()).hasSize(2);
+    }
+
+    @Test
+    public void testCommitFiles_afterCheckout_shouldMoveMainButNotHead() {
+        versioning.init();
+        var commit1 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file1"), "content1")),
+                Collections.emptyList(), "Test commit").orElseThrow();
+        var commit2 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file2"), "content2")),
+                Collections.emptyList(), "Test commit 2").orElseThrow();
+        versioning.checkout(commit1, false, null);
+
+        var commit3 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file3"), "content3")),
+                Collections.emptyList(), "Test commit 3").orElseThrow();
+
+        Assertions.assertThat(versioning.getCurrentVersionId()).contains(commit1);
+        Assertions.assertThat(versioning.listVersions()).containsExactly(commit3, commit2, commit1);
+    }
+
+    @Test
+    public void testCommitFiles_fileOutsideRepository_shouldThrowRepositoryVersioningException() {
+        versioning.init();
+        var files = List.of(new ManagedRepositoryFile(Path.of("..", "outside.xml"), "content"));
+        Assertions.assertThatThrownBy(() -> versioning.commitFiles(files, Collections.emptyList(), "Test commit"))
+                .isInstanceOf(RepositoryVersioningException.class);
+    }
+
+    @Test
+    public void testCommitFiles_repositoryNotInitialized_shouldThrowRepositoryVersioningException() {
+        Assertions.assertThatThrownBy(() -> versioning.commitFiles(Collections.emptyList(), Collections.emptyList(), "Test commit"))
+                .isInstanceOf(RepositoryVersioningException.class);
+    }
+
     @Test
     public void testGetCurrentVersionId_noCommits_shouldReturnEmptyOptional() {
         versioning.init();
@@ -388,6 +515,41 @@ public class ManagedRepositoryVersioningTest {
                 .containsExactly(commitHash1, commitHash2, commitHash3);
     }
 
+    @Test
+    public void testListVersions_page_withoutCursor_shouldReturnMostRecentCommits() {
+        versioning.init();
+        versioning.commit("Test commit 1", true);
+        var commitHash2 = versioning.commit("Test commit 2", true);
+        var commitHash3 = versioning.commit("Test commit 3", true);
+        Assertions.assertThat(versioning.listVersions(null, 2))
+                .containsExactly(commitHash3, commitHash2);
+    }
+
+    @Test
+    public void testListVersions_page_withCursor_shouldReturnCommitsAfterCursor() {
+        versioning.init();
+        var commitHash1 = versioning.commit("Test commit 1", true);
+        var commitHash2 = versioning.commit("Test commit 2", true);
+        var commitHash3 = versioning.commit("Test commit 3", true);
+        Assertions.assertThat(versioning.listVersions(commitHash3, 2))
+                .containsExactly(commitHash2, commitHash1);
+        Assertions.assertThat(versioning.listVersions(commitHash1, 2)).isEmpty();
+    }
+
+    @Test
+    public void testListVersions_page_noCommits_shouldReturnEmptyList() {
+        versioning.init();
+        Assertions.assertThat(versioning.listVersions(null, 10)).isEmpty();
+    }
+
+    @Test
+    public void testListVersions_page_unknownCursor_shouldThrowRepositoryVersionDoesNotExistException() {
+        versioning.init();
+        versioning.commit("Test commit", true);
+        Assertions.assertThatThrownBy(() -> versioning.listVersions("0123456789abcdef0123456789abcdef01234567", 10))
+                .isInstanceOf(RepositoryVersionDoesNotExistException.class);
+    }
+
     @Test
     public void testListVersions_listOnDifferentBranches_shouldReturnCommitsFromSpecifiedBranch() throws Exception {
         var otherBranch = "testBranch";
@@ -1102,7 +1264,390 @@ public class ManagedRepositoryVersioningTest {
                 .isInstanceOf(RepositoryVersioningException.class);
     }
 
+    @Test
+    public void testListTags_tagAddedAfterListing_shouldIncludeNewTag() {
+        versioning.init();
+        var commitHash1 = versioning.commit("Test commit 1", true);
+        var commitHash2 = versioning.commit("Test commit 2", true);
+        versioning.tagCommit(commitHash1, "testTag1");
+        Assertions.assertThat(versioning.listTags()).containsExactly("testTag1");
+
+        versioning.tagCommit(commitHash2, "testTag2");
+
+        Assertions.assertThat(versioning.listTags()).containsExactly("testTag1", "testTag2");
+        Assertions.assertThat(versioning.listTagsForCommit(commitHash2)).containsExactly("testTag2");
+    }
+
+    @Test
+    public void testListTagsByCommit_multipleTaggedCommits_shouldReturnTagsOfEachCommit() {
+        versioning.init();
+        var commitHash1 = versioning.commit("Test commit 1", true);
+        versioning.commit("Test commit 2", true);
+        var commitHash3 = versioning.commit("Test commit 3", true);
+        versioning.tagCommit(commitHash1, "testTag1");
+        versioning.tagCommit(commitHash3, "testTag2");
+        versioning.tagCommit(commitHash3, "testTag3");
+
+        var tagsByCommit = versioning.listTagsByCommit();
+
+        Assertions.assertThat(tagsByCommit).containsOnly(
+                Map.entry(commitHash1, List.of("testTag1")),
+                Map.entry(commitHash3, List.of("testTag2", "testTag3"))
+        );
+    }
+
+    @Test
+    public void testListTagsByCommit_tagsCreatedByOtherRepositoryInstance_shouldIncludeTags() {
+        versioning.init();
+        var commitHash = versioning.commit("Test commit", true);
+        getManagedRepositoryVersioning(repository).tagCommit(commitHash, "testTag");
+
+        Assertions.assertThat(versioning.listTagsByCommit()).containsOnly(Map.entry(commitHash, List.of("testTag")));
+    }
+
+    @Test
+    public void testListTagsByCommit_repositoryNotInitialized_shouldThrowRepositoryVersioningException() {
+        Assertions.assertThatThrownBy(() -> versioning.listTagsByCommit())
+                .isInstanceOf(RepositoryVersioningException.class);
+    }
+
+    @Test
+    public void testReadNotes_notesAdded_shouldReturnNotesOfVersionsWithNote() {
+        versioning.init();
+        var commitHash1 = versioning.commit("Test commit 1", true);
+        var commitHash2 = versioning.commit("Test commit 2", true);
+        var commitHash3 = versioning.commit("Test commit 3", true);
+        versioning.addNote("refs/notes/test", commitHash1, "note 1");
+        versioning.addNote("refs/notes/test", commitHash3, "note 3");
+
+        var notes = versioning.readNotes("refs/notes/test", List.of(commitHash1, commitHash2, commitHash3));
+
+        Assertions.assertThat(notes).containsOnly(Map.entry(commitHash1, "note 1"), Map.entry(commitHash3, "note 3"));
+        Assertions.assertThat(versioning.listVersions()).containsExactly(commitHash3, commitHash2, commitHash1);
+    }
+
+    @Test
+    public void testAddNote_versionWithNote_shouldReplaceNote() {
+        versioning.init();
+        var commitHash = versioning.commit("Test commit", true);
+        versioning.addNote("refs/notes/test", commitHash, "first note");
+
+        versioning.addNote("refs/notes/test", commitHash, "second note");
+
+        Assertions.assertThat(versioning.readNotes("refs/notes/test", List.of(commitHash)))
+                .containsOnly(Map.entry(commitHash, "second note"));
+    }
+
+    @Test
+    public void testReadNotes_noNotes_shouldReturnEmptyMap() {
+        versioning.init();
+        var commitHash = versioning.commit("Test commit", true);
+
+        Assertions.assertThat(versioning.readNotes("refs/notes/test", List.of(commitHash))).isEmpty();
+    }
+
+    @Test
+    public void testAddNote_nonExistingVersion_shouldThrowRepositoryVersioningException() {
+        versioning.init();
+        versioning.commit("Test commit", true);
+
+        Assertions.assertThatThrownBy(() -> versioning.addNote("refs/notes/test", "nonExistingVersion", "note"))
+                .isInstanceOf(RepositoryVersioningException.class);
+    }
+
+    @Test
+    public void testSquashVersions_versionsNotKept_shouldSquashRunsAndMoveTagsAndNotes() {
+        versioning.init();
+        var commits = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            commits.add(versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file"), "content" + i)),
+                    Collections.emptyList(), "Test commit " + i).orElseThrow());
+            versioning.tagCommit(commits.get(i), "v1.0." + i);
+        }
+        versioning.addNote("refs/notes/test", commits.get(2), "note 2");
+        versioning.addNote("refs/notes/test", commits.get(4), "note 4");
+
+        var rewritten = versioning.squashVersions(Set.of(commits.get(0)), List.of("refs/notes/test"));
+
+        var squashed = rewritten.get(commits.get(1));
+        var tip = rewritten.get(commits.get(4));
+        Assertions.assertThat(rewritten).containsOnlyKeys(commits);
+        Assertions.assertThat(rewritten.get(commits.get(0))).isEqualTo(commits.get(0));
+        Assertions.assertThat(rewritten.get(commits.get(2))).isEqualTo(squashed);
+        Assertions.assertThat(rewritten.get(commits.get(3))).isEqualTo(squashed);
+        Assertions.assertThat(versioning.listVersions()).containsExactly(tip, squashed, commits.get(0));
+        Assertions.assertThat(resolveCommitHash(squashed).getTree()).isEqualTo(resolveCommitHash(commits.get(3)).getTree());
+        Assertions.assertThat(resolveCommitHash(tip).getTree()).isEqualTo(resolveCommitHash(commits.get(4)).getTree());
+        Assertions.assertThat(versioning.listTagsForCommit(squashed)).containsExactlyInAnyOrder("v1.0.1", "v1.0.2", "v1.0.3");
+        Assertions.assertThat(versioning.listTagsForCommit(commits.get(0))).containsExactly("v1.0.0");
+        Assertions.assertThat(versioning.readNotes("refs/notes/test", List.of(squashed, tip, commits.get(2), commits.get(4))))
+                .containsOnly(Map.entry(tip, "note 4"));
+    }
+
+    @Test
+    public void testSquashVersions_detachedHead_shouldMoveHeadToRewrittenVersion() {
+        versioning.init();
+        var commits = new ArrayList<String>();
+        for (int i = 0; i < 4; i++) {
+            commits.add(versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file"), "content" + i)),
+                    Collections.emptyList(), "Test commit " + i).orElseThrow());
+        }
+        versioning.checkout(commits.get(2));
+
+        var rewritten = versioning.squashVersions(Collections.emptySet(), Collections.emptyList());
+
+        Assertions.assertThat(versioning.getCurrentVersionId()).contains(rewritten.get(commits.get(2)));
+        Assertions.assertThat(versioning.listVersions(rewritten.get(commits.get(3)), false)).hasSize(3);
+        Assertions.assertThat(resolveCommitHash(rewritten.get(commits.get(2))).getTree())
+                .isEqualTo(resolveCommitHash(commits.get(2)).getTree());
+    }
+
+    @Test
+    public void testSquashVersions_allVersionsKept_shouldReturnEmptyMap() {
+        versioning.init();
+        var commitHash1 = versioning.commit("Test commit 1", true);
+        var commitHash2 = versioning.commit("Test commit 2", true);
+
+        Assertions.assertThat(versioning.squashVersions(Set.of(commitHash1), Collections.emptyList())).isEmpty();
+        Assertions.assertThat(versioning.listVersions()).containsExactly(commitHash2, commitHash1);
+    }
+
+    @Test
+    public void testInit_bareRepository_shouldCreateRepositoryWithoutWorkingTree() throws IOException {
+        try (var bareRepository = getBareJGitRepository()) {
+            getManagedRepositoryVersioning(bareRepository).init();
+
+            Assertions.assertThat(repositoryExists(bareRepository)).isTrue();
+            Assertions.assertThat(bareRepository.getBranch()).isEqualTo(REF_MAIN);
+            Assertions.assertThat(bareRepository.getConfig().getBoolean("core", "bare", false)).isTrue();
+            Assertions.assertThat(getWorkDir().resolve(".git")).doesNotExist();
+        }
+    }
+
+    @Test
+    public void testInit_reftable_shouldStoreRefsInReftable() {
+        var reftableVersioning = new ManagedRepositoryVersioning(repository, testRepo, encoding, getWorkDir(), true);
+        reftableVersioning.init();
+
+        var commitHash1 = reftableVersioning.commit("Test commit 1", true);
+        var commitHash2 = reftableVersioning.commit("Test commit 2", true);
+        reftableVersioning.tagCommit(commitHash1, "testTag");
+
+        Assertions.assertThat(repository.getConfig().getString("extensions", null, "refStorage")).isEqualTo("reftable");
+        Assertions.assertThat(getWorkDir().resolve(".git").resolve("reftable")).isDirectory();
+        Assertions.assertThat(reftableVersioning.listVersions()).containsExactly(commitHash2, commitHash1);
+        Assertions.assertThat(reftableVersioning.listTagsForCommit(commitHash1)).containsExactly("testTag");
+        Assertions.assertThat(reftableVersioning.getCurrentVersionId()).contains(commitHash2);
+    }
+
+    @Test
+    public void testInit_shouldEnableCommitGraph() {
+        versioning.init();
+        Assertions.assertThat(repository.getConfig().getBoolean("core", "commitGraph", false)).isTrue();
+        Assertions.assertThat(repository.getConfig().getBoolean("gc", "writeCommitGraph", false)).isTrue();
+    }
+
+    @Test
+    public void testRunMaintenance_shouldWriteCommitGraphAndBitmapIndex() throws IOException {
+        versioning.init();
+        writeFileToTestRepo("testFile", "content");
+        versioning.stageAll();
+        var commitHash1 = versioning.commit("Test commit 1", true);
+        var commitHash2 = versioning.commit("Test commit 2", true);
+
+        versioning.runMaintenance(false);
+
+        var objectsDir = getWorkDir().resolve(".git").resolve("objects");
+        Assertions.assertThat(objectsDir.resolve("info").resolve("commit-graph")).isRegularFile();
+        try (var packFiles = Files.list(objectsDir.resolve("pack"))) {
+            Assertions.assertThat(packFiles.map(Path::toString)).anyMatch(file -> file.endsWith(".bitmap"));
+        }
+        Assertions.assertThat(versioning.listVersions()).containsExactly(commitHash2, commitHash1);
+    }
+
+    @Test
+    public void testRunMaintenance_onlyIfNeededWithFewObjects_shouldNotWriteCommitGraph() {
+        versioning.init();
+        versioning.commit("Test commit", true);
+
+        versioning.runMaintenance(true);
+
+        Assertions.assertThat(getWorkDir().resolve(".git").resolve("objects").resolve("info").resolve("commit-graph")).doesNotExist();
+    }
+
+    @Test
+    public void testRunMaintenance_repositoryNotInitialized_shouldThrowRepositoryVersioningException() {
+        Assertions.assertThatThrownBy(() -> versioning.runMaintenance(false))
+                .isInstanceOf(RepositoryVersioningException.class);
+    }
+
+    @Test
+    public void testNeedsMaintenance_looseObjectsAboveLimit_shouldReturnTrue() {
+        versioning.init();
+        versioning.commit("Test commit", true);
+        Assertions.assertThat(versioning.needsMaintenance(0, 10)).isTrue();
+        Assertions.assertThat(versioning.needsMaintenance(100, 10)).isFalse();
+    }
+
+    @Test
+    public void testNeedsMaintenance_afterMaintenance_shouldReturnFalse() {
+        versioning.init();
+        versioning.commit("Test commit", true);
+
+        versioning.runMaintenance(false);
+
+        Assertions.assertThat(versioning.needsMaintenance(0, 1)).isFalse();
+    }
+
+    @Test
+    public void testInit_alreadyInitialized_shouldNotThrowException() {
+        versioning.init();
+        Assertions.assertThatCode(() -> versioning.init()).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testCheckout_bareRepository_shouldOnlyMoveHead() throws IOException {
+        try (var bareRepository = getBareJGitRepository()) {
+            var bareVersioning = getManagedRepositoryVersioning(bareRepository);
+            bareVersioning.init();
+            var commit1 = bareVersioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file1"), "content1")),
+                    Collections.emptyList(), "Test commit").orElseThrow();
+            var commit2 = bareVersioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file2"), "content2")),
+                    Collections.emptyList(), "Test commit 2").orElseThrow();
+
+            bareVersioning.checkout(commit1);
+            Assertions.assertThat(bareVersioning.getCurrentVersionId()).contains(commit1);
+            Assertions.assertThat(bareRepository.getFullBranch()).isEqualTo(commit1);
+
+            bareVersioning.checkout(REF_MAIN);
+            Assertions.assertThat(bareVersioning.getCurrentVersionId()).contains(commit2);
+            Assertions.assertThat(bareRepository.getBranch()).isEqualTo(REF_MAIN);
+            Assertions.assertThat(bareVersioning.listVersions()).containsExactly(commit2, commit1);
+        }
+    }
+
+    @Test
+    public void testReset_bareRepository_shouldOnlyMoveBranch() throws IOException {
+        try (var bareRepository = getBareJGitRepository()) {
+            var bareVersioning = getManagedRepositoryVersioning(bareRepository);
+            bareVersioning.init();
+            var commit1 = bareVersioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file1"), "content1")),
+                    Collections.emptyList(), "Test commit").orElseThrow();
+            bareVersioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file2"), "content2")),
+                    Collections.emptyList(), "Test commit 2");
+
+            bareVersioning.reset(commit1);
+
+            Assertions.assertThat(bareVersioning.getCurrentVersionId()).contains(commit1);
+            Assertions.assertThat(bareRepository.getBranch()).isEqualTo(REF_MAIN);
+            Assertions.assertThat(bareVersioning.listVersions()).containsExactly(commit1);
+        }
+    }
+
+    @Test
+    public void testReset_bareRepositoryNonExistingVersion_shouldThrowRepositoryVersioningException() throws IOException {
+        try (var bareRepository = getBareJGitRepository()) {
+            var bareVersioning = getManagedRepositoryVersioning(bareRepository);
+            bareVersioning.init();
+            Assertions.assertThatThrownBy(() -> bareVersioning.reset("nonExistingVersion"))
+                    .isInstanceOf(RepositoryVersioningException.class);
+        }
+    }
+
+    @Test
+    public void testStageAll_bareRepository_shouldThrowRepositoryVersioningException() throws IOException {
+        try (var bareRepository = getBareJGitRepository()) {
+            var bareVersioning = getManagedRepositoryVersioning(bareRepository);
+            bareVersioning.init();
+            Assertions.assertThatThrownBy(bareVersioning::stageAll)
+                    .isInstanceOf(RepositoryVersioningException.class);
+        }
+    }
+
     @SneakyThrows(IOException.class)
+    @Test
+    public void testListFileChanges_multipleVersions_shouldListChangesOfEachVersion() {
+        versioning.init();
+        var directories = List.of(Path.of("nodes"));
+        var commit1 = versioning.commitFiles(List.of(
+                new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1"),
+                new ManagedRepositoryFile(Path.of("nodes", "node2.xml"), "node2")
+        ), directories, "Test commit").orElseThrow();
+        var commit2 = versioning.commitFiles(List.of(
+                new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1 changed")
+        ), directories, "Test commit 2").orElseThrow();
+
+        var changes = versioning.listFileChanges(null, commit2, directories);
+
+        Assertions.assertThat(changes).extracting(ManagedVersionChanges::version).containsExactly(commit1, commit2);
+        Assertions.assertThat(changes.get(0).changes())
+                .allMatch(change -> change.oldObjectId() == null && change.newObjectId() != null)
+                .extracting(ManagedFileChange::path)
+                .containsExactlyInAnyOrder("nodes/node1.xml", "nodes/node2.xml");
+        Assertions.assertThat(changes.get(1).changes())
+                .extracting(ManagedFileChange::path)
+                .containsExactlyInAnyOrder("nodes/node1.xml", "nodes/node2.xml");
+        Assertions.assertThat(changes.get(1).changes())
+                .filteredOn(change -> change.path().equals("nodes/node2.xml"))
+                .singleElement()
+                .satisfies(change -> Assertions.assertThat(change.newObjectId()).isNull());
+    }
+
+    @Test
+    public void testListFileChanges_since_shouldOnlyListLaterVersions() {
+        versioning.init();
+        var directories = List.of(Path.of("nodes"));
+        var commit1 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1")),
+                directories, "Test commit").orElseThrow();
+        var commit2 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1 changed")),
+                directories, "Test commit 2").orElseThrow();
+
+        var changes = versioning.listFileChanges(commit1, commit2, directories);
+
+        Assertions.assertThat(changes).extracting(ManagedVersionChanges::version).containsExactly(commit2);
+    }
+
+    @Test
+    public void testListFileChanges_pathsFiltered_shouldSkipVersionsWithoutMatchingChanges() {
+        versioning.init();
+        versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("nodes", "node1.xml"), "node1")),
+                List.of(Path.of("nodes")), "Test commit");
+        var commit2 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("models", "model1.xml"), "model1")),
+                List.of(Path.of("models")), "Test commit 2").orElseThrow();
+
+        var changes = versioning.listFileChanges(null, commit2, List.of(Path.of("models")));
+
+        Assertions.assertThat(changes).singleElement().satisfies(versionChanges -> {
+            Assertions.assertThat(versionChanges.version()).isEqualTo(commit2);
+            Assertions.assertThat(versionChanges.changes()).extracting(ManagedFileChange::path).containsExactly("models/model1.xml");
+        });
+    }
+
+    @Test
+    public void testIsOnMainBranch_afterReset_shouldOnlyContainRemainingVersions() {
+        versioning.init();
+        var commit1 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file1"), "content1")),
+                Collections.emptyList(), "Test commit").orElseThrow();
+        var commit2 = versioning.commitFiles(List.of(new ManagedRepositoryFile(Path.of("file2"), "content2")),
+                Collections.emptyList(), "Test commit 2").orElseThrow();
+        Assertions.assertThat(versioning.isOnMainBranch(commit1)).isTrue();
+        Assertions.assertThat(versioning.isOnMainBranch(commit2)).isTrue();
+        Assertions.assertThat(versioning.getMainBranchVersionId()).contains(commit2);
+
+        versioning.reset(commit1);
+
+        Assertions.assertThat(versioning.isOnMainBranch(commit1)).isTrue();
+        Assertions.assertThat(versioning.isOnMainBranch(commit2)).isFalse();
+        Assertions.assertThat(versioning.getMainBranchVersionId()).contains(commit1);
+    }
+
+    @Test
+    public void testIsOnMainBranch_nonExistingVersion_shouldReturnFalse() {
+        versioning.init();
+        versioning.commit("Test commit", true);
+        Assertions.assertThat(versioning.isOnMainBranch("0123456789abcdef0123456789abcdef01234567")).isFalse();
+    }
+
     private Repository getJGitRepository() {
         return new FileRepositoryBuilder()
                 .setWorkTree(tempDir.resolve(testRepo).toFile())
@@ -1116,6 +1661,13 @@ public class ManagedRepositoryVersioningTest {
                 .isInstanceOf(RepositoryVersioningException.class);
     }
 
+    private Repository getBareJGitRepository() throws IOException {
+        return new FileRepositoryBuilder()
+                .setGitDir(getWorkDir().toFile())
+                .setBare()
+                .build();
+    }
+
     private ManagedRepositoryVersioning getManagedRepositoryVersioning(Repository repository) {
         return new ManagedRepositoryVersioning(repository, testRepo, encoding, getWorkDir());
     }
@@ -0,0 +1,138 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryWriteException;
+import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class RepositoryDurabilityTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private GitProperties properties;
+    private RepositoryDurability durability;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        properties.setRepositories(tempDir);
+        durability = new RepositoryDurabilityImpl(properties);
+    }
+
+    @Test
+    public void testAwaitDurable_perCommit_shouldSyncImmediately() {
+        properties.getCommit().setDurability(GitProperties.Durability.PER_COMMIT);
+        initRepositoryWithCommit("test");
+
+        durability.awaitDurable("test");
+
+        Assertions.assertThat(durability.syncPendingRepositories()).isEmpty();
+    }
+
+    @Test
+    public void testAwaitDurable_buffered_shouldSyncWithNextPeriodicSync() {
+        properties.getCommit().setDurability(GitProperties.Durability.BUFFERED);
+        initRepositoryWithCommit("test1");
+        initRepositoryWithCommit("test2");
+
+        durability.awaitDurable("test1");
+        durability.awaitDurable("test2");
+        durability.awaitDurable("test1");
+
+        Assertions.assertThat(durability.syncPendingRepositories()).containsExactlyInAnyOrder("test1", "test2");
+        Assertions.assertThat(durability.syncPendingRepositories()).isEmpty();
+    }
+
+    @Test
+    public void testAwaitDurable_group_shouldWaitForNextPeriodicSync() throws Exception {
+        properties.getCommit().setDurability(GitProperties.Durability.GROUP);
+        initRepositoryWithCommit("test");
+
+        var acknowledged = CompletableFuture.runAsync(() -> durability.awaitDurable("test"));
+        // give the commit time to be registered for the next sync
+        Thread.sleep(200);
+        Assertions.assertThat(acknowledged).isNotDone();
+
+        Assertions.assertThat(durability.syncPendingRepositories()).containsExactly("test");
+        acknowledged.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testAwaitDurable_groupWithoutPeriodicSync_shouldSyncImmediately() {
+        properties.getCommit().setDurability(GitProperties.Durability.GROUP);
+        properties.getCommit().setSyncInterval(Duration.ZERO);
+        initRepositoryWithCommit("test");
+
+        durability.awaitDurable("test");
+
+        Assertions.assertThat(durability.syncPendingRepositories()).isEmpty();
+    }
+
+    @Test
+    public void testAwaitDurable_deletedRepository_shouldNotFail() {
+        properties.getCommit().setDurability(GitProperties.Durability.PER_COMMIT);
+        durability.forget("missing");
+
+        Assertions.assertThatCode(() -> durability.awaitDurable("missing")).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAwaitDurable_missingRepository_shouldThrowRepositoryWriteException() {
+        properties.getCommit().setDurability(GitProperties.Durability.PER_COMMIT);
+
+        Assertions.assertThatThrownBy(() -> durability.awaitDurable("missing"))
+                .isInstanceOf(RepositoryWriteException.class);
+    }
+
+    @Test
+    public void testAwaitDurable_groupRepositoryRenamedBeforeSync_shouldWaitForNextPeriodicSync() throws Exception {
+        properties.getCommit().setDurability(GitProperties.Durability.GROUP);
+        initRepositoryWithCommit("test");
+
+        var acknowledged = CompletableFuture.runAsync(() -> durability.awaitDurable("test"));
+        Thread.sleep(200);
+        durability.syncBeforeRename("test");
+        Files.move(tempDir.resolve("test"), tempDir.resolve("renamed"));
+        Assertions.assertThat(acknowledged).isNotDone();
+
+        Assertions.assertThat(durability.syncPendingRepositories()).containsExactly("test");
+        acknowledged.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testAwaitDurable_groupRepositoryMissingAtSync_shouldFailWaitingCallers() throws Exception {
+        properties.getCommit().setDurability(GitProperties.Durability.GROUP);
+        initRepositoryWithCommit("test");
+
+        var acknowledged = CompletableFuture.runAsync(() -> durability.awaitDurable("test"));
+        Thread.sleep(200);
+        Files.move(tempDir.resolve("test"), tempDir.resolve("renamed"));
+        durability.syncPendingRepositories();
+
+        Assertions.assertThatThrownBy(() -> acknowledged.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RepositoryWriteException.class);
+    }
+
+    @SneakyThrows({GitAPIException.class, IOException.class})
+    private void initRepositoryWithCommit(String name) {
+        var repositoryPath = tempDir.resolve(name);
+        try (var git = Git.init().setDirectory(repositoryPath.toFile()).setInitialBranch("main").call()) {
+            Files.writeString(repositoryPath.resolve("file.xml"), "content");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Test commit").call();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import org.assertj.core.api.Assertions;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+public class RepositoryMaintenanceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private GitProperties properties;
+    private RepositoryMaintenance maintenance;
+    private ManagedRepositoryFactory factory;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        properties.setRepositories(tempDir);
+        properties.getPool().setEnabled(false);
+        factory = new ManagedRepositoryFactoryImpl(properties);
+        maintenance = new RepositoryMaintenanceImpl(properties, new RepositoryManagerImpl(factory, properties), factory);
+    }
+
+    @Test
+    public void testMaintainRepositories_noRepositories_shouldMaintainNothing() {
+        Assertions.assertThat(maintenance.maintainRepositories()).isEmpty();
+    }
+
+    @Test
+    public void testMaintainRepositories_looseObjectsAboveThreshold_shouldPackObjects() {
+        properties.getMaintenance().setLooseObjectThreshold(0);
+        var commitHash = initRepositoryWithCommit("test");
+
+        var maintained = maintenance.maintainRepositories();
+
+        Assertions.assertThat(maintained).containsExactly("test");
+        Assertions.assertThat(tempDir.resolve("test").resolve(".git").resolve("objects").resolve("info").resolve("commit-graph"))
+                .isRegularFile();
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.versioning().needsMaintenance(0, 1)).isFalse();
+            Assertions.assertThat(repository.versioning().listVersions()).containsExactly(commitHash);
+        }
+    }
+
+    @Test
+    public void testMaintainRepositories_belowThresholds_shouldMaintainNothing() {
+        initRepositoryWithCommit("test");
+        Assertions.assertThat(maintenance.maintainRepositories()).isEmpty();
+    }
+
+    @Test
+    public void testMaintainRepositories_multipleRepositories_shouldOnlyMaintainRepositoriesAboveThreshold() {
+        properties.getMaintenance().setLooseObjectThreshold(0);
+        initRepositoryWithCommit("test1");
+        initRepositoryWithCommit("test2");
+        try (var repository = factory.getRepositoryByName("test2")) {
+            repository.versioning().runMaintenance(false);
+        }
+
+        Assertions.assertThat(maintenance.maintainRepositories()).containsExactly("test1");
+    }
+
+    @Test
+    public void testMaintainRepositories_sharedObjectsEnabled_shouldMoveObjectsToSharedStore() throws IOException {
+        properties.getSharedObjects().setEnabled(true);
+        properties.getMaintenance().setLooseObjectThreshold(0);
+        var commitHash1 = initRepositoryWithFile("test1", "content");
+        var commitHash2 = initRepositoryWithFile("test2", "content");
+
+        var maintained = maintenance.maintainRepositories();
+
+        Assertions.assertThat(maintained).containsExactlyInAnyOrder("test1", "test2");
+        Assertions.assertThat(factory.getAllRepositories()).extracting(ManagedRepository::getName)
+                .containsExactlyInAnyOrder("test1", "test2");
+        var objectsDir = tempDir.resolve("test1").resolve(".git").resolve("objects");
+        Assertions.assertThat(objectsDir.resolve("info").resolve("alternates")).isRegularFile();
+        try (var packFiles = Files.list(objectsDir.resolve("pack"))) {
+            Assertions.assertThat(packFiles.filter(path -> path.toString().endsWith(".pack"))).isEmpty();
+        }
+        try (var repository = factory.getRepositoryByName("test1")) {
+            Assertions.assertThat(repository.versioning().listVersions()).containsExactly(commitHash1);
+            Assertions.assertThat(repository.getRepositoryVersion(commitHash1)).hasValueSatisfying(version ->
+                    Assertions.assertThat(version.objects()).singleElement()
+                            .satisfies(object -> Assertions.assertThat(object.getFileContent()).isEqualTo("content")));
+        }
+        try (var store = openSharedObjectStore()) {
+            Assertions.assertThat(store.getObjectDatabase().has(ObjectId.fromString(commitHash1))).isTrue();
+            Assertions.assertThat(store.getObjectDatabase().has(ObjectId.fromString(commitHash2))).isTrue();
+        }
+    }
+
+    @Test
+    public void testMaintainRepositories_sharedObjectsEnabled_shouldKeepNewObjectsReadable() {
+        properties.getSharedObjects().setEnabled(true);
+        initRepositoryWithFile("test", "content");
+        maintenance.maintainRepositories();
+
+        try (var repository = factory.getRepositoryByName("test")) {
+            var commitHash = repository.versioning().commitFiles(
+                    List.of(new ManagedRepositoryFile(Path.of("file"), "changed content")),
+                    Collections.emptyList(), "Test commit 2").orElseThrow();
+            Assertions.assertThat(repository.getRepositoryVersion(commitHash)).hasValueSatisfying(version ->
+                    Assertions.assertThat(version.objects()).singleElement()
+                            .satisfies(object -> Assertions.assertThat(object.getFileContent()).isEqualTo("changed content")));
+        }
+    }
+
+    @Test
+    public void testMaintainRepositories_repositoryDeleted_shouldRemoveItsRefsFromSharedStore() throws IOException {
+        properties.getSharedObjects().setEnabled(true);
+        initRepositoryWithFile("test1", "content1");
+        initRepositoryWithFile("test2", "content2");
+        maintenance.maintainRepositories();
+
+        try (var repository = factory.getRepositoryByName("test2")) {
+            repository.deleteRepository();
+        }
+        maintenance.maintainRepositories();
+
+        try (var store = openSharedObjectStore()) {
+            Assertions.assertThat(store.getRefDatabase().getRefsByPrefix("refs/repositories/test1/")).isNotEmpty();
+            Assertions.assertThat(store.getRefDatabase().getRefsByPrefix("refs/repositories/test2/")).isEmpty();
+        }
+    }
+
+    @Test
+    public void testRunMaintenance_sharedObjectStoreWithNewVersions_shouldCopyRefsOfNewVersionsBeforeRepacking() throws IOException {
+        properties.getSharedObjects().setEnabled(true);
+        initRepositoryWithFile("test1", "content1");
+        initRepositoryWithFile("test2", "content2");
+        maintenance.maintainRepositories();
+
+        try (var repository = factory.getRepositoryByName("test1")) {
+            // the content is only read from the store, where it is referenced by the refs of test2 alone
+            var commitHash = repository.versioning().commitFiles(List.of(new ManagedRepositoryFile(Path.of("file"), "content2")),
+                    Collections.emptyList(), "Test commit 2").orElseThrow();
+            var objectStore = factory.getSharedObjectStore().orElseThrow();
+            objectStore.removeRepositories(List.of("test1"));
+
+            objectStore.runMaintenance(List.of(repository), new PackConfig());
+
+            try (var store = openSharedObjectStore()) {
+                Assertions.assertThat(store.getRefDatabase().getRefsByPrefix("refs/repositories/test1/"))
+                        .extracting(ref -> ref.getObjectId().name())
+                        .contains(commitHash);
+            }
+            Assertions.assertThat(repository.getRepositoryVersion(commitHash)).hasValueSatisfying(version ->
+                    Assertions.assertThat(version.objects()).singleElement()
+                            .satisfies(object -> Assertions.assertThat(object.getFileContent()).isEqualTo("content2")));
+        }
+    }
+
+    @Test
+    public void testMaintainRepositories_sharedObjectsDisabled_shouldNotCreateSharedStore() {
+        properties.getMaintenance().setLooseObjectThreshold(0);
+        initRepositoryWithCommit("test");
+
+        maintenance.maintainRepositories();
+
+        Assertions.assertThat(tempDir.resolve(".shared-objects")).doesNotExist();
+        Assertions.assertThat(tempDir.resolve("test").resolve(".git").resolve("objects").resolve("info").resolve("alternates"))
+                .doesNotExist();
+    }
+
+    private String initRepositoryWithFile(String name, String content) {
+        try (var repository = factory.getRepositoryByName(name)) {
+            repository.versioning().init();
+            return repository.versioning().commitFiles(List.of(new ManagedRepositoryFile(Path.of("file"), content)),
+                    Collections.emptyList(), "Test commit").orElseThrow();
+        }
+    }
+
+    private Repository openSharedObjectStore() throws IOException {
+        return new FileRepositoryBuilder()
+                .setGitDir(tempDir.resolve(".shared-objects").toFile())
+                .setMustExist(true)
+                .build();
+    }
+
+    private String initRepositoryWithCommit(String name) {
+        try (var repository = factory.getRepositoryByName(name)) {
+            repository.versioning().init();
+            return repository.versioning().commit("Test commit", true);
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package at.ac.tuwien.model.change.management.git.infrastructure;
 
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -29,11 +37,21 @@ public class RepositoryManagerTest {
     @Mock
     private ManagedRepositoryFactory mockFactory;
 
+    @Spy
+    private GitProperties properties = new GitProperties();
+
     @InjectMocks
     private RepositoryManagerImpl repositoryManager;
 
     private final String testName = "testRepository";
 
+    @BeforeEach
+    public void setup() {
+        // repositories are locked by name
+        lenient().when(mockRepository.getName()).thenReturn(testName);
+        lenient().when(secondMockRepository.getName()).thenReturn("secondTestRepository");
+    }
+
     @Test
     public void testWithRepository_withFunction_shouldCallFunctionOnRepository() {
         when(mockFactory.getRepositoryByName(testName)).thenReturn(mockRepository);
@@ -58,6 +76,65 @@ public class RepositoryManagerTest {
         inOrder.verify(mockRepository).close();
     }
 
+    @Test
+    public void testWithRepositoryReadOnly_withFunction_shouldCallFunctionOnRepository() {
+        when(mockFactory.getRepositoryByName(testName)).thenReturn(mockRepository);
+        Function<ManagedRepository, String> mockFunction = mock(repository -> "result");
+        Assertions.assertThat(repositoryManager.withRepositoryReadOnly(testName, mockFunction)).isEqualTo("result");
+
+        var inOrder = inOrder(mockFunction, mockRepository);
+        inOrder.verify(mockFunction).apply(mockRepository);
+        inOrder.verify(mockRepository).close();
+        Assertions.assertThat(repositoryManager.getLockStatistics().readAcquisitions()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWithRepositoryReadOnly_concurrentReaders_shouldNotBlockEachOther() {
+        when(mockFactory.getRepositoryByName(testName)).thenReturn(mockRepository);
+
+        // the inner read of the same repository happens on another thread and would block if readers excluded each other
+        var result = repositoryManager.withRepositoryReadOnly(testName, outer -> CompletableFuture
+                .supplyAsync(() -> repositoryManager.withRepositoryReadOnly(testName, inner -> "result"))
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join());
+
+        Assertions.assertThat(result).isEqualTo("result");
+        Assertions.assertThat(repositoryManager.getLockStatistics().contendedAcquisitions()).isZero();
+    }
+
+    @Test
+    public void testWithRepository_concurrentWriter_shouldWaitForLock() throws Exception {
+        when(mockFactory.getRepositoryByName(testName)).thenReturn(mockRepository);
+        var writerStarted = new CountDownLatch(1);
+
+        var secondWriter = repositoryManager.withRepository(testName, repository -> {
+            var writer = CompletableFuture.supplyAsync(() -> {
+                writerStarted.countDown();
+                return repositoryManager.withRepository(testName, inner -> "second");
+            });
+            awaitQuietly(writerStarted);
+            // the second writer cannot finish while the first one holds the lock
+            Assertions.assertThat(writer).isNotDone();
+            return writer;
+        });
+
+        Assertions.assertThat(secondWriter.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        Assertions.assertThat(repositoryManager.getLockStatistics().writeAcquisitions()).isEqualTo(2);
+    }
+
+    @Test
+    public void testConsumeRepository_twoNames_shouldCallConsumerOnFirstRepository() {
+        when(mockFactory.getRepositoryByName(testName)).thenReturn(mockRepository);
+        @SuppressWarnings("unchecked")
+        Consumer<ManagedRepository> mockConsumer = mock(Consumer.class);
+        repositoryManager.consumeRepository(testName, "newName", mockConsumer);
+
+        var inOrder = inOrder(mockConsumer, mockRepository);
+        inOrder.verify(mockConsumer).accept(mockRepository);
+        inOrder.verify(mockRepository).close();
+        verify(mockFactory, never()).getRepositoryByName("newName");
+    }
+
     @Test
     public void testConsumeRepository_withConsumer_shouldCallConsumerOnRepository() {
         when(mockFactory.getRepositoryByName(testName)).thenReturn(mockRepository);
@@ -165,4 +242,137 @@ public class RepositoryManagerTest {
         verify(mockFunction).accept(functionArg.capture());
         Assertions.assertThat(functionArg.getValue()).isEmpty();
     }
+
+    @Test
+    public void testMapAllRepositories_withFunction_shouldReturnResultsInOrderOfRepositories() {
+        var mockRepositories = List.of(mockRepository, secondMockRepository);
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+
+        var results = repositoryManager.mapAllRepositories(repository -> repository == mockRepository ? "first" : "second");
+
+        Assertions.assertThat(results).containsExactly("first", "second");
+        verify(mockRepository).close();
+        verify(secondMockRepository).close();
+    }
+
+    @Test
+    public void testMapAllRepositories_fanOutDisabled_shouldReturnResultsInOrderOfRepositories() {
+        properties.getFanOut().setEnabled(false);
+        var mockRepositories = List.of(mockRepository, secondMockRepository);
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+
+        var results = repositoryManager.mapAllRepositories(repository -> repository == mockRepository ? "first" : "second");
+
+        Assertions.assertThat(results).containsExactly("first", "second");
+    }
+
+    @Test
+    public void testMapAllRepositories_functionReturnsNull_shouldSkipRepository() {
+        var mockRepositories = List.of(mockRepository, secondMockRepository);
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+
+        var results = repositoryManager.mapAllRepositories(repository -> repository == mockRepository ? null : "second");
+
+        Assertions.assertThat(results).containsExactly("second");
+    }
+
+    @Test
+    public void testMapAllRepositories_functionThrowsRepositoryAccessException_shouldSkipRepository() {
+        var mockRepositories = List.of(mockRepository, secondMockRepository);
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+
+        var results = repositoryManager.mapAllRepositories(repository -> {
+            if (repository == mockRepository) {
+                throw new RepositoryAccessException("test");
+            }
+            return "second";
+        });
+
+        Assertions.assertThat(results).containsExactly("second");
+        verify(mockRepository).close();
+        verify(secondMockRepository).close();
+    }
+
+    @Test
+    public void testMapAllRepositories_functionThrowsOtherException_shouldRethrowAndCloseRepositories() {
+        var mockRepositories = List.of(mockRepository, secondMockRepository);
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+
+        Assertions.assertThatThrownBy(() -> repositoryManager.mapAllRepositories(repository -> {
+                    throw new IllegalStateException("test");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        verify(mockRepository).close();
+        verify(secondMockRepository).close();
+    }
+
+    @Test
+    public void testMapAllRepositories_maxConcurrencyOne_shouldProcessOneRepositoryAtOnce() {
+        properties.getFanOut().setMaxConcurrency(1);
+        var mockRepositories = List.of(mockRepository, secondMockRepository, namedMockRepository("thirdTestRepository"));
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        repositoryManager.mapAllRepositories(repository -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.yield();
+            running.decrementAndGet();
+            return repository;
+        });
+
+        Assertions.assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    public void testFindInAllRepositories_resultInOneRepository_shouldReturnResult() {
+        var mockRepositories = List.of(mockRepository, secondMockRepository);
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+
+        var result = repositoryManager.findInAllRepositories(repository ->
+                repository == secondMockRepository ? Optional.of("found") : Optional.empty());
+
+        Assertions.assertThat(result).contains("found");
+        verify(mockRepository).close();
+        verify(secondMockRepository).close();
+    }
+
+    @Test
+    public void testFindInAllRepositories_noResult_shouldReturnEmptyOptional() {
+        var mockRepositories = List.of(mockRepository, secondMockRepository);
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+
+        Assertions.assertThat(repositoryManager.findInAllRepositories(repository -> Optional.empty())).isEmpty();
+    }
+
+    @Test
+    public void testFindInAllRepositories_resultFound_shouldSkipRemainingRepositories() {
+        properties.getFanOut().setMaxConcurrency(1);
+        var mockRepositories = List.of(mockRepository, secondMockRepository, namedMockRepository("thirdTestRepository"));
+        when(mockFactory.getAllRepositories()).thenReturn(mockRepositories);
+        var processed = new AtomicInteger();
+
+        var result = repositoryManager.findInAllRepositories(repository -> {
+            processed.incrementAndGet();
+            return Optional.of("found");
+        });
+
+        Assertions.assertThat(result).contains("found");
+        Assertions.assertThat(processed).hasValueLessThan(mockRepositories.size());
+    }
+
+    private ManagedRepository namedMockRepository(String name) {
+        var repository = mock(ManagedRepository.class);
+        lenient().when(repository.getName()).thenReturn(name);
+        return repository;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            Assertions.assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryAccessException;
+import org.assertj.core.api.Assertions;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RepositoryStorageCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private GitProperties properties;
+    private RepositoryStorageCache storageCache;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        storageCache = new RepositoryStorageCacheImpl(properties);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new RepositoryStorageCacheImpl(new GitProperties()).applySettings();
+    }
+
+    @Test
+    public void testApplySettings_windowSizeNotPowerOfTwo_shouldThrowRepositoryAccessException() {
+        properties.getStorageCache().setWindowSize(DataSize.ofKilobytes(6));
+
+        Assertions.assertThatThrownBy(storageCache::applySettings).isInstanceOf(RepositoryAccessException.class);
+    }
+
+    @Test
+    public void testApplySettings_sizeAboveIntegerRange_shouldThrowRepositoryAccessException() {
+        properties.getStorageCache().setDeltaBaseCacheLimit(DataSize.ofGigabytes(4));
+
+        Assertions.assertThatThrownBy(storageCache::applySettings).isInstanceOf(RepositoryAccessException.class);
+    }
+
+    @Test
+    public void testGetStatistics_packedObjectRead_shouldCountRequests() throws Exception {
+        properties.getStorageCache().setMmap(true);
+        storageCache.applySettings();
+
+        try (var git = Git.init().setDirectory(tempDir.toFile()).call()) {
+            Files.writeString(tempDir.resolve("test"), "content");
+            git.add().addFilepattern("test").call();
+            var commit = git.commit().setMessage("Initial commit").call();
+            git.gc().call();
+            var before = storageCache.getStatistics();
+
+            try (var revWalk = new RevWalk(git.getRepository())) {
+                Assertions.assertThat(revWalk.parseCommit(commit).getFullMessage()).isEqualTo("Initial commit");
+            }
+
+            var after = storageCache.getStatistics();
+            Assertions.assertThat(after.hits() + after.misses()).isGreaterThan(before.hits() + before.misses());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RepositoryStorageMigrationTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private GitProperties properties;
+    private RepositoryStorageMigration migration;
+    private ManagedRepositoryFactory factory;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        properties.setRepositories(tempDir);
+        properties.getPool().setEnabled(false);
+        migration = new RepositoryStorageMigrationImpl(properties);
+        factory = new ManagedRepositoryFactoryImpl(properties);
+    }
+
+    @Test
+    public void testMigrateToBareRepositories_noRepositories_shouldMigrateNothing() {
+        Assertions.assertThat(migration.migrateToBareRepositories()).isEmpty();
+    }
+
+    @Test
+    public void testMigrateToBareRepositories_repositoryWithWorkingTree_shouldKeepVersions() {
+        var commitHash = initRepositoryWithCommit("test");
+
+        var migrated = migration.migrateToBareRepositories();
+
+        Assertions.assertThat(migrated).containsExactly("test");
+        Assertions.assertThat(tempDir.resolve("test").resolve(".git")).doesNotExist();
+        Assertions.assertThat(tempDir.resolve("test").resolve("file.xml")).doesNotExist();
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.isBare()).isTrue();
+            Assertions.assertThat(repository.versioning().getCurrentVersionId()).contains(commitHash);
+            Assertions.assertThat(repository.getCurrentRepositoryVersion())
+                    .hasValueSatisfying(version -> Assertions.assertThat(version.objects()).hasSize(1));
+        }
+    }
+
+    @Test
+    public void testMigrateToBareRepositories_secondRun_shouldMigrateNothing() {
+        initRepositoryWithCommit("test1");
+        initRepositoryWithCommit("test2");
+
+        Assertions.assertThat(migration.migrateToBareRepositories()).containsExactlyInAnyOrder("test1", "test2");
+        Assertions.assertThat(migration.migrateToBareRepositories()).isEmpty();
+        Assertions.assertThat(factory.getAllRepositories())
+                .extracting(ManagedRepository::getName)
+                .containsExactlyInAnyOrder("test1", "test2");
+    }
+
+    @Test
+    public void testMigrateToBareRepositories_interruptedMigration_shouldResumeMigration() throws IOException {
+        var commitHash = initRepositoryWithCommit("test");
+        // simulate a crash right after the git directory was moved to the staging directory
+        var stagingDir = Files.createDirectories(tempDir.resolve(".bare-migration"));
+        Files.move(tempDir.resolve("test").resolve(".git"), stagingDir.resolve("test"));
+
+        var migrated = migration.migrateToBareRepositories();
+
+        Assertions.assertThat(migrated).containsExactly("test");
+        Assertions.assertThat(stagingDir).doesNotExist();
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.isBare()).isTrue();
+            Assertions.assertThat(repository.versioning().getCurrentVersionId()).contains(commitHash);
+        }
+    }
+
+    @Test
+    public void testMigrateToReftable_repositoryWithLooseRefs_shouldKeepRefs() {
+        var commitHash = initRepositoryWithCommit("test");
+        try (var repository = factory.getRepositoryByName("test")) {
+            repository.versioning().tagCommit(commitHash, "v1.0.0");
+        }
+
+        var migrated = migration.migrateToReftable();
+
+        Assertions.assertThat(migrated).containsExactly("test");
+        Assertions.assertThat(tempDir.resolve("test").resolve(".git").resolve("reftable")).isDirectory();
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.versioning().getCurrentVersionId()).contains(commitHash);
+            Assertions.assertThat(repository.versioning().listTagsForCommit(commitHash)).containsExactly("v1.0.0");
+        }
+    }
+
+    @Test
+    public void testMigrateToReftable_secondRun_shouldMigrateNothing() {
+        initRepositoryWithCommit("test");
+
+        Assertions.assertThat(migration.migrateToReftable()).containsExactly("test");
+        Assertions.assertThat(migration.migrateToReftable()).isEmpty();
+    }
+
+    @Test
+    public void testMigrateToReftable_bareRepository_shouldMigrateRepository() {
+        var commitHash = initRepositoryWithCommit("test");
+        migration.migrateToBareRepositories();
+
+        Assertions.assertThat(migration.migrateToReftable()).containsExactly("test");
+        try (var repository = factory.getRepositoryByName("test")) {
+            Assertions.assertThat(repository.isBare()).isTrue();
+            Assertions.assertThat(repository.versioning().getCurrentVersionId()).contains(commitHash);
+        }
+    }
+
+    @SneakyThrows({GitAPIException.class, IOException.class})
+    private String initRepositoryWithCommit(String name) {
+        var repositoryPath = tempDir.resolve(name);
+        try (var git = Git.init().setDirectory(repositoryPath.toFile()).setInitialBranch("main").call()) {
+            Files.writeString(repositoryPath.resolve("file.xml"), "content");
+            git.add().addFilepattern(".").call();
+            return git.commit().setMessage("Test commit").call().getName();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package at.ac.tuwien.model.change.management.git.infrastructure;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class StripedRepositoryLocksTest {
+
+    @Test
+    public void testConstructor_nonPositiveStripeCount_shouldThrowIllegalArgumentException() {
+        Assertions.assertThatThrownBy(() -> new StripedRepositoryLocks(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testLockForReading_readLockHeld_shouldNotWait() {
+        var locks = new StripedRepositoryLocks(16);
+
+        try (var ignored = locks.lockForReading(List.of("test"))) {
+            var otherReader = CompletableFuture.runAsync(() -> locks.lockForReading(List.of("test")).close());
+            Assertions.assertThat(otherReader).succeedsWithin(5, TimeUnit.SECONDS);
+        }
+
+        Assertions.assertThat(locks.getStatistics().readAcquisitions()).isEqualTo(2);
+        Assertions.assertThat(locks.getStatistics().contendedAcquisitions()).isZero();
+    }
+
+    @Test
+    public void testLockForWriting_writeLockHeld_shouldWaitUntilReleased() throws InterruptedException {
+        var locks = new StripedRepositoryLocks(16);
+        var started = new CountDownLatch(1);
+        CompletableFuture<Void> otherWriter;
+
+        try (var ignored = locks.lockForWriting(List.of("test"))) {
+            otherWriter = CompletableFuture.runAsync(() -> {
+                started.countDown();
+                locks.lockForWriting(List.of("test")).close();
+            });
+            Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Assertions.assertThat(otherWriter).isNotDone();
+        }
+
+        Assertions.assertThat(otherWriter).succeedsWithin(5, TimeUnit.SECONDS);
+        var statistics = locks.getStatistics();
+        Assertions.assertThat(statistics.writeAcquisitions()).isEqualTo(2);
+        Assertions.assertThat(statistics.contendedAcquisitions()).isEqualTo(1);
+        Assertions.assertThat(statistics.totalWaitTime()).isPositive();
+        Assertions.assertThat(statistics.maxWaitTime()).isPositive();
+    }
+
+    @Test
+    public void testLockForWriting_twoNamesInOppositeOrder_shouldNotDeadlock() {
+        var locks = new StripedRepositoryLocks(16);
+
+        var tasks = List.of(
+                CompletableFuture.runAsync(() -> lockRepeatedly(locks, "first", "second")),
+                CompletableFuture.runAsync(() -> lockRepeatedly(locks, "second", "first"))
+        );
+
+        Assertions.assertThat(CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)))
+                .succeedsWithin(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testLockForWriting_namesOnSameStripe_shouldLockStripeOnce() {
+        var locks = new StripedRepositoryLocks(1);
+
+        try (var ignored = locks.lockForWriting(List.of("first", "second"))) {
+            Assertions.assertThat(locks.getStatistics().writeAcquisitions()).isEqualTo(1);
+        }
+    }
+
+    private static void lockRepeatedly(StripedRepositoryLocks locks, String firstName, String secondName) {
+        for (int i = 0; i < 10_000; i++) {
+            try (var ignored = locks.lockForWriting(List.of(firstName, secondName))) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+public class ConfigurationCatalogTest {
+
+    private static final String TEST_COMMIT = "0123456789abcdef0123456789abcdef01234567";
+
+    @TempDir
+    private Path tempDir;
+
+    private GitProperties properties;
+    private ConfigurationCatalog catalog;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        properties.setRepositories(tempDir);
+        catalog = new ConfigurationCatalogImpl(properties);
+    }
+
+    @Test
+    public void testGet_emptyCatalog_shouldReturnEmptyOptional() {
+        Assertions.assertThat(catalog.get("test")).isEmpty();
+        Assertions.assertThat(catalog.getAll()).isEmpty();
+    }
+
+    @Test
+    public void testPut_newSummary_shouldBeReturnedByGet() {
+        var summary = getSummary("test");
+
+        catalog.put(summary);
+
+        Assertions.assertThat(catalog.get("test")).contains(summary);
+    }
+
+    @Test
+    public void testGetAll_multipleSummaries_shouldReturnSummariesOrderedByName() {
+        catalog.put(getSummary("c"));
+        catalog.put(getSummary("a"));
+        catalog.put(getSummary("b"));
+
+        Assertions.assertThat(catalog.getAll())
+                .extracting(ConfigurationSummary::name)
+                .containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void testRename_existingSummary_shouldMoveSummaryToNewName() {
+        catalog.put(getSummary("old"));
+
+        catalog.rename("old", "new");
+
+        Assertions.assertThat(catalog.get("old")).isEmpty();
+        Assertions.assertThat(catalog.get("new")).hasValueSatisfying(summary ->
+                Assertions.assertThat(summary.name()).isEqualTo("new"));
+    }
+
+    @Test
+    public void testRemove_existingSummary_shouldRemoveSummary() {
+        catalog.put(getSummary("test"));
+
+        catalog.remove("test");
+
+        Assertions.assertThat(catalog.get("test")).isEmpty();
+    }
+
+    @Test
+    public void testRetainAll_someNames_shouldRemoveAllOtherSummaries() {
+        catalog.put(getSummary("a"));
+        catalog.put(getSummary("b"));
+        catalog.put(getSummary("c"));
+
+        catalog.retainAll(List.of("a", "c", "d"));
+
+        Assertions.assertThat(catalog.getAll())
+                .extracting(ConfigurationSummary::name)
+                .containsExactly("a", "c");
+    }
+
+    @Test
+    public void testPut_newCatalogInstance_shouldLoadPersistedSummaries() {
+        var summary = getSummary("test");
+        catalog.put(summary);
+        catalog.put(getSummary("deleted"));
+        catalog.remove("deleted");
+        catalog.flush();
+
+        var reloadedCatalog = new ConfigurationCatalogImpl(properties);
+
+        Assertions.assertThat(reloadedCatalog.getAll()).containsExactly(summary);
+    }
+
+    @Test
+    public void testGet_corruptCatalogFile_shouldStartWithEmptyCatalog() throws IOException {
+        Files.writeString(tempDir.resolve(".catalog.json"), "{ not a catalog");
+
+        Assertions.assertThat(catalog.getAll()).isEmpty();
+        catalog.put(getSummary("test"));
+        catalog.flush();
+        Assertions.assertThat(new ConfigurationCatalogImpl(properties).get("test")).isPresent();
+    }
+
+    @Test
+    public void testPut_flushIntervalSet_shouldOnlyWriteCatalogOnFlush() {
+        catalog.put(getSummary("test"));
+
+        Assertions.assertThat(tempDir.resolve(".catalog.json")).doesNotExist();
+        Assertions.assertThat(catalog.flush()).isTrue();
+        Assertions.assertThat(tempDir.resolve(".catalog.json")).exists();
+        Assertions.assertThat(catalog.flush()).isFalse();
+    }
+
+    @Test
+    public void testPut_noFlushInterval_shouldWriteCatalogImmediately() {
+        properties.getCatalog().setFlushInterval(Duration.ZERO);
+        var summary = getSummary("test");
+
+        catalog.put(summary);
+
+        Assertions.assertThat(new ConfigurationCatalogImpl(properties).getAll()).containsExactly(summary);
+        Assertions.assertThat(catalog.flush()).isFalse();
+    }
+
+    private ConfigurationSummary getSummary(String name) {
+        return new ConfigurationSummary(name, new ConfigurationVersion(TEST_COMMIT, "0.0.1", "custom"), 1, 2, 3, 1024);
+    }
+}
@@ -0,0 +1,128 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+public class ConfigurationCommitCoalescerTest {
+
+    private GitProperties properties;
+    private ConfigurationCommitCoalescerImpl coalescer;
+    private List<Configuration> committed;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        properties.getCommit().setCoalescingWindow(Duration.ofSeconds(1));
+        coalescer = new ConfigurationCommitCoalescerImpl(properties);
+        committed = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        coalescer.commitPendingBatches();
+    }
+
+    @Test
+    public void testCommit_noWindow_shouldCommitEverySave() {
+        properties.getCommit().setCoalescingWindow(Duration.ZERO);
+
+        var first = coalescer.commit(getConfiguration("test", null), committer());
+        var second = coalescer.commit(getConfiguration("test", null), committer());
+
+        Assertions.assertThat(committed).hasSize(2);
+        Assertions.assertThat(first.getVersionHash()).isEqualTo("1");
+        Assertions.assertThat(second.getVersionHash()).isEqualTo("2");
+    }
+
+    @Test
+    public void testCommit_savesWithinWindow_shouldCommitLatestSaveOnce() {
+        var first = getConfiguration("test", null);
+        var second = getConfiguration("test", null);
+
+        var firstResult = CompletableFuture.supplyAsync(() -> coalescer.commit(first, committer()));
+        var secondResult = CompletableFuture.supplyAsync(() -> coalescer.commit(second, committer()));
+
+        Assertions.assertThat(firstResult.join().getVersionHash()).isEqualTo("1");
+        Assertions.assertThat(secondResult.join().getVersionHash()).isEqualTo("1");
+        Assertions.assertThat(committed).hasSize(1);
+        Assertions.assertThat(committed.getFirst()).isIn(first, second);
+        Assertions.assertThat(firstResult.join()).isNotSameAs(secondResult.join());
+    }
+
+    @Test
+    public void testCommit_differentConfigurations_shouldCommitSeparately() {
+        var firstResult = CompletableFuture.supplyAsync(() -> coalescer.commit(getConfiguration("test1", null), committer()));
+        var secondResult = CompletableFuture.supplyAsync(() -> coalescer.commit(getConfiguration("test2", null), committer()));
+
+        Assertions.assertThat(firstResult.join().getName()).isEqualTo("test1");
+        Assertions.assertThat(secondResult.join().getName()).isEqualTo("test2");
+        Assertions.assertThat(committed).hasSize(2);
+    }
+
+    @Test
+    public void testCommit_customVersionName_shouldCommitWithoutWaitingForWindow() {
+        properties.getCommit().setCoalescingWindow(Duration.ofHours(1));
+
+        var result = coalescer.commit(getConfiguration("test", "release"), committer());
+
+        Assertions.assertThat(result.getVersionCustomName()).isEqualTo("release");
+        Assertions.assertThat(committed).hasSize(1);
+    }
+
+    @Test
+    public void testCommit_customVersionNameWithOpenBatch_shouldCommitBatchWithCustomVersionName() throws InterruptedException {
+        properties.getCommit().setCoalescingWindow(Duration.ofHours(1));
+        var firstResult = CompletableFuture.supplyAsync(() -> coalescer.commit(getConfiguration("test", null), committer()));
+        // give the first save time to open the batch
+        Thread.sleep(200);
+
+        var result = coalescer.commit(getConfiguration("test", "release"), committer());
+
+        Assertions.assertThat(result.getVersionCustomName()).isEqualTo("release");
+        Assertions.assertThat(firstResult.join().getVersionCustomName()).isEqualTo("release");
+        Assertions.assertThat(committed).hasSize(1);
+    }
+
+    @Test
+    public void testCommit_failingCommitter_shouldThrowToAllCallers() {
+        UnaryOperator<Configuration> failingCommitter = configuration -> {
+            throw new RepositoryDoesNotExistException("Repository does not exist");
+        };
+
+        var firstResult = CompletableFuture.supplyAsync(() -> coalescer.commit(getConfiguration("test", null), failingCommitter));
+
+        Assertions.assertThatThrownBy(() -> coalescer.commit(getConfiguration("test", null), failingCommitter))
+                .isInstanceOf(RepositoryDoesNotExistException.class);
+        Assertions.assertThatThrownBy(firstResult::join)
+                .hasCauseInstanceOf(RepositoryDoesNotExistException.class);
+    }
+
+    private UnaryOperator<Configuration> committer() {
+        return configuration -> {
+            committed.add(configuration);
+            var saved = new Configuration();
+            saved.setName(configuration.getName());
+            saved.setVersion(new ConfigurationVersion(String.valueOf(committed.size()), null, configuration.getVersionCustomName()));
+            return saved;
+        };
+    }
+
+    private static Configuration getConfiguration(String name, String customVersionName) {
+        var configuration = new Configuration();
+        configuration.setName(name);
+        configuration.setVersion(new ConfigurationVersion(null, null, customVersionName));
+        return configuration;
+    }
+}
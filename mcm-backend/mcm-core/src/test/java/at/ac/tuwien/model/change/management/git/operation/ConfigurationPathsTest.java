@@ -0,0 +1,70 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryWriteException;
+import at.ac.tuwien.model.change.management.git.util.PathUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ConfigurationPathsTest {
+
+    @Test
+    public void testParse_flatLayout_shouldIdentifyElements() {
+        Assertions.assertThat(ConfigurationPaths.parse("models/model.xml")).contains(
+                new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.MODEL, "model", GitProperties.Layout.FLAT));
+        Assertions.assertThat(ConfigurationPaths.parse("nodes/node.xml")).contains(
+                new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.NODE, "node", GitProperties.Layout.FLAT));
+        Assertions.assertThat(ConfigurationPaths.parse("relations/relation.xml")).contains(
+                new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.RELATION, "relation", GitProperties.Layout.FLAT));
+    }
+
+    @Test
+    public void testParse_perModelLayout_shouldIdentifyElements() {
+        Assertions.assertThat(ConfigurationPaths.parse("models/model/model.xml")).contains(
+                new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.MODEL, "model", GitProperties.Layout.PER_MODEL));
+        Assertions.assertThat(ConfigurationPaths.parse("models/model/nodes/node.xml")).contains(
+                new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.NODE, "node", GitProperties.Layout.PER_MODEL));
+        Assertions.assertThat(ConfigurationPaths.parse("models/model/relations/relation.xml")).contains(
+                new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.RELATION, "relation", GitProperties.Layout.PER_MODEL));
+    }
+
+    @Test
+    public void testParse_otherFiles_shouldReturnEmptyOptional() {
+        Assertions.assertThat(ConfigurationPaths.parse("README.md")).isEmpty();
+        Assertions.assertThat(ConfigurationPaths.parse("models/model.txt")).isEmpty();
+        Assertions.assertThat(ConfigurationPaths.parse("other/node.xml")).isEmpty();
+        Assertions.assertThat(ConfigurationPaths.parse("models/model/other.xml")).isEmpty();
+        Assertions.assertThat(ConfigurationPaths.parse("models/model/other/node.xml")).isEmpty();
+    }
+
+    @Test
+    public void testPaths_shouldBeParsedBackToElements() {
+        for (var layout : GitProperties.Layout.values()) {
+            var modelPath = PathUtils.normalizePath(ConfigurationPaths.modelPath(layout, "model").toString());
+            var nodePath = PathUtils.normalizePath(ConfigurationPaths.nodePath(layout, "model", "node").toString());
+            var relationPath = PathUtils.normalizePath(ConfigurationPaths.relationPath(layout, "model", "relation").toString());
+
+            Assertions.assertThat(ConfigurationPaths.parse(modelPath))
+                    .contains(new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.MODEL, "model", layout));
+            Assertions.assertThat(ConfigurationPaths.parse(nodePath))
+                    .contains(new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.NODE, "node", layout));
+            Assertions.assertThat(ConfigurationPaths.parse(relationPath))
+                    .contains(new ConfigurationPaths.ElementFile(ConfigurationPaths.ElementType.RELATION, "relation", layout));
+        }
+    }
+
+    @Test
+    public void testNodePath_perModelLayoutWithoutModel_shouldThrowRepositoryWriteException() {
+        Assertions.assertThatThrownBy(() -> ConfigurationPaths.nodePath(GitProperties.Layout.PER_MODEL, null, "node"))
+                .isInstanceOf(RepositoryWriteException.class);
+    }
+
+    @Test
+    public void testModelPaths_shouldIncludeBothLayouts() {
+        Assertions.assertThat(ConfigurationPaths.modelPaths(List.of("model")))
+                .extracting(path -> PathUtils.normalizePath(path.toString()))
+                .containsExactlyInAnyOrder("models/model", "models/model.xml", "nodes", "relations");
+    }
+}
@@ -2,22 +2,32 @@ package at.ac.tuwien.model.change.management.git.operation;
 
 import at.ac.tuwien.model.change.management.core.model.*;
 import at.ac.tuwien.model.change.management.core.model.attributes.BaseAttributes;
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
+import at.ac.tuwien.model.change.management.core.transformer.XMLTransformer;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryReadException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryWriteException;
 import at.ac.tuwien.model.change.management.git.infrastructure.*;
 import org.assertj.core.api.Assertions;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.argThat;
@@ -43,6 +53,18 @@ public class ConfigurationRepositoryActionsTest {
     @Mock
     private VersionNameGenerator mockVersionNameGenerator;
 
+    @Mock
+    private ConfigurationVersionCache mockVersionCache;
+
+    @Mock
+    private ElementHistoryIndex mockElementHistoryIndex;
+
+    @Spy
+    private GitProperties properties = new GitProperties();
+
+    @Spy
+    private ElementCodec elementCodec = new ElementCodecImpl(new GitProperties(), mock(XMLTransformer.class));
+
     @InjectMocks
     private ConfigurationRepositoryActionsImpl configurationRepositoryActions;
 
@@ -63,6 +85,8 @@ public class ConfigurationRepositoryActionsTest {
         lenient().when(mockRepository.getName()).thenReturn(TEST_CONFIGURATION_NAME);
         lenient().when(mockRepository.getEncoding()).thenReturn(encoding);
         lenient().when(mockRepository.versioning()).thenReturn(mockVersioning);
+        // the mocked repository objects are stored in the flat layout
+        properties.getStorage().setLayout(GitProperties.Layout.FLAT);
     }
 
 
@@ -106,6 +130,273 @@ public class ConfigurationRepositoryActionsTest {
         verify(mockTransformer).serializeToDsl(testConfig);
     }
 
+    @Test
+    public void testCommitConfiguration_shouldCommitFilesAndTagVersion() {
+        var commitHash = "commitHash";
+        var contents = getContents(new Model(), new Node(), new Relation());
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(contents);
+        when(mockVersioning.commitFiles(argThat(col -> col.size() == 3), argThat(dirs -> dirs.size() == 3), any(IntFunction.class))).thenReturn(Optional.of(commitHash));
+        when(mockVersioning.listTags()).thenReturn(Collections.emptyList());
+        when(mockVersionNameGenerator.findNextVersionName(Collections.emptyList())).thenReturn(TEST_CONFIGURATION_HASH);
+
+        var version = configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null);
+
+        Assertions.assertThat(version).contains(commitHash);
+        verify(mockVersioning).tagCommit(commitHash, TEST_CONFIGURATION_HASH);
+        verify(mockVersioning, never()).runMaintenance(anyBoolean());
+        verify(mockVersioning, never()).stageAll();
+        verify(mockRepository, never()).writeRepositoryFiles(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCommitConfiguration_shouldCountChangedFilesInCommitMessage() {
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(new Model(), new Node(), new Relation()));
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+
+        configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null);
+
+        ArgumentCaptor<IntFunction<String>> message = ArgumentCaptor.forClass(IntFunction.class);
+        verify(mockVersioning).commitFiles(any(), any(), message.capture());
+        Assertions.assertThat(message.getValue().apply(1))
+                .isEqualTo("Updated configuration '" + TEST_CONFIGURATION_NAME + "' with 1 changes staged");
+    }
+
+    @Test
+    public void testCommitConfiguration_customTag_shouldTagVersionTwice() {
+        var commitHash = "commitHash";
+        var customTag = "custom";
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(new ConfigurationContents<>());
+        when(mockVersioning.commitFiles(argThat(Collection::isEmpty), any(), any(IntFunction.class))).thenReturn(Optional.of(commitHash));
+        when(mockVersioning.listTags()).thenReturn(Collections.emptyList());
+        when(mockVersionNameGenerator.findNextVersionName(Collections.emptyList())).thenReturn(TEST_CONFIGURATION_HASH);
+
+        configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, customTag);
+
+        verify(mockVersioning).tagCommit(commitHash, TEST_CONFIGURATION_HASH);
+        verify(mockVersioning).tagCommit(commitHash, customTag);
+    }
+
+    @Test
+    public void testCommitConfiguration_unchangedConfiguration_shouldNotTagVersion() {
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(new Model(), new Node(), new Relation()));
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+
+        var version = configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null);
+
+        Assertions.assertThat(version).isEmpty();
+        verify(mockVersioning, never()).tagCommit(any(), any());
+    }
+
+    @Test
+    public void testCommitConfiguration_unchangedConfigurationWithCustomTag_shouldTagCurrentVersion() {
+        var currentVersion = "currentVersion";
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(new Model(), new Node(), new Relation()));
+        when(mockVersioning.getMainBranchVersionId()).thenReturn(Optional.of(currentVersion));
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+        when(mockVersioning.listTagsForCommit(currentVersion)).thenReturn(List.of(TEST_CONFIGURATION_HASH));
+
+        var version = configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, "custom");
+
+        Assertions.assertThat(version).isEmpty();
+        verify(mockVersioning).tagCommit(currentVersion, "custom");
+        verify(mockVersioning, never()).listTags();
+    }
+
+    @Test
+    public void testCommitConfiguration_unchangedConfigurationWithExistingCustomTag_shouldNotTagVersion() {
+        var currentVersion = "currentVersion";
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(new Model(), new Node(), new Relation()));
+        when(mockVersioning.getMainBranchVersionId()).thenReturn(Optional.of(currentVersion));
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+        when(mockVersioning.listTagsForCommit(currentVersion)).thenReturn(List.of(TEST_CONFIGURATION_HASH, "custom"));
+
+        configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, "custom");
+
+        verify(mockVersioning, never()).tagCommit(any(), any());
+    }
+
+    @Test
+    public void testCommitConfiguration_perModelLayout_shouldCommitFilesBelowModelDirectories() {
+        properties.getStorage().setLayout(GitProperties.Layout.PER_MODEL);
+        var relation = getRelation("relation");
+        var node = getNode(relation);
+        node.setId("node");
+        node.setMcmModelId("model");
+        var model = getModel(node);
+        model.setId("model");
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(model, node, relation));
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+
+        configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null);
+
+        verify(mockVersioning).commitFiles(
+                argThat(files -> files.stream().map(ManagedRepositoryFile::path).toList().containsAll(List.of(
+                        Path.of("models", "model", "model.xml"),
+                        Path.of("models", "model", "nodes", "node.xml"),
+                        Path.of("models", "model", "relations", "relation.xml")
+                ))),
+                argThat(dirs -> dirs.containsAll(List.of(Path.of(MODELS_DIRECTORY), Path.of(NODES_DIRECTORY), Path.of(RELATIONS_DIRECTORY)))),
+                any(IntFunction.class));
+    }
+
+    @Test
+    public void testCommitConfiguration_recordedFlatLayout_shouldKeepFlatLayout() {
+        properties.getStorage().setLayout(GitProperties.Layout.PER_MODEL);
+        var node = getNode();
+        node.setId("node");
+        node.setMcmModelId("model");
+        var model = getModel(node);
+        model.setId("model");
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(model, node));
+        when(mockRepository.getLayout()).thenReturn(Optional.of(GitProperties.Layout.FLAT));
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+
+        configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null);
+
+        verify(mockVersioning).commitFiles(
+                argThat(files -> files.stream().map(ManagedRepositoryFile::path).toList().containsAll(List.of(
+                        Path.of(MODELS_DIRECTORY, "model.xml"),
+                        Path.of(NODES_DIRECTORY, "node.xml")
+                ))),
+                any(),
+                any(IntFunction.class));
+        verify(mockRepository, never()).setLayout(any());
+    }
+
+    @Test
+    public void testCommitConfiguration_unrecordedLayoutOfExistingVersion_shouldRecordAndKeepLayout() {
+        properties.getStorage().setLayout(GitProperties.Layout.PER_MODEL);
+        var model = new Model();
+        model.setId("model");
+        var version = new ManagedRepositoryVersion(TEST_CONFIGURATION_HASH, List.of(), List.of(mockRepositoryObject("models/other.xml")));
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(model));
+        when(mockRepository.exists()).thenReturn(true);
+        when(mockRepository.getCurrentRepositoryVersion()).thenReturn(Optional.of(version));
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+
+        configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null);
+
+        verify(mockRepository).setLayout(GitProperties.Layout.FLAT);
+        verify(mockVersioning).commitFiles(
+                argThat(files -> files.stream().map(ManagedRepositoryFile::path).toList().equals(List.of(Path.of(MODELS_DIRECTORY, "model.xml")))),
+                any(),
+                any(IntFunction.class));
+    }
+
+    @Test
+    public void testCommitConfiguration_binaryCodec_shouldCommitEncodedFiles() {
+        var model = new Model();
+        model.setId("model");
+        var contents = new ConfigurationContents<DSLElement<Model>, DSLElement<Node>, DSLElement<Relation>>();
+        contents.addModel(new DSLElement<>(model, "<model><id>model</id></model>"));
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(contents);
+        doReturn(GitProperties.Codec.BINARY).when(elementCodec).getRepositoryCodec(mockRepository);
+        when(mockVersioning.commitFiles(any(), any(), any(IntFunction.class))).thenReturn(Optional.empty());
+
+        configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null);
+
+        verify(mockVersioning).commitFiles(
+                argThat(files -> files.size() == 1 && BinaryElementFormat.isEncoded(files.iterator().next().getBytes(encoding))),
+                any(),
+                any(IntFunction.class));
+    }
+
+    @Test
+    public void testCommitConfiguration_perModelLayoutNodeWithoutModel_shouldThrowRepositoryWriteException() {
+        properties.getStorage().setLayout(GitProperties.Layout.PER_MODEL);
+        var node = new Node();
+        node.setId("node");
+        var model = new Model();
+        model.setId("model");
+        when(mockTransformer.serializeToDsl(testConfig)).thenReturn(getContents(model, node));
+
+        Assertions.assertThatThrownBy(() -> configurationRepositoryActions.commitConfiguration(mockRepository, testConfig, null))
+                .isInstanceOf(RepositoryWriteException.class);
+        verify(mockVersioning, never()).commitFiles(any(), any(), any(IntFunction.class));
+    }
+
+    @Test
+    public void testReadCurrentConfigurationModels_perModelLayout_shouldParseOnlyFilesOfModels() {
+        var version = new ManagedRepositoryVersion(TEST_CONFIGURATION_HASH, List.of(), List.of(
+                mockRepositoryObject("models/model/model.xml"),
+                mockRepositoryObject("models/model/nodes/node.xml"),
+                mockRepositoryObject("models/model/relations/relation.xml")
+        ));
+        when(mockRepository.getCurrentRepositoryVersion(argThat(paths -> paths.contains(Path.of(MODELS_DIRECTORY, "model")))))
+                .thenReturn(Optional.of(version));
+        var model = new Model();
+        model.setId("model");
+        doReturn(getConfiguration(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_VER, model))
+                .when(mockTransformer).parseSourcesToConfiguration(argThat(c -> c.getModels().size() == 1
+                        && c.getNodes().size() == 1 && c.getRelations().size() == 1), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+
+        var optionalConfiguration = configurationRepositoryActions.readCurrentConfigurationModels(mockRepository, List.of("model"));
+
+        Assertions.assertThat(optionalConfiguration).hasValueSatisfying(configuration -> {
+            assertNameAndVersionMatchTestConstants(configuration);
+            Assertions.assertThat(configuration.getModels()).containsExactly(model);
+        });
+        verify(mockRepository, never()).getCurrentRepositoryVersion();
+        verify(mockRepository, never()).getRepositoryVersion(any());
+    }
+
+    @Test
+    public void testReadCurrentConfigurationModels_flatLayout_shouldReadWholeConfigurationAndKeepOnlyModels() {
+        var model = new Model();
+        model.setId("model");
+        var otherModel = new Model();
+        otherModel.setId("otherModel");
+        var node = new Node();
+        var version = mockConfigurationRead(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH, false, model, otherModel, node);
+        when(mockRepository.getCurrentRepositoryVersion(anyCollection())).thenReturn(Optional.of(version));
+
+        var optionalConfiguration = configurationRepositoryActions.readCurrentConfigurationModels(mockRepository, List.of("model"));
+
+        Assertions.assertThat(optionalConfiguration).hasValueSatisfying(configuration -> {
+            assertNameAndVersionMatchTestConstants(configuration);
+            Assertions.assertThat(configuration.getModels()).containsExactly(model);
+        });
+        verify(mockRepository).getRepositoryVersion(TEST_CONFIGURATION_HASH);
+    }
+
+    @Test
+    public void testReadCurrentConfigurationModels_noCurrentVersion_shouldReturnEmptyOptional() {
+        when(mockRepository.getCurrentRepositoryVersion(anyCollection())).thenReturn(Optional.empty());
+
+        Assertions.assertThat(configurationRepositoryActions.readCurrentConfigurationModels(mockRepository, List.of("model"))).isEmpty();
+    }
+
+    @Test
+    public void testMigrateConfigurationLayout_flatLayout_shouldCommitAndTagPerModelLayout() {
+        properties.getStorage().setLayout(GitProperties.Layout.PER_MODEL);
+        var model = new Model();
+        model.setId("model");
+        var configuration = getConfiguration(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_VER, model);
+        mockConfigurationRead(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH, true, model);
+        when(mockTransformer.serializeToDsl(configuration)).thenReturn(getContents(model));
+        when(mockVersioning.commitFiles(
+                argThat(files -> files.stream().map(ManagedRepositoryFile::path).toList().equals(List.of(Path.of("models", "model", "model.xml")))),
+                any(), anyString())).thenReturn(Optional.of("commitHash"));
+        when(mockVersioning.listTags()).thenReturn(Collections.emptyList());
+        when(mockVersionNameGenerator.findNextVersionName(Collections.emptyList())).thenReturn(TEST_CONFIGURATION_HASH);
+
+        var commitHash = configurationRepositoryActions.migrateConfigurationLayout(mockRepository);
+
+        Assertions.assertThat(commitHash).contains("commitHash");
+        verify(mockVersioning).tagCommit("commitHash", TEST_CONFIGURATION_HASH);
+        verify(mockRepository).setLayout(GitProperties.Layout.PER_MODEL);
+    }
+
+    @Test
+    public void testMigrateConfigurationLayout_sameLayout_shouldNotCommit() {
+        var version = new ManagedRepositoryVersion(TEST_CONFIGURATION_HASH, List.of(), List.of(mockRepositoryObject("models/model.xml")));
+        when(mockRepository.getCurrentRepositoryVersion()).thenReturn(Optional.of(version));
+
+        Assertions.assertThat(configurationRepositoryActions.migrateConfigurationLayout(mockRepository)).isEmpty();
+        verify(mockVersioning, never()).commitFiles(any(), any(), anyString());
+    }
+
     @Test
     public void testReadCurrentConfigurationVersion_emptyRepository_shouldReturnEmptyConfiguration() {
         mockConfigurationRead(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH, true);
@@ -117,7 +408,36 @@ public class ConfigurationRepositoryActionsTest {
         });
 
         verify(mockRepository).getCurrentRepositoryVersion();
-        verify(mockTransformer).parseToConfiguration(argThat(this::contentsEmpty), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+        verify(mockTransformer).parseSourcesToConfiguration(argThat(this::contentsEmpty), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+    }
+
+    @Test
+    public void testReadCurrentConfigurationVersion_cachedVersion_shouldNotParseRepositoryContents() {
+        var cachedConfiguration = getConfiguration("oldName", new ConfigurationVersion(TEST_CONFIGURATION_HASH, "stale", null), new Model());
+        var version = new ManagedRepositoryVersion(TEST_CONFIGURATION_HASH, Collections.emptyList(), Collections.emptyList());
+        when(mockRepository.getCurrentRepositoryVersion()).thenReturn(Optional.of(version));
+        when(mockVersionCache.get(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH)).thenReturn(Optional.of(cachedConfiguration));
+
+        var optionalConfiguration = configurationRepositoryActions.readCurrentConfigurationVersion(mockRepository);
+
+        Assertions.assertThat(optionalConfiguration).hasValueSatisfying(configuration -> {
+            assertNameAndVersionMatchTestConstants(configuration);
+            Assertions.assertThat(configuration.getVersion()).isEqualTo(TEST_CONFIGURATION_VER);
+            Assertions.assertThat(configuration.getModels()).hasSize(1);
+        });
+        verify(mockTransformer, never()).parseSourcesToConfiguration(any(), any(), any());
+        verify(mockVersionCache, never()).put(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testReadCurrentConfigurationVersion_uncachedVersion_shouldCacheParsedConfiguration() {
+        mockConfigurationRead(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH, true, new Model());
+
+        var optionalConfiguration = configurationRepositoryActions.readCurrentConfigurationVersion(mockRepository);
+
+        Assertions.assertThat(optionalConfiguration).isPresent();
+        verify(mockVersionCache).get(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH);
+        verify(mockVersionCache).put(eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_HASH), eq(optionalConfiguration.get()), anyLong());
     }
 
     @Test
@@ -133,7 +453,30 @@ public class ConfigurationRepositoryActionsTest {
         });
 
         verify(mockRepository).getCurrentRepositoryVersion();
-        verify(mockTransformer).parseToConfiguration(argThat(c -> contentsSize(c, 1)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+        verify(mockTransformer).parseSourcesToConfiguration(argThat(c -> contentsSize(c, 1)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+    }
+
+    @Test
+    public void testReadCurrentConfiguration_unparsedElements_shouldLoadContentsInOneBatch() {
+        var node = new Node();
+        var model = getModel(node);
+
+        var version = mockConfigurationRead(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH, true, model, node);
+        configurationRepositoryActions.readCurrentConfigurationVersion(mockRepository);
+
+        verify(mockRepository).loadObjectContents(argThat(objects -> objects.containsAll(version.objects()) && objects.size() == 2));
+    }
+
+    @Test
+    public void testReadCurrentConfiguration_parsedElements_shouldNotLoadContents() {
+        var node = new Node();
+        var model = getModel(node);
+
+        mockConfigurationRead(TEST_CONFIGURATION_NAME, TEST_CONFIGURATION_HASH, true, model, node);
+        when(mockTransformer.isParsed(any())).thenReturn(true);
+        configurationRepositoryActions.readCurrentConfigurationVersion(mockRepository);
+
+        verify(mockRepository).loadObjectContents(argThat(Collection::isEmpty));
     }
 
     @Test
@@ -151,7 +494,7 @@ public class ConfigurationRepositoryActionsTest {
         });
 
         verify(mockRepository).getCurrentRepositoryVersion();
-        verify(mockTransformer).parseToConfiguration(argThat(c -> contentsSize(c, 2)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+        verify(mockTransformer).parseSourcesToConfiguration(argThat(c -> contentsSize(c, 2)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
     }
 
     @Test
@@ -171,7 +514,7 @@ public class ConfigurationRepositoryActionsTest {
         });
 
         verify(mockRepository).getCurrentRepositoryVersion();
-        verify(mockTransformer).parseToConfiguration(argThat(c -> contentsSize(c, 3)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+        verify(mockTransformer).parseSourcesToConfiguration(argThat(c -> contentsSize(c, 3)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
     }
 
     @Test
@@ -192,7 +535,7 @@ public class ConfigurationRepositoryActionsTest {
         });
 
         verify(mockRepository).getCurrentRepositoryVersion();
-        verify(mockTransformer).parseToConfiguration(argThat(c -> contentsSize(c, 5)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+        verify(mockTransformer).parseSourcesToConfiguration(argThat(c -> contentsSize(c, 5)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
     }
 
     @Test
@@ -216,7 +559,7 @@ public class ConfigurationRepositoryActionsTest {
         });
 
         verify(mockRepository).getRepositoryVersion(TEST_CONFIGURATION_HASH);
-        verify(mockTransformer).parseToConfiguration(argThat(this::contentsEmpty), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+        verify(mockTransformer).parseSourcesToConfiguration(argThat(this::contentsEmpty), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
     }
 
     @Test
@@ -236,7 +579,7 @@ public class ConfigurationRepositoryActionsTest {
         });
 
         verify(mockRepository).getRepositoryVersion(TEST_CONFIGURATION_HASH);
-        verify(mockTransformer).parseToConfiguration(argThat(c -> contentsSize(c, 3)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
+        verify(mockTransformer).parseSourcesToConfiguration(argThat(c -> contentsSize(c, 3)), eq(TEST_CONFIGURATION_NAME), eq(TEST_CONFIGURATION_VER));
     }
 
     @Test
@@ -321,7 +664,7 @@ public class ConfigurationRepositoryActionsTest {
     public void testCompareConfigurationVersions_noDiffs_includeUnchangedFalse_shouldReturnEmptyList() {
         var version1 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v1", false);
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false);
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any())).thenReturn(Collections.emptyList());
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any(), any())).thenReturn(Collections.emptyList());
 
         var diffs = configurationRepositoryActions.compareConfigurationVersions(mockRepository, "v1", "v2", false);
 
@@ -331,14 +674,14 @@ public class ConfigurationRepositoryActionsTest {
 
         verify(mockRepository).getRepositoryVersion("v1");
         verify(mockRepository).getRepositoryVersion("v2");
-        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any());
+        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any(), any());
     }
 
     @Test
     public void testCompareVersions_versionsWithUnchangedModel_includeUnchangedFalse_shouldReturnEmptyList() {
         var version1 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v1", false, new Model());
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false, new Model());
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any())).thenReturn(Collections.emptyList());
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any(), any())).thenReturn(Collections.emptyList());
 
         var diffs = configurationRepositoryActions.compareConfigurationVersions(mockRepository, "v1", "v2", false);
 
@@ -348,7 +691,7 @@ public class ConfigurationRepositoryActionsTest {
 
         verify(mockRepository).getRepositoryVersion("v1");
         verify(mockRepository).getRepositoryVersion("v2");
-        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any());
+        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(false), any(), any());
     }
 
     @Test
@@ -357,7 +700,7 @@ public class ConfigurationRepositoryActionsTest {
         model.setId("model");
         var version1 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v1", false, model);
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false, model);
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any())).thenReturn(Collections.singletonList(
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any())).thenReturn(Collections.singletonList(
                 new ManagedDiffEntry.Unchanged(version2.objects().getFirst(), "content")
         ));
 
@@ -373,7 +716,7 @@ public class ConfigurationRepositoryActionsTest {
 
         verify(mockRepository).getRepositoryVersion("v1");
         verify(mockRepository).getRepositoryVersion("v2");
-        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any());
+        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any());
     }
 
     @Test
@@ -385,7 +728,7 @@ public class ConfigurationRepositoryActionsTest {
         var version1 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v1", false);
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false, addedModel);
 
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any())).thenReturn(Collections.singletonList(
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any())).thenReturn(Collections.singletonList(
                 new ManagedDiffEntry.Add(version2.objects().getFirst(), diffString)
         ));
 
@@ -416,7 +759,7 @@ public class ConfigurationRepositoryActionsTest {
         var version1 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v1", false, originalModel);
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false, modifiedModel);
 
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any())).thenReturn(Collections.singletonList(
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any())).thenReturn(Collections.singletonList(
                 new ManagedDiffEntry.Modify(version1.objects().getFirst(), version2.objects().getFirst(), diffString)
         ));
 
@@ -443,7 +786,7 @@ public class ConfigurationRepositoryActionsTest {
         var version1 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v1", false, deletedModel);
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false);
 
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any())).thenReturn(Collections.singletonList(
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any())).thenReturn(Collections.singletonList(
                 new ManagedDiffEntry.Delete(version1.objects().getFirst(), diffString)
         ));
 
@@ -486,7 +829,7 @@ public class ConfigurationRepositoryActionsTest {
 
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false, unchangedModel, addedModel, modifiedNode);
 
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any())).thenReturn(List.of(
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any())).thenReturn(List.of(
                 new ManagedDiffEntry.Delete(version1.objects().get(2), "deleteRelation"),
                 new ManagedDiffEntry.Add(version2.objects().get(1), "addModel"),
                 new ManagedDiffEntry.Modify(version1.objects().get(1), version2.objects().get(2), "modifyNode"),
@@ -520,7 +863,7 @@ public class ConfigurationRepositoryActionsTest {
 
         verify(mockRepository).getRepositoryVersion("v1");
         verify(mockRepository).getRepositoryVersion("v2");
-        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any());
+        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any());
     }
 
     @Test
@@ -531,7 +874,7 @@ public class ConfigurationRepositoryActionsTest {
         var version1 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v1", false, originalModel);
         var version2 = mockConfigurationRead(TEST_CONFIGURATION_NAME, "v2", false);
 
-        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any())).thenReturn(Collections.singletonList(
+        when(mockVersioning.compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any())).thenReturn(Collections.singletonList(
                 new ManagedDiffEntry.Modify(version1.objects().getFirst(), version1.objects().getFirst(), "diffString")
         ));
 
@@ -540,7 +883,7 @@ public class ConfigurationRepositoryActionsTest {
                 .hasMessageContaining("not found in configuration");
         verify(mockRepository).getRepositoryVersion("v1");
         verify(mockRepository).getRepositoryVersion("v2");
-        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any());
+        verify(mockVersioning).compareVersions(eq(version1.id()), eq(version2.id()), eq(true), any(), any());
     }
 
     @Test
@@ -548,6 +891,8 @@ public class ConfigurationRepositoryActionsTest {
         var newName = "newName";
         configurationRepositoryActions.renameConfigurationRepository(mockRepository, newName);
         verify(mockRepository).renameRepository(newName);
+        verify(mockVersionCache).invalidate(TEST_CONFIGURATION_NAME);
+        verify(mockVersionCache).invalidate(newName);
     }
 
     @Test
@@ -614,8 +959,10 @@ public class ConfigurationRepositoryActionsTest {
         var version2 = "v2";
 
         when(mockVersioning.listVersions()).thenReturn(List.of(version1, version2));
-        when(mockVersioning.listTagsForCommit(version1)).thenReturn(List.of("v1.0.0", "user-supplied-name"));
-        when(mockVersioning.listTagsForCommit(version2)).thenReturn(List.of("v2.0.0", "2nd-user-supplied-name"));
+        when(mockVersioning.listTagsByCommit()).thenReturn(Map.of(
+                version1, List.of("v1.0.0", "user-supplied-name"),
+                version2, List.of("v2.0.0", "2nd-user-supplied-name")
+        ));
 
         when(mockVersionNameGenerator.isAutoGeneratedVersionName("v1.0.0")).thenReturn(true);
         when(mockVersionNameGenerator.isAutoGeneratedVersionName("v2.0.0")).thenReturn(true);
@@ -632,6 +979,110 @@ public class ConfigurationRepositoryActionsTest {
                 );
     }
 
+    @Test
+    public void testGetMetadataForAllConfigurationVersions_squashedVersion_shouldBeNamedAfterMostRecentGeneratedName() {
+        var version = "v1";
+        var generatedNames = List.of("v1.0.8", "v1.0.9", "v10.0.0");
+        when(mockVersioning.listVersions()).thenReturn(List.of(version));
+        when(mockVersioning.listTagsByCommit()).thenReturn(Map.of(version, generatedNames));
+        when(mockVersionNameGenerator.isAutoGeneratedVersionName(anyString())).thenReturn(true);
+        when(mockVersionNameGenerator.findMostRecentVersionName(generatedNames)).thenReturn(Optional.of("v10.0.0"));
+
+        var metadata = configurationRepositoryActions.getMetadataForAllConfigurationVersions(mockRepository);
+
+        Assertions.assertThat(metadata).containsExactly(new ConfigurationVersion(version, "v10.0.0", null));
+    }
+
+    @Test
+    public void testGetMetadataForAllConfigurationVersions_untaggedVersion_shouldReturnMetadataWithoutNames() {
+        var version = "v1";
+        when(mockVersioning.listVersions()).thenReturn(List.of(version));
+        when(mockVersioning.listTagsByCommit()).thenReturn(Collections.emptyMap());
+
+        var metadata = configurationRepositoryActions.getMetadataForAllConfigurationVersions(mockRepository);
+
+        Assertions.assertThat(metadata).containsExactly(new ConfigurationVersion(version, null, null));
+        verify(mockVersioning, never()).listTagsForCommit(any());
+    }
+
+    @Test
+    public void testGetMetadataForConfigurationVersions_page_shouldOnlyListVersionsOfPage() {
+        var cursor = "v3";
+        var version = "v2";
+        when(mockVersioning.listVersions(cursor, 1)).thenReturn(List.of(version));
+        when(mockVersioning.listTagsByCommit()).thenReturn(Map.of(version, List.of("v2.0.0")));
+        when(mockVersionNameGenerator.isAutoGeneratedVersionName("v2.0.0")).thenReturn(true);
+
+        var metadata = configurationRepositoryActions.getMetadataForConfigurationVersions(mockRepository, cursor, 1);
+
+        Assertions.assertThat(metadata).containsExactly(new ConfigurationVersion(version, "v2.0.0", null));
+        verify(mockVersioning, never()).listVersions();
+    }
+
+    @Test
+    public void testGetElementHistory_elementChanged_shouldReturnChangesWithVersionNames() {
+        when(mockElementHistoryIndex.getHistory(mockRepository, "node1")).thenReturn(List.of(
+                new ElementHistoryIndex.Entry("v2", ManagedDiffType.MODIFY),
+                new ElementHistoryIndex.Entry("v1", ManagedDiffType.ADD)
+        ));
+        when(mockVersioning.listTagsByCommit()).thenReturn(Map.of("v2", List.of("v2.0.0", "custom"), "v1", List.of("v1.0.0")));
+        when(mockVersionNameGenerator.isAutoGeneratedVersionName(anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0, String.class).endsWith(".0.0"));
+
+        var history = configurationRepositoryActions.getElementHistory(mockRepository, "node1");
+
+        Assertions.assertThat(history).containsExactly(
+                new ElementChange(new ConfigurationVersion("v2", "v2.0.0", "custom"), "MODIFY"),
+                new ElementChange(new ConfigurationVersion("v1", "v1.0.0", null), "ADD")
+        );
+    }
+
+    @Test
+    public void testGetElementHistory_elementNeverChanged_shouldNotListTags() {
+        when(mockElementHistoryIndex.getHistory(mockRepository, "node1")).thenReturn(Collections.emptyList());
+
+        Assertions.assertThat(configurationRepositoryActions.getElementHistory(mockRepository, "node1")).isEmpty();
+        verify(mockVersioning, never()).listTagsByCommit();
+    }
+
+    @Test
+    public void testCompactConfigurationHistory_fewerSquashableVersionsThanMinimum_shouldNotSquash() {
+        when(mockVersioning.listVersions()).thenReturn(List.of("v3", "v2", "v1"));
+        when(mockVersioning.listTagsByCommit()).thenReturn(Collections.emptyMap());
+
+        Assertions.assertThat(configurationRepositoryActions.compactConfigurationHistory(mockRepository, 1, 3)).isZero();
+        verify(mockVersioning, never()).squashVersions(any(), any());
+        verify(mockVersionCache, never()).invalidate(anyString());
+    }
+
+    @Test
+    public void testCompactConfigurationHistory_oldVersions_shouldKeepRecentAndCustomNamedVersions() {
+        when(mockVersioning.listVersions()).thenReturn(List.of("v6", "v5", "v4", "v3", "v2", "v1"));
+        when(mockVersioning.listTagsByCommit()).thenReturn(Map.of("v2", List.of("v1.0.1", "custom")));
+        when(mockVersionNameGenerator.isAutoGeneratedVersionName(anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0, String.class).startsWith("v1.0."));
+        var rewritten = new LinkedHashMap<String, String>();
+        rewritten.put("v1", "n1");
+        rewritten.put("v2", "n2");
+        rewritten.put("v3", "s");
+        rewritten.put("v4", "s");
+        rewritten.put("v5", "n5");
+        rewritten.put("v6", "n6");
+        when(mockVersioning.squashVersions(Set.of("v6", "v5", "v2"), List.of("refs/notes/mcm-changes"))).thenReturn(rewritten);
+        when(mockVersioning.getMainBranchVersionId()).thenReturn(Optional.of("n6"));
+        when(mockVersioning.listFileChanges(null, "n6", ConfigurationPaths.CONFIGURATION_DIRECTORIES)).thenReturn(List.of(
+                new ManagedVersionChanges("s", List.of(new ManagedFileChange("nodes/node1.xml", "a", "b"))),
+                new ManagedVersionChanges("n5", List.of(new ManagedFileChange("nodes/node1.xml", "b", "c")))
+        ));
+
+        var removedVersions = configurationRepositoryActions.compactConfigurationHistory(mockRepository, 2, 1);
+
+        Assertions.assertThat(removedVersions).isEqualTo(1);
+        verify(mockVersionCache).invalidate(TEST_CONFIGURATION_NAME);
+        verify(mockVersioning).addNote(eq("refs/notes/mcm-changes"), eq("s"), argThat(note -> note.contains("\"modified\":1")));
+        verify(mockVersioning, never()).addNote(anyString(), eq("n5"), anyString());
+    }
+
     private ManagedRepositoryVersion mockConfigurationRead(String name, String versionId, boolean currentConfiguration, BaseAttributes... elements) {
         return mockConfigurationRead(name, versionId, null, null, currentConfiguration, elements);
     }
@@ -653,7 +1104,7 @@ public class ConfigurationRepositoryActionsTest {
         var configVersion = new ConfigurationVersion(versionId, versionName, versionCustomName);
 
         doReturn(getConfiguration(name, configVersion, models))
-                .when(mockTransformer).parseToConfiguration(
+                .when(mockTransformer).parseSourcesToConfiguration(
                         argThat(c -> contentsSize(c, elements.length)),
                         eq(name),
                         eq(configVersion));
@@ -730,6 +1181,24 @@ public class ConfigurationRepositoryActionsTest {
         return objects;
     }
 
+    private ObjectId mockObjectId(String id) {
+        return new ObjectInserter.Formatter().idFor(Constants.OBJ_BLOB, id.getBytes(encoding));
+    }
+
+    private Relation getRelation(String id) {
+        var relation = new Relation();
+        relation.setId(id);
+        return relation;
+    }
+
+    private ManagedRepositoryObject mockRepositoryObject(String path) {
+        var mockedObject = mock(ManagedRepositoryObject.class);
+        lenient().when(mockedObject.getFilePath()).thenReturn(path);
+        lenient().when(mockedObject.getFileContent()).thenReturn(generateMockDSL());
+        lenient().when(mockedObject.getObjectId()).thenReturn(mockObjectId(path));
+        return mockedObject;
+    }
+
     private ManagedRepositoryObject mockModelObject(Model model) {
         var id = model != null && model.getId() != null ? model.getId() : UUID.randomUUID().toString();
 
@@ -737,6 +1206,7 @@ public class ConfigurationRepositoryActionsTest {
         lenient().when(mockedModel.rawFilePathMatches(MODELS_DIRECTORY.getBytes(encoding))).thenReturn(true);
         lenient().when(mockedModel.getFilePath()).thenReturn(MODELS_DIRECTORY + '/' + id + FILE_EXTENSION);
         lenient().when(mockedModel.getFileContent()).thenReturn(generateMockDSL());
+        lenient().when(mockedModel.getObjectId()).thenReturn(mockObjectId(id));
         return mockedModel;
     }
 
@@ -747,6 +1217,7 @@ public class ConfigurationRepositoryActionsTest {
         lenient().when(mockedNode.rawFilePathMatches(NODES_DIRECTORY.getBytes(encoding))).thenReturn(true);
         lenient().when(mockedNode.getFilePath()).thenReturn(NODES_DIRECTORY + '/' + id + FILE_EXTENSION);
         lenient().when(mockedNode.getFileContent()).thenReturn(generateMockDSL());
+        lenient().when(mockedNode.getObjectId()).thenReturn(mockObjectId(id));
         return mockedNode;
     }
 
@@ -757,6 +1228,7 @@ public class ConfigurationRepositoryActionsTest {
         lenient().when(mockedRelation.rawFilePathMatches(RELATIONS_DIRECTORY.getBytes(encoding))).thenReturn(true);
         lenient().when(mockedRelation.getFilePath()).thenReturn(RELATIONS_DIRECTORY + '/' + id + FILE_EXTENSION);
         lenient().when(mockedRelation.getFileContent()).thenReturn(generateMockDSL());
+        lenient().when(mockedRelation.getObjectId()).thenReturn(mockObjectId(id));
         return mockedRelation;
     }
 }
@@ -0,0 +1,145 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.*;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ConfigurationVersionCacheTest {
+
+    private static final String TEST_REPOSITORY = "test";
+    private static final String TEST_COMMIT = "0123456789abcdef0123456789abcdef01234567";
+
+    private GitProperties properties;
+    private ConfigurationVersionCache cache;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        cache = new ConfigurationVersionCacheImpl(properties);
+    }
+
+    @Test
+    public void testGet_emptyCache_shouldReturnEmptyOptional() {
+        Assertions.assertThat(cache.get(TEST_REPOSITORY, TEST_COMMIT)).isEmpty();
+    }
+
+    @Test
+    public void testGet_cachedConfiguration_shouldReturnCopy() {
+        var configuration = getConfiguration();
+        cache.put(TEST_REPOSITORY, TEST_COMMIT, configuration, 10);
+
+        var cached = cache.get(TEST_REPOSITORY, TEST_COMMIT);
+
+        Assertions.assertThat(cached).hasValueSatisfying(copy -> {
+            Assertions.assertThat(copy).isNotSameAs(configuration);
+            Assertions.assertThat(copy.getName()).isEqualTo(configuration.getName());
+            Assertions.assertThat(copy.getModels()).hasSize(1);
+            var model = copy.getModels().iterator().next();
+            Assertions.assertThat(model.getNodes()).hasSize(2);
+            Assertions.assertThat(model.getNodes()).noneMatch(node -> configuration.getModels().iterator().next().getNodes().stream().anyMatch(n -> n == node));
+        });
+    }
+
+    @Test
+    public void testGet_cachedConfigurationWithRelation_shouldRemapRelationTargetToCopiedNode() {
+        cache.put(TEST_REPOSITORY, TEST_COMMIT, getConfiguration(), 10);
+
+        var copy = cache.get(TEST_REPOSITORY, TEST_COMMIT).orElseThrow();
+        var nodes = copy.getModels().iterator().next().getNodes();
+        var source = nodes.stream().filter(node -> !node.getRelations().isEmpty()).findFirst().orElseThrow();
+        var relation = source.getRelations().iterator().next();
+
+        Assertions.assertThat(nodes).anyMatch(node -> node == relation.getTarget());
+        Assertions.assertThat(relation.getStartPoint()).isEqualTo(new Point(15, 25));
+    }
+
+    @Test
+    public void testGet_modifiedReturnedConfiguration_shouldNotAffectCachedConfiguration() {
+        var configuration = getConfiguration();
+        cache.put(TEST_REPOSITORY, TEST_COMMIT, configuration, 10);
+        configuration.getModels().clear();
+
+        var first = cache.get(TEST_REPOSITORY, TEST_COMMIT).orElseThrow();
+        first.getModels().iterator().next().getNodes().clear();
+        first.setName("modified");
+
+        var second = cache.get(TEST_REPOSITORY, TEST_COMMIT).orElseThrow();
+        Assertions.assertThat(second.getName()).isEqualTo(TEST_REPOSITORY);
+        Assertions.assertThat(second.getModels().iterator().next().getNodes()).hasSize(2);
+    }
+
+    @Test
+    public void testPut_exceedingMaxWeight_shouldEvictLeastRecentlyUsed() {
+        properties.getVersionCache().setMaxWeight(DataSize.ofBytes(20));
+        cache.put(TEST_REPOSITORY, "first", getConfiguration(), 10);
+        cache.put(TEST_REPOSITORY, "second", getConfiguration(), 10);
+        cache.get(TEST_REPOSITORY, "first");
+
+        cache.put(TEST_REPOSITORY, "third", getConfiguration(), 10);
+
+        Assertions.assertThat(cache.get(TEST_REPOSITORY, "first")).isPresent();
+        Assertions.assertThat(cache.get(TEST_REPOSITORY, "second")).isEmpty();
+        Assertions.assertThat(cache.get(TEST_REPOSITORY, "third")).isPresent();
+    }
+
+    @Test
+    public void testPut_configurationLargerThanMaxWeight_shouldNotCache() {
+        properties.getVersionCache().setMaxWeight(DataSize.ofBytes(5));
+        cache.put(TEST_REPOSITORY, TEST_COMMIT, getConfiguration(), 10);
+        Assertions.assertThat(cache.get(TEST_REPOSITORY, TEST_COMMIT)).isEmpty();
+    }
+
+    @Test
+    public void testPut_cacheDisabled_shouldNotCache() {
+        properties.getVersionCache().setEnabled(false);
+        cache.put(TEST_REPOSITORY, TEST_COMMIT, getConfiguration(), 10);
+        Assertions.assertThat(cache.get(TEST_REPOSITORY, TEST_COMMIT)).isEmpty();
+    }
+
+    @Test
+    public void testInvalidate_shouldOnlyRemoveEntriesOfRepository() {
+        cache.put(TEST_REPOSITORY, TEST_COMMIT, getConfiguration(), 10);
+        cache.put("other", TEST_COMMIT, getConfiguration(), 10);
+
+        cache.invalidate(TEST_REPOSITORY);
+
+        Assertions.assertThat(cache.get(TEST_REPOSITORY, TEST_COMMIT)).isEmpty();
+        Assertions.assertThat(cache.get("other", TEST_COMMIT)).isPresent();
+    }
+
+    private Configuration getConfiguration() {
+        var target = new Node();
+        target.setId("target");
+        target.setUmletPosition(new UMLetPosition(100, 100, 50, 50));
+
+        var relation = new Relation();
+        relation.setId("relation");
+        relation.setType("->");
+        relation.setTarget(target);
+        relation.setUmletPosition(new UMLetPosition(10, 20, 100, 100));
+        relation.setRelativeStartPoint(new RelativePosition(5, 5, 10, 20));
+        relation.setRelativeEndPoint(new RelativePosition(90, 90, 10, 20));
+
+        var source = new Node();
+        source.setId("source");
+        source.setTags(List.of("tag"));
+        source.setRelations(new HashSet<>(Set.of(relation)));
+
+        var model = new Model();
+        model.setId("model");
+        model.setNodes(new HashSet<>(Set.of(source, target)));
+
+        var configuration = new Configuration();
+        configuration.setName(TEST_REPOSITORY);
+        configuration.setVersion(new ConfigurationVersion(TEST_COMMIT, "v1.0.0", null));
+        configuration.getModels().add(model);
+        return configuration;
+    }
+}
@@ -0,0 +1,147 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.core.model.dsl.*;
+import at.ac.tuwien.model.change.management.core.transformer.XMLTransformer;
+import at.ac.tuwien.model.change.management.core.transformer.XMLTransformerImpl;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryReadException;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepositoryVersioning;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+public class ElementCodecTest {
+
+    private GitProperties properties;
+    private XMLTransformer xmlTransformer;
+    private ElementCodec elementCodec;
+
+    @BeforeEach
+    public void setup() throws JAXBException {
+        properties = new GitProperties();
+        xmlTransformer = new XMLTransformerImpl(JAXBContext.newInstance(ModelDSL.class, NodeDSL.class, RelationDSL.class));
+        elementCodec = new ElementCodecImpl(properties, xmlTransformer);
+    }
+
+    @Test
+    public void testEncode_xml_shouldReturnText() {
+        var dsl = getModelDSL("model");
+
+        var content = elementCodec.encode(dsl, GitProperties.Codec.XML, StandardCharsets.UTF_8);
+
+        Assertions.assertThat(content).isEqualTo(dsl.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(elementCodec.decode(content, StandardCharsets.UTF_8)).isEqualTo(dsl);
+        Assertions.assertThat(elementCodec.decodeToText(content, StandardCharsets.UTF_8)).isEqualTo(dsl);
+    }
+
+    @Test
+    public void testEncode_binary_shouldBeSmallerThanXml() {
+        var dsl = getModelDSL("model");
+
+        var content = elementCodec.encode(dsl, GitProperties.Codec.BINARY, StandardCharsets.UTF_8);
+
+        Assertions.assertThat(content).startsWith(BinaryElementFormat.MAGIC);
+        Assertions.assertThat(content.length).isLessThan(dsl.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void testDecode_binary_shouldParseToSameDSL() throws JAXBException {
+        var dsl = getModelDSL("model");
+
+        var decoded = elementCodec.decode(elementCodec.encode(dsl, GitProperties.Codec.BINARY, StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+        Assertions.assertThat(xmlTransformer.marshal(xmlTransformer.unmarshal(decoded))).isEqualTo(dsl);
+    }
+
+    @Test
+    public void testDecodeToText_binary_shouldReturnXmlText() {
+        var dsl = getModelDSL("model");
+
+        var content = elementCodec.encode(dsl, GitProperties.Codec.BINARY, StandardCharsets.UTF_8);
+
+        Assertions.assertThat(elementCodec.decodeToText(content, StandardCharsets.UTF_8)).isEqualTo(dsl);
+    }
+
+    @Test
+    public void testDecodeToText_binaryWithSpecialCharacters_shouldKeepText() {
+        var dsl = getModelDSL("<model> & \"quoted\"\n  second line ");
+
+        var content = elementCodec.encode(dsl, GitProperties.Codec.BINARY, StandardCharsets.UTF_8);
+
+        Assertions.assertThat(elementCodec.decodeToText(content, StandardCharsets.UTF_8)).isEqualTo(dsl);
+    }
+
+    @Test
+    public void testDecode_truncatedBinary_shouldThrowRepositoryReadException() {
+        var content = elementCodec.encode(getModelDSL("model"), GitProperties.Codec.BINARY, StandardCharsets.UTF_8);
+        var truncated = Arrays.copyOf(content, content.length - 4);
+
+        Assertions.assertThatThrownBy(() -> elementCodec.decode(truncated, StandardCharsets.UTF_8))
+                .isInstanceOf(RepositoryReadException.class);
+    }
+
+    @Test
+    public void testGetRepositoryCodec_codecRecorded_shouldReturnRecordedCodec() {
+        var repository = mockRepository(Optional.of(GitProperties.Codec.BINARY), Optional.of("version"));
+
+        Assertions.assertThat(elementCodec.getRepositoryCodec(repository)).isEqualTo(GitProperties.Codec.BINARY);
+        verify(repository, never()).setCodec(any());
+    }
+
+    @Test
+    public void testGetRepositoryCodec_newRepository_shouldRecordConfiguredCodec() {
+        properties.getStorage().setCodec(GitProperties.Codec.BINARY);
+        var repository = mockRepository(Optional.empty(), Optional.empty());
+
+        Assertions.assertThat(elementCodec.getRepositoryCodec(repository)).isEqualTo(GitProperties.Codec.BINARY);
+        verify(repository).setCodec(GitProperties.Codec.BINARY);
+    }
+
+    @Test
+    public void testGetRepositoryCodec_existingRepositoryWithoutCodec_shouldRecordXml() {
+        properties.getStorage().setCodec(GitProperties.Codec.BINARY);
+        var repository = mockRepository(Optional.empty(), Optional.of("version"));
+
+        Assertions.assertThat(elementCodec.getRepositoryCodec(repository)).isEqualTo(GitProperties.Codec.XML);
+        verify(repository).setCodec(GitProperties.Codec.XML);
+    }
+
+    private ManagedRepository mockRepository(Optional<GitProperties.Codec> codec, Optional<String> currentVersion) {
+        var repository = mock(ManagedRepository.class);
+        var versioning = mock(ManagedRepositoryVersioning.class);
+        when(repository.getCodec()).thenReturn(codec);
+        when(repository.exists()).thenReturn(true);
+        when(repository.versioning()).thenReturn(versioning);
+        when(versioning.getCurrentVersionId()).thenReturn(currentVersion);
+        return repository;
+    }
+
+    private String getModelDSL(String title) {
+        var modelDSL = new ModelDSL();
+        modelDSL.setId("model-123");
+        modelDSL.setTitle(title);
+        modelDSL.setDescription("");
+        modelDSL.setTags(List.of("first", "second"));
+        var property = new KeyValueDSL();
+        property.setKey("key");
+        property.setValue("value");
+        modelDSL.setProperties(List.of(property));
+        modelDSL.setMetadata(new MetadataDSL());
+        modelDSL.setZoomLevel(10);
+        try {
+            return xmlTransformer.marshal(modelDSL);
+        } catch (JAXBException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package at.ac.tuwien.model.change.management.git.operation;
+
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedDiffType;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepository;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepositoryFactory;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepositoryFactoryImpl;
+import at.ac.tuwien.model.change.management.git.infrastructure.ManagedRepositoryFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ElementHistoryIndexTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private GitProperties properties;
+    private ManagedRepository repository;
+    private ElementHistoryIndex elementHistoryIndex;
+
+    @BeforeEach
+    public void setup() {
+        properties = new GitProperties();
+        properties.setRepositories(tempDir);
+        ManagedRepositoryFactory factory = new ManagedRepositoryFactoryImpl(properties);
+        repository = factory.getRepositoryByName("test");
+        repository.versioning().init();
+        elementHistoryIndex = new ElementHistoryIndexImpl(properties);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        repository.close();
+    }
+
+    @Test
+    public void testGetHistory_addedModifiedDeleted_shouldReturnChangesMostRecentFirst() {
+        var added = commit(file("nodes/node1.xml", "node1"), file("nodes/node2.xml", "node2"));
+        var modified = commit(file("nodes/node1.xml", "node1 changed"), file("nodes/node2.xml", "node2"));
+        var deleted = commit(file("nodes/node2.xml", "node2"));
+
+        var history = elementHistoryIndex.getHistory(repository, "node1");
+
+        Assertions.assertThat(history).containsExactly(
+                new ElementHistoryIndex.Entry(deleted, ManagedDiffType.DELETE),
+                new ElementHistoryIndex.Entry(modified, ManagedDiffType.MODIFY),
+                new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD)
+        );
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "node2"))
+                .containsExactly(new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD));
+    }
+
+    @Test
+    public void testGetHistory_unknownElement_shouldReturnEmptyList() {
+        commit(file("nodes/node1.xml", "node1"));
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "unknown")).isEmpty();
+    }
+
+    @Test
+    public void testGetHistory_movedToOtherLayout_shouldNotListMove() {
+        var added = commit(file("models/model1.xml", "model1"), file("nodes/node1.xml", "node1"));
+        commit(file("models/model1/model.xml", "model1"), file("models/model1/nodes/node1.xml", "node1"));
+        var modified = commit(file("models/model1/model.xml", "model1"), file("models/model1/nodes/node1.xml", "node1 changed"));
+
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "node1")).containsExactly(
+                new ElementHistoryIndex.Entry(modified, ManagedDiffType.MODIFY),
+                new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD)
+        );
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "model1"))
+                .containsExactly(new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD));
+    }
+
+    @Test
+    public void testGetHistory_versionCommittedAfterUpdate_shouldIncludeNewVersion() {
+        var added = commit(file("nodes/node1.xml", "node1"));
+        elementHistoryIndex.update(repository);
+        var modified = commit(file("nodes/node1.xml", "node1 changed"));
+
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "node1")).containsExactly(
+                new ElementHistoryIndex.Entry(modified, ManagedDiffType.MODIFY),
+                new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD)
+        );
+    }
+
+    @Test
+    public void testGetHistory_mainBranchReset_shouldRebuildIndex() {
+        var added = commit(file("nodes/node1.xml", "node1"));
+        commit(file("nodes/node1.xml", "node1 changed"));
+        elementHistoryIndex.update(repository);
+
+        repository.versioning().reset(added);
+
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "node1"))
+                .containsExactly(new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD));
+    }
+
+    @Test
+    public void testGetHistory_newIndexInstance_shouldLoadPersistedIndex() {
+        var added = commit(file("nodes/node1.xml", "node1"));
+        elementHistoryIndex.update(repository);
+
+        var loadedIndex = new ElementHistoryIndexImpl(properties);
+
+        Assertions.assertThat(repository.readMetadataFile("element-history.jsonl")).isPresent();
+        Assertions.assertThat(loadedIndex.getHistory(repository, "node1"))
+                .containsExactly(new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD));
+    }
+
+    @Test
+    public void testGetHistory_brokenIndexFile_shouldRebuildIndex() {
+        var added = commit(file("nodes/node1.xml", "node1"));
+        repository.writeMetadataFile("element-history.jsonl", "{broken".getBytes());
+
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "node1"))
+                .containsExactly(new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD));
+    }
+
+    @Test
+    public void testUpdate_newVersions_shouldOnlyAppendNewVersionsToIndexFile() {
+        var added = commit(file("nodes/node1.xml", "node1"));
+        elementHistoryIndex.update(repository);
+        var modified = commit(file("nodes/node1.xml", "node1 changed"));
+        elementHistoryIndex.update(repository);
+
+        var lines = readIndexFileLines();
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(lines.get(1)).contains(modified).doesNotContain(ManagedDiffType.ADD.name());
+        Assertions.assertThat(new ElementHistoryIndexImpl(properties).getHistory(repository, "node1")).containsExactly(
+                new ElementHistoryIndex.Entry(modified, ManagedDiffType.MODIFY),
+                new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD)
+        );
+    }
+
+    @Test
+    public void testGetHistory_partiallyAppendedSegment_shouldSkipSegmentAndRewriteIndexFile() {
+        var added = commit(file("nodes/node1.xml", "node1"));
+        elementHistoryIndex.update(repository);
+        repository.appendMetadataFile("element-history.jsonl", "{\"base\":".getBytes());
+        var modified = commit(file("nodes/node1.xml", "node1 changed"));
+
+        var loadedIndex = new ElementHistoryIndexImpl(properties);
+
+        Assertions.assertThat(loadedIndex.getHistory(repository, "node1")).containsExactly(
+                new ElementHistoryIndex.Entry(modified, ManagedDiffType.MODIFY),
+                new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD)
+        );
+        Assertions.assertThat(readIndexFileLines()).hasSize(1);
+    }
+
+    @Test
+    public void testGetHistory_indexEvicted_shouldLoadIndexAgain() {
+        properties.getElementHistory().setMaxRepositories(0);
+        var added = commit(file("nodes/node1.xml", "node1"));
+        elementHistoryIndex.update(repository);
+        var modified = commit(file("nodes/node1.xml", "node1 changed"));
+
+        Assertions.assertThat(elementHistoryIndex.getHistory(repository, "node1")).containsExactly(
+                new ElementHistoryIndex.Entry(modified, ManagedDiffType.MODIFY),
+                new ElementHistoryIndex.Entry(added, ManagedDiffType.ADD)
+        );
+        Assertions.assertThat(readIndexFileLines()).hasSize(2);
+    }
+
+    private List<String> readIndexFileLines() {
+        return repository.readMetadataFile("element-history.jsonl")
+                .map(content -> new String(content, StandardCharsets.UTF_8).lines().toList())
+                .orElseThrow();
+    }
+
+    private String commit(ManagedRepositoryFile... files) {
+        return repository.versioning()
+                .commitFiles(List.of(files), ConfigurationPaths.CONFIGURATION_DIRECTORIES, "Test commit")
+                .orElseThrow();
+    }
+
+    private ManagedRepositoryFile file(String path, String content) {
+        return new ManagedRepositoryFile(Path.of(path), content);
+    }
+}
@@ -1,14 +1,19 @@
 package at.ac.tuwien.model.change.management.git.repository;
 
 import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationChangeSummary;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
 import at.ac.tuwien.model.change.management.core.model.versioning.ModelDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.NodeDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.RelationDiff;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationProcessor;
+import at.ac.tuwien.model.change.management.git.config.GitProperties;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.integration.GitTestConfig;
+import at.ac.tuwien.model.change.management.git.operation.ConfigurationLayoutMigration;
 import at.ac.tuwien.model.change.management.git.util.PathUtils;
 import at.ac.tuwien.model.change.management.testutil.DomainModelGen;
 import at.ac.tuwien.model.change.management.testutil.assertion.ConfigurationAssert;
@@ -25,7 +30,11 @@ import org.springframework.test.context.DynamicPropertySource;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
 @SpringBootTest
@@ -35,6 +44,12 @@ public class ConfigurationRepositoryIntegrationTest {
     @Autowired
     private ConfigurationRepository configurationRepository;
 
+    @Autowired
+    private ConfigurationLayoutMigration configurationLayoutMigration;
+
+    @Autowired
+    private GitProperties gitProperties;
+
     private final static String TEST_CONFIGURATION_NAME = "test-configuration";
     private final static String TEST_CONFIGURATION_VERSION = "v1.0.0";
 
@@ -239,6 +254,121 @@ public class ConfigurationRepositoryIntegrationTest {
         );
     }
 
+    @Test
+    public void testFindConfigurationContainingModel_modelInOneConfiguration_shouldReturnThatConfiguration() {
+        configurationRepository.createConfiguration("testConfig1");
+        configurationRepository.createConfiguration("testConfig2");
+        configurationRepository.createConfiguration("testConfig3");
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration("testConfig1", 1, 1, 0));
+        var configuration2 = configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration("testConfig2", 2, 2, 0));
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration("testConfig3", 1, 1, 0));
+        var modelId = configuration2.getModels().iterator().next().getId();
+
+        var foundConfiguration = configurationRepository.findConfigurationContainingModel(modelId);
+
+        Assertions.assertThat(foundConfiguration).hasValueSatisfying(configuration ->
+                ConfigurationAssert.assertThat(configuration).hasName("testConfig2").containsSameElementsAs(configuration2));
+    }
+
+    @Test
+    public void testFindConfigurationContainingModel_nonExistingModel_shouldReturnEmptyOptional() {
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 2, 2, 0));
+
+        Assertions.assertThat(configurationRepository.findConfigurationContainingModel("non-existing")).isEmpty();
+    }
+
+    @Test
+    public void testFindModelsOfCurrentVersionOfConfiguration_oneModel_shouldReturnOnlyThatModel() {
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        var savedConfiguration = configurationRepository.saveConfiguration(
+                DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 3, 2, 0));
+        var model = savedConfiguration.getModels().iterator().next();
+
+        var foundConfiguration = configurationRepository.findModelsOfCurrentVersionOfConfiguration(TEST_CONFIGURATION_NAME, Set.of(model.getId()));
+
+        Assertions.assertThat(foundConfiguration).hasValueSatisfying(configuration -> {
+            Assertions.assertThat(configuration.getVersionHash()).isEqualTo(savedConfiguration.getVersionHash());
+            Assertions.assertThat(configuration.getModels()).singleElement().satisfies(foundModel -> {
+                Assertions.assertThat(foundModel.getId()).isEqualTo(model.getId());
+                Assertions.assertThat(foundModel.getNodes()).containsExactlyInAnyOrderElementsOf(model.getNodes());
+            });
+        });
+    }
+
+    @Test
+    public void testFindModelsOfCurrentVersionOfConfiguration_nonExistingModel_shouldReturnConfigurationWithoutModels() {
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 2, 2, 0));
+
+        var foundConfiguration = configurationRepository.findModelsOfCurrentVersionOfConfiguration(TEST_CONFIGURATION_NAME, Set.of("non-existing"));
+
+        Assertions.assertThat(foundConfiguration).hasValueSatisfying(configuration ->
+                Assertions.assertThat(configuration.getModels()).isEmpty());
+    }
+
+    @Test
+    public void testFindModelsOfCurrentVersionOfConfiguration_nonExistingConfiguration_shouldReturnEmptyOptional() {
+        Assertions.assertThat(configurationRepository.findModelsOfCurrentVersionOfConfiguration(TEST_CONFIGURATION_NAME, Set.of("model")))
+                .isEmpty();
+    }
+
+    @Test
+    public void testFindAllConfigurationSummaries_noConfigurations_shouldReturnEmptyList() {
+        Assertions.assertThat(configurationRepository.findAllConfigurationSummaries()).isEmpty();
+    }
+
+    @Test
+    public void testFindAllConfigurationSummaries_savedConfigurations_shouldReturnSummariesOfCurrentVersions() {
+        configurationRepository.createConfiguration("testConfig1");
+        configurationRepository.createConfiguration("testConfig2");
+        configurationRepository.createConfiguration("testConfig3");
+        var savedConfiguration1 = configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration("testConfig1", 2, 3, 2));
+        var savedConfiguration2 = configurationRepository.saveConfiguration(getEmptyConfiguration("testConfig2"));
+
+        var summaries = configurationRepository.findAllConfigurationSummaries();
+
+        Assertions.assertThat(summaries).satisfiesExactly(
+                summary -> assertSummaryOf(summary, savedConfiguration1),
+                summary -> assertSummaryOf(summary, savedConfiguration2)
+        );
+        Assertions.assertThat(summaries.getFirst().size()).isPositive();
+        Assertions.assertThat(summaries.get(1).size()).isZero();
+    }
+
+    @Test
+    public void testFindAllConfigurationSummaries_savedNewVersion_shouldReturnSummaryOfNewVersion() {
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 1, 0));
+        configurationRepository.findAllConfigurationSummaries();
+        var savedConfiguration = configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 3, 2, 1));
+
+        Assertions.assertThat(configurationRepository.findAllConfigurationSummaries())
+                .satisfiesExactly(summary -> assertSummaryOf(summary, savedConfiguration));
+    }
+
+    @Test
+    public void testFindAllConfigurationSummaries_renamedAndDeletedConfigurations_shouldReturnRemainingSummaries() {
+        configurationRepository.createConfiguration("testConfig1");
+        configurationRepository.createConfiguration("testConfig2");
+        configurationRepository.saveConfiguration(getEmptyConfiguration("testConfig1"));
+        configurationRepository.saveConfiguration(getEmptyConfiguration("testConfig2"));
+        configurationRepository.findAllConfigurationSummaries();
+
+        configurationRepository.renameConfiguration("testConfig1", "renamedConfig");
+        configurationRepository.deleteConfiguration("testConfig2");
+
+        Assertions.assertThat(configurationRepository.findAllConfigurationSummaries())
+                .extracting(ConfigurationSummary::name)
+                .containsExactly("renamedConfig");
+    }
+
+    @Test
+    public void testFindAllConfigurationSummaries_configurationWithoutVersion_shouldNotReturnSummary() {
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        Assertions.assertThat(configurationRepository.findAllConfigurationSummaries()).isEmpty();
+    }
+
     @Test
     public void testSaveConfiguration_nonExistingConfiguration_shouldThrowRepositoryDoesNotExistException() {
         var configuration = getEmptyConfiguration(TEST_CONFIGURATION_NAME);
@@ -335,6 +465,19 @@ public class ConfigurationRepositoryIntegrationTest {
                         .hasName(TEST_CONFIGURATION_NAME));
     }
 
+    @Test
+    public void testSaveConfiguration_unchangedConfiguration_shouldNotCreateNewVersion() {
+        var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 2, 1);
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        var savedConfiguration = configurationRepository.saveConfiguration(configuration);
+        var resavedConfiguration = configurationRepository.saveConfiguration(configuration);
+
+        Assertions.assertThat(resavedConfiguration.getVersionHash()).isEqualTo(savedConfiguration.getVersionHash());
+        Assertions.assertThat(configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME))
+                .extracting(ConfigurationVersion::name)
+                .containsExactly("v1.0.0");
+    }
+
     @Test
     public void testDeleteConfiguration_existingConfiguration_shouldDeleteConfigurationDirectory() {
         configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
@@ -542,6 +685,62 @@ public class ConfigurationRepositoryIntegrationTest {
                 Assertions.assertThat(relationDiff.getDiffType()).isEqualTo("DELETE"));
     }
 
+    @Test
+    public void testCompareConfigurationVersions_acrossLayoutChange_shouldPairElementsById() {
+        var configuredLayout = gitProperties.getStorage().getLayout();
+        try {
+            gitProperties.getStorage().setLayout(GitProperties.Layout.FLAT);
+            var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 2, 1);
+            configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+            var savedVersion = configurationRepository.saveConfiguration(configuration);
+
+            // the configuration keeps its layout until it is migrated
+            gitProperties.getStorage().setLayout(GitProperties.Layout.PER_MODEL);
+            new ConfigurationProcessor(configuration).processModels(model -> model.setTitle(model.getTitle() + "-updated"));
+            var updatedVersion = configurationRepository.saveConfiguration(configuration);
+            Assertions.assertThat(configurationLayoutMigration.migrateConfigurationLayouts()).containsExactly(TEST_CONFIGURATION_NAME);
+            var migratedVersion = configurationRepository.findCurrentVersionOfConfigurationByName(TEST_CONFIGURATION_NAME).orElseThrow();
+
+            @SuppressWarnings("ConstantConditions")
+            var comparison = configurationRepository.compareConfigurationVersions(TEST_CONFIGURATION_NAME, savedVersion.getVersionHash(), migratedVersion.getVersionHash(), false);
+            Assertions.assertThat(comparison.getModels()).singleElement().satisfies(modelDiff ->
+                    Assertions.assertThat(modelDiff.getDiffType()).isEqualTo("MODIFY"));
+            Assertions.assertThat(comparison.getNodes()).isEmpty();
+            Assertions.assertThat(comparison.getRelations()).isEmpty();
+
+            @SuppressWarnings("ConstantConditions")
+            var migrationComparison = configurationRepository.compareConfigurationVersions(TEST_CONFIGURATION_NAME, updatedVersion.getVersionHash(), migratedVersion.getVersionHash(), false);
+            Assertions.assertThat(migrationComparison.getModels()).isEmpty();
+            Assertions.assertThat(migrationComparison.getNodes()).isEmpty();
+            Assertions.assertThat(migrationComparison.getRelations()).isEmpty();
+        } finally {
+            gitProperties.getStorage().setLayout(configuredLayout);
+        }
+    }
+
+    @Test
+    public void testCompareConfigurationVersions_nodeMovedToOtherModel_shouldReturnModifiedNode() {
+        var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 2, 1, 0);
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        var savedVersion = configurationRepository.saveConfiguration(configuration);
+
+        var models = List.copyOf(configuration.getModels());
+        var node = models.get(0).getNodes().iterator().next();
+        models.get(0).getNodes().remove(node);
+        node.setMcmModelId(models.get(1).getId());
+        models.get(1).getNodes().add(node);
+        var updatedVersion = configurationRepository.saveConfiguration(configuration);
+
+        @SuppressWarnings("ConstantConditions")
+        var comparison = configurationRepository.compareConfigurationVersions(TEST_CONFIGURATION_NAME, savedVersion.getVersionHash(), updatedVersion.getVersionHash(), false);
+        Assertions.assertThat(comparison.getNodes()).singleElement().satisfies(nodeDiff -> {
+            Assertions.assertThat(nodeDiff.getDiffType()).isEqualTo("MODIFY");
+            Assertions.assertThat(nodeDiff.getElement().getId()).isEqualTo(node.getId());
+        });
+        Assertions.assertThat(comparison.getModels()).noneMatch(modelDiff ->
+                modelDiff.getDiffType().equals("ADD") || modelDiff.getDiffType().equals("DELETE"));
+    }
+
     @Test
     public void testCompareConfigurationVersions_addedElements_metadataShouldBeRemoved() {
         var configuration = getEmptyConfiguration(TEST_CONFIGURATION_NAME);
@@ -611,6 +810,26 @@ public class ConfigurationRepositoryIntegrationTest {
                 .isInstanceOf(RepositoryDoesNotExistException.class);
     }
 
+    @Test
+    public void testListConfigurationVersions_pages_shouldReturnAllVersionsPageByPage() {
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        for (int i = 1; i <= 3; i++) {
+            var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 0, 0);
+            configuration.setVersion(new ConfigurationVersion(null, null, "custom-name-" + i));
+            configurationRepository.saveConfiguration(configuration);
+        }
+
+        var firstPage = configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME, null, 2);
+        var secondPage = configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME, firstPage.getLast().hash(), 2);
+
+        Assertions.assertThat(firstPage)
+                .extracting(ConfigurationVersion::name)
+                .containsExactly("v1.0.2", "v1.0.1");
+        Assertions.assertThat(secondPage)
+                .extracting(ConfigurationVersion::name, ConfigurationVersion::customName)
+                .containsExactly(Assertions.tuple("v1.0.0", "custom-name-1"));
+    }
+
     @Test
     public void testListConfigurationVersions_existingConfigurationWithoutVersions_shouldReturnEmptyList() {
         configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
@@ -620,11 +839,10 @@ public class ConfigurationRepositoryIntegrationTest {
 
     @Test
     public void testListConfigurationVersions_existingConfigurationWithVersions_shouldReturnAllVersions() {
-        var configuration = getEmptyConfiguration(TEST_CONFIGURATION_NAME);
         configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
-        configurationRepository.saveConfiguration(configuration);
-        configurationRepository.saveConfiguration(configuration);
-        configurationRepository.saveConfiguration(configuration);
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 0, 0));
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 0, 0));
+        configurationRepository.saveConfiguration(DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 0, 0));
 
         var versions = configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME);
 
@@ -657,6 +875,37 @@ public class ConfigurationRepositoryIntegrationTest {
 
         var versions = configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME);
 
+        // unchanged saves create no new version, their custom names are added to the current one
+        Assertions.assertThat(versions)
+                .singleElement()
+                .satisfies(version -> {
+                    Assertions.assertThat(version.hash()).hasSize(40);
+                    Assertions.assertThat(version.name()).isEqualTo("v1.0.0");
+                    Assertions.assertThat(version.customName()).isEqualTo("custom-name-1");
+                });
+        Assertions.assertThat(List.of("custom-name-1", "custom-name-2", "custom-name-3"))
+                .allSatisfy(customName -> Assertions.assertThat(
+                                configurationRepository.findSpecifiedVersionOfConfigurationByName(TEST_CONFIGURATION_NAME, customName))
+                        .hasValueSatisfying(configuration -> Assertions.assertThat(configuration.getVersionHash())
+                                .isEqualTo(versions.getFirst().hash())));
+    }
+
+    @Test
+    public void testListConfigurationVersions_changedConfigurationWithCustomNames_shouldReturnAllVersions() {
+        var configuration1 = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 0, 0);
+        configuration1.setVersion(new ConfigurationVersion(null, null, "custom-name-1"));
+        var configuration2 = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 0, 0);
+        configuration2.setVersion(new ConfigurationVersion(null, null, "custom-name-2"));
+        var configuration3 = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 0, 0);
+        configuration3.setVersion(new ConfigurationVersion(null, null, "custom-name-3"));
+
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        configurationRepository.saveConfiguration(configuration1);
+        configurationRepository.saveConfiguration(configuration2);
+        configurationRepository.saveConfiguration(configuration3);
+
+        var versions = configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME);
+
         Assertions.assertThat(versions)
                 .extracting(ConfigurationVersion::hash)
                 .allSatisfy(hash -> Assertions.assertThat(hash).hasSize(40));
@@ -670,6 +919,105 @@ public class ConfigurationRepositoryIntegrationTest {
                 .containsExactly("custom-name-3", "custom-name-2", "custom-name-1");
     }
 
+    @Test
+    public void testListConfigurationVersions_savedVersions_shouldIncludeChangeSummaries() {
+        var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 2, 1);
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        configurationRepository.saveConfiguration(configuration);
+
+        var node = configuration.getModels().iterator().next().getNodes().iterator().next();
+        node.setTitle(node.getTitle() + "-updated");
+        configurationRepository.saveConfiguration(configuration);
+
+        var versions = configurationRepository.listConfigurationVersions(TEST_CONFIGURATION_NAME);
+
+        Assertions.assertThat(versions).extracting(ConfigurationVersion::changeSummary).containsExactly(
+                new ConfigurationChangeSummary(
+                        new ConfigurationChangeSummary.ChangeCounts(0, 0, 0),
+                        new ConfigurationChangeSummary.ChangeCounts(0, 1, 0),
+                        new ConfigurationChangeSummary.ChangeCounts(0, 0, 0)
+                ),
+                new ConfigurationChangeSummary(
+                        new ConfigurationChangeSummary.ChangeCounts(1, 0, 0),
+                        new ConfigurationChangeSummary.ChangeCounts(2, 0, 0),
+                        new ConfigurationChangeSummary.ChangeCounts(2, 0, 0)
+                )
+        );
+    }
+
+    @Test
+    public void testListAttributeSeries_nonExistingConfiguration_shouldThrowRepositoryDoesNotExistException() {
+        Assertions.assertThatThrownBy(() -> configurationRepository.listAttributeSeries(TEST_CONFIGURATION_NAME, "priority", null, null))
+                .isInstanceOf(RepositoryDoesNotExistException.class);
+    }
+
+    @Test
+    public void testListAttributeSeries_changedAttribute_shouldReturnOnlyChangedValues() {
+        var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 2, 0);
+        var configurationProcessor = new ConfigurationProcessor(configuration);
+        configurationProcessor.processNodes((node, model) -> node.setMcmAttributes(new LinkedHashMap<>(Map.of("priority", "low"))));
+        var nodes = configuration.getModels().iterator().next().getNodes().iterator();
+        var changedNode = nodes.next();
+        var unchangedNode = nodes.next();
+
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        var firstVersion = configurationRepository.saveConfiguration(configuration);
+        changedNode.getMcmAttributes().put("priority", 3);
+        var secondVersion = configurationRepository.saveConfiguration(configuration);
+        unchangedNode.setTitle(unchangedNode.getTitle() + "-updated");
+        configurationRepository.saveConfiguration(configuration);
+
+        var series = configurationRepository.listAttributeSeries(TEST_CONFIGURATION_NAME, "priority", null, null);
+
+        Assertions.assertThat(series).containsExactlyInAnyOrder(
+                new AttributeValue(firstVersion.getVersionHash(), changedNode.getId(), "low"),
+                new AttributeValue(firstVersion.getVersionHash(), unchangedNode.getId(), "low"),
+                new AttributeValue(secondVersion.getVersionHash(), changedNode.getId(), 3)
+        );
+        Assertions.assertThat(series.getLast().version()).isEqualTo(secondVersion.getVersionHash());
+    }
+
+    @Test
+    public void testListAttributeSeries_versionRange_shouldStartWithValuesOfFirstVersion() {
+        var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 1, 0);
+        var node = configuration.getModels().iterator().next().getNodes().iterator().next();
+        node.setMcmAttributes(new LinkedHashMap<>(Map.of("priority", "low")));
+
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        configurationRepository.saveConfiguration(configuration);
+        node.getMcmAttributes().put("priority", "medium");
+        var secondVersion = configurationRepository.saveConfiguration(configuration);
+        node.getMcmAttributes().put("priority", "high");
+        var thirdVersion = configurationRepository.saveConfiguration(configuration);
+        node.getMcmAttributes().remove("priority");
+        configurationRepository.saveConfiguration(configuration);
+
+        var series = configurationRepository.listAttributeSeries(
+                TEST_CONFIGURATION_NAME, "priority", secondVersion.getVersionHash(), thirdVersion.getVersionHash());
+
+        Assertions.assertThat(series).containsExactly(
+                new AttributeValue(secondVersion.getVersionHash(), node.getId(), "medium"),
+                new AttributeValue(thirdVersion.getVersionHash(), node.getId(), "high")
+        );
+    }
+
+    @Test
+    public void testListAttributeSeries_removedAttribute_shouldReturnNullValue() {
+        var configuration = DomainModelGen.generateRandomizedConfiguration(TEST_CONFIGURATION_NAME, 1, 1, 0);
+        var node = configuration.getModels().iterator().next().getNodes().iterator().next();
+        node.setMcmAttributes(new LinkedHashMap<>(Map.of("priority", "low")));
+
+        configurationRepository.createConfiguration(TEST_CONFIGURATION_NAME);
+        configurationRepository.saveConfiguration(configuration);
+        node.getMcmAttributes().remove("priority");
+        var secondVersion = configurationRepository.saveConfiguration(configuration);
+
+        var series = configurationRepository.listAttributeSeries(TEST_CONFIGURATION_NAME, "priority", null, null);
+
+        Assertions.assertThat(series).hasSize(2)
+                .last().isEqualTo(new AttributeValue(secondVersion.getVersionHash(), node.getId(), null));
+    }
+
 
     private Path resolveTestConfigurationPath() {
         return resolveTestDirectoryPath(TEST_CONFIGURATION_NAME);
@@ -691,4 +1039,15 @@ public class ConfigurationRepositoryIntegrationTest {
         configuration.setVersion(new ConfigurationVersion(version, null, null));
         return configuration;
     }
+
+    private void assertSummaryOf(ConfigurationSummary summary, Configuration configuration) {
+        var nodes = configuration.getModels().stream()
+                .flatMap(model -> Optional.ofNullable(model.getNodes()).orElseGet(Collections::emptySet).stream())
+                .toList();
+        Assertions.assertThat(summary.name()).isEqualTo(configuration.getName());
+        Assertions.assertThat(summary.version()).isEqualTo(configuration.getVersion());
+        Assertions.assertThat(summary.modelCount()).isEqualTo(configuration.getModels().size());
+        Assertions.assertThat(summary.nodeCount()).isEqualTo(nodes.size());
+        Assertions.assertThat(summary.relationCount()).isEqualTo(nodes.stream().mapToInt(node -> node.getRelations().size()).sum());
+    }
 }
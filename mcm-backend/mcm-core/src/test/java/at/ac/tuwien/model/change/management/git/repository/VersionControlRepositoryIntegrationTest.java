@@ -1,10 +1,10 @@
 package at.ac.tuwien.model.change.management.git.repository;
 
-import at.ac.tuwien.model.change.management.core.model.Configuration;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryVersioningException;
 import at.ac.tuwien.model.change.management.git.integration.GitTestConfig;
 import at.ac.tuwien.model.change.management.git.util.PathUtils;
+import at.ac.tuwien.model.change.management.testutil.DomainModelGen;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -228,8 +228,8 @@ public class VersionControlRepositoryIntegrationTest {
 
     @SuppressWarnings("SameParameterValue")
     private String createCommit(String repositoryName) {
-        var configuration = new Configuration();
-        configuration.setName(repositoryName);
+        // every commit needs different contents, saving an unchanged configuration does not create a new version
+        var configuration = DomainModelGen.generateRandomizedConfiguration(repositoryName, 1, 0, 0);
         return configurationRepository.saveConfiguration(configuration).getVersionHash();
     }
 }
@@ -1,6 +1,7 @@
 package at.ac.tuwien.model.change.management.testutil;
 
 import at.ac.tuwien.model.change.management.core.model.Configuration;
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
 import at.ac.tuwien.model.change.management.core.model.versioning.ModelDiff;
 import at.ac.tuwien.model.change.management.core.model.versioning.NodeDiff;
@@ -8,14 +9,20 @@ import at.ac.tuwien.model.change.management.core.model.versioning.RelationDiff;
 import at.ac.tuwien.model.change.management.core.utils.ConfigurationContents;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryAlreadyExistsException;
 import at.ac.tuwien.model.change.management.git.exception.RepositoryDoesNotExistException;
+import at.ac.tuwien.model.change.management.git.exception.RepositoryVersionDoesNotExistException;
 import at.ac.tuwien.model.change.management.git.repository.ConfigurationRepository;
 import lombok.NonNull;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.springframework.lang.Nullable;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class MockConfigurationRepository implements ConfigurationRepository {
 
@@ -52,6 +59,19 @@ public class MockConfigurationRepository implements ConfigurationRepository {
                 : Optional.of(getFirstValue(configurationVersions));
     }
 
+    @Override
+    public Optional<Configuration> findModelsOfCurrentVersionOfConfiguration(@NonNull String name, @NonNull Collection<String> modelIds) {
+        return findCurrentVersionOfConfigurationByName(name).map(configuration -> {
+            var partialConfiguration = new Configuration();
+            partialConfiguration.setName(configuration.getName());
+            partialConfiguration.setVersion(configuration.getVersion());
+            partialConfiguration.setModels(configuration.getModels().stream()
+                    .filter(model -> modelIds.contains(model.getId()))
+                    .collect(Collectors.toSet()));
+            return partialConfiguration;
+        });
+    }
+
     @Override
     public Optional<Configuration> findSpecifiedVersionOfConfigurationByName(@NonNull String name, @NonNull String version) {
         var configurationVersions = configurations.get(name);
@@ -67,6 +87,28 @@ public class MockConfigurationRepository implements ConfigurationRepository {
                 .toList();
     }
 
+    @Override
+    public Optional<Configuration> findConfigurationContainingModel(@NonNull String modelId) {
+        return findAllConfigurations().stream()
+                .filter(configuration -> configuration.getModels().stream().anyMatch(model -> modelId.equals(model.getId())))
+                .findFirst();
+    }
+
+    @Override
+    public List<ConfigurationSummary> findAllConfigurationSummaries() {
+        return findAllConfigurations().stream()
+                .map(configuration -> {
+                    var nodes = configuration.getModels().stream()
+                            .flatMap(model -> model.getNodes() == null ? Stream.empty() : model.getNodes().stream())
+                            .toList();
+                    var relations = nodes.stream().mapToInt(node -> node.getRelations().size()).sum();
+                    return new ConfigurationSummary(configuration.getName(), configuration.getVersion(),
+                            configuration.getModels().size(), nodes.size(), relations, 0);
+                })
+                .sorted(Comparator.comparing(ConfigurationSummary::name))
+                .toList();
+    }
+
     @Override
     public Configuration saveConfiguration(@NonNull Configuration configuration) throws RepositoryDoesNotExistException {
         var configurationVersions = configurations.get(configuration.getName());
@@ -98,6 +140,20 @@ public class MockConfigurationRepository implements ConfigurationRepository {
                 .toList();
     }
 
+    @Override
+    public List<ConfigurationVersion> listConfigurationVersions(@NonNull String name, @Nullable String cursor, int limit) {
+        var versions = listConfigurationVersions(name).reversed();
+        var start = 0;
+        if (cursor != null) {
+            var cursorIndex = versions.stream().map(ConfigurationVersion::hash).toList().indexOf(cursor);
+            if (cursorIndex < 0) {
+                throw new RepositoryVersionDoesNotExistException("Version " + cursor + " of configuration " + name + " does not exist");
+            }
+            start = cursorIndex + 1;
+        }
+        return versions.stream().skip(start).limit(limit).toList();
+    }
+
     private <T> T getFirstValue(LinkedHashMap<?, T> map) {
         return map.entrySet().iterator().next().getValue();
     }
@@ -1,12 +1,18 @@
 package at.ac.tuwien.model.change.management.server.controller;
 
 import at.ac.tuwien.model.change.management.core.service.ConfigurationService;
+import at.ac.tuwien.model.change.management.server.dto.AttributeValueDTO;
 import at.ac.tuwien.model.change.management.server.dto.ConfigurationDTO;
+import at.ac.tuwien.model.change.management.server.dto.ConfigurationSummaryDTO;
 import at.ac.tuwien.model.change.management.server.dto.ConfigurationVersionDTO;
 import at.ac.tuwien.model.change.management.server.dto.DiffDTO;
+import at.ac.tuwien.model.change.management.server.dto.ElementChangeDTO;
+import at.ac.tuwien.model.change.management.server.mapper.AttributeValueDtoMapper;
 import at.ac.tuwien.model.change.management.server.mapper.ConfigurationDtoMapper;
+import at.ac.tuwien.model.change.management.server.mapper.ConfigurationSummaryDtoMapper;
 import at.ac.tuwien.model.change.management.server.mapper.ConfigurationVersionDtoMapper;
 import at.ac.tuwien.model.change.management.server.mapper.DiffDtoMapper;
+import at.ac.tuwien.model.change.management.server.mapper.ElementChangeDtoMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,7 +27,10 @@ public class ConfigurationController {
     private final ConfigurationService configurationService;
     private final ConfigurationDtoMapper configurationDtoMapper;
     private final ConfigurationVersionDtoMapper configurationVersionDtoMapper;
+    private final ConfigurationSummaryDtoMapper configurationSummaryDtoMapper;
     private final DiffDtoMapper diffDtoMapper;
+    private final ElementChangeDtoMapper elementChangeDtoMapper;
+    private final AttributeValueDtoMapper attributeValueDtoMapper;
 
     /**
      * Get the most recent version of a configuration by its name
@@ -50,6 +59,18 @@ public class ConfigurationController {
         return ResponseEntity.ok(configurationDtoMapper.toDto(configurations));
     }
 
+    /**
+     * Get summaries of the most recent version of all configurations
+     * Served instead of the full configurations if the summary parameter is set, so listing does not read any configuration
+     *
+     * @return a list of the summaries of all configurations, ordered by name
+     */
+    @GetMapping(params = "summary=true")
+    public ResponseEntity<List<ConfigurationSummaryDTO>> getAllConfigurationSummaries() {
+        var summaries = configurationService.getAllConfigurationSummaries();
+        return ResponseEntity.ok(configurationSummaryDtoMapper.toDto(summaries));
+    }
+
     /**
      * Create a new configuration
      *
@@ -114,15 +135,63 @@ public class ConfigurationController {
     }
 
     /**
-     * List all versions of a configuration by its name
+     * List the versions of a configuration by its name, most recent version first
+     * All versions are listed unless a cursor or a limit is given
      *
-     * @param name the name of the configuration
-     * @return a list of all versions of the configuration with the given name
+     * @param name   the name of the configuration
+     * @param cursor the hash of the last version of the previous page - the page starts at the most recent version if omitted
+     * @param limit  the maximum number of versions to list - all remaining versions are listed if omitted
+     *               a page with less than limit versions is the last page
+     * @return a list of the versions of the configuration with the given name
      */
     @GetMapping("/{name}/versions")
-    public ResponseEntity<List<ConfigurationVersionDTO>> listConfigurationVersions(@PathVariable String name) {
-        var versions = configurationVersionDtoMapper.toDto(configurationService.listConfigurationVersions(name));
-        return ResponseEntity.ok(versions);
+    public ResponseEntity<List<ConfigurationVersionDTO>> listConfigurationVersions(
+            @PathVariable String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        var versions = cursor == null && limit == null
+                ? configurationService.listConfigurationVersions(name)
+                : configurationService.listConfigurationVersions(name, cursor, limit == null ? Integer.MAX_VALUE : limit);
+        return ResponseEntity.ok(configurationVersionDtoMapper.toDto(versions));
+    }
+
+    /**
+     * List the versions of a configuration in which a model, node or relation was added, modified or deleted
+     * Served from a per-element index, so the versions of the configuration are not compared
+     *
+     * @param name      the name of the configuration
+     * @param elementId the ID of the model, node or relation
+     * @return a list of the changes of the element, most recent version first
+     */
+    @GetMapping("/{name}/elements/{elementId}/history")
+    public ResponseEntity<List<ElementChangeDTO>> getElementHistory(
+            @PathVariable String name,
+            @PathVariable String elementId
+    ) {
+        var history = configurationService.getElementHistory(name, elementId);
+        return ResponseEntity.ok(elementChangeDtoMapper.toDto(history));
+    }
+
+    /**
+     * List the values an MCM attribute took across a range of versions of a configuration, oldest version first
+     * The first version lists the value of every model, node and relation with the attribute, later versions only list changed values
+     *
+     * @param name the name of the configuration
+     * @param key  the key of the MCM attribute
+     * @param from the first version of the range - the range starts at the first version if omitted
+     * @param to   the last version of the range - the range ends at the most recent version if omitted
+     * @return a list of (version, element ID, value) entries, a null value means the element no longer has the attribute
+     */
+    @GetMapping("/{name}/attributes/{key}/series")
+    public ResponseEntity<List<AttributeValueDTO>> getAttributeSeries(
+            @PathVariable String name,
+            @PathVariable String key,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        var series = configurationService.getAttributeSeries(name, key, from, to);
+        return ResponseEntity.ok(attributeValueDtoMapper.toDto(series));
     }
 
     /**
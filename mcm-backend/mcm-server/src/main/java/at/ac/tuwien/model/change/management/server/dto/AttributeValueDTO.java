@@ -0,0 +1,8 @@
+package at.ac.tuwien.model.change.management.server.dto;
+
+public record AttributeValueDTO(
+        String version,
+        String elementId,
+        Object value
+) {
+}
@@ -0,0 +1,15 @@
+package at.ac.tuwien.model.change.management.server.dto;
+
+public record ConfigurationChangeSummaryDTO(
+        ChangeCountsDTO models,
+        ChangeCountsDTO nodes,
+        ChangeCountsDTO relations
+) {
+
+    public record ChangeCountsDTO(
+            int added,
+            int modified,
+            int deleted
+    ) {
+    }
+}
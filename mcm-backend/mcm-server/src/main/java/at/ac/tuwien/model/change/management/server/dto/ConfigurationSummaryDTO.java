@@ -0,0 +1,11 @@
+package at.ac.tuwien.model.change.management.server.dto;
+
+public record ConfigurationSummaryDTO(
+        String name,
+        ConfigurationVersionDTO version,
+        int modelCount,
+        int nodeCount,
+        int relationCount,
+        long size
+) {
+}
@@ -3,6 +3,11 @@ package at.ac.tuwien.model.change.management.server.dto;
 public record ConfigurationVersionDTO(
         String hash,
         String name,
-        String customName
+        String customName,
+        ConfigurationChangeSummaryDTO changeSummary
 ) {
+
+    public ConfigurationVersionDTO(String hash, String name, String customName) {
+        this(hash, name, customName, null);
+    }
 }
@@ -0,0 +1,7 @@
+package at.ac.tuwien.model.change.management.server.dto;
+
+public record ElementChangeDTO(
+        ConfigurationVersionDTO version,
+        String changeType
+) {
+}
@@ -0,0 +1,12 @@
+package at.ac.tuwien.model.change.management.server.mapper;
+
+import at.ac.tuwien.model.change.management.core.model.versioning.AttributeValue;
+import at.ac.tuwien.model.change.management.server.dto.AttributeValueDTO;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface AttributeValueDtoMapper {
+    List<AttributeValueDTO> toDto(List<AttributeValue> attributeValues);
+}
@@ -0,0 +1,12 @@
+package at.ac.tuwien.model.change.management.server.mapper;
+
+import at.ac.tuwien.model.change.management.core.model.ConfigurationSummary;
+import at.ac.tuwien.model.change.management.server.dto.ConfigurationSummaryDTO;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ConfigurationSummaryDtoMapper {
+    List<ConfigurationSummaryDTO> toDto(List<ConfigurationSummary> configurationSummaries);
+}
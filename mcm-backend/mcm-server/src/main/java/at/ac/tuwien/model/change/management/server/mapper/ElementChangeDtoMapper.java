@@ -0,0 +1,12 @@
+package at.ac.tuwien.model.change.management.server.mapper;
+
+import at.ac.tuwien.model.change.management.core.model.versioning.ElementChange;
+import at.ac.tuwien.model.change.management.server.dto.ElementChangeDTO;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ElementChangeDtoMapper {
+    List<ElementChangeDTO> toDto(List<ElementChange> elementChanges);
+}
@@ -0,0 +1,57 @@
+package at.ac.tuwien.model.change.management.server.metrics;
+
+import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryLockStatistics;
+import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters of the per-repository read/write locks as metrics, available at /actuator/metrics.
+ */
+@Component
+@RequiredArgsConstructor
+public class RepositoryLockMetrics implements MeterBinder {
+
+    private static final String PREFIX = "mcm.git.lock.";
+
+    private final RepositoryManager repositoryManager;
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + "acquisitions", repositoryManager, statistic(RepositoryLockStatistics::readAcquisitions))
+                .description("Number of acquired repository locks")
+                .tag("mode", "read")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "acquisitions", repositoryManager, statistic(RepositoryLockStatistics::writeAcquisitions))
+                .description("Number of acquired repository locks")
+                .tag("mode", "write")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "contended", repositoryManager, statistic(RepositoryLockStatistics::contendedAcquisitions))
+                .description("Number of repository lock acquisitions that had to wait for another thread")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "wait", repositoryManager, statistic(statistics -> toSeconds(statistics.totalWaitTime().toNanos())))
+                .description("Total time spent waiting for repository locks")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder(PREFIX + "wait.max", repositoryManager, statistic(statistics -> toSeconds(statistics.maxWaitTime().toNanos())))
+                .description("Longest time a single acquisition waited for a repository lock")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<RepositoryManager> statistic(ToDoubleFunction<RepositoryLockStatistics> extractor) {
+        return manager -> extractor.applyAsDouble(manager.getLockStatistics());
+    }
+
+    private static double toSeconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+}
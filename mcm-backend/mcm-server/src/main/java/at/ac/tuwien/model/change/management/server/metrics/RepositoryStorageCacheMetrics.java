@@ -0,0 +1,63 @@
+package at.ac.tuwien.model.change.management.server.metrics;
+
+import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryStorageCache;
+import at.ac.tuwien.model.change.management.git.infrastructure.RepositoryStorageCacheStatistics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters of the pack file window cache shared by all repositories as metrics, available at /actuator/metrics.
+ */
+@Component
+@RequiredArgsConstructor
+public class RepositoryStorageCacheMetrics implements MeterBinder {
+
+    private static final String PREFIX = "mcm.git.storage.cache.";
+
+    private final RepositoryStorageCache storageCache;
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + "requests", storageCache, statistic(RepositoryStorageCacheStatistics::hits))
+                .description("Number of pack file window requests")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "requests", storageCache, statistic(RepositoryStorageCacheStatistics::misses))
+                .description("Number of pack file window requests")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "evictions", storageCache, statistic(RepositoryStorageCacheStatistics::evictions))
+                .description("Number of pack file windows removed to stay within the cache limits")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "load.failures", storageCache, statistic(RepositoryStorageCacheStatistics::loadFailures))
+                .description("Number of pack file windows that could not be read")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "load", storageCache, statistic(statistics -> toSeconds(statistics.totalLoadTime().toNanos())))
+                .description("Total time spent reading pack file windows")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder(PREFIX + "open.files", storageCache, statistic(RepositoryStorageCacheStatistics::openFiles))
+                .description("Number of pack files currently open")
+                .register(registry);
+        Gauge.builder(PREFIX + "open.bytes", storageCache, statistic(RepositoryStorageCacheStatistics::openBytes))
+                .description("Number of bytes currently held in pack file windows")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<RepositoryStorageCache> statistic(ToDoubleFunction<RepositoryStorageCacheStatistics> extractor) {
+        return cache -> extractor.applyAsDouble(cache.getStatistics());
+    }
+
+    private static double toSeconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+}
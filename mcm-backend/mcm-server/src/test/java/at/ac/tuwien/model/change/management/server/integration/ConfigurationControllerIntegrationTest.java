@@ -2,6 +2,7 @@ package at.ac.tuwien.model.change.management.server.integration;
 
 import at.ac.tuwien.model.change.management.git.util.PathUtils;
 import at.ac.tuwien.model.change.management.server.dto.ConfigurationDTO;
+import at.ac.tuwien.model.change.management.server.dto.ConfigurationSummaryDTO;
 import at.ac.tuwien.model.change.management.server.dto.ConfigurationVersionDTO;
 import at.ac.tuwien.model.change.management.server.dto.DiffDTO;
 import at.ac.tuwien.model.change.management.server.dto.ModelDTO;
@@ -129,6 +130,36 @@ public class ConfigurationControllerIntegrationTest {
                 .containsExactlyInAnyOrder(createdConfiguration1, createdConfiguration2);
     }
 
+    @Test
+    public void testGetAllConfigurationSummaries_twoExistingConfigurations_shouldReturnSummariesOrderedByName() throws Exception {
+        var originalConfiguration1 = DtoGen.generateRandomizedConfigurationDTO("test2", 2, 5, 0);
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonify(originalConfiguration1)))
+                .andExpect(status().isOk());
+
+        var originalConfiguration2 = DtoGen.generateRandomizedConfigurationDTO("test1", 1, 2, 0);
+        var resultCreate2 = mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonify(originalConfiguration2)))
+                .andExpect(status().isOk())
+                .andReturn();
+        var createdConfiguration2 = deserialize(resultCreate2, ConfigurationDTO.class);
+
+        var resultFindAll = mockMvc.perform(get(BASE_URL).param("summary", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        var foundSummaries = deserialize(resultFindAll, ConfigurationSummaryDTO[].class);
+        Assertions.assertThat(foundSummaries)
+                .extracting(ConfigurationSummaryDTO::name, ConfigurationSummaryDTO::modelCount, ConfigurationSummaryDTO::nodeCount)
+                .containsExactly(
+                        Assertions.tuple("test1", 1, 2),
+                        Assertions.tuple("test2", 2, 10)
+                );
+        Assertions.assertThat(foundSummaries[0].version()).isEqualTo(createdConfiguration2.version());
+    }
+
     @Test
     public void testCreateConfiguration_emptyConfiguration_shouldReturnConfiguration() throws Exception {
         var originalConfiguration = new ConfigurationDTO(TEST_CONFIGURATION_NAME, null, null);
@@ -1,6 +1,8 @@
 package at.ac.tuwien.model.change.management.server.mapper;
 
+import at.ac.tuwien.model.change.management.core.model.ConfigurationChangeSummary;
 import at.ac.tuwien.model.change.management.core.model.ConfigurationVersion;
+import at.ac.tuwien.model.change.management.server.dto.ConfigurationChangeSummaryDTO;
 import at.ac.tuwien.model.change.management.server.dto.ConfigurationVersionDTO;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -91,4 +93,23 @@ public class ConfigurationVersionDtoMapperTest {
                         Assertions.tuple(configurationVersion3.hash(), configurationVersion3.name(), configurationVersion3.customName())
                 );
     }
+
+    @Test
+    public void testToDto_elementWithChangeSummary_shouldReturnElementWithChangeSummary() {
+        var changeSummary = new ConfigurationChangeSummary(
+                new ConfigurationChangeSummary.ChangeCounts(1, 0, 0),
+                new ConfigurationChangeSummary.ChangeCounts(2, 3, 1),
+                new ConfigurationChangeSummary.ChangeCounts(0, 0, 4)
+        );
+        ConfigurationVersion configurationVersion = new ConfigurationVersion("hash", "name", null, changeSummary);
+        List<ConfigurationVersionDTO> result = configurationVersionDtoMapper.toDto(List.of(configurationVersion));
+        Assertions.assertThat(result)
+                .singleElement()
+                .extracting(ConfigurationVersionDTO::changeSummary)
+                .isEqualTo(new ConfigurationChangeSummaryDTO(
+                        new ConfigurationChangeSummaryDTO.ChangeCountsDTO(1, 0, 0),
+                        new ConfigurationChangeSummaryDTO.ChangeCountsDTO(2, 3, 1),
+                        new ConfigurationChangeSummaryDTO.ChangeCountsDTO(0, 0, 4)
+                ));
+    }
 }
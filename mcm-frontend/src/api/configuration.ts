@@ -1,5 +1,5 @@
 import axios from "axios"
-import {Configuration, Version} from "@/types/Configuration";
+import {Configuration, ConfigurationSummary, Version} from "@/types/Configuration";
 import {DiffObject} from "@/types/DiffObject.ts";
 import {AppConfig} from "@/config";
 
@@ -24,6 +24,19 @@ export const getAllConfigurations = async (): Promise<Configuration[]> => {
     }
 };
 
+/**
+ * Get summaries of all configurations from the server, without loading their models
+ * @return a list of the summaries of all configurations
+ */
+export const getConfigurationSummaries = async (): Promise<ConfigurationSummary[]> => {
+    try {
+        const response = await apiClient.get('', {params: {summary: true}});
+        return response.data;
+    } catch (error) {
+        throw error;
+    }
+};
+
 /**
  * Get a configuration by its id
  * @param data the id of the configuration to retrieve
@@ -6,6 +6,15 @@ export type Configuration = {
     models: Model[]
 }
 
+export type ConfigurationSummary = {
+    name: string
+    version: Version,
+    modelCount: number,
+    nodeCount: number,
+    relationCount: number,
+    size: number
+}
+
 export type Version = {
     hash: string,
     name: string,